@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "4.0.2"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.vastriantafyllou"
@@ -25,7 +26,9 @@ repositories {
 }
 
 dependencies {
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+	implementation("org.springframework.boot:spring-boot-starter-flyway")
 	implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-webmvc")
@@ -33,14 +36,47 @@ dependencies {
 	compileOnly("org.projectlombok:lombok")
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
 	runtimeOnly("com.mysql:mysql-connector-j")
+	runtimeOnly("org.flywaydb:flyway-mysql")
+	runtimeOnly("org.hibernate.orm:hibernate-jcache")
+	runtimeOnly("com.github.ben-manes.caffeine:jcache")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	annotationProcessor("org.projectlombok:lombok")
 	testImplementation("org.springframework.boot:spring-boot-starter-data-jpa-test")
 	testImplementation("org.springframework.boot:spring-boot-starter-thymeleaf-test")
 	testImplementation("org.springframework.boot:spring-boot-starter-validation-test")
 	testImplementation("org.springframework.boot:spring-boot-starter-webmvc-test")
+	testRuntimeOnly("com.h2database:h2")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+	jmh("org.openjdk.jmh:jmh-core:1.37")
+	jmhAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+	jmhRuntimeOnly("com.h2database:h2")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// ./gradlew bootRun -PvirtualThreads runs on virtual threads and logs any carrier-thread pinning.
+tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+	if (project.hasProperty("virtualThreads")) {
+		systemProperty("spring.profiles.active", "virtual")
+		jvmArgs("-Djdk.tracePinnedThreads=short")
+	}
+}
+
+jmh {
+	jmhVersion = "1.37"
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+	// Reports allocation rate (gc.alloc.rate.norm is bytes per operation) next to every score.
+	profilers = listOf("gc")
+	// Scale of the seeded dataset, e.g. ./gradlew jmh -PbenchAccounts=100000 -PbenchHistoryRows=10000
+	benchmarkParameters.put("accounts", project.objects.listProperty<String>().value(listOf(findProperty("benchAccounts")?.toString() ?: "1000")))
+	// Only when given, so TransactionHistoryBenchmark keeps its own sweep of history sizes by default.
+	findProperty("benchHistoryRows")?.let {
+		benchmarkParameters.put("historyRows", project.objects.listProperty<String>().value(listOf(it.toString())))
+	}
+}
@@ -0,0 +1,80 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.service.AccountExportService;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The account list page and the full export. Run with {@code -PbenchAccounts=100000} and
+ * {@code -PbenchAccounts=5000000}: the page latency should not move with the table size, and the gc
+ * profiler's allocation per export should grow with the rows written, not with rows held at once.
+ * H2 takes a positive fetch size, so the export here streams in fetch-size batches rather than row by row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AccountListingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"100000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private AccountExportService accountExportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("listing");
+        BenchmarkDatabase.seed(context, accounts, 0);
+        accountService = context.getBean(IAccountService.class);
+        accountExportService = context.getBean(AccountExportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<AccountReadOnlyDTO> firstPage() {
+        return accountService.getAccounts(null, PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+    }
+
+    @Benchmark
+    public Slice<AccountReadOnlyDTO> firstPageByBalance() {
+        return accountService.getAccounts(null, PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "balance")));
+    }
+
+    @Benchmark
+    public Slice<AccountReadOnlyDTO> ibanPrefixSearch() {
+        String iban = BenchmarkDatabase.iban(ThreadLocalRandom.current().nextInt(accounts));
+        return accountService.getAccounts(iban.substring(0, iban.length() - 2), PageRequest.of(0, PAGE_SIZE, Sort.by("iban")));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Measurement(iterations = 5)
+    public void exportCsv() throws Exception {
+        accountExportService.export(AccountExportService.CSV, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Measurement(iterations = 5)
+    public void exportNdjson() throws Exception {
+        accountExportService.export(AccountExportService.NDJSON, OutputStream.nullOutputStream());
+    }
+}
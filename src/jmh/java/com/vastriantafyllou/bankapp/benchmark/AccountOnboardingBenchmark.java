@@ -0,0 +1,72 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.BulkAccountCreationDTO;
+import com.vastriantafyllou.bankapp.service.IAccountOnboardingService;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Account creation against a seeded table, with and without the key index. For the migration-sized
+ * case run with {@code -PbenchAccounts=10000000} (the seed alone needs a few GB of heap for H2).
+ * Every invocation creates accounts with fresh keys, the case the index short-circuits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AccountOnboardingBenchmark {
+
+    private static final int BULK_LINES = 1000;
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"true", "false"})
+    public boolean keyIndex;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private IAccountOnboardingService accountOnboardingService;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("onboarding", "bankapp.accounts.key-index.enabled=" + keyIndex);
+        BenchmarkDatabase.seed(context, accounts, 0);
+        accountService = context.getBean(IAccountService.class);
+        accountOnboardingService = context.getBean(IAccountOnboardingService.class);
+        nextIndex.set(accounts);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountReadOnlyDTO createAccount() throws Exception {
+        int index = nextIndex.getAndIncrement();
+        return accountService.createAccount(new AccountInsertDTO(BenchmarkDatabase.iban(index), BenchmarkDatabase.accountNumber(index), BigDecimal.ZERO));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_LINES)
+    public BulkAccountCreationDTO createAccountsInBulk() throws Exception {
+        int first = nextIndex.getAndAdd(BULK_LINES);
+        StringBuilder ndjson = new StringBuilder(BULK_LINES * 80);
+        for (int i = first; i < first + BULK_LINES; i++) {
+            ndjson.append("{\"iban\":\"").append(BenchmarkDatabase.iban(i))
+                    .append("\",\"accountNumber\":\"").append(BenchmarkDatabase.accountNumber(i))
+                    .append("\",\"balance\":0}\n");
+        }
+        return accountOnboardingService.createAccounts(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
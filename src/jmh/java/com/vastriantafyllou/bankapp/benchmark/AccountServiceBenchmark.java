@@ -0,0 +1,89 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AccountServiceBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"1000"})
+    public int historyRows;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private String hotIban;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("service");
+        BenchmarkDatabase.seed(context, accounts, historyRows);
+        accountService = context.getBean(IAccountService.class);
+        hotIban = BenchmarkDatabase.iban(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private String randomIban() {
+        return BenchmarkDatabase.iban(ThreadLocalRandom.current().nextInt(accounts));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void deposit() throws Exception {
+        accountService.deposit(randomIban(), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void withdraw() throws Exception {
+        accountService.withdraw(randomIban(), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void transfer() throws Exception {
+        int from = ThreadLocalRandom.current().nextInt(accounts);
+        int to = (from + 1 + ThreadLocalRandom.current().nextInt(accounts - 1)) % accounts;
+        accountService.transfer(BenchmarkDatabase.iban(from), BenchmarkDatabase.iban(to), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TransactionHistoryDTO transactionHistoryFirstPage() throws Exception {
+        return accountService.getTransactionHistory(hotIban, null, IAccountService.HISTORY_DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void depositUniformContended() throws Exception {
+        accountService.deposit(randomIban(), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void depositHotAccount() throws Exception {
+        accountService.deposit(hotIban, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void transferIntoHotAccount() throws Exception {
+        accountService.transfer(BenchmarkDatabase.iban(1 + ThreadLocalRandom.current().nextInt(accounts - 1)), hotIban, AMOUNT);
+    }
+}
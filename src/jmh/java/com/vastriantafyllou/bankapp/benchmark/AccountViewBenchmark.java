@@ -0,0 +1,73 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.dto.AccountViewDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import com.vastriantafyllou.bankapp.service.IAccountViewService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the account page costs to read from the ledger versus the read model, and what maintaining the
+ * read model adds to a deposit. Compare {@code deposit} between {@code accountView=true} and {@code false}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AccountViewBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"1000"})
+    public int historyRows;
+
+    @Param({"true", "false"})
+    public boolean accountView;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private IAccountViewService accountViewService;
+    private String hotIban;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkDatabase.start("view", "bankapp.account-view.enabled=" + accountView, "bankapp.cache.enabled=false");
+        BenchmarkDatabase.seed(context, accounts, historyRows);
+        accountService = context.getBean(IAccountService.class);
+        accountViewService = context.getBean(IAccountViewService.class);
+        hotIban = BenchmarkDatabase.iban(0);
+        // The seeded rows bypassed the service; the first write builds the view from the ledger.
+        accountService.deposit(hotIban, AMOUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void accountPageFromLedger(Blackhole blackhole) throws Exception {
+        blackhole.consume(accountService.getAccountByIban(hotIban));
+        TransactionHistoryDTO history = accountService.getTransactionHistory(hotIban, null, IAccountService.HISTORY_DEFAULT_PAGE_SIZE);
+        blackhole.consume(history);
+    }
+
+    @Benchmark
+    public Optional<AccountViewDTO> accountPageFromView() {
+        return accountViewService.getAccountView(hotIban, IAccountService.HISTORY_DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void deposit() throws Exception {
+        accountService.deposit(BenchmarkDatabase.iban(ThreadLocalRandom.current().nextInt(accounts)), AMOUNT);
+    }
+}
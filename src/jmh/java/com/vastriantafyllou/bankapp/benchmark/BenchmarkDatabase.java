@@ -0,0 +1,137 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.BankAppApplication;
+import com.vastriantafyllou.bankapp.service.AccountKeyIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the application without the web tier against an in-memory H2 database in MySQL mode and
+ * seeds it with {@code accounts} accounts, the first of which carries {@code historyRows} ledger rows.
+ * Seeded ids start far above the sequence range so they never collide with generated ones.
+ */
+final class BenchmarkDatabase {
+
+    static final long SEED_ID_OFFSET = 1_000_000_000L;
+    static final BigDecimal SEED_BALANCE = new BigDecimal("1000000000.00");
+    private static final int SEED_CHUNK = 100_000;
+
+    private BenchmarkDatabase() {
+    }
+
+    static ConfigurableApplicationContext start(String name, String... extraProperties) {
+        return start(WebApplicationType.NONE, name, extraProperties);
+    }
+
+    /**
+     * Same as {@link #start} with the embedded servlet container on a random port, read back from
+     * {@code local.server.port}.
+     */
+    static ConfigurableApplicationContext startWeb(String name, String... extraProperties) {
+        return start(WebApplicationType.SERVLET, name, extraProperties);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String name, String... extraProperties) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        put(properties,
+                "spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.flyway.enabled=false",
+                "server.port=0",
+                "spring.thymeleaf.cache=true",
+                "bankapp.accounts.key-index.fetch-size=10000",
+                "bankapp.accounts.export-fetch-size=10000",
+                "bankapp.bulk.storage-dir=" + Path.of(System.getProperty("java.io.tmpdir"), "bankapp-bench-bulk-" + name),
+                "logging.level.root=WARN");
+        put(properties, extraProperties);
+
+        // Passed as command-line arguments: default properties would rank below application.yaml and any profile.
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(BankAppApplication.class)
+                .web(webApplicationType)
+                .run(args);
+    }
+
+    private static void put(Map<String, String> properties, String... keyValues) {
+        for (String keyValue : keyValues) {
+            int separator = keyValue.indexOf('=');
+            properties.put(keyValue.substring(0, separator), keyValue.substring(separator + 1));
+        }
+    }
+
+    static String iban(int index) {
+        return "GRBENCH" + String.format("%010d", index);
+    }
+
+    static String accountNumber(int index) {
+        return "ACC" + String.format("%010d", index);
+    }
+
+    static void seed(ConfigurableApplicationContext context, int accounts, int historyRows) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+        List<Object[]> accountRows = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < accounts; i++) {
+            accountRows.add(new Object[]{SEED_ID_OFFSET + i, iban(i), accountNumber(i), SEED_BALANCE});
+            if (accountRows.size() == SEED_CHUNK || i == accounts - 1) {
+                jdbc.batchUpdate("insert into accounts (id, iban, account_number, balance, version) values (?, ?, ?, ?, 0)", accountRows);
+                accountRows.clear();
+            }
+        }
+
+        List<Object[]> ledgerRows = new ArrayList<>(Math.min(historyRows, SEED_CHUNK));
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < historyRows; i++) {
+            ledgerRows.add(new Object[]{SEED_ID_OFFSET + i, SEED_ID_OFFSET, "DEPOSIT", BigDecimal.ONE,
+                    Timestamp.valueOf(start.plusNanos(i * 1_000_000L)), SEED_BALANCE});
+            if (ledgerRows.size() == SEED_CHUNK || i == historyRows - 1) {
+                jdbc.batchUpdate("insert into account_transactions (id, account_id, type, amount, created_at, balance_after) values (?, ?, ?, ?, ?, ?)", ledgerRows);
+                ledgerRows.clear();
+            }
+        }
+
+        // The rows bypassed the service, so the startup build of the key index has not seen them.
+        context.getBean(AccountKeyIndex.class).rebuild();
+    }
+
+    /**
+     * Seeds {@code days} daily rollups ending at {@code lastDay} for the first account, each standing for
+     * {@code transactionsPerDay} one-unit deposits.
+     */
+    static void seedDailyBalances(ConfigurableApplicationContext context, int days, int transactionsPerDay, LocalDate lastDay) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        BigDecimal perDay = BigDecimal.valueOf(transactionsPerDay);
+
+        List<Object[]> rows = new ArrayList<>(days);
+        BigDecimal opening = SEED_BALANCE;
+        for (int i = days - 1; i >= 0; i--) {
+            BigDecimal closing = opening.add(perDay);
+            rows.add(new Object[]{SEED_ID_OFFSET, Date.valueOf(lastDay.minusDays(i)), opening, closing, perDay, BigDecimal.ZERO,
+                    transactionsPerDay, 0, 0, 0});
+            opening = closing;
+        }
+        jdbc.batchUpdate("insert into account_daily_balances (account_id, business_date, opening_balance, closing_balance, credit_total, " +
+                "debit_total, deposit_count, withdraw_count, transfer_in_count, transfer_out_count) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
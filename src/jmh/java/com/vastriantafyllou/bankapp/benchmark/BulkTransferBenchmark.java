@@ -0,0 +1,139 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.dto.BulkTransferJobDTO;
+import com.vastriantafyllou.bankapp.model.BulkJobStatus;
+import com.vastriantafyllou.bankapp.service.IBulkTransferService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bulk job over a generated file of {@code lines} transfers between random seeded accounts, from
+ * submission to the job completing. Lines per second is {@code lines} divided by the score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class BulkTransferBenchmark {
+
+    @Param({"1000000"})
+    public int lines;
+
+    @Param({"csv", "ndjson"})
+    public String format;
+
+    @Param({"1", "4", "8"})
+    public int parallelism;
+
+    @Param({"500"})
+    public int chunkSize;
+
+    @Param({"100000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private IBulkTransferService bulkTransferService;
+    private Path input;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkDatabase.start("bulk-" + format + "-" + parallelism,
+                "bankapp.bulk.parallelism=" + parallelism,
+                "bankapp.bulk.chunk-size=" + chunkSize);
+        BenchmarkDatabase.seed(context, accounts, 0);
+        bulkTransferService = context.getBean(IBulkTransferService.class);
+
+        input = Files.createTempFile("bankapp-bench-bulk-", "." + format);
+        Random random = new Random(7);
+        try (BufferedWriter writer = Files.newBufferedWriter(input, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                int from = random.nextInt(accounts);
+                int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+                writer.write("ndjson".equals(format)
+                        ? "{\"fromIban\":\"" + BenchmarkDatabase.iban(from) + "\",\"toIban\":\"" + BenchmarkDatabase.iban(to) + "\",\"amount\":1.00}"
+                        : BenchmarkDatabase.iban(from) + "," + BenchmarkDatabase.iban(to) + ",1.00");
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(input);
+    }
+
+    @Benchmark
+    public BulkTransferJobDTO postFile() throws Exception {
+        BulkTransferJobDTO job = bulkTransferService.submit(new PathMultipartFile(input));
+        while (job.getStatus() != BulkJobStatus.COMPLETED && job.getStatus() != BulkJobStatus.FAILED) {
+            Thread.sleep(50);
+            job = bulkTransferService.getJob(job.getId());
+        }
+        if (job.getStatus() == BulkJobStatus.FAILED || job.getAcceptedCount() != lines) {
+            throw new IllegalStateException("Job " + job.getId() + " ended " + job.getStatus() + " with " + job.getAcceptedCount()
+                    + " of " + lines + " lines accepted: " + job.getErrorMessage());
+        }
+        return job;
+    }
+
+    /** The upload as the controller would hand it over, read from disk instead of the request. */
+    private record PathMultipartFile(Path path) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public String getContentType() {
+            return null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.copy(path, dest.toPath());
+        }
+    }
+}
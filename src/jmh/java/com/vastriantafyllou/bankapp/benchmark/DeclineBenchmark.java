@@ -0,0 +1,71 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card-authorization style withdrawals where {@code declineRate} of the requests ask for more than any
+ * seeded balance. The throwing API pays for the exception, its message and the row lock on every
+ * decline; the try API declines from a plain read and builds nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DeclineBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final BigDecimal OVERDRAFT = BenchmarkDatabase.SEED_BALANCE.multiply(BigDecimal.TEN);
+
+    @Param({"0.3"})
+    public double declineRate;
+
+    @Param({"1000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("decline");
+        BenchmarkDatabase.seed(context, accounts, 0);
+        accountService = context.getBean(IAccountService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean withdrawThrowing() throws Exception {
+        try {
+            accountService.withdraw(randomIban(), nextAmount());
+            return true;
+        } catch (InsufficientBalanceException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public OperationResult withdrawResult() {
+        return accountService.tryWithdraw(randomIban(), nextAmount());
+    }
+
+    private String randomIban() {
+        return BenchmarkDatabase.iban(ThreadLocalRandom.current().nextInt(accounts));
+    }
+
+    private BigDecimal nextAmount() {
+        return ThreadLocalRandom.current().nextDouble() < declineRate ? OVERDRAFT : AMOUNT;
+    }
+}
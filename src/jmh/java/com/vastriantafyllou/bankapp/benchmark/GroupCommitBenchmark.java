@@ -0,0 +1,69 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposits and withdrawals on one hot account from 64 threads, each its own transaction versus group
+ * committed. The batching window adds up to {@code windowMicros} to every call, so compare the
+ * latency percentiles as well as the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GroupCommitBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"true", "false"})
+    public boolean batching;
+
+    @Param({"2000"})
+    public int windowMicros;
+
+    @Param({"1000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private String hotIban;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("group-commit-" + batching,
+                "bankapp.batching.enabled=" + batching,
+                "bankapp.batching.window-micros=" + windowMicros);
+        BenchmarkDatabase.seed(context, accounts, 0);
+        accountService = context.getBean(IAccountService.class);
+        hotIban = BenchmarkDatabase.iban(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void depositHotAccount() throws Exception {
+        accountService.deposit(hotIban, AMOUNT);
+    }
+
+    @Benchmark
+    @Group("depositAndWithdraw")
+    @GroupThreads(32)
+    public void deposit() throws Exception {
+        accountService.deposit(hotIban, AMOUNT);
+    }
+
+    @Benchmark
+    @Group("depositAndWithdraw")
+    @GroupThreads(32)
+    public void withdraw() throws Exception {
+        accountService.withdraw(hotIban, AMOUNT);
+    }
+}
@@ -0,0 +1,74 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.service.IdempotencyService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency of a retried deposit whose key already committed, answered from the front cache or, with
+ * {@code cacheSize=0}, from the key table, next to the first use of a key that runs the deposit.
+ * The duplicate's p99 should stay under a millisecond either way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdempotencyBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"100000", "0"})
+    public int cacheSize;
+
+    @Param({"10000"})
+    public int recordedKeys;
+
+    @Param({"1000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private IdempotencyService idempotencyService;
+    private final AtomicLong nextKey = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkDatabase.start("idempotency-" + cacheSize, "bankapp.idempotency.cache-size=" + cacheSize);
+        BenchmarkDatabase.seed(context, accounts, 0);
+        idempotencyService = context.getBean(IdempotencyService.class);
+        for (int i = 0; i < recordedKeys; i++) {
+            idempotencyService.deposit(recordedKey(i), ibanOf(i), AMOUNT);
+        }
+        nextKey.set(recordedKeys);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean duplicateDeposit() throws Exception {
+        int i = ThreadLocalRandom.current().nextInt(recordedKeys);
+        return idempotencyService.deposit(recordedKey(i), ibanOf(i), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean firstDeposit() throws Exception {
+        long i = nextKey.getAndIncrement();
+        return idempotencyService.deposit(recordedKey(i), ibanOf(i), AMOUNT);
+    }
+
+    private static String recordedKey(long i) {
+        return "bench-" + i;
+    }
+
+    private String ibanOf(long i) {
+        return BenchmarkDatabase.iban((int) (i % accounts));
+    }
+}
@@ -0,0 +1,62 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.core.metrics.SqlStatementCounter;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statements Hibernate prepares per transfer with JDBC batching on and off. {@code batchSize=0} issues
+ * every insert on its own, which is what IDENTITY ids forced before the pooled sequences; a batch is
+ * prepared once however many rows it carries. Divide the {@code statements} counter by {@code transfers}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InsertBatchingBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"50", "0"})
+    public int batchSize;
+
+    @Param({"1000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("insert-batching-" + batchSize,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        BenchmarkDatabase.seed(context, accounts, 0);
+        accountService = context.getBean(IAccountService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCount {
+        public long statements;
+        public long transfers;
+    }
+
+    @Benchmark
+    public void transfer(StatementCount count) throws Exception {
+        int from = ThreadLocalRandom.current().nextInt(accounts);
+        int to = (from + 1 + ThreadLocalRandom.current().nextInt(accounts - 1)) % accounts;
+        SqlStatementCounter.reset();
+        accountService.transfer(BenchmarkDatabase.iban(from), BenchmarkDatabase.iban(to), AMOUNT);
+        count.statements += SqlStatementCounter.current();
+        count.transfers++;
+    }
+}
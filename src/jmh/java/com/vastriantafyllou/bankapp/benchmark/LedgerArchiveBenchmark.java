@@ -0,0 +1,84 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.core.archive.LedgerSegmentWriter;
+import com.vastriantafyllou.bankapp.core.pagination.KeysetCursor;
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import com.vastriantafyllou.bankapp.service.LedgerArchive;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * History reads served from archived monthly segments, over a simulated three-year ledger that has
+ * been moved out of the database entirely.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LedgerArchiveBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"36"})
+    public int months;
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"100"})
+    public int rowsPerAccountPerMonth;
+
+    private Path directory;
+    private LedgerArchive ledgerArchive;
+    private YearMonth newestMonth;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ledger-archive-bench");
+        newestMonth = YearMonth.now().minusMonths(1);
+        long id = 0;
+        for (int m = months - 1; m >= 0; m--) {
+            YearMonth month = newestMonth.minusMonths(m);
+            try (LedgerSegmentWriter writer = new LedgerSegmentWriter(directory.resolve("ledger-" + month + ".seg"))) {
+                for (int account = 0; account < accounts; account++) {
+                    for (int row = rowsPerAccountPerMonth - 1; row >= 0; row--) {
+                        writer.append(account, new TransactionReadOnlyDTO(++id, TransactionType.DEPOSIT, AMOUNT,
+                                month.atDay(1).atStartOfDay().plusMinutes(row), null, AMOUNT.multiply(BigDecimal.valueOf(row + 1))));
+                    }
+                }
+            }
+        }
+        ledgerArchive = new LedgerArchive(directory.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<TransactionReadOnlyDTO> newestArchivedPage() {
+        return ledgerArchive.findBefore(ThreadLocalRandom.current().nextInt(accounts), null, IAccountService.HISTORY_DEFAULT_PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<TransactionReadOnlyDTO> pageEighteenMonthsBack() {
+        KeysetCursor position = new KeysetCursor(newestMonth.minusMonths(months / 2).atDay(1).atStartOfDay().plusMinutes(rowsPerAccountPerMonth / 2), Long.MAX_VALUE);
+        return ledgerArchive.findBefore(ThreadLocalRandom.current().nextInt(accounts), position, IAccountService.HISTORY_DEFAULT_PAGE_SIZE + 1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The JPA service against the in-memory ledger engine behind the same {@link IAccountService}, both
+ * through the full decorator chain. With {@code fsync=true} every engine batch is forced to disk before
+ * its callers return, which is the durability the JPA mode gets from the database commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LedgerEngineBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"jpa", "in-memory"})
+    public String mode;
+
+    @Param({"true"})
+    public boolean fsync;
+
+    @Param({"10000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private Path engineDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        engineDir = Files.createTempDirectory("ledger-engine-bench");
+        // The engine refuses to start next to the features that write the JPA ledger directly.
+        boolean jpa = "jpa".equals(mode);
+        context = BenchmarkDatabase.start("engine-" + mode,
+                "bankapp.engine.mode=" + mode,
+                "bankapp.engine.dir=" + engineDir,
+                "bankapp.engine.fsync=" + fsync,
+                "bankapp.standing-orders.enabled=" + jpa,
+                "bankapp.bulk.enabled=" + jpa,
+                "bankapp.account-view.enabled=" + jpa);
+        accountService = context.getBean(IAccountService.class);
+        if (jpa) {
+            BenchmarkDatabase.seed(context, accounts, 0);
+        } else {
+            for (int i = 0; i < accounts; i++) {
+                accountService.createAccount(new AccountInsertDTO(BenchmarkDatabase.iban(i), BenchmarkDatabase.accountNumber(i), BenchmarkDatabase.SEED_BALANCE));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(engineDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private String randomIban() {
+        return BenchmarkDatabase.iban(ThreadLocalRandom.current().nextInt(accounts));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public OperationResult deposit() {
+        return accountService.tryDeposit(randomIban(), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public OperationResult transfer() {
+        String from = randomIban();
+        String to = randomIban();
+        return from.equals(to) ? OperationResult.SAME_ACCOUNT_TRANSFER : accountService.tryTransfer(from, to, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public BigDecimal balance() throws Exception {
+        return accountService.getBalance(randomIban());
+    }
+}
@@ -0,0 +1,135 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.model.LedgerVerificationRun;
+import com.vastriantafyllou.bankapp.service.LedgerVerifier;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full verification run over {@code ledgerRows} ledger rows spread evenly over {@code accounts}
+ * accounts, with a transfer pair on every fourth step, by {@code parallelism} workers. The range size
+ * gives each worker about eight ranges. Every run must come out clean, which also checks the seed.
+ * H2 keeps the whole ledger on the heap: 100M rows need tens of GB, so lower {@code ledgerRows} on a
+ * smaller machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class LedgerVerificationBenchmark {
+
+    private static final int SEED_CHUNK = 100_000;
+    private static final long DEPOSIT_CENTS = 200;
+    private static final long WITHDRAW_CENTS = 100;
+    private static final long TRANSFER_CENTS = 100;
+
+    @Param({"100000000"})
+    public long ledgerRows;
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"1", "4", "8"})
+    public int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private LedgerVerifier verifier;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("ledger-verification-" + parallelism,
+                "bankapp.ledger.verification.enabled=true",
+                "bankapp.ledger.verification.initial-delay-millis=86400000",
+                "bankapp.ledger.verification.parallelism=" + parallelism,
+                "bankapp.ledger.verification.range-size=" + Math.max(1, accounts / (parallelism * 8)),
+                "bankapp.ledger.verification.fetch-size=10000");
+        BenchmarkDatabase.seed(context, accounts, 0);
+        seedLedger(context.getBean(JdbcTemplate.class));
+        verifier = context.getBean(LedgerVerifier.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Writes the rows step by step, as a real ledger grows: at each step every account gets one row,
+     * a deposit, a withdrawal or, every fourth step, one leg of a transfer between neighbouring accounts.
+     */
+    private void seedLedger(JdbcTemplate jdbc) {
+        long steps = ledgerRows / accounts;
+        long[] balances = new long[accounts];
+        long seedCents = BenchmarkDatabase.SEED_BALANCE.movePointRight(2).longValueExact();
+        Arrays.fill(balances, seedCents);
+        LocalDateTime start = LocalDateTime.now().minusDays(1).minusSeconds(steps);
+
+        List<Object[]> rows = new ArrayList<>(SEED_CHUNK);
+        long id = BenchmarkDatabase.SEED_ID_OFFSET;
+        for (long step = 0; step < steps; step++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(step));
+            for (int account = 0; account < accounts; account++) {
+                String type;
+                long cents;
+                String counterparty = null;
+                if (step % 4 == 3 && account % 2 == 0 && account + 1 < accounts) {
+                    type = "TRANSFER_OUT";
+                    cents = TRANSFER_CENTS;
+                    counterparty = BenchmarkDatabase.iban(account + 1);
+                } else if (step % 4 == 3 && account % 2 == 1) {
+                    type = "TRANSFER_IN";
+                    cents = TRANSFER_CENTS;
+                    counterparty = BenchmarkDatabase.iban(account - 1);
+                } else if (step % 2 == 0) {
+                    type = "DEPOSIT";
+                    cents = DEPOSIT_CENTS;
+                } else {
+                    type = "WITHDRAW";
+                    cents = WITHDRAW_CENTS;
+                }
+                balances[account] += type.equals("DEPOSIT") || type.equals("TRANSFER_IN") ? cents : -cents;
+                rows.add(new Object[]{id++, BenchmarkDatabase.SEED_ID_OFFSET + account, type, BigDecimal.valueOf(cents, 2),
+                        createdAt, counterparty, BigDecimal.valueOf(balances[account], 2)});
+                if (rows.size() == SEED_CHUNK) {
+                    insert(jdbc, rows);
+                }
+            }
+        }
+        insert(jdbc, rows);
+
+        List<Object[]> finalBalances = new ArrayList<>(accounts);
+        for (int account = 0; account < accounts; account++) {
+            finalBalances.add(new Object[]{BigDecimal.valueOf(balances[account], 2), BenchmarkDatabase.SEED_ID_OFFSET + account});
+        }
+        jdbc.batchUpdate("update accounts set balance = ? where id = ?", finalBalances);
+    }
+
+    private static void insert(JdbcTemplate jdbc, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate("insert into account_transactions (id, account_id, type, amount, created_at, counterparty_iban, balance_after) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    @Benchmark
+    public LedgerVerificationRun verify() {
+        LedgerVerificationRun run = verifier.verify().orElseThrow();
+        if (run.getChainBreaks() != 0 || run.getBalanceMismatches() != 0 || !run.getTransfersBalanced()
+                || run.getRowsChecked() != ledgerRows / accounts * accounts) {
+            throw new IllegalStateException("Verification of the seeded ledger was not clean: run " + run.getId());
+        }
+        return run;
+    }
+}
@@ -0,0 +1,88 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Always-pessimistic versus adaptive locking under uniform access, where conflicts are rare and the
+ * optimistic path saves the FOR UPDATE round trip, and under Zipfian access, where a few hot accounts
+ * conflict constantly and should fall back to row locks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LockingStrategyBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"pessimistic", "adaptive"})
+    public String strategy;
+
+    @Param({"uniform", "zipfian"})
+    public String distribution;
+
+    @Param({"10000"})
+    public int accounts;
+
+    @Param({"0.99"})
+    public double zipfExponent;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private double[] zipfCdf;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("locking-" + strategy + "-" + distribution,
+                "bankapp.locking.adaptive.enabled=" + "adaptive".equals(strategy));
+        BenchmarkDatabase.seed(context, accounts, 0);
+        accountService = context.getBean(IAccountService.class);
+
+        zipfCdf = new double[accounts];
+        double total = 0;
+        for (int rank = 0; rank < accounts; rank++) {
+            total += 1 / Math.pow(rank + 1, zipfExponent);
+            zipfCdf[rank] = total;
+        }
+        for (int rank = 0; rank < accounts; rank++) {
+            zipfCdf[rank] /= total;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private int nextAccount() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if ("uniform".equals(distribution)) {
+            return random.nextInt(accounts);
+        }
+        int index = Arrays.binarySearch(zipfCdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, accounts - 1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void deposit() throws Exception {
+        accountService.deposit(BenchmarkDatabase.iban(nextAccount()), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void transfer() throws Exception {
+        int from = nextAccount();
+        int to = nextAccount();
+        if (from == to) {
+            to = (to + 1) % accounts;
+        }
+        accountService.transfer(BenchmarkDatabase.iban(from), BenchmarkDatabase.iban(to), AMOUNT);
+    }
+}
@@ -0,0 +1,41 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.mapper.Mapper;
+import com.vastriantafyllou.bankapp.model.Account;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private AccountInsertDTO insertDTO;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        insertDTO = new AccountInsertDTO("GR1234567890", "ACC1234567", new BigDecimal("1500.25"));
+        account = Account.builder()
+                .id(42L)
+                .iban("GR1234567890")
+                .accountNumber("ACC1234567")
+                .balance(Money.of(new BigDecimal("1500.25")))
+                .build();
+    }
+
+    @Benchmark
+    public Account mapToEntity() {
+        return Mapper.mapToEntity(insertDTO);
+    }
+
+    @Benchmark
+    public AccountReadOnlyDTO mapToReadOnlyDTO() {
+        return Mapper.mapToReadOnlyDTO(account);
+    }
+}
@@ -0,0 +1,59 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The arithmetic a deposit followed by a withdrawal performs on the balance: positivity check, add,
+ * overdraft comparison and subtract. Run with the gc profiler to compare bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+
+    private BigDecimal decimalBalance;
+    private BigDecimal decimalAmount;
+    private Money moneyBalance;
+    private Money moneyAmount;
+
+    @Setup
+    public void setUp() {
+        decimalBalance = new BigDecimal("1500.25");
+        decimalAmount = new BigDecimal("12.40");
+        moneyBalance = Money.of(decimalBalance);
+        moneyAmount = Money.of(decimalAmount);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalDepositThenWithdraw() {
+        if (decimalAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalStateException();
+        }
+        BigDecimal afterDeposit = decimalBalance.add(decimalAmount);
+        if (decimalAmount.compareTo(afterDeposit) > 0) {
+            throw new IllegalStateException();
+        }
+        return afterDeposit.subtract(decimalAmount);
+    }
+
+    @Benchmark
+    public Money moneyDepositThenWithdraw() {
+        if (!moneyAmount.isPositive()) {
+            throw new IllegalStateException();
+        }
+        Money afterDeposit = moneyBalance.plus(moneyAmount);
+        if (moneyAmount.isGreaterThan(afterDeposit)) {
+            throw new IllegalStateException();
+        }
+        return afterDeposit.minus(moneyAmount);
+    }
+
+    @Benchmark
+    public Money moneyFromRequestAmount() {
+        return Money.of(decimalAmount);
+    }
+}
@@ -0,0 +1,42 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Time from launch to a ready servlet context with today's development settings (SQL logging, uncached
+ * templates, open session in view, HikariCP defaults) and with the prod profile.
+ * Both run against H2 with create-drop, so migrations, ddl-auto=validate and the MySQL connector
+ * properties are not part of the comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class ProfileStartupBenchmark {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    @Benchmark
+    public void startAndStop() {
+        BenchmarkDatabase.startWeb("startup-" + DATABASES.incrementAndGet(), settings(profile)).close();
+    }
+
+    static String[] settings(String profile) {
+        return switch (profile) {
+            // application.yaml as shipped, which BenchmarkDatabase otherwise overrides.
+            case "default" -> new String[]{
+                    "spring.jpa.show-sql=true",
+                    "spring.jpa.properties.hibernate.format_sql=true",
+                    "spring.thymeleaf.cache=false"};
+            case "prod" -> new String[]{"spring.profiles.active=prod"};
+            default -> throw new IllegalArgumentException("Unknown profile: " + profile);
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per millisecond once warmed up, with the settings of {@link ProfileStartupBenchmark}:
+ * the rendered account page and a JSON transfer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProfileSteadyStateBenchmark {
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"1000"})
+    public int historyRows;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.startWeb("steady-" + profile, ProfileStartupBenchmark.settings(profile));
+        BenchmarkDatabase.seed(context, accounts, historyRows);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String viewAccount() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/accounts/" + BenchmarkDatabase.iban(0))).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int transferViaApi() throws Exception {
+        // Account 0 is only read, so the page above renders the same history throughout.
+        int from = 1 + ThreadLocalRandom.current().nextInt(accounts - 1);
+        int to = 1 + (from + ThreadLocalRandom.current().nextInt(accounts - 2)) % (accounts - 1);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/" + BenchmarkDatabase.iban(from) + "/transfer"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"toIban\":\"" + BenchmarkDatabase.iban(to) + "\",\"amount\":1.00}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,105 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same transfer workload over HTTP: the form flow (POST, 302, account page render), the JSON API and
+ * the JSON batch endpoint, plus a history revalidation that the ETag turns into a 304.
+ * Scores are transfers per millisecond; the batch benchmark counts each operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RestApiBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"1000"})
+    public int historyRows;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient formClient;
+    private HttpClient apiClient;
+    private String baseUrl;
+    private String historyEtag;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkDatabase.startWeb("rest");
+        BenchmarkDatabase.seed(context, accounts, historyRows);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        formClient = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build();
+        apiClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        historyEtag = apiClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/" + BenchmarkDatabase.iban(0) + "/transactions")).build(),
+                HttpResponse.BodyHandlers.discarding()).headers().firstValue("ETag").orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int transferViaForm() throws Exception {
+        int[] pair = randomPair();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/accounts/" + BenchmarkDatabase.iban(pair[0]) + "/transfer"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("toIban=" + BenchmarkDatabase.iban(pair[1]) + "&amount=1.00"))
+                .build();
+        return formClient.send(request, HttpResponse.BodyHandlers.ofString()).statusCode();
+    }
+
+    @Benchmark
+    public int transferViaApi() throws Exception {
+        int[] pair = randomPair();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/" + BenchmarkDatabase.iban(pair[0]) + "/transfer"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"toIban\":\"" + BenchmarkDatabase.iban(pair[1]) + "\",\"amount\":1.00}"))
+                .build();
+        return apiClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public String transferViaBatch() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int[] pair = randomPair();
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"type\":\"TRANSFER\",\"iban\":\"").append(BenchmarkDatabase.iban(pair[0]))
+                    .append("\",\"toIban\":\"").append(BenchmarkDatabase.iban(pair[1]))
+                    .append("\",\"amount\":1.00}");
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.append(']').toString()))
+                .build();
+        return apiClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public int historyRevalidation() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/" + BenchmarkDatabase.iban(0) + "/transactions"))
+                .header("If-None-Match", historyEtag)
+                .build();
+        return apiClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int[] randomPair() {
+        // Account 0 holds the history used for revalidation and is never written to.
+        int from = 1 + ThreadLocalRandom.current().nextInt(accounts - 1);
+        int to = 1 + (from + ThreadLocalRandom.current().nextInt(accounts - 2)) % (accounts - 1);
+        return new int[]{from, to};
+    }
+}
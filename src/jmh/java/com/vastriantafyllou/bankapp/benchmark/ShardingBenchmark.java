@@ -0,0 +1,91 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfer throughput as the number of account shards grows, against the unsharded row-locking path
+ * ({@code shards = 0}). Under uniform access most transfers cross shards and pay the handoff; under
+ * Zipfian access the hottest accounts pin their shards and bound how far adding cores helps. Compare
+ * against {@code -t} at least the largest shard count, so every shard has work queued.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ShardingBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int shards;
+
+    @Param({"uniform", "zipfian"})
+    public String distribution;
+
+    @Param({"10000"})
+    public int accounts;
+
+    @Param({"0.99"})
+    public double zipfExponent;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private double[] zipfCdf;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("sharding-" + shards + "-" + distribution,
+                "bankapp.sharding.enabled=" + (shards > 0),
+                "bankapp.sharding.shards=" + shards,
+                "spring.datasource.hikari.maximum-pool-size=" + Math.max(16, shards + 8));
+        BenchmarkDatabase.seed(context, accounts, 0);
+        accountService = context.getBean(IAccountService.class);
+
+        zipfCdf = new double[accounts];
+        double total = 0;
+        for (int rank = 0; rank < accounts; rank++) {
+            total += 1 / Math.pow(rank + 1, zipfExponent);
+            zipfCdf[rank] = total;
+        }
+        for (int rank = 0; rank < accounts; rank++) {
+            zipfCdf[rank] /= total;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private int nextAccount() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if ("uniform".equals(distribution)) {
+            return random.nextInt(accounts);
+        }
+        int index = Arrays.binarySearch(zipfCdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, accounts - 1);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void transfer() throws Exception {
+        int from = nextAccount();
+        int to = nextAccount();
+        if (from == to) {
+            to = (to + 1) % accounts;
+        }
+        accountService.transfer(BenchmarkDatabase.iban(from), BenchmarkDatabase.iban(to), AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void deposit() throws Exception {
+        accountService.deposit(BenchmarkDatabase.iban(nextAccount()), AMOUNT);
+    }
+}
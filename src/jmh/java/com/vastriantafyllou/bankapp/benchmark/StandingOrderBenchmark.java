@@ -0,0 +1,133 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import com.vastriantafyllou.bankapp.service.StandingOrderBatchWriter;
+import com.vastriantafyllou.bankapp.service.StandingOrderScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code orders} monthly standing orders all due at the same instant, as after a restart at midnight on
+ * the first of the month. The engine loads them from the table into the timing wheel and runs them in
+ * IBAN-ordered batches; the baseline is the cron-job approach of one transfer per order from a pool of
+ * the same size, reading the orders from memory, so it does not pay for the load or the order updates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class StandingOrderBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final int SEED_CHUNK = 50_000;
+
+    @Param({"engine", "direct"})
+    public String mode;
+
+    @Param({"1000000"})
+    public int orders;
+
+    @Param({"100000"})
+    public int accounts;
+
+    @Param({"200"})
+    public int batchSize;
+
+    @Param({"4"})
+    public int parallelism;
+
+    @Param({"0"})
+    public long jitterMillis;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private int[] fromAccount;
+    private int[] toAccount;
+    private StandingOrderScheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("standing-orders-" + mode, "bankapp.standing-orders.enabled=false");
+        BenchmarkDatabase.seed(context, accounts, 0);
+        jdbc = context.getBean(JdbcTemplate.class);
+
+        Random random = new Random(7);
+        fromAccount = new int[orders];
+        toAccount = new int[orders];
+        for (int i = 0; i < orders; i++) {
+            fromAccount[i] = random.nextInt(accounts);
+            toAccount[i] = (fromAccount[i] + 1 + random.nextInt(accounts - 1)) % accounts;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void seedOrders() {
+        jdbc.update("delete from standing_orders");
+        LocalDateTime dueAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(1);
+        Timestamp due = Timestamp.valueOf(dueAt);
+        List<Object[]> rows = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < orders; i++) {
+            rows.add(new Object[]{BenchmarkDatabase.SEED_ID_OFFSET + i, BenchmarkDatabase.iban(fromAccount[i]),
+                    BenchmarkDatabase.iban(toAccount[i]), AMOUNT, due, due, due});
+            if (rows.size() == SEED_CHUNK || i == orders - 1) {
+                jdbc.batchUpdate("insert into standing_orders (id, from_iban, to_iban, amount, frequency, status, start_at, occurrence, "
+                        + "next_run_at, executed_count, declined_count, created_at) values (?, ?, ?, ?, 'MONTHLY', 'ACTIVE', ?, 0, ?, 0, 0, ?)", rows);
+                rows.clear();
+            }
+        }
+        if ("engine".equals(mode)) {
+            scheduler = new StandingOrderScheduler(context.getBean(DataSource.class), context.getBean(StandingOrderBatchWriter.class),
+                    new SimpleMeterRegistry(), 1000, 64, 4, 24, batchSize, parallelism, jitterMillis, 1000, 3);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopScheduler() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void runDueOrders() throws InterruptedException {
+        if ("engine".equals(mode)) {
+            scheduler.load();
+            do {
+                scheduler.tick();
+                Thread.sleep(10);
+            } while (scheduler.getScheduled() > 0 || scheduler.getPendingBatches() > 0);
+            return;
+        }
+
+        IAccountService accountService = context.getBean(IAccountService.class);
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        for (int i = 0; i < orders; i++) {
+            String from = BenchmarkDatabase.iban(fromAccount[i]);
+            String to = BenchmarkDatabase.iban(toAccount[i]);
+            pool.execute(() -> accountService.tryTransfer(from, to, AMOUNT));
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+    }
+}
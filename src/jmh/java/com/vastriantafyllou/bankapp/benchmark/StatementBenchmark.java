@@ -0,0 +1,61 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.dto.StatementDTO;
+import com.vastriantafyllou.bankapp.service.IStatementService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statements read one rollup row per day, so the seeded history is expressed in days: ten years at
+ * ~2,700 transactions a day stands in for an account with 10M ledger rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatementBenchmark {
+
+    @Param({"3650"})
+    public int historyDays;
+
+    @Param({"2740"})
+    public int transactionsPerDay;
+
+    private ConfigurableApplicationContext context;
+    private IStatementService statementService;
+    private String iban;
+    private LocalDate lastDay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("statement");
+        BenchmarkDatabase.seed(context, 1, 0);
+        lastDay = LocalDate.now().minusDays(1);
+        BenchmarkDatabase.seedDailyBalances(context, historyDays, transactionsPerDay, lastDay);
+        statementService = context.getBean(IStatementService.class);
+        iban = BenchmarkDatabase.iban(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public StatementDTO monthlyStatement() throws Exception {
+        return statementService.getStatement(iban, lastDay.minusDays(29), lastDay);
+    }
+
+    @Benchmark
+    public StatementDTO yearlyStatement() throws Exception {
+        return statementService.getStatement(iban, lastDay.minusDays(IStatementService.STATEMENT_MAX_DAYS - 1), lastDay);
+    }
+
+    @Benchmark
+    public BigDecimal balanceOnDate() throws Exception {
+        return statementService.getBalanceOn(iban, lastDay.minusDays(historyDays / 2));
+    }
+}
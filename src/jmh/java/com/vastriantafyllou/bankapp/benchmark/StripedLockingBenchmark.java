@@ -0,0 +1,72 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 200 threads hammering one merchant IBAN, with and without the in-JVM lock stripes. Without them every
+ * caller borrows a pooled connection and queues on the row lock; with them only the stripe holder does,
+ * so the rest of the pool stays free for other accounts: {@code hotAndCold} measures deposits into cold
+ * accounts running alongside the hot ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StripedLockingBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"true", "false"})
+    public boolean striped;
+
+    @Param({"1000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private String hotIban;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("striped-" + striped, "bankapp.locking.striped.enabled=" + striped);
+        BenchmarkDatabase.seed(context, accounts, 0);
+        accountService = context.getBean(IAccountService.class);
+        hotIban = BenchmarkDatabase.iban(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(200)
+    public void depositHotAccount() throws Exception {
+        accountService.deposit(hotIban, AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(200)
+    public void transferIntoHotAccount() throws Exception {
+        accountService.transfer(BenchmarkDatabase.iban(1 + ThreadLocalRandom.current().nextInt(accounts - 1)), hotIban, AMOUNT);
+    }
+
+    @Benchmark
+    @Group("hotAndCold")
+    @GroupThreads(200)
+    public void hotDeposit() throws Exception {
+        accountService.deposit(hotIban, AMOUNT);
+    }
+
+    @Benchmark
+    @Group("hotAndCold")
+    @GroupThreads(8)
+    public void coldDeposit() throws Exception {
+        accountService.deposit(BenchmarkDatabase.iban(1 + ThreadLocalRandom.current().nextInt(accounts - 1)), AMOUNT);
+    }
+}
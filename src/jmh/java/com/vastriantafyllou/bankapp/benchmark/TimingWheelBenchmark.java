@@ -0,0 +1,63 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.core.scheduling.HierarchicalTimingWheel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduling {@code items} occurrences and advancing through them, either all due at the same second
+ * (midnight payroll) or spread over a day, in the timing wheel and in a due-time priority queue.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class TimingWheelBenchmark {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    @Param({"1000000"})
+    public int items;
+
+    @Param({"same-instant", "spread"})
+    public String due;
+
+    private long[] dueMillis;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dueMillis = new long[items];
+        for (int i = 0; i < items; i++) {
+            dueMillis[i] = "same-instant".equals(due) ? DAY_MILLIS : (long) i * DAY_MILLIS / items;
+        }
+    }
+
+    @Benchmark
+    public void timingWheel(Blackhole blackhole) {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 64, 4, 0);
+        for (int i = 0; i < items; i++) {
+            wheel.schedule(i, dueMillis[i]);
+        }
+        for (long now = 0; now <= DAY_MILLIS; now += TICK_MILLIS) {
+            wheel.advanceTo(now, blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void priorityQueue(Blackhole blackhole) {
+        PriorityQueue<long[]> queue = new PriorityQueue<>(items, (a, b) -> Long.compare(a[0], b[0]));
+        for (int i = 0; i < items; i++) {
+            queue.add(new long[]{dueMillis[i], i});
+        }
+        for (long now = 0; now <= DAY_MILLIS; now += TICK_MILLIS) {
+            while (!queue.isEmpty() && queue.peek()[0] <= now) {
+                blackhole.consume(queue.poll()[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.core.pagination.KeysetCursor;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * History page latency as one account's ledger grows. With keyset pagination the first page and a page
+ * deep in the history should both stay flat across {@code historyRows}; an offset scan or a missing
+ * {@code (account_id, created_at, id)} index shows up as the deep page growing with the row count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionHistoryBenchmark {
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"1000", "100000", "1000000"})
+    public int historyRows;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private String hotIban;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("history-" + historyRows);
+        BenchmarkDatabase.seed(context, accounts, historyRows);
+        accountService = context.getBean(IAccountService.class);
+        hotIban = BenchmarkDatabase.iban(0);
+
+        // Positioned so the next page holds the oldest rows of the account.
+        deepCursor = context.getBean(JdbcTemplate.class).queryForObject(
+                "select created_at, id from account_transactions where account_id = ? order by created_at, id limit 1 offset ?",
+                (rs, rowNum) -> new KeysetCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)).encode(),
+                BenchmarkDatabase.SEED_ID_OFFSET, Math.min(IAccountService.HISTORY_DEFAULT_PAGE_SIZE, historyRows - 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionHistoryDTO firstPage() throws Exception {
+        return accountService.getTransactionHistory(hotIban, null, IAccountService.HISTORY_DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TransactionHistoryDTO deepPage() throws Exception {
+        return accountService.getTransactionHistory(hotIban, deepCursor, IAccountService.HISTORY_DEFAULT_PAGE_SIZE);
+    }
+}
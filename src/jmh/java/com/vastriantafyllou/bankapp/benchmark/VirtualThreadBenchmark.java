@@ -0,0 +1,142 @@
+package com.vastriantafyllou.bankapp.benchmark;
+
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@code clients} concurrent transfers, each standing for one request, handled the way the
+ * web tier would: by a pool of Tomcat's default 200 platform threads, or by one virtual thread per
+ * request admitted through a fair semaphore sized to the JDBC pool, as
+ * {@code VirtualThreadConcurrencyFilter} does. {@code virtual-unbounded} drops the admission, so every
+ * virtual thread queues inside the pool and may time out there; failed transfers are counted.
+ * The score is the time per burst, so requests per second is {@code clients} divided by it. Latency runs
+ * from submission, which includes the wait for a pool thread or a permit. Pinned virtual threads are
+ * traced to the benchmark output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class VirtualThreadBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual", "virtual-unbounded"})
+    public String threads;
+
+    @Param({"1000", "10000", "50000"})
+    public int clients;
+
+    @Param({"1000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private IAccountService accountService;
+    private ExecutorService executor;
+    private Semaphore admission;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("threads-" + threads + "-" + clients);
+        BenchmarkDatabase.seed(context, accounts, 0);
+        accountService = context.getBean(IAccountService.class);
+        if ("platform".equals(threads)) {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        } else {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+        }
+        if ("virtual".equals(threads)) {
+            admission = new Semaphore(((HikariDataSource) context.getBean(DataSource.class)).getMaximumPoolSize(), true);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Latency {
+        public long p99Micros;
+        public long failed;
+        private long[] samples = new long[0];
+        private int count;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            p99Micros = 0;
+            failed = 0;
+            count = 0;
+        }
+
+        /** Over every request of the iteration so far, outside the timed burst. */
+        @TearDown(Level.Invocation)
+        public void percentile() {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            p99Micros = TimeUnit.NANOSECONDS.toMicros(sorted[(int) Math.ceil(count * 0.99) - 1]);
+        }
+
+        private void add(long[] burst, long burstFailed) {
+            if (samples.length < count + burst.length) {
+                samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + burst.length));
+            }
+            System.arraycopy(burst, 0, samples, count, burst.length);
+            count += burst.length;
+            failed += burstFailed;
+        }
+    }
+
+    @Benchmark
+    public void burst(Latency latency) throws InterruptedException {
+        long[] latencies = new long[clients];
+        long[] failures = new long[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            int client = i;
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    if (admission != null) {
+                        admission.acquireUninterruptibly();
+                    }
+                    try {
+                        transfer();
+                    } finally {
+                        if (admission != null) {
+                            admission.release();
+                        }
+                    }
+                } catch (Exception e) {
+                    failures[client] = 1;
+                } finally {
+                    latencies[client] = System.nanoTime() - submitted;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        latency.add(latencies, Arrays.stream(failures).sum());
+    }
+
+    private void transfer() throws Exception {
+        int from = ThreadLocalRandom.current().nextInt(accounts);
+        int to = (from + 1 + ThreadLocalRandom.current().nextInt(accounts - 1)) % accounts;
+        accountService.transfer(BenchmarkDatabase.iban(from), BenchmarkDatabase.iban(to), AMOUNT);
+    }
+}
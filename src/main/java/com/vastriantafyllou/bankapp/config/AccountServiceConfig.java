@@ -0,0 +1,167 @@
+package com.vastriantafyllou.bankapp.config;
+
+import com.vastriantafyllou.bankapp.core.cache.CacheInvalidationBroker;
+import com.vastriantafyllou.bankapp.core.cache.LocalCacheInvalidationBroker;
+import com.vastriantafyllou.bankapp.core.concurrency.AccountShards;
+import com.vastriantafyllou.bankapp.core.concurrency.AdaptiveLockPolicy;
+import com.vastriantafyllou.bankapp.core.concurrency.IbanLockStripes;
+import com.vastriantafyllou.bankapp.core.engine.LedgerEngine;
+import com.vastriantafyllou.bankapp.service.AccountCache;
+import com.vastriantafyllou.bankapp.service.AccountServiceImpl;
+import com.vastriantafyllou.bankapp.service.AdaptiveLockingAccountService;
+import com.vastriantafyllou.bankapp.service.BatchingAccountService;
+import com.vastriantafyllou.bankapp.service.CachingAccountService;
+import com.vastriantafyllou.bankapp.service.DepositWithdrawBatcher;
+import com.vastriantafyllou.bankapp.service.GroupCommitWriter;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import com.vastriantafyllou.bankapp.service.InMemoryAccountService;
+import com.vastriantafyllou.bankapp.service.ShardedAccountService;
+import com.vastriantafyllou.bankapp.service.StripedLockingAccountService;
+import com.vastriantafyllou.bankapp.service.TimedAccountService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class AccountServiceConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheInvalidationBroker cacheInvalidationBroker() {
+        return new LocalCacheInvalidationBroker();
+    }
+
+    @Bean
+    public AccountCache accountCache(CacheInvalidationBroker cacheInvalidationBroker,
+                                     @Value("${bankapp.cache.max-size:10000}") int maxSize,
+                                     @Value("${bankapp.cache.ttl-millis:30000}") long ttlMillis) {
+        return new AccountCache(maxSize, ttlMillis, cacheInvalidationBroker);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bankapp.locking.striped.enabled", havingValue = "true")
+    public IbanLockStripes ibanLockStripes(@Value("${bankapp.locking.striped.stripes:256}") int stripes) {
+        return new IbanLockStripes(stripes);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bankapp.locking.adaptive.enabled", havingValue = "true")
+    public AdaptiveLockPolicy adaptiveLockPolicy(@Value("${bankapp.locking.adaptive.smoothing:0.25}") double smoothing,
+                                                 @Value("${bankapp.locking.adaptive.conflict-threshold:0.4}") double conflictThreshold,
+                                                 @Value("${bankapp.locking.adaptive.hold-millis:30000}") long holdMillis,
+                                                 @Value("${bankapp.locking.adaptive.max-attempts:3}") int maxAttempts) {
+        return new AdaptiveLockPolicy(smoothing, conflictThreshold, holdMillis, maxAttempts);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "bankapp.sharding.enabled", havingValue = "true")
+    public AccountShards accountShards(@Value("${bankapp.sharding.shards:0}") int shards) {
+        return new AccountShards(shards > 0 ? shards : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "bankapp.batching.enabled", havingValue = "true")
+    public DepositWithdrawBatcher depositWithdrawBatcher(GroupCommitWriter groupCommitWriter,
+                                                         @Value("${bankapp.batching.window-micros:2000}") long windowMicros,
+                                                         @Value("${bankapp.batching.max-batch-size:256}") int maxBatchSize,
+                                                         @Value("${bankapp.batching.flush-threads:4}") int flushThreads) {
+        return new DepositWithdrawBatcher(groupCommitWriter, windowMicros, maxBatchSize, flushThreads);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "bankapp.engine.mode", havingValue = "in-memory")
+    public LedgerEngine ledgerEngine(Environment environment,
+                                     @Value("${bankapp.engine.dir:}") String dir,
+                                     @Value("${bankapp.engine.ring-size:65536}") int ringSize,
+                                     @Value("${bankapp.engine.max-batch:4096}") int maxBatch,
+                                     @Value("${bankapp.engine.segment-bytes:67108864}") int segmentBytes,
+                                     @Value("${bankapp.engine.fsync:true}") boolean fsync,
+                                     @Value("${bankapp.engine.snapshot-every:1000000}") long snapshotEvery) throws IOException {
+        if (dir.isBlank()) {
+            throw new IllegalStateException("bankapp.engine.mode=in-memory needs bankapp.engine.dir, a durable directory for its log and snapshots");
+        }
+        requireNoJpaLedgerFeatures(environment);
+        return LedgerEngine.open(Path.of(dir), ringSize, maxBatch, segmentBytes, fsync, snapshotEvery);
+    }
+
+    @Bean
+    @Primary
+    public IAccountService accountService(AccountServiceImpl accountServiceImpl,
+                                          ObjectProvider<LedgerEngine> ledgerEngine,
+                                          ObjectProvider<AdaptiveLockPolicy> adaptiveLockPolicy,
+                                          ObjectProvider<IbanLockStripes> lockStripes,
+                                          ObjectProvider<AccountShards> accountShards,
+                                          ObjectProvider<DepositWithdrawBatcher> batcher,
+                                          AccountCache accountCache,
+                                          @Value("${bankapp.cache.enabled:false}") boolean cacheEnabled,
+                                          MeterRegistry meterRegistry) {
+        // The engine has its own single writer: the locking, batching and caching layers are JPA-specific.
+        LedgerEngine engine = ledgerEngine.getIfAvailable();
+        if (engine != null) {
+            return new TimedAccountService(new InMemoryAccountService(engine), meterRegistry);
+        }
+
+        IAccountService service = accountServiceImpl;
+
+        // Shards already serialize each account's writers, which is what the locking layers are for.
+        AccountShards shards = accountShards.getIfAvailable();
+        if (shards != null) {
+            service = new ShardedAccountService(accountServiceImpl, shards);
+        } else {
+            AdaptiveLockPolicy lockPolicy = adaptiveLockPolicy.getIfAvailable();
+            if (lockPolicy != null) {
+                service = new AdaptiveLockingAccountService(accountServiceImpl, lockPolicy);
+            }
+
+            IbanLockStripes stripes = lockStripes.getIfAvailable();
+            if (stripes != null) {
+                service = new StripedLockingAccountService(service, stripes);
+            }
+        }
+
+        DepositWithdrawBatcher depositWithdrawBatcher = batcher.getIfAvailable();
+        if (depositWithdrawBatcher != null) {
+            service = new BatchingAccountService(service, depositWithdrawBatcher);
+        }
+
+        if (cacheEnabled) {
+            service = new CachingAccountService(service, accountCache);
+        }
+        return new TimedAccountService(service, meterRegistry);
+    }
+
+    /**
+     * The engine replaces the JPA ledger only behind {@link IAccountService}. These features read or write
+     * the accounts and ledger tables directly, so next to the engine they would move money the engine never
+     * sees, or show balances it no longer has; the application refuses to start rather than split the ledger.
+     */
+    private static void requireNoJpaLedgerFeatures(Environment environment) {
+        Map<String, Boolean> features = new LinkedHashMap<>();
+        features.put("bankapp.standing-orders.enabled", true);
+        features.put("bankapp.bulk.enabled", true);
+        features.put("bankapp.account-view.enabled", true);
+        features.put("bankapp.outbox.enabled", false);
+        features.put("bankapp.ledger.partitioning.enabled", false);
+        features.put("bankapp.ledger.verification.enabled", false);
+
+        List<String> enabled = features.entrySet().stream()
+                .filter(feature -> environment.getProperty(feature.getKey(), Boolean.class, feature.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!enabled.isEmpty()) {
+            throw new IllegalStateException("bankapp.engine.mode=in-memory needs these set to false: " + String.join(", ", enabled));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.vastriantafyllou.bankapp.config;
+
+import com.vastriantafyllou.bankapp.core.outbox.FileLedgerEventSink;
+import com.vastriantafyllou.bankapp.core.outbox.InMemoryLedgerEventSink;
+import com.vastriantafyllou.bankapp.core.outbox.LedgerEventSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "bankapp.outbox.enabled", havingValue = "true")
+public class LedgerOutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LedgerEventSink ledgerEventSink(JsonMapper jsonMapper,
+                                           @Value("${bankapp.outbox.sink:file}") String sink,
+                                           @Value("${bankapp.outbox.file:}") String file) {
+        return switch (sink) {
+            case "file" -> {
+                if (file.isBlank()) {
+                    throw new IllegalStateException("bankapp.outbox.sink=file needs bankapp.outbox.file, a file on a durable volume");
+                }
+                yield new FileLedgerEventSink(Path.of(file), jsonMapper);
+            }
+            case "memory" -> new InMemoryLedgerEventSink();
+            default -> throw new IllegalArgumentException("Unknown bankapp.outbox.sink: " + sink);
+        };
+    }
+}
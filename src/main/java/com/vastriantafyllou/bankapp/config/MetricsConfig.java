@@ -0,0 +1,65 @@
+package com.vastriantafyllou.bankapp.config;
+
+import com.vastriantafyllou.bankapp.core.concurrency.AccountShards;
+import com.vastriantafyllou.bankapp.core.concurrency.IbanLockStripes;
+import com.vastriantafyllou.bankapp.service.AccountCache;
+import com.vastriantafyllou.bankapp.service.AccountKeyIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder accountCacheMetrics(AccountCache accountCache) {
+        return registry -> {
+            Gauge.builder("bankapp.cache.size", accountCache, AccountCache::size).register(registry);
+            FunctionCounter.builder("bankapp.cache.requests", accountCache, AccountCache::getHits).tag("result", "hit").register(registry);
+            FunctionCounter.builder("bankapp.cache.requests", accountCache, AccountCache::getMisses).tag("result", "miss").register(registry);
+            FunctionCounter.builder("bankapp.cache.evictions", accountCache, AccountCache::getEvictions).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder accountKeyIndexMetrics(AccountKeyIndex accountKeyIndex) {
+        return registry -> {
+            FunctionCounter.builder("bankapp.account.key-index.checks", accountKeyIndex, AccountKeyIndex::getProbesSkipped).tag("result", "absent").register(registry);
+            FunctionCounter.builder("bankapp.account.key-index.checks", accountKeyIndex, AccountKeyIndex::getProbesRequired).tag("result", "maybe").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder ibanLockStripeMetrics(ObjectProvider<IbanLockStripes> lockStripes) {
+        return registry -> {
+            IbanLockStripes stripes = lockStripes.getIfAvailable();
+            if (stripes == null) {
+                return;
+            }
+            Gauge.builder("bankapp.lock.stripes.queue.depth", stripes, IbanLockStripes::getQueueDepth).register(registry);
+            Gauge.builder("bankapp.lock.stripes.queue.depth.max", stripes, IbanLockStripes::getMaxQueueDepth).register(registry);
+            FunctionCounter.builder("bankapp.lock.stripes.acquisitions", stripes, IbanLockStripes::getAcquisitions).register(registry);
+            FunctionCounter.builder("bankapp.lock.stripes.wait", stripes, s -> s.getTotalWaitNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder accountShardMetrics(ObjectProvider<AccountShards> accountShards) {
+        return registry -> {
+            AccountShards shards = accountShards.getIfAvailable();
+            if (shards == null) {
+                return;
+            }
+            Gauge.builder("bankapp.shards.queue.depth", shards, AccountShards::getQueueDepth).register(registry);
+            FunctionCounter.builder("bankapp.shards.executions", shards, AccountShards::getLocalExecutions).tag("scope", "local").register(registry);
+            FunctionCounter.builder("bankapp.shards.executions", shards, AccountShards::getCrossShardExecutions).tag("scope", "cross-shard").register(registry);
+        };
+    }
+}
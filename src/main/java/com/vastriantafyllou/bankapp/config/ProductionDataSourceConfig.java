@@ -0,0 +1,53 @@
+package com.vastriantafyllou.bankapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * Sizes the HikariCP pool for the prod profile unless spring.datasource.hikari.maximum-pool-size is set.
+ * The pool is kept small on purpose: more connections than the database has cores to run them only
+ * adds context switching and lock contention on the server, and requests queue more cheaply in the pool.
+ */
+@Configuration
+@Profile("prod")
+public class ProductionDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor hikariPoolSizing(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                    int dbCores = environment.getProperty("bankapp.datasource.db-cores", Integer.class, 0);
+                    int size = poolSize(
+                            dbCores > 0 ? dbCores : Runtime.getRuntime().availableProcessors(),
+                            environment.getProperty("bankapp.datasource.effective-spindles", Integer.class, 1),
+                            environment.getProperty("bankapp.datasource.db-max-connections", Integer.class, 151),
+                            environment.getProperty("bankapp.datasource.reserved-connections", Integer.class, 10),
+                            environment.getProperty("bankapp.datasource.app-instances", Integer.class, 1));
+                    dataSource.setMaximumPoolSize(size);
+                    dataSource.setMinimumIdle(size);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * (cores x 2) + effective spindles, at least 2, capped by this node's share of the database's
+     * connection limit. The cap always wins: a node that would get no connection at all fails to start.
+     */
+    static int poolSize(int dbCores, int effectiveSpindles, int dbMaxConnections, int reservedConnections, int appInstances) {
+        int preferred = Math.max(2, dbCores * 2 + effectiveSpindles);
+        int share = (dbMaxConnections - reservedConnections) / Math.max(1, appInstances);
+        if (share < 1) {
+            throw new IllegalStateException("bankapp.datasource.db-max-connections leaves no connection for each of "
+                    + appInstances + " app instances after " + reservedConnections + " reserved");
+        }
+        return Math.min(preferred, share);
+    }
+}
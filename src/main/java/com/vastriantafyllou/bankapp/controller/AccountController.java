@@ -3,39 +3,90 @@ package com.vastriantafyllou.bankapp.controller;
 import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
 import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
 import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidStatementRangeException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidIdempotencyKeyException;
 import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
 import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
 import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
 import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
 import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.AccountViewDTO;
+import com.vastriantafyllou.bankapp.dto.BulkAccountCreationDTO;
+import com.vastriantafyllou.bankapp.dto.StatementDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
 import com.vastriantafyllou.bankapp.dto.TransferDTO;
 import com.vastriantafyllou.bankapp.dto.TransactionDTO;
-import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.service.AccountExportService;
+import com.vastriantafyllou.bankapp.service.IAccountOnboardingService;
 import com.vastriantafyllou.bankapp.service.IAccountService;
+import com.vastriantafyllou.bankapp.service.IAccountViewService;
+import com.vastriantafyllou.bankapp.service.IStatementService;
+import com.vastriantafyllou.bankapp.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Controller
 @RequestMapping("/accounts")
 @RequiredArgsConstructor
 public class AccountController {
 
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "iban", "accountNumber", "balance");
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final IAccountService accountService;
+    private final IAccountOnboardingService accountOnboardingService;
+    private final IAccountViewService accountViewService;
+    private final AccountExportService accountExportService;
+    private final IdempotencyService idempotencyService;
+    private final IStatementService statementService;
 
     @GetMapping
-    public String listAccounts(Model model) {
-        List<AccountReadOnlyDTO> accounts = accountService.getAllAccounts();
-        model.addAttribute("accounts", accounts);
+    public String listAccounts(@RequestParam(required = false) String q,
+                               @PageableDefault(size = 20, sort = "iban") Pageable pageable,
+                               Model model) {
+        Slice<AccountReadOnlyDTO> accounts = accountService.getAccounts(q, sanitize(pageable));
+        model.addAttribute("accounts", accounts.getContent());
+        model.addAttribute("page", accounts);
+        model.addAttribute("q", q);
+        Sort.Order order = accounts.getPageable().getSort().stream().findFirst().orElse(Sort.Order.asc("iban"));
+        model.addAttribute("sortProperty", order.getProperty());
+        model.addAttribute("sortDirection", order.getDirection().name().toLowerCase());
         return "accounts/list";
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(@RequestParam(defaultValue = AccountExportService.CSV) String format) {
+        boolean ndjson = AccountExportService.NDJSON.equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=accounts." + (ndjson ? "ndjson" : "csv"))
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.parseMediaType("text/csv"))
+                .body(out -> accountExportService.export(format, out));
+    }
+
     @GetMapping("/new")
     public String showCreateForm(Model model) {
         model.addAttribute("accountDTO", new AccountInsertDTO());
@@ -63,15 +114,29 @@ public class AccountController {
         }
     }
 
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<BulkAccountCreationDTO> createAccounts(InputStream body) throws IOException {
+        return ResponseEntity.ok(accountOnboardingService.createAccounts(body));
+    }
+
     @GetMapping("/{iban}")
-    public String viewAccount(@PathVariable String iban, Model model, RedirectAttributes redirectAttributes) {
+    public String viewAccount(@PathVariable String iban,
+                              @RequestParam(required = false) String cursor,
+                              @RequestParam(defaultValue = "" + IAccountService.HISTORY_DEFAULT_PAGE_SIZE) int size,
+                              Model model,
+                              RedirectAttributes redirectAttributes) {
         try {
-            AccountReadOnlyDTO account = accountService.getAccountByIban(iban);
-            List<AccountTransaction> transactions = accountService.getTransactionHistory(iban);
+            Optional<AccountViewDTO> view = cursor == null || cursor.isBlank()
+                    ? accountViewService.getAccountView(iban, size)
+                    : Optional.empty();
+            AccountReadOnlyDTO account = view.isPresent() ? view.get().getAccount() : accountService.getAccountByIban(iban);
+            TransactionHistoryDTO history = view.isPresent() ? view.get().getHistory() : accountService.getTransactionHistory(iban, cursor, size);
+            view.ifPresent(v -> model.addAttribute("monthTotals", v));
             model.addAttribute("account", account);
             model.addAttribute("transactionDTO", new TransactionDTO());
             model.addAttribute("transferDTO", new TransferDTO());
-            model.addAttribute("transactions", transactions);
+            addHistory(model, history, cursor);
             return "accounts/view";
         } catch (AccountNotFoundException e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
@@ -79,17 +144,56 @@ public class AccountController {
         }
     }
 
+    @GetMapping(value = "/{iban}/transactions", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<TransactionHistoryDTO> transactionHistory(@PathVariable String iban,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "" + IAccountService.HISTORY_DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return ResponseEntity.ok(accountService.getTransactionHistory(iban, cursor, size));
+        } catch (AccountNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping(value = "/{iban}/statement", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<StatementDTO> statement(@PathVariable String iban,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(statementService.getStatement(iban, from, to));
+        } catch (AccountNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (InvalidStatementRangeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/{iban}/balance", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<BigDecimal> balanceOn(@PathVariable String iban,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return ResponseEntity.ok(statementService.getBalanceOn(iban, date));
+        } catch (AccountNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PostMapping("/{iban}/deposit")
     public String deposit(@PathVariable String iban,
                           @Valid @ModelAttribute("transactionDTO") TransactionDTO dto,
                           BindingResult bindingResult,
+                          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKeyHeader,
+                          @RequestParam(required = false) String idempotencyKey,
                           Model model,
                           RedirectAttributes redirectAttributes) {
         if (bindingResult.hasErrors()) {
             try {
                 model.addAttribute("account", accountService.getAccountByIban(iban));
                 model.addAttribute("transferDTO", new TransferDTO());
-                model.addAttribute("transactions", accountService.getTransactionHistory(iban));
+                addHistory(model, accountService.getTransactionHistory(iban, null, IAccountService.HISTORY_DEFAULT_PAGE_SIZE), null);
             } catch (AccountNotFoundException e) {
                 redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
                 return "redirect:/accounts";
@@ -98,9 +202,9 @@ public class AccountController {
         }
 
         try {
-            accountService.deposit(iban, dto.getAmount());
+            idempotencyService.deposit(firstNonBlank(idempotencyKeyHeader, idempotencyKey), iban, dto.getAmount());
             redirectAttributes.addFlashAttribute("successMessage", "Η κατάθεση ολοκληρώθηκε επιτυχώς!");
-        } catch (AccountNotFoundException | NegativeAmountException e) {
+        } catch (AccountNotFoundException | NegativeAmountException | InvalidIdempotencyKeyException e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
         }
         return "redirect:/accounts/" + iban;
@@ -110,13 +214,15 @@ public class AccountController {
     public String transfer(@PathVariable String iban,
                            @Valid @ModelAttribute("transferDTO") TransferDTO dto,
                            BindingResult bindingResult,
+                           @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKeyHeader,
+                           @RequestParam(required = false) String idempotencyKey,
                            Model model,
                            RedirectAttributes redirectAttributes) {
         if (bindingResult.hasErrors()) {
             try {
                 model.addAttribute("account", accountService.getAccountByIban(iban));
                 model.addAttribute("transactionDTO", new TransactionDTO());
-                model.addAttribute("transactions", accountService.getTransactionHistory(iban));
+                addHistory(model, accountService.getTransactionHistory(iban, null, IAccountService.HISTORY_DEFAULT_PAGE_SIZE), null);
             } catch (AccountNotFoundException e) {
                 redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
                 return "redirect:/accounts";
@@ -125,9 +231,9 @@ public class AccountController {
         }
 
         try {
-            accountService.transfer(iban, dto.getToIban(), dto.getAmount());
+            idempotencyService.transfer(firstNonBlank(idempotencyKeyHeader, idempotencyKey), iban, dto.getToIban(), dto.getAmount());
             redirectAttributes.addFlashAttribute("successMessage", "Η μεταφορά ολοκληρώθηκε επιτυχώς!");
-        } catch (AccountNotFoundException | NegativeAmountException | InsufficientBalanceException | InvalidTransferException e) {
+        } catch (AccountNotFoundException | NegativeAmountException | InsufficientBalanceException | InvalidTransferException | InvalidIdempotencyKeyException e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
         }
         return "redirect:/accounts/" + iban;
@@ -137,13 +243,15 @@ public class AccountController {
     public String withdraw(@PathVariable String iban,
                            @Valid @ModelAttribute("transactionDTO") TransactionDTO dto,
                            BindingResult bindingResult,
+                           @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKeyHeader,
+                           @RequestParam(required = false) String idempotencyKey,
                            Model model,
                            RedirectAttributes redirectAttributes) {
         if (bindingResult.hasErrors()) {
             try {
                 model.addAttribute("account", accountService.getAccountByIban(iban));
                 model.addAttribute("transferDTO", new TransferDTO());
-                model.addAttribute("transactions", accountService.getTransactionHistory(iban));
+                addHistory(model, accountService.getTransactionHistory(iban, null, IAccountService.HISTORY_DEFAULT_PAGE_SIZE), null);
             } catch (AccountNotFoundException e) {
                 redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
                 return "redirect:/accounts";
@@ -152,9 +260,9 @@ public class AccountController {
         }
 
         try {
-            accountService.withdraw(iban, dto.getAmount());
+            idempotencyService.withdraw(firstNonBlank(idempotencyKeyHeader, idempotencyKey), iban, dto.getAmount());
             redirectAttributes.addFlashAttribute("successMessage", "Η ανάληψη ολοκληρώθηκε επιτυχώς!");
-        } catch (AccountNotFoundException | NegativeAmountException | InsufficientBalanceException e) {
+        } catch (AccountNotFoundException | NegativeAmountException | InsufficientBalanceException | InvalidIdempotencyKeyException e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
         }
         return "redirect:/accounts/" + iban;
@@ -170,4 +278,29 @@ public class AccountController {
         }
         return "redirect:/accounts";
     }
+
+    private void addHistory(Model model, TransactionHistoryDTO history, String cursor) {
+        model.addAttribute("history", history);
+        model.addAttribute("transactions", history.getTransactions());
+        model.addAttribute("firstPage", cursor == null || cursor.isBlank());
+        model.addAttribute("pageSizes", List.of(10, IAccountService.HISTORY_DEFAULT_PAGE_SIZE, 50, IAccountService.HISTORY_MAX_PAGE_SIZE));
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
+    }
+
+    private static String firstNonBlank(String first, String second) {
+        return first != null && !first.isBlank() ? first : second;
+    }
+
+    private static Pageable sanitize(Pageable pageable) {
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .filter(order -> SORTABLE_PROPERTIES.contains(order.getProperty()))
+                .toList());
+        if (sort.isUnsorted()) {
+            sort = Sort.by("iban");
+        }
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
 }
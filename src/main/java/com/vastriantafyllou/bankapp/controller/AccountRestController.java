@@ -0,0 +1,231 @@
+package com.vastriantafyllou.bankapp.controller;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidIdempotencyKeyException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.BalanceDTO;
+import com.vastriantafyllou.bankapp.dto.BatchOperationDTO;
+import com.vastriantafyllou.bankapp.dto.BatchOperationResultDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import com.vastriantafyllou.bankapp.dto.TransferDTO;
+import com.vastriantafyllou.bankapp.service.IAccountService;
+import com.vastriantafyllou.bankapp.service.IdempotencyService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON API over the same services as the Thymeleaf UI, for automated clients. Money movements answer
+ * 204 without rendering anything, and without an Idempotency-Key a decline is reported without raising
+ * an exception; balance and history GETs carry an ETag derived from the IBAN and the account version, so
+ * a client revalidating with If-None-Match gets a 304 after a single primary-key lookup.
+ */
+@RestController
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+public class AccountRestController {
+
+    public static final int MAX_BATCH_OPERATIONS = 1000;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IAccountService accountService;
+    private final IdempotencyService idempotencyService;
+
+    @GetMapping
+    public List<AccountReadOnlyDTO> listAccounts(@RequestParam(required = false) String q,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, 100), Sort.by("iban").and(Sort.by("id")));
+        return accountService.getAccounts(q, pageable).getContent();
+    }
+
+    @PostMapping
+    public ResponseEntity<AccountReadOnlyDTO> createAccount(@Valid @RequestBody AccountInsertDTO dto) throws AccountAlreadyExistsException, AccountNumberAlreadyExistsException {
+        AccountReadOnlyDTO account = accountService.createAccount(dto);
+        return ResponseEntity.created(URI.create("/api/accounts/" + account.getIban())).body(account);
+    }
+
+    @GetMapping("/{iban}")
+    public ResponseEntity<AccountReadOnlyDTO> getAccount(@PathVariable String iban, WebRequest request) throws AccountNotFoundException {
+        String etag = etag(iban, "account");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(accountService.getAccountByIban(iban));
+    }
+
+    @GetMapping("/{iban}/balance")
+    public ResponseEntity<BalanceDTO> getBalance(@PathVariable String iban, WebRequest request) throws AccountNotFoundException {
+        String etag = etag(iban, "balance");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(new BalanceDTO(iban, accountService.getBalance(iban)));
+    }
+
+    @GetMapping("/{iban}/transactions")
+    public ResponseEntity<TransactionHistoryDTO> getTransactions(@PathVariable String iban,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "" + IAccountService.HISTORY_DEFAULT_PAGE_SIZE) int size,
+                                                                 WebRequest request) throws AccountNotFoundException {
+        String etag = etag(iban, "history-" + size + "-" + (cursor == null ? "" : cursor));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(accountService.getTransactionHistory(iban, cursor, size));
+    }
+
+    @PostMapping("/{iban}/deposit")
+    public ResponseEntity<Void> deposit(@PathVariable String iban,
+                                        @Valid @RequestBody TransactionDTO dto,
+                                        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) throws NegativeAmountException, AccountNotFoundException, InvalidIdempotencyKeyException {
+        if (isBlank(idempotencyKey)) {
+            return noContentOrProblem(accountService.tryDeposit(iban, dto.getAmount()));
+        }
+        return noContent(idempotencyService.deposit(idempotencyKey, iban, dto.getAmount()));
+    }
+
+    @PostMapping("/{iban}/withdraw")
+    public ResponseEntity<Void> withdraw(@PathVariable String iban,
+                                         @Valid @RequestBody TransactionDTO dto,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidIdempotencyKeyException {
+        if (isBlank(idempotencyKey)) {
+            return noContentOrProblem(accountService.tryWithdraw(iban, dto.getAmount()));
+        }
+        return noContent(idempotencyService.withdraw(idempotencyKey, iban, dto.getAmount()));
+    }
+
+    @PostMapping("/{iban}/transfer")
+    public ResponseEntity<Void> transfer(@PathVariable String iban,
+                                         @Valid @RequestBody TransferDTO dto,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException, InvalidIdempotencyKeyException {
+        if (isBlank(idempotencyKey)) {
+            return noContentOrProblem(accountService.tryTransfer(iban, dto.getToIban(), dto.getAmount()));
+        }
+        return noContent(idempotencyService.transfer(idempotencyKey, iban, dto.getToIban(), dto.getAmount()));
+    }
+
+    @DeleteMapping("/{iban}")
+    public ResponseEntity<Void> deleteAccount(@PathVariable String iban) throws AccountNotFoundException {
+        accountService.deleteAccount(iban);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Runs the operations in order, each in its own transaction, and reports every outcome; one
+     * operation failing does not stop the rest. Per-operation idempotency keys make the batch safe to resend.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchOperationResultDTO>> batch(@RequestBody List<BatchOperationDTO> operations) {
+        if (operations.size() > MAX_BATCH_OPERATIONS) {
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).build();
+        }
+        List<BatchOperationResultDTO> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            results.add(execute(i, operations.get(i)));
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    @ExceptionHandler({AccountNotFoundException.class, NegativeAmountException.class, InvalidTransferException.class,
+            InsufficientBalanceException.class, AccountAlreadyExistsException.class, AccountNumberAlreadyExistsException.class,
+            InvalidIdempotencyKeyException.class})
+    public ProblemDetail handleRejection(Exception e) {
+        return ProblemDetail.forStatusAndDetail(statusOf(e), e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleBadArgument(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    private BatchOperationResultDTO execute(int index, BatchOperationDTO operation) {
+        if (operation.getType() == null || operation.getIban() == null || operation.getAmount() == null
+                || (operation.getType() == BatchOperationDTO.Type.TRANSFER && operation.getToIban() == null)) {
+            return new BatchOperationResultDTO(index, HttpStatus.BAD_REQUEST.value(), false, "Λείπουν υποχρεωτικά πεδία");
+        }
+        if (isBlank(operation.getIdempotencyKey())) {
+            OperationResult result = switch (operation.getType()) {
+                case DEPOSIT -> accountService.tryDeposit(operation.getIban(), operation.getAmount());
+                case WITHDRAW -> accountService.tryWithdraw(operation.getIban(), operation.getAmount());
+                case TRANSFER -> accountService.tryTransfer(operation.getIban(), operation.getToIban(), operation.getAmount());
+            };
+            return result.isApplied()
+                    ? new BatchOperationResultDTO(index, HttpStatus.NO_CONTENT.value(), false, null)
+                    : new BatchOperationResultDTO(index, statusOf(result).value(), false, result.getMessage());
+        }
+        try {
+            boolean replayed = switch (operation.getType()) {
+                case DEPOSIT -> idempotencyService.deposit(operation.getIdempotencyKey(), operation.getIban(), operation.getAmount());
+                case WITHDRAW -> idempotencyService.withdraw(operation.getIdempotencyKey(), operation.getIban(), operation.getAmount());
+                case TRANSFER -> idempotencyService.transfer(operation.getIdempotencyKey(), operation.getIban(), operation.getToIban(), operation.getAmount());
+            };
+            return new BatchOperationResultDTO(index, HttpStatus.NO_CONTENT.value(), replayed, null);
+        } catch (AccountNotFoundException | NegativeAmountException | InsufficientBalanceException | InvalidTransferException
+                 | InvalidIdempotencyKeyException e) {
+            return new BatchOperationResultDTO(index, statusOf(e).value(), false, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return new BatchOperationResultDTO(index, HttpStatus.BAD_REQUEST.value(), false, e.getMessage());
+        }
+    }
+
+    private String etag(String iban, String representation) throws AccountNotFoundException {
+        // The version alone is shared by every account at the same count of changes, so scope the tag to the IBAN,
+        // encoded because IBANs are not validated to the characters an entity tag may hold.
+        return "\"" + representation + "-" + URLEncoder.encode(iban, StandardCharsets.UTF_8) + "-" + accountService.getAccountVersion(iban) + "\"";
+    }
+
+    private static ResponseEntity<Void> noContent(boolean replayed) {
+        return ResponseEntity.noContent().header(IDEMPOTENT_REPLAYED_HEADER, Boolean.toString(replayed)).build();
+    }
+
+    private static ResponseEntity<Void> noContentOrProblem(OperationResult result) {
+        if (result.isApplied()) {
+            return noContent(false);
+        }
+        return ResponseEntity.of(ProblemDetail.forStatusAndDetail(statusOf(result), result.getMessage())).build();
+    }
+
+    private static boolean isBlank(String idempotencyKey) {
+        return idempotencyKey == null || idempotencyKey.isBlank();
+    }
+
+    private static HttpStatus statusOf(OperationResult result) {
+        return switch (result.getOutcome()) {
+            case ACCOUNT_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case INSUFFICIENT_BALANCE -> HttpStatus.CONFLICT;
+            default -> HttpStatus.BAD_REQUEST;
+        };
+    }
+
+    private static HttpStatus statusOf(Exception e) {
+        return switch (e) {
+            case AccountNotFoundException ignored -> HttpStatus.NOT_FOUND;
+            case InsufficientBalanceException ignored -> HttpStatus.CONFLICT;
+            case AccountAlreadyExistsException ignored -> HttpStatus.CONFLICT;
+            case AccountNumberAlreadyExistsException ignored -> HttpStatus.CONFLICT;
+            default -> HttpStatus.BAD_REQUEST;
+        };
+    }
+}
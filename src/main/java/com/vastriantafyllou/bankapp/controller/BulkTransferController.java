@@ -0,0 +1,63 @@
+package com.vastriantafyllou.bankapp.controller;
+
+import com.vastriantafyllou.bankapp.core.exception.BulkTransferJobNotFoundException;
+import com.vastriantafyllou.bankapp.dto.BulkTransferJobDTO;
+import com.vastriantafyllou.bankapp.service.IBulkTransferService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@ConditionalOnProperty(name = "bankapp.bulk.enabled", havingValue = "true", matchIfMissing = true)
+@RestController
+@RequestMapping("/bulk-transfers")
+@RequiredArgsConstructor
+public class BulkTransferController {
+
+    private final IBulkTransferService bulkTransferService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkTransferJobDTO> submit(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkTransferService.submit(file));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkTransferJobDTO> getJob(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(bulkTransferService.getJob(id));
+        } catch (BulkTransferJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<BulkTransferJobDTO> resume(@PathVariable Long id) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkTransferService.resume(id));
+        } catch (BulkTransferJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping(value = "/{id}/report", produces = "text/csv")
+    public ResponseEntity<Resource> report(@PathVariable Long id) {
+        try {
+            Path report = bulkTransferService.getReport(id);
+            if (!Files.exists(report)) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(new FileSystemResource(report));
+        } catch (BulkTransferJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
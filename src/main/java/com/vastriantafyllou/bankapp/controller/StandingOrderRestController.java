@@ -0,0 +1,58 @@
+package com.vastriantafyllou.bankapp.controller;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.exception.StandingOrderNotFoundException;
+import com.vastriantafyllou.bankapp.dto.StandingOrderInsertDTO;
+import com.vastriantafyllou.bankapp.dto.StandingOrderReadOnlyDTO;
+import com.vastriantafyllou.bankapp.service.IStandingOrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/standing-orders")
+@RequiredArgsConstructor
+public class StandingOrderRestController {
+
+    private final IStandingOrderService standingOrderService;
+
+    @PostMapping
+    public ResponseEntity<StandingOrderReadOnlyDTO> create(@Valid @RequestBody StandingOrderInsertDTO dto)
+            throws NegativeAmountException, InvalidTransferException, AccountNotFoundException {
+        StandingOrderReadOnlyDTO order = standingOrderService.create(dto);
+        return ResponseEntity.created(URI.create("/api/standing-orders/" + order.getId())).body(order);
+    }
+
+    @GetMapping
+    public List<StandingOrderReadOnlyDTO> list(@RequestParam String fromIban) {
+        return standingOrderService.getStandingOrders(fromIban);
+    }
+
+    @GetMapping("/{id}")
+    public StandingOrderReadOnlyDTO get(@PathVariable Long id) throws StandingOrderNotFoundException {
+        return standingOrderService.getStandingOrder(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public StandingOrderReadOnlyDTO cancel(@PathVariable Long id) throws StandingOrderNotFoundException {
+        return standingOrderService.cancel(id);
+    }
+
+    @ExceptionHandler({AccountNotFoundException.class, StandingOrderNotFoundException.class})
+    public ProblemDetail handleNotFound(Exception e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler({NegativeAmountException.class, InvalidTransferException.class})
+    public ProblemDetail handleRejection(Exception e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
@@ -0,0 +1,152 @@
+package com.vastriantafyllou.bankapp.core.archive;
+
+import com.vastriantafyllou.bankapp.core.pagination.KeysetCursor;
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Read side of a segment written by {@link LedgerSegmentWriter}. Only the block index is kept in memory;
+ * each lookup reads and inflates the one block belonging to the requested account.
+ * <p>
+ * Layout: magic, deflated per-account blocks, index of (accountId, offset, length, rows), then a footer of
+ * (indexOffset, accounts, rows, magic). Amounts are stored as cents and timestamps as microseconds.
+ */
+public final class LedgerSegment {
+
+    static final int MAGIC = 0x4C454447;
+    static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private record Block(long offset, int length, int rows) {
+    }
+
+    private final Path path;
+    private final Map<Long, Block> blocks;
+    private final long rows;
+
+    private LedgerSegment(Path path, Map<Long, Block> blocks, long rows) {
+        this.path = path;
+        this.blocks = blocks;
+        this.rows = rows;
+    }
+
+    public static LedgerSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Integer.BYTES + FOOTER_BYTES) {
+                throw new IOException("Truncated ledger segment " + path);
+            }
+            ByteBuffer footer = read(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+            long indexOffset = footer.getLong();
+            int accounts = footer.getInt();
+            long rows = footer.getLong();
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Not a ledger segment: " + path);
+            }
+            ByteBuffer index = read(channel, indexOffset, accounts * INDEX_ENTRY_BYTES);
+            Map<Long, Block> blocks = HashMap.newHashMap(accounts);
+            for (int i = 0; i < accounts; i++) {
+                blocks.put(index.getLong(), new Block(index.getLong(), index.getInt(), index.getInt()));
+            }
+            return new LedgerSegment(path, blocks, rows);
+        }
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public boolean contains(long accountId) {
+        return blocks.containsKey(accountId);
+    }
+
+    /**
+     * Returns up to {@code limit} of the account's rows that come after {@code position} in history order,
+     * or from the newest row when {@code position} is {@code null}.
+     */
+    public List<TransactionReadOnlyDTO> findBefore(long accountId, KeysetCursor position, int limit) throws IOException {
+        Block block = blocks.get(accountId);
+        if (block == null || limit <= 0) {
+            return List.of();
+        }
+        ByteBuffer compressed;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            compressed = read(channel, block.offset(), block.length());
+        }
+        List<TransactionReadOnlyDTO> result = new ArrayList<>(Math.min(limit, block.rows()));
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed.array())))) {
+            for (int i = 0; i < block.rows() && result.size() < limit; i++) {
+                TransactionReadOnlyDTO transaction = readRecord(in);
+                if (position == null || isBefore(transaction, position)) {
+                    result.add(transaction);
+                }
+            }
+        }
+        return result;
+    }
+
+    static void writeRecord(DataOutputStream out, TransactionReadOnlyDTO transaction) throws IOException {
+        out.writeLong(transaction.getId());
+        out.writeByte(transaction.getType().ordinal());
+        out.writeLong(toCents(transaction.getAmount()));
+        LocalDateTime createdAt = transaction.getCreatedAt();
+        out.writeLong(createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + createdAt.getNano() / 1_000);
+        out.writeBoolean(transaction.getCounterpartyIban() != null);
+        if (transaction.getCounterpartyIban() != null) {
+            out.writeUTF(transaction.getCounterpartyIban());
+        }
+        out.writeBoolean(transaction.getBalanceAfter() != null);
+        if (transaction.getBalanceAfter() != null) {
+            out.writeLong(toCents(transaction.getBalanceAfter()));
+        }
+    }
+
+    private static TransactionReadOnlyDTO readRecord(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        TransactionType type = TYPES[in.readUnsignedByte()];
+        BigDecimal amount = BigDecimal.valueOf(in.readLong(), 2);
+        long micros = in.readLong();
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        String counterpartyIban = in.readBoolean() ? in.readUTF() : null;
+        BigDecimal balanceAfter = in.readBoolean() ? BigDecimal.valueOf(in.readLong(), 2) : null;
+        return new TransactionReadOnlyDTO(id, type, amount, createdAt, counterpartyIban, balanceAfter);
+    }
+
+    private static boolean isBefore(TransactionReadOnlyDTO transaction, KeysetCursor position) {
+        int byTime = transaction.getCreatedAt().compareTo(position.createdAt());
+        return byTime < 0 || (byTime == 0 && transaction.getId() < position.id());
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value.movePointRight(2).longValueExact();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of ledger segment");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,98 @@
+package com.vastriantafyllou.bankapp.core.archive;
+
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes one immutable ledger segment. Rows must arrive grouped by account, each account's rows in
+ * history order (createdAt desc, id desc); every account becomes one independently deflated block so a
+ * reader can inflate just the account it needs. The block index is appended last, followed by a fixed
+ * footer, and the file is forced to disk on {@link #close()}.
+ */
+public class LedgerSegmentWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+    private final DataOutputStream indexOut = new DataOutputStream(index);
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private DataOutputStream blockOut;
+    private long currentAccountId;
+    private int blockRows;
+    private int accounts;
+    private long rows;
+
+    public LedgerSegmentWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        write(ByteBuffer.allocate(Integer.BYTES).putInt(LedgerSegment.MAGIC).flip());
+    }
+
+    public void append(long accountId, TransactionReadOnlyDTO transaction) throws IOException {
+        if (blockOut == null || accountId != currentAccountId) {
+            finishBlock();
+            currentAccountId = accountId;
+            deflater.reset();
+            blockOut = new DataOutputStream(new DeflaterOutputStream(block, deflater, 8192));
+        }
+        LedgerSegment.writeRecord(blockOut, transaction);
+        blockRows++;
+        rows++;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finishBlock();
+            long indexOffset = channel.position();
+            indexOut.flush();
+            write(ByteBuffer.wrap(index.toByteArray()));
+            write(ByteBuffer.allocate(LedgerSegment.FOOTER_BYTES)
+                    .putLong(indexOffset)
+                    .putInt(accounts)
+                    .putLong(rows)
+                    .putInt(LedgerSegment.MAGIC)
+                    .flip());
+            channel.force(true);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    private void finishBlock() throws IOException {
+        if (blockOut == null) {
+            return;
+        }
+        blockOut.close();
+        long offset = channel.position();
+        write(ByteBuffer.wrap(block.toByteArray()));
+        indexOut.writeLong(currentAccountId);
+        indexOut.writeLong(offset);
+        indexOut.writeInt(block.size());
+        indexOut.writeInt(blockRows);
+        accounts++;
+        block.reset();
+        blockRows = 0;
+        blockOut = null;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.vastriantafyllou.bankapp.core.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Fans cache invalidations out to every node. The default implementation is in-process; a
+ * multi-node deployment plugs in one backed by its message broker.
+ */
+public interface CacheInvalidationBroker {
+    void publish(String key);
+    void subscribe(Consumer<String> listener);
+}
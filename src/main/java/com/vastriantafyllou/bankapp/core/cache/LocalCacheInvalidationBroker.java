@@ -0,0 +1,20 @@
+package com.vastriantafyllou.bankapp.core.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class LocalCacheInvalidationBroker implements CacheInvalidationBroker {
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String key) {
+        listeners.forEach(listener -> listener.accept(key));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
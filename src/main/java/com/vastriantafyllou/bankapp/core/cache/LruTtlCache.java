@@ -0,0 +1,194 @@
+package com.vastriantafyllou.bankapp.core.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, access-ordered cache with a per-entry time to live.
+ * <p>
+ * Keys are split by hash into segments, each an LRU with its own lock and an equal share of
+ * {@code maxSize}, so a hit only contends with other keys of its segment. Eviction is therefore least
+ * recently used within a segment rather than across the cache; caches too small to split keep one
+ * segment and exact LRU order.
+ */
+public class LruTtlCache<K, V> {
+
+    private static final int VERSION_STRIPES = 1024;
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final long ttlNanos;
+    private final Segment<K, V>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public LruTtlCache(int maxSize, long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        int count = 1;
+        while (count < MAX_SEGMENTS && (long) count * 2 * MIN_SEGMENT_SIZE <= maxSize) {
+            count *= 2;
+        }
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(maxSize / count + (i < maxSize % count ? 1 : 0), VERSION_STRIPES / count, evictions);
+        }
+    }
+
+    public V get(K key) {
+        int stripe = stripe(key);
+        Segment<K, V> segment = segmentFor(stripe);
+        segment.lock.lock();
+        try {
+            Entry<V> entry = segment.entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt > 0) {
+                segment.entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(stripe(key));
+        segment.lock.lock();
+        try {
+            segment.entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Token to pass to {@link #putIfNotInvalidatedSince} when the value for {@code key} is loaded from
+     * the source.
+     */
+    public long stamp(K key) {
+        int stripe = stripe(key);
+        Segment<K, V> segment = segmentFor(stripe);
+        segment.lock.lock();
+        try {
+            return segment.versions[stripe / segments.length];
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores the value only if {@code key} was not invalidated after {@code stamp} was taken, so a value
+     * read before a concurrent write commits can't overwrite that write's eviction. Versions are kept
+     * per stripe of keys rather than per key, to stay bounded: an invalidation of another key in the
+     * same stripe only costs this put.
+     */
+    public void putIfNotInvalidatedSince(K key, V value, long stamp) {
+        int stripe = stripe(key);
+        Segment<K, V> segment = segmentFor(stripe);
+        segment.lock.lock();
+        try {
+            if (segment.versions[stripe / segments.length] == stamp) {
+                segment.entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        int stripe = stripe(key);
+        Segment<K, V> segment = segmentFor(stripe);
+        segment.lock.lock();
+        try {
+            segment.versions[stripe / segments.length]++;
+            segment.entries.remove(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /** Segment by segment: a put into a segment already cleared is kept, as after any invalidation. */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                for (int i = 0; i < segment.versions.length; i++) {
+                    segment.versions[i]++;
+                }
+                segment.entries.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    /** The low bits pick the segment, so each version stripe belongs to exactly one segment and its lock. */
+    private Segment<K, V> segmentFor(int stripe) {
+        return segments[stripe & (segments.length - 1)];
+    }
+
+    private static final class Segment<K, V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<K, Entry<V>> entries;
+        /** Invalidation count per key stripe of this segment; guarded by {@code lock}. */
+        private final long[] versions;
+
+        private Segment(int maxSize, int stripes, LongAdder evictions) {
+            this.versions = new long[stripes];
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > maxSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
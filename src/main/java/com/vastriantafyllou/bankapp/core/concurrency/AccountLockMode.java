@@ -0,0 +1,8 @@
+package com.vastriantafyllou.bankapp.core.concurrency;
+
+public enum AccountLockMode {
+    /** {@code SELECT ... FOR UPDATE} before touching the balance. */
+    PESSIMISTIC,
+    /** Plain read; the {@code @Version} check on UPDATE detects a concurrent writer. */
+    OPTIMISTIC
+}
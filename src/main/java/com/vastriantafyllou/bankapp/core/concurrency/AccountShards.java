@@ -0,0 +1,113 @@
+package com.vastriantafyllou.bankapp.core.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Partitions accounts by IBAN hash onto single-threaded executors, one per shard. Work for one shard
+ * runs in submission order on that shard's thread, so two writes to the same account never overlap.
+ * <p>
+ * Work touching two shards is a two-phase handoff: the lower-numbered shard takes the task, claims the
+ * higher one by queueing a hold there and waiting for it to start, runs the task with both shards parked
+ * on it, then releases the hold. A shard only ever waits for a higher-numbered one to reach its hold, and
+ * a held shard waits for a holder that is running, not waiting, so there is no cycle to deadlock on; the
+ * same argument as ascending stripe order in {@link IbanLockStripes}.
+ */
+public class AccountShards {
+
+    private final ThreadPoolExecutor[] executors;
+    private final LongAdder localExecutions = new LongAdder();
+    private final LongAdder crossShardExecutions = new LongAdder();
+
+    public AccountShards(int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("shards must be positive");
+        }
+        executors = new ThreadPoolExecutor[shards];
+        for (int i = 0; i < shards; i++) {
+            executors[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    Thread.ofPlatform().name("account-shard-" + i).daemon().factory());
+        }
+    }
+
+    public int shardOf(String iban) {
+        return Math.floorMod(iban.hashCode(), executors.length);
+    }
+
+    /** Runs the task on the shard owning the IBAN and waits for its result. */
+    public <T> T execute(String iban, Supplier<T> task) {
+        localExecutions.increment();
+        return join(CompletableFuture.supplyAsync(task, executors[shardOf(iban)]));
+    }
+
+    /** Runs the task with the shards of both IBANs held, on the lower-numbered one. */
+    public <T> T execute(String firstIban, String secondIban, Supplier<T> task) {
+        int first = shardOf(firstIban);
+        int second = shardOf(secondIban);
+        if (first == second) {
+            return execute(firstIban, task);
+        }
+        crossShardExecutions.increment();
+        ThreadPoolExecutor higher = executors[Math.max(first, second)];
+        return join(CompletableFuture.supplyAsync(() -> {
+            CompletableFuture<Void> held = new CompletableFuture<>();
+            CompletableFuture<Void> released = new CompletableFuture<>();
+            try {
+                higher.execute(() -> {
+                    held.complete(null);
+                    released.join();
+                });
+                held.join();
+                return task.get();
+            } finally {
+                released.complete(null);
+            }
+        }, executors[Math.min(first, second)]));
+    }
+
+    public int getShardCount() {
+        return executors.length;
+    }
+
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor executor : executors) {
+            depth += executor.getQueue().size();
+        }
+        return depth;
+    }
+
+    public long getLocalExecutions() {
+        return localExecutions.sum();
+    }
+
+    public long getCrossShardExecutions() {
+        return crossShardExecutions.sum();
+    }
+
+    /** Lets queued work, holds included, finish; nothing new is accepted. */
+    public void shutdown() {
+        for (ThreadPoolExecutor executor : executors) {
+            executor.shutdown();
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
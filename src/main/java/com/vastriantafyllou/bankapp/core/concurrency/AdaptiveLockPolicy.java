@@ -0,0 +1,93 @@
+package com.vastriantafyllou.bankapp.core.concurrency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses optimistic or pessimistic locking per IBAN from the conflicts it has recently seen there.
+ * Every account starts optimistic. Each version conflict raises an exponentially weighted conflict rate,
+ * each clean optimistic write lowers it; once the rate crosses the threshold the account is written under
+ * row locks for a hold period, after which it is tried optimistically again. Only accounts with a
+ * non-negligible conflict rate are tracked, so the map stays as small as the set of hot accounts.
+ * An account's stats are an immutable value replaced inside the map's per-key compute, so concurrent
+ * updates never lose one another and readers always see a consistent rate and hold.
+ */
+public class AdaptiveLockPolicy {
+
+    private static final double FORGET_BELOW = 0.01;
+
+    /** {@code pessimisticUntilNanos} is only meaningful when {@code held}: nanoTime values may be negative. */
+    private record Stats(double conflictRate, boolean held, long pessimisticUntilNanos) {
+    }
+
+    private final ConcurrentHashMap<String, Stats> stats = new ConcurrentHashMap<>();
+    private final double smoothing;
+    private final double conflictThreshold;
+    private final long holdNanos;
+    private final int maxAttempts;
+
+    public AdaptiveLockPolicy(double smoothing, double conflictThreshold, long holdMillis, int maxAttempts) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("smoothing must be in (0, 1]");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.smoothing = smoothing;
+        this.conflictThreshold = conflictThreshold;
+        this.holdNanos = TimeUnit.MILLISECONDS.toNanos(holdMillis);
+        this.maxAttempts = maxAttempts;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Optimistic only if every account involved is currently optimistic; the last attempt is always
+     * pessimistic so a retried write is guaranteed to finish.
+     */
+    public AccountLockMode modeFor(int attempt, String... ibans) {
+        if (attempt >= maxAttempts) {
+            return AccountLockMode.PESSIMISTIC;
+        }
+        long now = System.nanoTime();
+        for (String iban : ibans) {
+            Stats current = stats.get(iban);
+            if (current != null && current.held() && now - current.pessimisticUntilNanos() < 0) {
+                return AccountLockMode.PESSIMISTIC;
+            }
+        }
+        return AccountLockMode.OPTIMISTIC;
+    }
+
+    public void recordSuccess(AccountLockMode mode, String... ibans) {
+        if (mode != AccountLockMode.OPTIMISTIC) {
+            return;
+        }
+        for (String iban : ibans) {
+            stats.computeIfPresent(iban, (key, current) -> {
+                double conflictRate = current.conflictRate() * (1 - smoothing);
+                return conflictRate < FORGET_BELOW ? null : new Stats(conflictRate, current.held(), current.pessimisticUntilNanos());
+            });
+        }
+    }
+
+    public void recordConflict(String... ibans) {
+        long now = System.nanoTime();
+        for (String iban : ibans) {
+            stats.compute(iban, (key, current) -> {
+                double conflictRate = (current != null ? current.conflictRate() : 0) * (1 - smoothing) + smoothing;
+                if (conflictRate >= conflictThreshold) {
+                    return new Stats(conflictRate, true, now + holdNanos);
+                }
+                return current != null ? new Stats(conflictRate, current.held(), current.pessimisticUntilNanos())
+                        : new Stats(conflictRate, false, 0);
+            });
+        }
+    }
+
+    public int trackedAccounts() {
+        return stats.size();
+    }
+}
@@ -0,0 +1,7 @@
+package com.vastriantafyllou.bankapp.core.engine;
+
+/**
+ * An account as last published by the {@link LedgerEngine}, i.e. as of the last durable batch.
+ */
+public record LedgerAccount(long id, String iban, String accountNumber, long balanceCents, long version) {
+}
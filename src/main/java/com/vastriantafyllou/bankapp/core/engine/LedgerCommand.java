@@ -0,0 +1,121 @@
+package com.vastriantafyllou.bankapp.core.engine;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One mutation submitted to the {@link LedgerEngine}. The engine's writer thread fills in the status
+ * and the details of a rejection before completing it.
+ */
+public final class LedgerCommand {
+
+    public enum Type {
+        CREATE,
+        DEPOSIT,
+        WITHDRAW,
+        TRANSFER,
+        DELETE
+    }
+
+    public enum Status {
+        APPLIED,
+        ACCOUNT_NOT_FOUND,
+        INSUFFICIENT_BALANCE,
+        /** The credit would take the payee's balance past what a long of cents holds. */
+        BALANCE_LIMIT_EXCEEDED,
+        IBAN_EXISTS,
+        ACCOUNT_NUMBER_EXISTS,
+        /** An IBAN or account number longer than {@link LedgerEngine#MAX_KEY_LENGTH}. */
+        KEY_TOO_LONG
+    }
+
+    final Type type;
+    final String iban;
+    /** The payee IBAN of a transfer, the account number of a create. */
+    final String other;
+    final long cents;
+    final CompletableFuture<LedgerCommand> done = new CompletableFuture<>();
+
+    int slot;
+    int otherSlot;
+    private Status status;
+    private String missingIban;
+    private long availableCents;
+    private long accountId;
+
+    private LedgerCommand(Type type, String iban, String other, long cents) {
+        this.type = type;
+        this.iban = iban;
+        this.other = other;
+        this.cents = cents;
+    }
+
+    public static LedgerCommand create(String iban, String accountNumber, long openingCents) {
+        return new LedgerCommand(Type.CREATE, iban, accountNumber, openingCents);
+    }
+
+    public static LedgerCommand deposit(String iban, long cents) {
+        return new LedgerCommand(Type.DEPOSIT, iban, null, cents);
+    }
+
+    public static LedgerCommand withdraw(String iban, long cents) {
+        return new LedgerCommand(Type.WITHDRAW, iban, null, cents);
+    }
+
+    public static LedgerCommand transfer(String fromIban, String toIban, long cents) {
+        return new LedgerCommand(Type.TRANSFER, fromIban, toIban, cents);
+    }
+
+    public static LedgerCommand delete(String iban) {
+        return new LedgerCommand(Type.DELETE, iban, null, 0);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isApplied() {
+        return status == Status.APPLIED;
+    }
+
+    /** With {@link Status#ACCOUNT_NOT_FOUND}: the first missing IBAN in IBAN order, as the JPA service reports it. */
+    public String getMissingIban() {
+        return missingIban;
+    }
+
+    /** With {@link Status#INSUFFICIENT_BALANCE}: the payer's balance at the time. */
+    public long getAvailableCents() {
+        return availableCents;
+    }
+
+    /** With a successful create: the id assigned to the new account. */
+    public long getAccountId() {
+        return accountId;
+    }
+
+    void applied() {
+        this.status = Status.APPLIED;
+    }
+
+    void created(long accountId) {
+        this.status = Status.APPLIED;
+        this.accountId = accountId;
+    }
+
+    void rejected(Status status) {
+        this.status = status;
+    }
+
+    void accountNotFound(String iban) {
+        this.status = Status.ACCOUNT_NOT_FOUND;
+        this.missingIban = iban;
+    }
+
+    void insufficientBalance(long availableCents) {
+        this.status = Status.INSUFFICIENT_BALANCE;
+        this.availableCents = availableCents;
+    }
+}
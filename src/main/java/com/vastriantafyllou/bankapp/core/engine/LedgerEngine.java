@@ -0,0 +1,668 @@
+package com.vastriantafyllou.bankapp.core.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Account balances held in memory, in arrays indexed by a dense slot number, and changed by a single
+ * writer thread. Callers publish {@link LedgerCommand}s into a {@link MutationRing}; the writer drains
+ * up to {@code maxBatch} at a time, validates and applies them to its private copy of the arrays,
+ * appends one {@link WriteAheadLog} record per applied mutation and forces the log once for the batch.
+ * Only then are the changed slots copied to the arrays readers see and the callers released, so a
+ * reader never sees a balance a crash could take back.
+ * <p>
+ * Every {@code snapshotEvery} mutations the writer saves all accounts to a snapshot file. The previous
+ * snapshot and the log after it are kept until the new one is verified, so a snapshot that turns out
+ * unreadable costs a longer replay rather than data. Opening the engine loads the newest intact snapshot
+ * and replays the log after it; slots are part of the snapshot and of every record, so replay rebuilds
+ * the same layout. A log that does not continue the snapshot it is replayed onto fails the start.
+ * <p>
+ * If a batch cannot be logged the engine stops accepting commands: its memory may then be ahead of
+ * the log, and only a restart from the log is consistent.
+ */
+public final class LedgerEngine implements Closeable {
+
+    /** Longest IBAN or account number a create may carry, the column width of the JPA tables. */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final int SNAPSHOT_MAGIC = 0x4C534E50;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int INITIAL_SLOTS = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Path dir;
+    private final MutationRing<LedgerCommand> ring;
+    private final WriteAheadLog wal;
+    private final int maxBatch;
+    private final long snapshotEvery;
+    private final Thread writer;
+    private final AtomicInteger submitting = new AtomicInteger();
+    private volatile boolean running = true;
+    private volatile Throwable failure;
+    private volatile int snapshotFailures;
+
+    // Writer thread only.
+    private final Map<String, Integer> slotsByIban = new HashMap<>();
+    private final Set<String> accountNumbers = new HashSet<>();
+    private final ByteBuffer record = ByteBuffer.allocate(8192);
+    private String[] ibans = new String[INITIAL_SLOTS];
+    private String[] numbers = new String[INITIAL_SLOTS];
+    private long[] ids = new long[INITIAL_SLOTS];
+    private long[] balances = new long[INITIAL_SLOTS];
+    private long[] versions = new long[INITIAL_SLOTS];
+    private int slotCount;
+    private long nextId = 1;
+    private long sequence;
+    private long sinceSnapshot;
+
+    // Published to readers.
+    private final ConcurrentHashMap<String, Integer> index = new ConcurrentHashMap<>();
+    private volatile Columns columns = new Columns(INITIAL_SLOTS);
+
+    private LedgerEngine(Path dir, int ringCapacity, int maxBatch, int segmentBytes, boolean fsync, long snapshotEvery) {
+        this.dir = dir;
+        this.ring = new MutationRing<>(ringCapacity);
+        this.wal = new WriteAheadLog(dir, segmentBytes, fsync);
+        this.maxBatch = maxBatch;
+        this.snapshotEvery = snapshotEvery;
+        this.writer = new Thread(this::run, "ledger-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Recovers the state in {@code dir}, or starts empty, and starts the writer thread.
+     */
+    public static LedgerEngine open(Path dir, int ringCapacity, int maxBatch, int segmentBytes, boolean fsync, long snapshotEvery) throws IOException {
+        LedgerEngine engine = new LedgerEngine(dir, ringCapacity, maxBatch, segmentBytes, fsync, snapshotEvery);
+        engine.recover();
+        engine.writer.start();
+        return engine;
+    }
+
+    /**
+     * Submits a command and waits until it has been applied and logged, or rejected.
+     *
+     * @throws IllegalStateException if the engine is closed or has failed
+     */
+    public LedgerCommand execute(LedgerCommand command) {
+        submitting.incrementAndGet();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Ledger engine is closed");
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Ledger engine stopped after a write-ahead log failure", failure);
+            }
+            ring.publish(command);
+        } finally {
+            submitting.decrementAndGet();
+        }
+        try {
+            return command.done.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Ledger engine stopped after a write-ahead log failure", e.getCause());
+        }
+    }
+
+    /** Lock-free read of the last durable state of an account, or {@code null}. */
+    public LedgerAccount find(String iban) {
+        Integer slot = index.get(iban);
+        if (slot == null) {
+            return null;
+        }
+        Columns view = columns;
+        return new LedgerAccount(view.ids[slot], iban, view.numbers[slot], view.balances.get(slot), view.versions.get(slot));
+    }
+
+    /** Accounts whose IBAN starts with {@code prefix}, in IBAN order. A full scan, for listings only. */
+    public List<LedgerAccount> findByIbanPrefix(String prefix) {
+        List<LedgerAccount> accounts = new ArrayList<>();
+        for (String iban : index.keySet()) {
+            if (iban.startsWith(prefix)) {
+                LedgerAccount account = find(iban);
+                if (account != null) {
+                    accounts.add(account);
+                }
+            }
+        }
+        accounts.sort(Comparator.comparing(LedgerAccount::iban));
+        return accounts;
+    }
+
+    public int getSnapshotFailures() {
+        return snapshotFailures;
+    }
+
+    /**
+     * Stops taking commands, lets the writer finish everything already submitted and, if anything was
+     * logged since the last one, writes a snapshot so the next start has nothing to replay.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure == null && sinceSnapshot > 0) {
+            snapshot();
+        }
+        wal.close();
+    }
+
+    private void run() {
+        List<LedgerCommand> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            if (ring.drainTo(batch, maxBatch) == 0) {
+                if (!running && submitting.get() == 0 && ring.drainTo(batch, maxBatch) == 0) {
+                    return;
+                }
+                if (batch.isEmpty()) {
+                    ring.awaitItems(IDLE_PARK_NANOS);
+                    continue;
+                }
+            }
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<LedgerCommand> batch) {
+        if (failure != null) {
+            batch.forEach(command -> command.done.completeExceptionally(failure));
+            return;
+        }
+        try {
+            for (LedgerCommand command : batch) {
+                apply(command);
+            }
+            wal.sync();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            batch.forEach(command -> command.done.completeExceptionally(e));
+            return;
+        }
+        publish(batch);
+        batch.forEach(command -> command.done.complete(command));
+
+        if (sinceSnapshot >= snapshotEvery) {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                // The log still holds everything; try again after another snapshotEvery mutations.
+                snapshotFailures++;
+                sinceSnapshot = 0;
+            }
+        }
+    }
+
+    private void apply(LedgerCommand command) throws IOException {
+        switch (command.type) {
+            case CREATE -> {
+                // Checked before any state changes: a record that overflowed the buffer would stop the writer.
+                if (tooLong(command.iban) || tooLong(command.other)) {
+                    command.rejected(LedgerCommand.Status.KEY_TOO_LONG);
+                    return;
+                }
+                if (slotsByIban.containsKey(command.iban)) {
+                    command.rejected(LedgerCommand.Status.IBAN_EXISTS);
+                    return;
+                }
+                if (command.other != null && accountNumbers.contains(command.other)) {
+                    command.rejected(LedgerCommand.Status.ACCOUNT_NUMBER_EXISTS);
+                    return;
+                }
+                int slot = slotCount;
+                long id = nextId;
+                createAt(slot, id, command.iban, command.other, command.cents);
+                command.slot = slot;
+                log(LedgerCommand.Type.CREATE).putInt(slot).putLong(id).putLong(command.cents);
+                putString(command.iban);
+                putString(command.other);
+                command.created(id);
+            }
+            case DEPOSIT -> {
+                Integer slot = slotsByIban.get(command.iban);
+                if (slot == null) {
+                    command.accountNotFound(command.iban);
+                    return;
+                }
+                if (command.cents > Long.MAX_VALUE - balances[slot]) {
+                    command.rejected(LedgerCommand.Status.BALANCE_LIMIT_EXCEEDED);
+                    return;
+                }
+                credit(slot, command.cents);
+                command.slot = slot;
+                log(LedgerCommand.Type.DEPOSIT).putInt(slot).putLong(command.cents);
+                command.applied();
+            }
+            case WITHDRAW -> {
+                Integer slot = slotsByIban.get(command.iban);
+                if (slot == null) {
+                    command.accountNotFound(command.iban);
+                    return;
+                }
+                if (command.cents > balances[slot]) {
+                    command.insufficientBalance(balances[slot]);
+                    return;
+                }
+                credit(slot, -command.cents);
+                command.slot = slot;
+                log(LedgerCommand.Type.WITHDRAW).putInt(slot).putLong(command.cents);
+                command.applied();
+            }
+            case TRANSFER -> {
+                boolean fromFirst = command.iban.compareTo(command.other) < 0;
+                String firstIban = fromFirst ? command.iban : command.other;
+                String secondIban = fromFirst ? command.other : command.iban;
+                Integer first = slotsByIban.get(firstIban);
+                Integer second = slotsByIban.get(secondIban);
+                if (first == null || second == null) {
+                    command.accountNotFound(first == null ? firstIban : secondIban);
+                    return;
+                }
+                int from = fromFirst ? first : second;
+                int to = fromFirst ? second : first;
+                if (command.cents > balances[from]) {
+                    command.insufficientBalance(balances[from]);
+                    return;
+                }
+                if (command.cents > Long.MAX_VALUE - balances[to]) {
+                    command.rejected(LedgerCommand.Status.BALANCE_LIMIT_EXCEEDED);
+                    return;
+                }
+                move(from, to, command.cents);
+                command.slot = from;
+                command.otherSlot = to;
+                log(LedgerCommand.Type.TRANSFER).putInt(from).putInt(to).putLong(command.cents);
+                command.applied();
+            }
+            case DELETE -> {
+                Integer slot = slotsByIban.get(command.iban);
+                if (slot == null) {
+                    command.accountNotFound(command.iban);
+                    return;
+                }
+                deleteAt(slot);
+                command.slot = slot;
+                log(LedgerCommand.Type.DELETE).putInt(slot);
+                command.applied();
+            }
+        }
+        record.flip();
+        wal.append(record);
+        sinceSnapshot++;
+    }
+
+    private ByteBuffer log(LedgerCommand.Type type) {
+        record.clear();
+        return record.putLong(++sequence).put((byte) type.ordinal());
+    }
+
+    private void replay(ByteBuffer payload) {
+        sequence = payload.getLong();
+        LedgerCommand.Type type = LedgerCommand.Type.values()[payload.get()];
+        switch (type) {
+            case CREATE -> {
+                int slot = payload.getInt();
+                long id = payload.getLong();
+                long cents = payload.getLong();
+                createAt(slot, id, getString(payload), getString(payload), cents);
+            }
+            case DEPOSIT -> credit(payload.getInt(), payload.getLong());
+            case WITHDRAW -> credit(payload.getInt(), -payload.getLong());
+            case TRANSFER -> move(payload.getInt(), payload.getInt(), payload.getLong());
+            case DELETE -> deleteAt(payload.getInt());
+        }
+        sinceSnapshot++;
+    }
+
+    private void createAt(int slot, long id, String iban, String accountNumber, long cents) {
+        ensureCapacity(slot + 1);
+        ibans[slot] = iban;
+        numbers[slot] = accountNumber;
+        ids[slot] = id;
+        balances[slot] = cents;
+        versions[slot] = 0;
+        slotsByIban.put(iban, slot);
+        if (accountNumber != null) {
+            accountNumbers.add(accountNumber);
+        }
+        slotCount = Math.max(slotCount, slot + 1);
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    /** Callers have ruled out overflow; addExact only guards replay against a log that was tampered with. */
+    private void credit(int slot, long cents) {
+        balances[slot] = Math.addExact(balances[slot], cents);
+        versions[slot]++;
+    }
+
+    private void move(int from, int to, long cents) {
+        credit(from, -cents);
+        credit(to, cents);
+    }
+
+    /** Deleted slots are not reused, which keeps slot numbers in the log unambiguous. */
+    private void deleteAt(int slot) {
+        slotsByIban.remove(ibans[slot]);
+        if (numbers[slot] != null) {
+            accountNumbers.remove(numbers[slot]);
+        }
+        ibans[slot] = null;
+        numbers[slot] = null;
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots <= ibans.length) {
+            return;
+        }
+        int capacity = Math.max(slots, ibans.length * 2);
+        ibans = Arrays.copyOf(ibans, capacity);
+        numbers = Arrays.copyOf(numbers, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        balances = Arrays.copyOf(balances, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+
+    /** Copies what the batch changed to the reader-visible columns, in batch order. */
+    private void publish(List<LedgerCommand> batch) {
+        Columns view = columns;
+        if (view.ids.length < slotCount) {
+            view = view.grownTo(ibans.length);
+            columns = view;
+        }
+        for (LedgerCommand command : batch) {
+            if (!command.isApplied()) {
+                continue;
+            }
+            switch (command.type) {
+                case CREATE -> {
+                    view.set(command.slot, ids[command.slot], numbers[command.slot], balances[command.slot], versions[command.slot]);
+                    index.put(command.iban, command.slot);
+                }
+                case DEPOSIT, WITHDRAW -> view.update(command.slot, balances[command.slot], versions[command.slot]);
+                case TRANSFER -> {
+                    view.update(command.slot, balances[command.slot], versions[command.slot]);
+                    view.update(command.otherSlot, balances[command.otherSlot], versions[command.otherSlot]);
+                }
+                case DELETE -> index.remove(command.iban);
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(dir);
+        long snapshotSequence = loadSnapshot();
+        sequence = wal.recover(snapshotSequence, this::replay);
+
+        Columns view = new Columns(ibans.length);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (ibans[slot] != null) {
+                view.set(slot, ids[slot], numbers[slot], balances[slot], versions[slot]);
+                index.put(ibans[slot], slot);
+            }
+        }
+        columns = view;
+    }
+
+    /**
+     * Writes every live account to a new snapshot and makes it and its directory entry durable. Once it
+     * reads back intact, the snapshots before the previous one are deleted, with the log segments only
+     * those needed: the previous snapshot and the log after it stay as the fallback. Runs on the writer
+     * thread between batches, so the state is the durable one.
+     */
+    private void snapshot() throws IOException {
+        Path target = dir.resolve(SNAPSHOT_PREFIX + String.format("%020d", sequence) + SNAPSHOT_SUFFIX);
+        Path temp = dir.resolve(target.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(stream, crc), 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(sequence);
+            out.writeLong(nextId);
+            out.writeInt(slotCount);
+            out.writeInt(slotsByIban.size());
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (ibans[slot] == null) {
+                    continue;
+                }
+                out.writeInt(slot);
+                out.writeLong(ids[slot]);
+                out.writeUTF(ibans[slot]);
+                out.writeBoolean(numbers[slot] != null);
+                if (numbers[slot] != null) {
+                    out.writeUTF(numbers[slot]);
+                }
+                out.writeLong(balances[slot]);
+                out.writeLong(versions[slot]);
+            }
+            out.flush();
+            new DataOutputStream(stream).writeLong(crc.getValue());
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+        try {
+            verifySnapshot(target);
+        } catch (IOException e) {
+            Files.delete(target);
+            throw e;
+        }
+        wal.rollTo(sequence + 1);
+
+        List<Path> older = snapshots().stream().filter(path -> path.compareTo(target) < 0).toList();
+        if (!older.isEmpty()) {
+            Path previous = older.getLast();
+            wal.deleteUpTo(snapshotSequence(previous));
+            for (Path path : older) {
+                if (!path.equals(previous)) {
+                    Files.delete(path);
+                }
+            }
+        }
+        sinceSnapshot = 0;
+    }
+
+    /** Reads the snapshot back and checks its checksum, without touching the engine's state. */
+    private static void verifySnapshot(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        long size = Files.size(path);
+        if (size < Long.BYTES) {
+            throw new IOException("Snapshot too short: " + path);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            byte[] buffer = new byte[1 << 16];
+            long remaining = size - Long.BYTES;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new IOException("Snapshot truncated: " + path);
+                }
+                crc.update(buffer, 0, read);
+                remaining -= read;
+            }
+            if (in.readLong() != crc.getValue()) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+        }
+    }
+
+    /** Makes the renames and creations in the engine directory durable. */
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static long snapshotSequence(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    /**
+     * Loads the newest snapshot whose checksum holds; returns its sequence, or 0 if there is none. A
+     * snapshot that fails is renamed out of the way, so it is never taken for the fallback later on.
+     */
+    private long loadSnapshot() throws IOException {
+        List<Path> candidates = new ArrayList<>(snapshots());
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+            try {
+                return readSnapshot(candidates.get(i));
+            } catch (IOException e) {
+                // Torn or corrupt: fall back to the previous snapshot and a longer replay.
+                resetState();
+                Path candidate = candidates.get(i);
+                Files.move(candidate, candidate.resolveSibling(candidate.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return 0;
+    }
+
+    private long readSnapshot(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (DataInputStream raw = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(raw, crc));
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a ledger snapshot: " + path);
+            }
+            long snapshotSequence = in.readLong();
+            long snapshotNextId = in.readLong();
+            int snapshotSlots = in.readInt();
+            int live = in.readInt();
+            ensureCapacity(snapshotSlots);
+            for (int i = 0; i < live; i++) {
+                int slot = in.readInt();
+                long id = in.readLong();
+                String iban = in.readUTF();
+                String accountNumber = in.readBoolean() ? in.readUTF() : null;
+                long balance = in.readLong();
+                long version = in.readLong();
+                createAt(slot, id, iban, accountNumber, balance);
+                versions[slot] = version;
+            }
+            if (raw.readLong() != crc.getValue()) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+            slotCount = snapshotSlots;
+            nextId = snapshotNextId;
+            return snapshotSequence;
+        }
+    }
+
+    private void resetState() {
+        slotsByIban.clear();
+        accountNumbers.clear();
+        Arrays.fill(ibans, null);
+        Arrays.fill(numbers, null);
+        slotCount = 0;
+        nextId = 1;
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(SNAPSHOT_PREFIX)
+                            && path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static boolean tooLong(String key) {
+        return key != null && key.length() > MAX_KEY_LENGTH;
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            record.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        record.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer payload) {
+        short length = payload.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The arrays readers see. Balances and versions are atomic arrays so a reader gets a whole value;
+     * ids and account numbers are written once, before the slot is put in the index.
+     */
+    private static final class Columns {
+
+        private final long[] ids;
+        private final String[] numbers;
+        private final AtomicLongArray balances;
+        private final AtomicLongArray versions;
+
+        private Columns(int capacity) {
+            this.ids = new long[capacity];
+            this.numbers = new String[capacity];
+            this.balances = new AtomicLongArray(capacity);
+            this.versions = new AtomicLongArray(capacity);
+        }
+
+        private Columns grownTo(int capacity) {
+            Columns grown = new Columns(capacity);
+            System.arraycopy(ids, 0, grown.ids, 0, ids.length);
+            System.arraycopy(numbers, 0, grown.numbers, 0, numbers.length);
+            for (int slot = 0; slot < ids.length; slot++) {
+                grown.balances.set(slot, balances.get(slot));
+                grown.versions.set(slot, versions.get(slot));
+            }
+            return grown;
+        }
+
+        private void set(int slot, long id, String number, long balance, long version) {
+            ids[slot] = id;
+            numbers[slot] = number;
+            balances.set(slot, balance);
+            versions.set(slot, version);
+        }
+
+        private void update(int slot, long balance, long version) {
+            balances.set(slot, balance);
+            versions.set(slot, version);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.vastriantafyllou.bankapp.core.engine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer. Producers claim a sequence with one atomic
+ * increment, wait for the slot to be free, store the item and publish the sequence in the slot;
+ * the consumer takes items strictly in sequence order, so the order they are applied in is the
+ * order they were claimed in. A full ring makes producers spin and then park: that is the back-pressure.
+ */
+final class MutationRing<T> {
+
+    private final Object[] items;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private volatile Thread consumer;
+    private volatile boolean consumerParked;
+
+    MutationRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.items = new Object[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    void publish(T item) {
+        long sequence = claimed.getAndIncrement();
+        int spins = 0;
+        while (sequence - consumed.get() >= items.length) {
+            if (++spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            }
+        }
+        int index = (int) (sequence & mask);
+        items[index] = item;
+        published.set(index, sequence);
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /** Moves up to {@code max} published items, in sequence order, to {@code out}. Consumer thread only. */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<T> out, int max) {
+        long next = consumed.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                break;
+            }
+            out.add((T) items[index]);
+            items[index] = null;
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumed.set(next);
+        }
+        return drained;
+    }
+
+    /** Parks the consumer until a producer publishes or {@code maxNanos} pass. Consumer thread only. */
+    void awaitItems(long maxNanos) {
+        consumer = Thread.currentThread();
+        consumerParked = true;
+        if (published.get((int) (consumed.get() & mask)) != consumed.get()) {
+            LockSupport.parkNanos(this, maxNanos);
+        }
+        consumerParked = false;
+    }
+}
@@ -0,0 +1,199 @@
+package com.vastriantafyllou.bankapp.core.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of applied mutations in memory-mapped segment files named after the first sequence
+ * they may hold. A record is its payload length, a CRC32C of the payload and the payload, which starts
+ * with the record's sequence; a zero length ends a segment. Appends only copy into the mapping, and
+ * {@link #sync()} forces everything appended since the previous call with one {@code msync}, which is
+ * what lets the writer commit a whole batch per flush.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER = Integer.BYTES * 2;
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final boolean fsync;
+    private final CRC32C crc = new CRC32C();
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int syncedPosition;
+
+    WriteAheadLog(Path dir, int segmentBytes, boolean fsync) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Hands every intact record after {@code afterSequence} to {@code replay}, in order, and opens the log
+     * for appending after the last of them. A torn record at the end of the last segment is what a crash
+     * mid-append leaves: it was never acknowledged, so the rest of that segment is zeroed. Anything else
+     * that breaks the sequence (a gap, or a torn record with segments after it) means acknowledged records
+     * are missing, and recovery fails rather than start from a ledger that silently lost them.
+     *
+     * @return the sequence of the last record replayed, or {@code afterSequence} if there was none
+     * @throws IOException also when the log does not continue from {@code afterSequence}
+     */
+    long recover(long afterSequence, Consumer<ByteBuffer> replay) throws IOException {
+        Files.createDirectories(dir);
+        List<Path> segments = segments();
+        long expected = afterSequence + 1;
+        for (int i = 0; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= afterSequence + 1) {
+                continue;
+            }
+            boolean last = i + 1 == segments.size();
+            open(path);
+            while (segment.remaining() >= HEADER) {
+                int start = segment.position();
+                int length = segment.getInt();
+                int checksum = segment.getInt();
+                if (length == 0) {
+                    segment.position(start);
+                    break;
+                }
+                if (length < Long.BYTES || length > segment.remaining() || checksum != checksum(segment, length)) {
+                    if (!last) {
+                        throw new IOException("Corrupt record at offset " + start + " of " + path + ", which is followed by later segments");
+                    }
+                    segment.position(start);
+                    break;
+                }
+                ByteBuffer payload = segment.slice(segment.position(), length);
+                segment.position(segment.position() + length);
+                long sequence = payload.getLong(0);
+                if (sequence <= afterSequence) {
+                    continue;
+                }
+                if (sequence != expected) {
+                    throw new IOException("Write-ahead log jumps from sequence " + (expected - 1) + " to " + sequence + " in " + path);
+                }
+                replay.accept(payload);
+                expected++;
+            }
+            if (last) {
+                truncateHere();
+                return expected - 1;
+            }
+            close();
+        }
+        open(dir.resolve(name(expected)));
+        return expected - 1;
+    }
+
+    /** Copies a record whose payload is {@code payload}'s remaining bytes, starting with its sequence. */
+    void append(ByteBuffer payload) throws IOException {
+        int length = payload.remaining();
+        if (HEADER + length > segmentBytes - Integer.BYTES) {
+            throw new IOException("WAL record of " + length + " bytes does not fit a segment");
+        }
+        if (segment.remaining() < HEADER + length + Integer.BYTES) {
+            roll(payload.getLong(payload.position()));
+        }
+        crc.reset();
+        crc.update(payload.duplicate());
+        segment.putInt(length);
+        segment.putInt((int) crc.getValue());
+        segment.put(payload);
+    }
+
+    /** Makes everything appended so far durable, if fsync is on. */
+    void sync() {
+        int position = segment.position();
+        if (fsync && position > syncedPosition) {
+            segment.force(syncedPosition, position - syncedPosition);
+        }
+        syncedPosition = position;
+    }
+
+    /** Starts a new segment at {@code nextSequence}, so that a snapshot ends on a segment boundary. */
+    void rollTo(long nextSequence) throws IOException {
+        roll(nextSequence);
+    }
+
+    /**
+     * Deletes the segments holding nothing after {@code sequence}. Only valid once a snapshot at
+     * {@code sequence} has been verified and the deletion of older snapshots is no longer needed.
+     */
+    void deleteUpTo(long sequence) throws IOException {
+        List<Path> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequence(segments.get(i + 1)) <= sequence + 1) {
+                Files.delete(segments.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            sync();
+            channel.close();
+            channel = null;
+            segment = null;
+        }
+    }
+
+    private void roll(long nextSequence) throws IOException {
+        sync();
+        close();
+        open(dir.resolve(name(nextSequence)));
+    }
+
+    private void open(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        syncedPosition = 0;
+    }
+
+    private void truncateHere() {
+        int position = segment.position();
+        for (int i = position; i < segmentBytes; i++) {
+            segment.put(i, (byte) 0);
+        }
+        if (fsync) {
+            segment.force();
+        }
+        syncedPosition = position;
+    }
+
+    private int checksum(ByteBuffer buffer, int length) {
+        crc.reset();
+        crc.update(buffer.slice(buffer.position(), length));
+        return (int) crc.getValue();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(PREFIX) && path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String name(long firstSequence) {
+        return PREFIX + String.format("%020d", firstSequence) + SUFFIX;
+    }
+}
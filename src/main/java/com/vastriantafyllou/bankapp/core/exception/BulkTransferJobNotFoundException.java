@@ -0,0 +1,8 @@
+package com.vastriantafyllou.bankapp.core.exception;
+
+public class BulkTransferJobNotFoundException extends Exception {
+
+    public BulkTransferJobNotFoundException(String message) {
+        super(message);
+    }
+}
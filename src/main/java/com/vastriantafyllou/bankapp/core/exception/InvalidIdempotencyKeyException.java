@@ -0,0 +1,8 @@
+package com.vastriantafyllou.bankapp.core.exception;
+
+public class InvalidIdempotencyKeyException extends Exception {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
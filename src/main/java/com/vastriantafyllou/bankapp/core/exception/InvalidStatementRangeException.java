@@ -0,0 +1,8 @@
+package com.vastriantafyllou.bankapp.core.exception;
+
+public class InvalidStatementRangeException extends Exception {
+
+    public InvalidStatementRangeException(String message) {
+        super(message);
+    }
+}
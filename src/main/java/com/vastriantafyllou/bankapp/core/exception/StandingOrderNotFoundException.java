@@ -0,0 +1,8 @@
+package com.vastriantafyllou.bankapp.core.exception;
+
+public class StandingOrderNotFoundException extends Exception {
+
+    public StandingOrderNotFoundException(String message) {
+        super(message);
+    }
+}
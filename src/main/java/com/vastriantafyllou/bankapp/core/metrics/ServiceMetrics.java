@@ -0,0 +1,62 @@
+package com.vastriantafyllou.bankapp.core.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers for the parts of a write that the operation timer can't separate: how long we wait for
+ * the row lock and how long the surrounding transaction stays open until it commits or rolls back.
+ */
+@Component
+public class ServiceMetrics {
+
+    private final Timer lockWait;
+    private final Timer transactionCommitted;
+    private final Timer transactionRolledBack;
+
+    public ServiceMetrics(MeterRegistry registry) {
+        this.lockWait = Timer.builder("bankapp.account.lock.wait")
+                .description("Time spent acquiring PESSIMISTIC_WRITE row locks")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.transactionCommitted = Timer.builder("bankapp.transaction.duration")
+                .description("Time from the start of a write transaction to its completion")
+                .tag("outcome", "committed")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.transactionRolledBack = Timer.builder("bankapp.transaction.duration")
+                .description("Time from the start of a write transaction to its completion")
+                .tag("outcome", "rolled_back")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public <T> T timeLockWait(Supplier<T> lock) {
+        long start = System.nanoTime();
+        try {
+            return lock.get();
+        } finally {
+            lockWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void trackTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        long start = System.nanoTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Timer timer = status == STATUS_COMMITTED ? transactionCommitted : transactionRolledBack;
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+}
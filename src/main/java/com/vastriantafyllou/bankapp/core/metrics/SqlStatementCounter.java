@@ -0,0 +1,42 @@
+package com.vastriantafyllou.bankapp.core.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements Hibernate prepares, per thread and in total. Registered through
+ * {@code hibernate.session_factory.statement_inspector}; the per-thread count is read and reset per
+ * request by {@link SqlStatementMetricsFilter}.
+ * <p>
+ * The per-thread count only sees statements run on the caller's thread, so it is only valid when the
+ * service runs its writes there. With {@code bankapp.batching.enabled} or {@code bankapp.sharding.enabled}
+ * the writes run on the group-commit or shard executors and are missing from it; the {@link #total()}
+ * counts every thread and stays valid in every mode.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    private static final LongAdder TOTAL = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        TOTAL.increment();
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /** Statements prepared on this thread since its last {@link #reset()}. */
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    /** Statements prepared on any thread since startup. */
+    public static long total() {
+        return TOTAL.sum();
+    }
+}
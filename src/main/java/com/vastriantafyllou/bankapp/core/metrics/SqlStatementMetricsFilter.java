@@ -0,0 +1,50 @@
+package com.vastriantafyllou.bankapp.core.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records the statements each request prepared on its own thread, which in batching or sharding mode
+ * misses the writes run on the executors (see {@link SqlStatementCounter}). {@code bankapp.sql.statements}
+ * counts them on every thread; divided by the request count it gives the per-request figure in any mode.
+ */
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final DistributionSummary statementsPerRequest;
+
+    public SqlStatementMetricsFilter(MeterRegistry registry) {
+        this.statementsPerRequest = DistributionSummary.builder("bankapp.http.sql.statements")
+                .description("SQL statements prepared on the request thread while handling one request")
+                .publishPercentileHistogram()
+                .register(registry);
+        FunctionCounter.builder("bankapp.sql.statements", SqlStatementCounter.class, counter -> SqlStatementCounter.total())
+                .description("SQL statements prepared on any thread")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statementsPerRequest.record(SqlStatementCounter.current());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
@@ -0,0 +1,101 @@
+package com.vastriantafyllou.bankapp.core.money;
+
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount in euro cents, held in a long: up to {@link #MAX_AMOUNT} either way. Every balance column is
+ * {@code DECIMAL(19, 2)}, which goes up to 99999999999999999.99, so every Money fits a column but not
+ * every column value fits a Money; {@link MoneyConverter} refuses the ones that do not. Arithmetic throws
+ * {@link ArithmeticException} on overflow instead of wrapping.
+ * Used inside the entity and service layers only: DTOs and forms keep {@link BigDecimal}.
+ */
+@Immutable
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+    /** The largest amount a Money holds, 92233720368547758.07; the smallest is its negation less a cent. */
+    public static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(Long.MAX_VALUE, SCALE);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Whether {@link #of} can hold the amount. Compared before rounding, so an amount with a huge exponent
+     * is refused without being expanded. Callers taking amounts from outside reject the others up front.
+     */
+    public static boolean fits(BigDecimal amount) {
+        return amount.compareTo(MAX_AMOUNT) <= 0 && amount.compareTo(MAX_AMOUNT.negate()) >= 0;
+    }
+
+    /**
+     * Rounds half-up to cents, the same as storing the value in a {@code DECIMAL(19, 2)} column would.
+     * Throws {@link ArithmeticException} for an amount that does not {@link #fits fit}.
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    /** Whether {@link #plus} would stay within range, e.g. for a credit to a balance. */
+    public boolean canAdd(Money other) {
+        return other.cents >= 0 ? cents <= Long.MAX_VALUE - other.cents : cents >= Long.MIN_VALUE - other.cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents));
+    }
+
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return cents > other.cents;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money money && cents == money.cents);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
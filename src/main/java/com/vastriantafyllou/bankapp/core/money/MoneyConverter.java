@@ -0,0 +1,32 @@
+package com.vastriantafyllou.bankapp.core.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    /**
+     * A {@code DECIMAL(19, 2)} column can hold more than a Money: such a value is refused here rather
+     * than surfacing as a bare overflow somewhere in the entity load.
+     */
+    @Override
+    public Money convertToEntityAttribute(BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Money.of(value);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Column value " + value.toPlainString() + " is outside the range of Money, at most "
+                    + Money.MAX_AMOUNT.toPlainString() + " either way", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.vastriantafyllou.bankapp.core.outbox;
+
+import com.vastriantafyllou.bankapp.dto.LedgerEventDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each batch to a newline-delimited JSON file and forces it to disk before returning.
+ */
+public class FileLedgerEventSink implements LedgerEventSink {
+
+    private final Path file;
+    private final JsonMapper jsonMapper;
+
+    public FileLedgerEventSink(Path file, JsonMapper jsonMapper) {
+        this.file = file;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<LedgerEventDTO> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (LedgerEventDTO event : events) {
+            lines.append(jsonMapper.writeValueAsString(event)).append('\n');
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
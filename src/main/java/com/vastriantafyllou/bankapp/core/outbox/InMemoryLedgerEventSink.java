@@ -0,0 +1,20 @@
+package com.vastriantafyllou.bankapp.core.outbox;
+
+import com.vastriantafyllou.bankapp.dto.LedgerEventDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InMemoryLedgerEventSink implements LedgerEventSink {
+
+    private final List<LedgerEventDTO> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<LedgerEventDTO> batch) {
+        events.addAll(batch);
+    }
+
+    public synchronized List<LedgerEventDTO> getEvents() {
+        return List.copyOf(events);
+    }
+}
@@ -0,0 +1,15 @@
+package com.vastriantafyllou.bankapp.core.outbox;
+
+import com.vastriantafyllou.bankapp.dto.LedgerEventDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of outbox events. A batch holds events of a single partition in commit order per account;
+ * the dispatcher deletes them only after {@link #publish} returns, and retries the same batch otherwise.
+ * A deployment publishing to a message broker registers its own bean in place of the file sink.
+ */
+public interface LedgerEventSink {
+    void publish(List<LedgerEventDTO> events) throws IOException;
+}
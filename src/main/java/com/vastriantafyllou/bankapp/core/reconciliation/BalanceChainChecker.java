@@ -0,0 +1,210 @@
+package com.vastriantafyllou.bankapp.core.reconciliation;
+
+import com.vastriantafyllou.bankapp.model.LedgerFindingKind;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+/**
+ * Checks ledger rows fed in {@code (account_id, created_at, id)} order, keeping only the current
+ * account's running balance, so memory does not grow with the history. Each row's balance after must be
+ * the previous one plus or minus its amount, and an account's last balance after must be its balance.
+ * The first row of an account, and the first after a row without a balance after, only start a chain:
+ * what came before it may have been archived or predate the column.
+ * <p>
+ * Transfer legs are paired without being held: each leg adds (out) or subtracts (in) a hash of
+ * payer, payee, amount and time, so the sums over every checker of a run cancel to zero exactly when
+ * the legs pair up, in whatever order and on whatever worker they were read. Legs older than the
+ * horizon are left out, since a partition drop may take them away between two workers' reads.
+ */
+public class BalanceChainChecker {
+
+    public record Finding(LedgerFindingKind kind, long accountId, Long transactionId, Long expectedCents, Long actualCents) {
+    }
+
+    private final LocalDateTime legHorizon;
+    private final LocalDateTime transferCutoff;
+    private final Consumer<Finding> findings;
+
+    private long accountId;
+    private boolean inAccount;
+    private boolean accountMissing;
+    private Long accountBalanceCents;
+    private Long previousCents;
+
+    private long rows;
+    private long accounts;
+    private long unverifiableRows;
+    private long chainBreaks;
+    private long balanceMismatches;
+    private long missingAccounts;
+    private long unpairableTransfers;
+    private long transferOutCount;
+    private long transferInCount;
+    private long transferOutCents;
+    private long transferInCents;
+    private long transferFingerprint;
+
+    public BalanceChainChecker(LocalDateTime transferCutoff, Consumer<Finding> findings) {
+        this(null, transferCutoff, findings);
+    }
+
+    /**
+     * @param legHorizon transfer legs created before this are not paired; null pairs every settled leg
+     */
+    public BalanceChainChecker(LocalDateTime legHorizon, LocalDateTime transferCutoff, Consumer<Finding> findings) {
+        this.legHorizon = legHorizon;
+        this.transferCutoff = transferCutoff;
+        this.findings = findings;
+    }
+
+    /**
+     * @param accountIban         null when the account row no longer exists
+     * @param counterpartyExists  whether an account with {@code counterpartyIban} still exists and already
+     *                            existed when the row was written, so it can hold the other leg
+     */
+    public void accept(long accountId, String accountIban, Long accountBalanceCents, long transactionId, TransactionType type,
+                       long amountCents, Long balanceAfterCents, String counterpartyIban, boolean counterpartyExists,
+                       LocalDateTime createdAt) {
+        if (!inAccount || accountId != this.accountId) {
+            closeAccount();
+            openAccount(accountId, accountIban, accountBalanceCents);
+        }
+        rows++;
+        if (accountMissing) {
+            return;
+        }
+
+        long signedCents = type.isCredit() ? amountCents : -amountCents;
+        if (balanceAfterCents == null) {
+            unverifiableRows++;
+        } else if (previousCents != null) {
+            long expected = previousCents + signedCents;
+            if (expected != balanceAfterCents) {
+                chainBreaks++;
+                findings.accept(new Finding(LedgerFindingKind.CHAIN_BREAK, accountId, transactionId, expected, balanceAfterCents));
+            }
+        }
+        previousCents = balanceAfterCents;
+
+        if (type == TransactionType.TRANSFER_OUT || type == TransactionType.TRANSFER_IN) {
+            pair(accountIban, type, amountCents, counterpartyIban, counterpartyExists, createdAt);
+        }
+    }
+
+    /** Closes the last account; call once after the last row. */
+    public void finish() {
+        closeAccount();
+        inAccount = false;
+    }
+
+    private void openAccount(long accountId, String accountIban, Long accountBalanceCents) {
+        this.accountId = accountId;
+        this.inAccount = true;
+        this.accountMissing = accountIban == null;
+        this.accountBalanceCents = accountBalanceCents;
+        this.previousCents = null;
+        accounts++;
+        if (accountMissing) {
+            missingAccounts++;
+            findings.accept(new Finding(LedgerFindingKind.MISSING_ACCOUNT, accountId, null, null, null));
+        }
+    }
+
+    private void closeAccount() {
+        if (!inAccount || accountMissing || previousCents == null) {
+            return;
+        }
+        if (!previousCents.equals(accountBalanceCents)) {
+            balanceMismatches++;
+            findings.accept(new Finding(LedgerFindingKind.BALANCE_MISMATCH, accountId, null, previousCents, accountBalanceCents));
+        }
+    }
+
+    private void pair(String accountIban, TransactionType type, long amountCents, String counterpartyIban, boolean counterpartyExists,
+                      LocalDateTime createdAt) {
+        if (!createdAt.isBefore(transferCutoff) || (legHorizon != null && createdAt.isBefore(legHorizon))) {
+            return;
+        }
+        // A deleted account takes its own legs with it; the other side can never pair again, even once
+        // an account with the same IBAN has been opened again.
+        if (counterpartyIban == null || !counterpartyExists) {
+            unpairableTransfers++;
+            return;
+        }
+        if (type == TransactionType.TRANSFER_OUT) {
+            transferOutCount++;
+            transferOutCents += amountCents;
+            transferFingerprint += legHash(accountIban, counterpartyIban, amountCents, createdAt);
+        } else {
+            transferInCount++;
+            transferInCents += amountCents;
+            transferFingerprint -= legHash(counterpartyIban, accountIban, amountCents, createdAt);
+        }
+    }
+
+    private static long legHash(String fromIban, String toIban, long amountCents, LocalDateTime createdAt) {
+        long micros = createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + createdAt.getNano() / 1_000;
+        long hash = mix(fromIban.hashCode());
+        hash = mix(hash ^ toIban.hashCode());
+        hash = mix(hash ^ amountCents);
+        return mix(hash ^ micros);
+    }
+
+    /** The SplitMix64 finalizer: spreads every input bit over the whole word. */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getAccounts() {
+        return accounts;
+    }
+
+    public long getUnverifiableRows() {
+        return unverifiableRows;
+    }
+
+    public long getChainBreaks() {
+        return chainBreaks;
+    }
+
+    public long getBalanceMismatches() {
+        return balanceMismatches;
+    }
+
+    public long getMissingAccounts() {
+        return missingAccounts;
+    }
+
+    public long getUnpairableTransfers() {
+        return unpairableTransfers;
+    }
+
+    public long getTransferOutCount() {
+        return transferOutCount;
+    }
+
+    public long getTransferInCount() {
+        return transferInCount;
+    }
+
+    public long getTransferOutCents() {
+        return transferOutCents;
+    }
+
+    public long getTransferInCents() {
+        return transferInCents;
+    }
+
+    public long getTransferFingerprint() {
+        return transferFingerprint;
+    }
+}
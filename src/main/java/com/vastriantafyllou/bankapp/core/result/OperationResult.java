@@ -0,0 +1,80 @@
+package com.vastriantafyllou.bankapp.core.result;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+
+/**
+ * Outcome of a money movement on the exception-free path of {@code IAccountService}. A rejection costs
+ * no stack trace and, for the fixed cases, no allocation; the Greek message is only built when asked for.
+ */
+public final class OperationResult {
+
+    public enum Outcome {
+        APPLIED,
+        NEGATIVE_AMOUNT,
+        INVALID_TRANSFER,
+        ACCOUNT_NOT_FOUND,
+        INSUFFICIENT_BALANCE
+    }
+
+    public static final OperationResult APPLIED = new OperationResult(Outcome.APPLIED, null, null, null);
+    public static final OperationResult NEGATIVE_DEPOSIT = new OperationResult(Outcome.NEGATIVE_AMOUNT, null, null, "Το ποσό κατάθεσης πρέπει να είναι θετικό");
+    public static final OperationResult NEGATIVE_WITHDRAWAL = new OperationResult(Outcome.NEGATIVE_AMOUNT, null, null, "Το ποσό ανάληψης πρέπει να είναι θετικό");
+    public static final OperationResult NEGATIVE_TRANSFER = new OperationResult(Outcome.NEGATIVE_AMOUNT, null, null, "Το ποσό μεταφοράς πρέπει να είναι θετικό");
+    /** A credit the payee's balance cannot hold; rejected like any other invalid amount. */
+    public static final OperationResult BALANCE_LIMIT_EXCEEDED = new OperationResult(Outcome.NEGATIVE_AMOUNT, null, null, "Το ποσό υπερβαίνει το ανώτατο επιτρεπτό υπόλοιπο του λογαριασμού");
+    /** An amount beyond what {@link Money} holds, rejected before it is converted. */
+    public static final OperationResult AMOUNT_OUT_OF_RANGE = new OperationResult(Outcome.NEGATIVE_AMOUNT, null, null, "Το ποσό υπερβαίνει το ανώτατο επιτρεπτό ποσό");
+    public static final OperationResult SAME_ACCOUNT_TRANSFER = new OperationResult(Outcome.INVALID_TRANSFER, null, null, "Δεν επιτρέπεται μεταφορά στον ίδιο λογαριασμό");
+
+    private final Outcome outcome;
+    private final String iban;
+    private final Money available;
+    private final String message;
+
+    private OperationResult(Outcome outcome, String iban, Money available, String message) {
+        this.outcome = outcome;
+        this.iban = iban;
+        this.available = available;
+        this.message = message;
+    }
+
+    public static OperationResult accountNotFound(String iban) {
+        return new OperationResult(Outcome.ACCOUNT_NOT_FOUND, iban, null, null);
+    }
+
+    public static OperationResult insufficientBalance(Money available) {
+        return new OperationResult(Outcome.INSUFFICIENT_BALANCE, null, available, null);
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isApplied() {
+        return outcome == Outcome.APPLIED;
+    }
+
+    /** The account that was not found, for {@link Outcome#ACCOUNT_NOT_FOUND}. */
+    public String getIban() {
+        return iban;
+    }
+
+    /** The balance the amount exceeded, for {@link Outcome#INSUFFICIENT_BALANCE}. */
+    public Money getAvailable() {
+        return available;
+    }
+
+    /** The message the throwing variant of the operation would carry, or {@code null} if it was applied. */
+    public String getMessage() {
+        return switch (outcome) {
+            case ACCOUNT_NOT_FOUND -> "Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε";
+            case INSUFFICIENT_BALANCE -> "Ανεπαρκές υπόλοιπο. Διαθέσιμο: " + available + " €";
+            default -> message;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return outcome == Outcome.APPLIED ? outcome.name() : outcome + ": " + getMessage();
+    }
+}
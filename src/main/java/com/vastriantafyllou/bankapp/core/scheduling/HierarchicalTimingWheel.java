@@ -0,0 +1,143 @@
+package com.vastriantafyllou.bankapp.core.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: level {@code i} has {@code wheelSize} buckets of {@code tick x wheelSize^i}
+ * milliseconds each. Scheduling is O(1) and an item is moved down a level only when its bucket on the
+ * coarser level comes due, so advancing costs one bucket per tick plus each item once per level, however
+ * many items are waiting. Items beyond the top level wait in an overflow list until the top level wraps.
+ * <p>
+ * Due times are honoured to the tick: an item is released by the first {@link #advanceTo} whose time
+ * reaches the tick it falls in. Not thread-safe; callers serialize access.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTicks;
+    private final long[] levelStarts;
+    private final List<Entry<T>>[][] buckets;
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private final List<T> ready = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("tickMillis > 0, wheelSize >= 2 and levels >= 1 required");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelTicks = new long[levels];
+        this.levelStarts = new long[levels];
+        this.buckets = new List[levels][wheelSize];
+        long ticks = 1;
+        for (int level = 0; level < levels; level++) {
+            levelTicks[level] = ticks;
+            ticks = Math.multiplyExact(ticks, wheelSize);
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        for (int level = 0; level < levels; level++) {
+            levelStarts[level] = currentTick - Math.floorMod(currentTick, levelTicks[level]);
+        }
+    }
+
+    public void schedule(T item, long dueMillis) {
+        add(new Entry<>(item, Math.floorDiv(dueMillis, tickMillis)));
+        size++;
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis} and hands every item due by then to {@code due}, earliest tick first.
+     */
+    public void advanceTo(long nowMillis, Consumer<T> due) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        drainReady(due);
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                jumpTo(targetTick);
+                return;
+            }
+            currentTick++;
+            int levels = levelTicks.length;
+            for (int level = 0; level < levels; level++) {
+                if (Math.floorMod(currentTick, levelTicks[level]) == 0) {
+                    levelStarts[level] = currentTick;
+                }
+            }
+            if (Math.floorMod(currentTick, levelTicks[levels - 1] * wheelSize) == 0 && !overflow.isEmpty()) {
+                List<Entry<T>> waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                waiting.forEach(this::add);
+            }
+            for (int level = levels - 1; level >= 0; level--) {
+                if (levelStarts[level] == currentTick) {
+                    cascade(level);
+                }
+            }
+            drainReady(due);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Milliseconds a single item can be scheduled ahead before it goes to the overflow list. */
+    public long getHorizonMillis() {
+        return levelTicks[levelTicks.length - 1] * wheelSize * tickMillis;
+    }
+
+    private void add(Entry<T> entry) {
+        if (entry.tick <= currentTick) {
+            ready.add(entry.item);
+            return;
+        }
+        for (int level = 0; level < levelTicks.length; level++) {
+            if (entry.tick < levelStarts[level] + levelTicks[level] * wheelSize) {
+                int index = (int) Math.floorMod(Math.floorDiv(entry.tick, levelTicks[level]), (long) wheelSize);
+                List<Entry<T>> bucket = buckets[level][index];
+                if (bucket == null) {
+                    bucket = new ArrayList<>();
+                    buckets[level][index] = bucket;
+                }
+                bucket.add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private void cascade(int level) {
+        int index = (int) Math.floorMod(Math.floorDiv(currentTick, levelTicks[level]), (long) wheelSize);
+        List<Entry<T>> bucket = buckets[level][index];
+        if (bucket == null || bucket.isEmpty()) {
+            return;
+        }
+        buckets[level][index] = null;
+        bucket.forEach(this::add);
+    }
+
+    private void drainReady(Consumer<T> due) {
+        if (ready.isEmpty()) {
+            return;
+        }
+        size -= ready.size();
+        ready.forEach(due);
+        ready.clear();
+    }
+
+    private void jumpTo(long targetTick) {
+        currentTick = targetTick;
+        for (int level = 0; level < levelTicks.length; level++) {
+            levelStarts[level] = currentTick - Math.floorMod(currentTick, levelTicks[level]);
+        }
+    }
+
+    private record Entry<T>(T item, long tick) {
+    }
+}
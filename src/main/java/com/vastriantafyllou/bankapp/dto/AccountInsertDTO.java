@@ -1,5 +1,6 @@
 package com.vastriantafyllou.bankapp.dto;
 
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -18,14 +19,15 @@ import java.math.BigDecimal;
 public class AccountInsertDTO {
 
     @NotBlank(message = "Το IBAN είναι υποχρεωτικό")
-    @Size(min = 5, message = "Το IBAN πρέπει να έχει τουλάχιστον 5 χαρακτήρες")
+    @Size(min = 5, max = 255, message = "Το IBAN πρέπει να έχει από 5 έως 255 χαρακτήρες")
     private String iban;
 
     @NotBlank(message = "Το Account Number είναι υποχρεωτικό")
-    @Size(min = 5, message = "Το Account Number πρέπει να έχει τουλάχιστον 5 χαρακτήρες")
+    @Size(min = 5, max = 255, message = "Το Account Number πρέπει να έχει από 5 έως 255 χαρακτήρες")
     private String accountNumber;
 
     @NotNull(message = "Το αρχικό υπόλοιπο είναι υποχρεωτικό")
     @DecimalMin(value = "0.0", message = "Το αρχικό υπόλοιπο δεν μπορεί να είναι αρνητικό")
+    @DecimalMax(value = "92233720368547758.07", message = "Το αρχικό υπόλοιπο υπερβαίνει το ανώτατο επιτρεπτό ποσό")
     private BigDecimal balance;
 }
@@ -1,5 +1,6 @@
 package com.vastriantafyllou.bankapp.dto;
 
+import com.vastriantafyllou.bankapp.core.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,4 +17,9 @@ public class AccountReadOnlyDTO {
     private String iban;
     private String accountNumber;
     private BigDecimal balance;
+
+    /** JPQL projection constructor: the entity attribute is {@link Money}. */
+    public AccountReadOnlyDTO(Long id, String iban, String accountNumber, Money balance) {
+        this(id, iban, accountNumber, balance.toBigDecimal());
+    }
 }
@@ -0,0 +1,22 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountViewDTO {
+    private AccountReadOnlyDTO account;
+    private TransactionHistoryDTO history;
+    private LocalDate monthStart;
+    private BigDecimal monthCredits;
+    private BigDecimal monthDebits;
+    private long monthTransactions;
+}
@@ -0,0 +1,28 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationDTO {
+
+    public enum Type {
+        DEPOSIT,
+        WITHDRAW,
+        TRANSFER
+    }
+
+    private Type type;
+    private String iban;
+    /** Only for {@link Type#TRANSFER}. */
+    private String toIban;
+    private BigDecimal amount;
+    private String idempotencyKey;
+}
@@ -0,0 +1,18 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResultDTO {
+    private int index;
+    /** The HTTP status the operation would have had as a single request. */
+    private int status;
+    private boolean replayed;
+    private String message;
+}
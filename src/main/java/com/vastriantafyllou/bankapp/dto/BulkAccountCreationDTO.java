@@ -0,0 +1,19 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAccountCreationDTO {
+    private long created;
+    private long rejected;
+    /** The first rejected lines only; {@code rejected} has the full count. */
+    private List<BulkLineResultDTO> rejections;
+}
@@ -0,0 +1,22 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLineResultDTO {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String REJECTED = "REJECTED";
+    public static final String ALREADY_POSTED = "ALREADY_POSTED";
+    public static final String SKIPPED = "SKIPPED";
+
+    private long lineNumber;
+    private String status;
+    private String message;
+}
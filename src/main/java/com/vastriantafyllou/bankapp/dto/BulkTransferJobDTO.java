@@ -0,0 +1,21 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import com.vastriantafyllou.bankapp.model.BulkJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransferJobDTO {
+    private Long id;
+    private String fileName;
+    private BulkJobStatus status;
+    private long lastCommittedLine;
+    private long acceptedCount;
+    private long rejectedCount;
+    private String errorMessage;
+}
@@ -0,0 +1,33 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyBalanceDTO {
+    private LocalDate businessDate;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private BigDecimal creditTotal;
+    private BigDecimal debitTotal;
+    private long depositCount;
+    private long withdrawCount;
+    private long transferInCount;
+    private long transferOutCount;
+
+    /** JPQL projection constructor: the entity attributes are {@link Money}. */
+    public DailyBalanceDTO(LocalDate businessDate, Money openingBalance, Money closingBalance, Money creditTotal, Money debitTotal,
+                           long depositCount, long withdrawCount, long transferInCount, long transferOutCount) {
+        this(businessDate, openingBalance.toBigDecimal(), closingBalance.toBigDecimal(), creditTotal.toBigDecimal(), debitTotal.toBigDecimal(),
+                depositCount, withdrawCount, transferInCount, transferOutCount);
+    }
+}
@@ -0,0 +1,29 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * What downstream consumers receive for each ledger row. Delivery is at-least-once, so consumers
+ * deduplicate on {@code eventId}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEventDTO {
+    private Long eventId;
+    private Long transactionId;
+    private String iban;
+    private TransactionType type;
+    private BigDecimal amount;
+    private BigDecimal balanceAfter;
+    private String counterpartyIban;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,30 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.model.StandingOrderFrequency;
+import com.vastriantafyllou.bankapp.model.StandingOrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingOrderReadOnlyDTO {
+    private Long id;
+    private String fromIban;
+    private String toIban;
+    private BigDecimal amount;
+    private StandingOrderFrequency frequency;
+    private StandingOrderStatus status;
+    private LocalDateTime nextRunAt;
+    private LocalDateTime lastRunAt;
+    private OperationResult.Outcome lastOutcome;
+    private long executedCount;
+    private long declinedCount;
+}
@@ -0,0 +1,29 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementDTO {
+    private String iban;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private BigDecimal creditTotal;
+    private BigDecimal debitTotal;
+    private long depositCount;
+    private long withdrawCount;
+    private long transferInCount;
+    private long transferOutCount;
+    private List<DailyBalanceDTO> days;
+}
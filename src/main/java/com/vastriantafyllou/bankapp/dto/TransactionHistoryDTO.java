@@ -0,0 +1,22 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionHistoryDTO {
+    private List<TransactionReadOnlyDTO> transactions;
+    private String nextCursor;
+    private int size;
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
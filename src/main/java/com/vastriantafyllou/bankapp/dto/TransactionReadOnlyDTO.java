@@ -0,0 +1,29 @@
+package com.vastriantafyllou.bankapp.dto;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionReadOnlyDTO {
+    private Long id;
+    private TransactionType type;
+    private BigDecimal amount;
+    private LocalDateTime createdAt;
+    private String counterpartyIban;
+    private BigDecimal balanceAfter;
+
+    /** JPQL projection constructor: the entity attributes are {@link Money}. */
+    public TransactionReadOnlyDTO(Long id, TransactionType type, Money amount, LocalDateTime createdAt, String counterpartyIban, Money balanceAfter) {
+        this(id, type, amount.toBigDecimal(), createdAt, counterpartyIban, balanceAfter == null ? null : balanceAfter.toBigDecimal());
+    }
+}
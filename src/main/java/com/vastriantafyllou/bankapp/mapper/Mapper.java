@@ -1,8 +1,17 @@
 package com.vastriantafyllou.bankapp.mapper;
 
+import com.vastriantafyllou.bankapp.core.money.Money;
 import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
 import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.BulkTransferJobDTO;
+import com.vastriantafyllou.bankapp.dto.LedgerEventDTO;
+import com.vastriantafyllou.bankapp.dto.StandingOrderReadOnlyDTO;
 import com.vastriantafyllou.bankapp.model.Account;
+import com.vastriantafyllou.bankapp.model.BulkTransferJob;
+import com.vastriantafyllou.bankapp.model.LedgerOutboxEvent;
+import com.vastriantafyllou.bankapp.model.StandingOrder;
+
+import java.time.LocalDateTime;
 
 public class Mapper {
 
@@ -13,11 +22,29 @@ public class Mapper {
         return Account.builder()
                 .iban(dto.getIban())
                 .accountNumber(dto.getAccountNumber())
-                .balance(dto.getBalance())
+                .balance(Money.of(dto.getBalance()))
+                .createdAt(LocalDateTime.now())
                 .build();
     }
 
     public static AccountReadOnlyDTO mapToReadOnlyDTO(Account account) {
-        return new AccountReadOnlyDTO(account.getId(), account.getIban(), account.getAccountNumber(), account.getBalance());
+        return new AccountReadOnlyDTO(account.getId(), account.getIban(), account.getAccountNumber(), account.getBalance().toBigDecimal());
+    }
+
+    public static BulkTransferJobDTO mapToBulkTransferJobDTO(BulkTransferJob job) {
+        return new BulkTransferJobDTO(job.getId(), job.getFileName(), job.getStatus(), job.getLastCommittedLine(),
+                job.getAcceptedCount(), job.getRejectedCount(), job.getErrorMessage());
+    }
+
+    public static LedgerEventDTO mapToLedgerEventDTO(LedgerOutboxEvent event) {
+        return new LedgerEventDTO(event.getId(), event.getTransactionId(), event.getAccountIban(), event.getType(),
+                event.getAmount().toBigDecimal(), event.getBalanceAfter() == null ? null : event.getBalanceAfter().toBigDecimal(),
+                event.getCounterpartyIban(), event.getOccurredAt());
+    }
+
+    public static StandingOrderReadOnlyDTO mapToStandingOrderDTO(StandingOrder order) {
+        return new StandingOrderReadOnlyDTO(order.getId(), order.getFromIban(), order.getToIban(), order.getAmount().toBigDecimal(),
+                order.getFrequency(), order.getStatus(), order.getNextRunAt(), order.getLastRunAt(), order.getLastOutcome(),
+                order.getExecutedCount(), order.getDeclinedCount());
     }
 }
@@ -1,9 +1,10 @@
 package com.vastriantafyllou.bankapp.model;
 
+import com.vastriantafyllou.bankapp.core.money.Money;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "accounts")
@@ -15,7 +16,8 @@ import java.math.BigDecimal;
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -25,7 +27,14 @@ public class Account {
     private String accountNumber;
 
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance;
+    private Money balance;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /** Null for accounts created before the column existed. Tells a re-created IBAN from the account it replaced. */
+    private LocalDateTime createdAt;
 
     @Override
     public boolean equals(Object o) {
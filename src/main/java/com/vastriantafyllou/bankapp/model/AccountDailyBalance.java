@@ -0,0 +1,46 @@
+package com.vastriantafyllou.bankapp.model;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-account, per-day rollup of the ledger, maintained by {@code LedgerWriter} in the same transaction
+ * as the rows it summarises.
+ */
+@Entity
+@Table(name = "account_daily_balances")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountDailyBalance {
+
+    @EmbeddedId
+    private AccountDailyBalanceId id;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money openingBalance;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money closingBalance;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money creditTotal;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money debitTotal;
+
+    @Column(nullable = false)
+    private long depositCount;
+
+    @Column(nullable = false)
+    private long withdrawCount;
+
+    @Column(nullable = false)
+    private long transferInCount;
+
+    @Column(nullable = false)
+    private long transferOutCount;
+}
@@ -1,13 +1,14 @@
 package com.vastriantafyllou.bankapp.model;
 
+import com.vastriantafyllou.bankapp.core.money.Money;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "account_transactions")
+@Table(name = "account_transactions",
+        indexes = @Index(name = "idx_account_tx_account_created_id", columnList = "account_id, created_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,11 +17,13 @@ import java.time.LocalDateTime;
 public class AccountTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_transactions_seq")
+    @SequenceGenerator(name = "account_transactions_seq", sequenceName = "account_transactions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "account_id", nullable = false)
+    // No FK: MySQL cannot partition a table that has foreign keys. Account deletion removes the rows itself.
+    @JoinColumn(name = "account_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Account account;
 
     @Enumerated(EnumType.STRING)
@@ -28,7 +31,7 @@ public class AccountTransaction {
     private TransactionType type;
 
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -37,5 +40,5 @@ public class AccountTransaction {
     private String counterpartyIban;
 
     @Column(precision = 19, scale = 2)
-    private BigDecimal balanceAfter;
+    private Money balanceAfter;
 }
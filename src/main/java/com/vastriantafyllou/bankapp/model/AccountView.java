@@ -0,0 +1,80 @@
+package com.vastriantafyllou.bankapp.model;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalised account page: the account, its latest ledger rows as JSON and the current month's totals,
+ * maintained by {@code AccountViewProjector} in the transaction of every ledger write. The id is the
+ * account's, assigned rather than generated, so the entity says itself whether it is new: otherwise
+ * {@code save} would merge, and a merge SELECTs the row before inserting it.
+ */
+@Entity
+@Table(name = "account_views",
+        indexes = @Index(name = "idx_account_views_iban", columnList = "iban", unique = true))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountView implements Persistable<Long> {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(nullable = false)
+    private String iban;
+
+    private String accountNumber;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money balance;
+
+    @Column(nullable = false)
+    private LocalDate monthStart;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money monthCredits;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money monthDebits;
+
+    @Column(nullable = false)
+    private long monthTransactions;
+
+    /** Newest first, at most {@code bankapp.account-view.recent-transactions + 1} entries. */
+    @Lob
+    @Column(nullable = false)
+    private String recentTransactions;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return accountId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.vastriantafyllou.bankapp.model;
+
+public enum BulkFileFormat {
+    CSV,
+    NDJSON;
+
+    public static BulkFileFormat fromFileName(String fileName) {
+        if (fileName != null) {
+            String lower = fileName.toLowerCase();
+            if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+        }
+        return CSV;
+    }
+}
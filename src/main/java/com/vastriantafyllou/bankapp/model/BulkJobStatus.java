@@ -0,0 +1,8 @@
+package com.vastriantafyllou.bankapp.model;
+
+public enum BulkJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,39 @@
+package com.vastriantafyllou.bankapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "bulk_transfer_chunks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bulk_chunk_job_first_line", columnNames = {"job_id", "first_line"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransferChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bulk_transfer_chunks_seq")
+    @SequenceGenerator(name = "bulk_transfer_chunks_seq", sequenceName = "bulk_transfer_chunks_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "first_line", nullable = false)
+    private long firstLine;
+
+    @Column(nullable = false)
+    private long lastLine;
+
+    @Column(nullable = false)
+    private int acceptedCount;
+
+    @Column(nullable = false)
+    private int rejectedCount;
+
+    /** JSON array of the chunk's line results, replayed when a resumed job reaches the chunk again. */
+    @Lob
+    private String lineResults;
+}
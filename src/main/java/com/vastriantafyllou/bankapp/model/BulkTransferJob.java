@@ -0,0 +1,53 @@
+package com.vastriantafyllou.bankapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "bulk_transfer_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransferJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bulk_transfer_jobs_seq")
+    @SequenceGenerator(name = "bulk_transfer_jobs_seq", sequenceName = "bulk_transfer_jobs_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BulkFileFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BulkJobStatus status;
+
+    private String inputPath;
+
+    private String reportPath;
+
+    @Column(nullable = false)
+    private long lastCommittedLine;
+
+    @Column(nullable = false)
+    private long acceptedCount;
+
+    @Column(nullable = false)
+    private long rejectedCount;
+
+    @Column(length = 512)
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,15 @@
+package com.vastriantafyllou.bankapp.model;
+
+public enum LedgerFindingKind {
+    /** A row's balance after is not the previous row's plus or minus its amount. */
+    CHAIN_BREAK,
+    /** The last balance after of an account differs from the account's balance. */
+    BALANCE_MISMATCH,
+    /** Ledger rows whose account no longer exists. */
+    MISSING_ACCOUNT,
+    /**
+     * Written for every range of a run whose transfers did not balance: expected holds the range's
+     * transfer-out sum and actual its transfer-in sum, keyed by the range's first account id.
+     */
+    TRANSFER_RANGE_SUMS
+}
@@ -0,0 +1,59 @@
+package com.vastriantafyllou.bankapp.model;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One pending ledger event. Rows are inserted by {@code LedgerOutbox} in the transaction that writes the
+ * ledger row and deleted once a sink has accepted them. The id is AUTO_INCREMENT on purpose: it is taken
+ * at insert time, after the account's previous write committed (the row lock or the version check sees
+ * to that), so for any one account the id order is the commit order.
+ */
+@Entity
+@Table(name = "ledger_outbox",
+        indexes = @Index(name = "idx_ledger_outbox_partition_id", columnList = "partition_no, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partition;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "account_iban", nullable = false, length = 64)
+    private String accountIban;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private TransactionType type;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money amount;
+
+    @Column(precision = 19, scale = 2)
+    private Money balanceAfter;
+
+    @Column(length = 64)
+    private String counterpartyIban;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.vastriantafyllou.bankapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ownership of one outbox partition. Only the node holding an unexpired lease publishes the partition,
+ * which keeps each account's events in order while several nodes share the outbox.
+ */
+@Entity
+@Table(name = "ledger_outbox_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerOutboxLease {
+
+    @Id
+    @Column(name = "partition_no")
+    private Integer partition;
+
+    @Column(length = 128)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    /** Raised every time the partition changes hands; fences off a previous owner that is still publishing. */
+    @Column(nullable = false)
+    private long epoch;
+}
@@ -0,0 +1,40 @@
+package com.vastriantafyllou.bankapp.model;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "ledger_verification_findings",
+        indexes = @Index(name = "idx_ledger_verification_findings_run_account", columnList = "run_id, account_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerVerificationFinding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_verification_findings_seq")
+    @SequenceGenerator(name = "ledger_verification_findings_seq", sequenceName = "ledger_verification_findings_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "account_id", nullable = false)
+    private long accountId;
+
+    /** The row where the chain broke; null for findings about the account as a whole. */
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private LedgerFindingKind kind;
+
+    @Column(precision = 19, scale = 2)
+    private Money expected;
+
+    @Column(precision = 19, scale = 2)
+    private Money actual;
+}
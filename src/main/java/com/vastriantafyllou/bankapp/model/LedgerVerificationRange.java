@@ -0,0 +1,75 @@
+package com.vastriantafyllou.bankapp.model;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one verified account range, written in the same transaction as its findings.
+ */
+@Entity
+@Table(name = "ledger_verification_ranges",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_verification_range_run_first", columnNames = {"run_id", "first_account_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerVerificationRange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_verification_ranges_seq")
+    @SequenceGenerator(name = "ledger_verification_ranges_seq", sequenceName = "ledger_verification_ranges_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "first_account_id", nullable = false)
+    private long firstAccountId;
+
+    @Column(nullable = false)
+    private long lastAccountId;
+
+    @Column(nullable = false)
+    private long rowsChecked;
+
+    @Column(nullable = false)
+    private long accountsChecked;
+
+    @Column(nullable = false)
+    private long unverifiableRows;
+
+    @Column(nullable = false)
+    private long chainBreaks;
+
+    @Column(nullable = false)
+    private long balanceMismatches;
+
+    @Column(nullable = false)
+    private long missingAccounts;
+
+    @Column(nullable = false)
+    private long unpairableTransfers;
+
+    @Column(nullable = false)
+    private long transferOutCount;
+
+    @Column(nullable = false)
+    private long transferInCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money transferOutAmount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money transferInAmount;
+
+    /** Wrapping sum of the range's transfer-out leg hashes minus its transfer-in leg hashes. */
+    @Column(nullable = false)
+    private long transferFingerprint;
+
+    @Column(nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,6 @@
+package com.vastriantafyllou.bankapp.model;
+
+public enum LedgerVerificationStatus {
+    RUNNING,
+    COMPLETED
+}
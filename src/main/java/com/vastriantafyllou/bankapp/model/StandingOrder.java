@@ -0,0 +1,69 @@
+package com.vastriantafyllou.bankapp.model;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "standing_orders",
+        indexes = {
+                @Index(name = "idx_standing_orders_status_next_run", columnList = "status, next_run_at"),
+                @Index(name = "idx_standing_orders_from_iban", columnList = "from_iban")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StandingOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "standing_orders_seq")
+    @SequenceGenerator(name = "standing_orders_seq", sequenceName = "standing_orders_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "from_iban", nullable = false, length = 64)
+    private String fromIban;
+
+    @Column(name = "to_iban", nullable = false, length = 64)
+    private String toIban;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private StandingOrderFrequency frequency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private StandingOrderStatus status;
+
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    /** Index of the occurrence {@link #nextRunAt} stands for; {@code startAt} is occurrence 0. */
+    @Column(nullable = false)
+    private long occurrence;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    private LocalDateTime lastRunAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private OperationResult.Outcome lastOutcome;
+
+    @Column(nullable = false)
+    private long executedCount;
+
+    @Column(nullable = false)
+    private long declinedCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
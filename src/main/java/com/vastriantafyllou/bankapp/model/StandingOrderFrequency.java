@@ -0,0 +1,23 @@
+package com.vastriantafyllou.bankapp.model;
+
+import java.time.LocalDateTime;
+
+public enum StandingOrderFrequency {
+    ONCE,
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * Time of the given occurrence, counted from the first run. Computed from the start rather than the
+     * previous run so a monthly order started on the 31st returns to the 31st after a short month.
+     */
+    public LocalDateTime occurrence(LocalDateTime startAt, long occurrence) {
+        return switch (this) {
+            case ONCE -> startAt;
+            case DAILY -> startAt.plusDays(occurrence);
+            case WEEKLY -> startAt.plusWeeks(occurrence);
+            case MONTHLY -> startAt.plusMonths(occurrence);
+        };
+    }
+}
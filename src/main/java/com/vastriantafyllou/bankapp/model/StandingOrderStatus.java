@@ -0,0 +1,9 @@
+package com.vastriantafyllou.bankapp.model;
+
+public enum StandingOrderStatus {
+    ACTIVE,
+    COMPLETED,
+    CANCELLED,
+    /** Stopped after its occurrence kept failing to run; needs an operator. */
+    FAILED
+}
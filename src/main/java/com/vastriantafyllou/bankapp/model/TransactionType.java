@@ -4,5 +4,9 @@ public enum TransactionType {
     DEPOSIT,
     WITHDRAW,
     TRANSFER_IN,
-    TRANSFER_OUT
+    TRANSFER_OUT;
+
+    public boolean isCredit() {
+        return this == DEPOSIT || this == TRANSFER_IN;
+    }
 }
@@ -0,0 +1,67 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.dto.DailyBalanceDTO;
+import com.vastriantafyllou.bankapp.model.AccountDailyBalance;
+import com.vastriantafyllou.bankapp.model.AccountDailyBalanceId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AccountDailyBalanceRepository extends JpaRepository<AccountDailyBalance, AccountDailyBalanceId> {
+
+    /**
+     * Folds one day's delta into the rollup: the opening balance is kept from the first write of the day,
+     * the closing balance is replaced and the totals accumulate.
+     */
+    @Modifying
+    @Query(value = "insert into account_daily_balances (account_id, business_date, opening_balance, closing_balance, " +
+            "credit_total, debit_total, deposit_count, withdraw_count, transfer_in_count, transfer_out_count) " +
+            "values (:accountId, :businessDate, :openingBalance, :closingBalance, " +
+            ":creditTotal, :debitTotal, :depositCount, :withdrawCount, :transferInCount, :transferOutCount) " +
+            "on duplicate key update closing_balance = values(closing_balance), " +
+            "credit_total = credit_total + values(credit_total), " +
+            "debit_total = debit_total + values(debit_total), " +
+            "deposit_count = deposit_count + values(deposit_count), " +
+            "withdraw_count = withdraw_count + values(withdraw_count), " +
+            "transfer_in_count = transfer_in_count + values(transfer_in_count), " +
+            "transfer_out_count = transfer_out_count + values(transfer_out_count)", nativeQuery = true)
+    void upsert(@Param("accountId") Long accountId,
+                @Param("businessDate") LocalDate businessDate,
+                @Param("openingBalance") BigDecimal openingBalance,
+                @Param("closingBalance") BigDecimal closingBalance,
+                @Param("creditTotal") BigDecimal creditTotal,
+                @Param("debitTotal") BigDecimal debitTotal,
+                @Param("depositCount") long depositCount,
+                @Param("withdrawCount") long withdrawCount,
+                @Param("transferInCount") long transferInCount,
+                @Param("transferOutCount") long transferOutCount);
+
+    @Query("select new com.vastriantafyllou.bankapp.dto.DailyBalanceDTO(d.id.businessDate, d.openingBalance, d.closingBalance, " +
+            "d.creditTotal, d.debitTotal, d.depositCount, d.withdrawCount, d.transferInCount, d.transferOutCount) " +
+            "from AccountDailyBalance d where d.id.accountId = :accountId " +
+            "and d.id.businessDate between :from and :to order by d.id.businessDate")
+    List<DailyBalanceDTO> findByAccountIdBetween(@Param("accountId") Long accountId,
+                                                 @Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to);
+
+    @Query("select d.closingBalance from AccountDailyBalance d where d.id.accountId = :accountId " +
+            "and d.id.businessDate <= :date order by d.id.businessDate desc")
+    List<Money> findClosingBalanceOnOrBefore(@Param("accountId") Long accountId, @Param("date") LocalDate date, Limit limit);
+
+    @Query("select d.openingBalance from AccountDailyBalance d where d.id.accountId = :accountId " +
+            "and d.id.businessDate > :date order by d.id.businessDate")
+    List<Money> findOpeningBalanceAfter(@Param("accountId") Long accountId, @Param("date") LocalDate date, Limit limit);
+
+    @Modifying
+    @Query("delete from AccountDailyBalance d where d.id.accountId = :accountId")
+    void deleteByAccountId(@Param("accountId") Long accountId);
+}
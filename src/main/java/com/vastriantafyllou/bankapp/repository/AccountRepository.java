@@ -1,13 +1,19 @@
 package com.vastriantafyllou.bankapp.repository;
 
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
 import com.vastriantafyllou.bankapp.model.Account;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,7 +24,32 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     boolean existsByIban(String iban);
     boolean existsByAccountNumber(String accountNumber);
 
+    @Query("select a.iban from Account a where a.iban in :ibans")
+    List<String> findExistingIbans(@Param("ibans") Collection<String> ibans);
+
+    @Query("select a.accountNumber from Account a where a.accountNumber in :accountNumbers")
+    List<String> findExistingAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    @Query("select new com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO(a.id, a.iban, a.accountNumber, a.balance) " +
+            "from Account a where a.iban like :pattern escape '!'")
+    Slice<AccountReadOnlyDTO> findPageByIbanLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("select a.id from Account a where a.iban = :iban")
+    Optional<Long> findIdByIban(@Param("iban") String iban);
+
+    /** Changes with every balance change, which makes it the validator for conditional GETs. */
+    @Query("select a.version from Account a where a.iban = :iban")
+    Optional<Long> findVersionByIban(@Param("iban") String iban);
+
+    /** Non-locking read of the committed balance, for declining a debit before taking the row lock. */
+    @Query("select a.balance from Account a where a.iban = :iban")
+    Optional<Money> findBalanceByIban(@Param("iban") String iban);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select a from Account a where a.iban = :iban")
     Optional<Account> findByIbanForUpdate(@Param("iban") String iban);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.iban in :ibans order by a.iban")
+    List<Account> findAllByIbanInForUpdate(@Param("ibans") Collection<String> ibans);
 }
@@ -1,13 +1,35 @@
 package com.vastriantafyllou.bankapp.repository;
 
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
 import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface AccountTransactionRepository extends JpaRepository<AccountTransaction, Long> {
-    List<AccountTransaction> findByAccount_IbanOrderByCreatedAtDesc(String iban);
-    void deleteByAccount_Iban(String iban);
+
+    @Query("select new com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO(t.id, t.type, t.amount, t.createdAt, t.counterpartyIban, t.balanceAfter) " +
+            "from AccountTransaction t where t.account.id = :accountId " +
+            "order by t.createdAt desc, t.id desc")
+    List<TransactionReadOnlyDTO> findLatestByAccountId(@Param("accountId") Long accountId, Limit limit);
+
+    @Query("select new com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO(t.id, t.type, t.amount, t.createdAt, t.counterpartyIban, t.balanceAfter) " +
+            "from AccountTransaction t where t.account.id = :accountId " +
+            "and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)) " +
+            "order by t.createdAt desc, t.id desc")
+    List<TransactionReadOnlyDTO> findByAccountIdBefore(@Param("accountId") Long accountId,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") Long id,
+                                                        Limit limit);
+
+    @Modifying
+    @Query("delete from AccountTransaction t where t.account.id = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
 }
@@ -0,0 +1,19 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.model.AccountView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AccountViewRepository extends JpaRepository<AccountView, Long> {
+    Optional<AccountView> findByIban(String iban);
+
+    @Modifying
+    @Query("delete from AccountView v where v.accountId = :accountId")
+    void deleteByAccountId(@Param("accountId") Long accountId);
+}
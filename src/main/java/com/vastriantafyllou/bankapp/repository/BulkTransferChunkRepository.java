@@ -0,0 +1,12 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.model.BulkTransferChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BulkTransferChunkRepository extends JpaRepository<BulkTransferChunk, Long> {
+    Optional<BulkTransferChunk> findByJobIdAndFirstLine(Long jobId, long firstLine);
+}
@@ -0,0 +1,9 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.model.BulkTransferJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BulkTransferJobRepository extends JpaRepository<BulkTransferJob, Long> {
+}
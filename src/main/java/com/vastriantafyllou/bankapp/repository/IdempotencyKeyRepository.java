@@ -0,0 +1,29 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query(value = "insert into idempotency_keys (scoped_key, request_hash, created_at, expires_at) values (:scopedKey, :requestHash, :createdAt, :expiresAt)", nativeQuery = true)
+    void insert(@Param("scopedKey") String scopedKey,
+                @Param("requestHash") String requestHash,
+                @Param("createdAt") LocalDateTime createdAt,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query(value = "select request_hash from idempotency_keys where scoped_key = :scopedKey", nativeQuery = true)
+    Optional<String> findRequestHash(@Param("scopedKey") String scopedKey);
+
+    @Modifying
+    @Query(value = "delete from idempotency_keys where expires_at < :now limit :batchSize", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,53 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.model.LedgerOutboxLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LedgerOutboxLeaseRepository extends JpaRepository<LedgerOutboxLease, Integer> {
+
+    @Modifying
+    @Query(value = "insert ignore into ledger_outbox_leases (partition_no, owner, lease_until) values (:partition, null, :now)", nativeQuery = true)
+    void insertIfMissing(@Param("partition") int partition, @Param("now") LocalDateTime now);
+
+    /**
+     * Partitions that are free or already ours, locked for the caller's transaction. Rows another node is
+     * claiming at the same moment are skipped rather than waited for.
+     */
+    @Query(value = "select partition_no from ledger_outbox_leases where partition_no < :partitions " +
+            "and (owner = :owner or lease_until < :now) order by lease_until limit :limit for update skip locked", nativeQuery = true)
+    List<Integer> lockClaimable(@Param("partitions") int partitions,
+                                @Param("owner") String owner,
+                                @Param("now") LocalDateTime now,
+                                @Param("limit") int limit);
+
+    /** The epoch is evaluated before the owner changes, so it only moves when the partition changes hands. */
+    @Modifying
+    @Query(value = "update ledger_outbox_leases set epoch = case when owner = :owner then epoch else epoch + 1 end, " +
+            "owner = :owner, lease_until = :until where partition_no in (:partitions)", nativeQuery = true)
+    void assign(@Param("partitions") Collection<Integer> partitions, @Param("owner") String owner, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query(value = "update ledger_outbox_leases set lease_until = :until " +
+            "where partition_no = :partition and owner = :owner and epoch = :epoch and lease_until >= :now", nativeQuery = true)
+    int renew(@Param("partition") int partition, @Param("owner") String owner, @Param("epoch") long epoch,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query(value = "update ledger_outbox_leases set owner = null, lease_until = :now " +
+            "where partition_no = :partition and owner = :owner and epoch = :epoch", nativeQuery = true)
+    int release(@Param("partition") int partition, @Param("owner") String owner, @Param("epoch") long epoch,
+                @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "update ledger_outbox_leases set owner = null, lease_until = :now where owner = :owner", nativeQuery = true)
+    int releaseAll(@Param("owner") String owner, @Param("now") LocalDateTime now);
+}
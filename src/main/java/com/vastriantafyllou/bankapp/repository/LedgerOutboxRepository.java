@@ -0,0 +1,19 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.model.LedgerOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerOutboxRepository extends JpaRepository<LedgerOutboxEvent, Long> {
+
+    @Query(value = "select * from ledger_outbox where partition_no = :partition order by id limit :limit", nativeQuery = true)
+    List<LedgerOutboxEvent> findNext(@Param("partition") int partition, @Param("limit") int limit);
+
+    Optional<LedgerOutboxEvent> findFirstByOrderByIdAsc();
+}
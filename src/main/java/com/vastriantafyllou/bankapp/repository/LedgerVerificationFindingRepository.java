@@ -0,0 +1,11 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.model.LedgerFindingKind;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationFinding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LedgerVerificationFindingRepository extends JpaRepository<LedgerVerificationFinding, Long> {
+    boolean existsByRunIdAndKind(Long runId, LedgerFindingKind kind);
+}
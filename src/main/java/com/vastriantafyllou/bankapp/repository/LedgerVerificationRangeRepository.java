@@ -0,0 +1,20 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.model.LedgerVerificationRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerVerificationRangeRepository extends JpaRepository<LedgerVerificationRange, Long> {
+
+    List<LedgerVerificationRange> findByRunId(Long runId);
+
+    boolean existsByRunIdAndFirstAccountId(Long runId, long firstAccountId);
+
+    @Query("select r.firstAccountId from LedgerVerificationRange r where r.runId = :runId")
+    List<Long> findFirstAccountIdsByRunId(@Param("runId") Long runId);
+}
@@ -0,0 +1,13 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.model.LedgerVerificationRun;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LedgerVerificationRunRepository extends JpaRepository<LedgerVerificationRun, Long> {
+    Optional<LedgerVerificationRun> findFirstByStatusOrderByIdDesc(LedgerVerificationStatus status);
+}
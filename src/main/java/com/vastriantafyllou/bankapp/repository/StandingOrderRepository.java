@@ -0,0 +1,23 @@
+package com.vastriantafyllou.bankapp.repository;
+
+import com.vastriantafyllou.bankapp.model.StandingOrder;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StandingOrderRepository extends JpaRepository<StandingOrder, Long> {
+
+    List<StandingOrder> findByFromIbanOrderByNextRunAtAsc(String fromIban);
+
+    /** Locks in id order, so batches that share orders cannot deadlock on them. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from StandingOrder o where o.id in :ids order by o.id")
+    List<StandingOrder> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+}
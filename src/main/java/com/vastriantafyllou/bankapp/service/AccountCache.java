@@ -0,0 +1,77 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.cache.CacheInvalidationBroker;
+import com.vastriantafyllou.bankapp.core.cache.LruTtlCache;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Read-through cache of accounts by IBAN. Writers evict through {@link #evictAfterCommit}, so a
+ * rolled-back transaction never touches the cache, and every node hears about it via the broker.
+ * The cache holds immutable snapshots and hands out a fresh DTO on every hit, so a caller that changes
+ * the DTO it got cannot change what the next caller sees.
+ */
+public class AccountCache {
+
+    private final LruTtlCache<String, Snapshot> cache;
+    private final CacheInvalidationBroker broker;
+
+    public AccountCache(int maxSize, long ttlMillis, CacheInvalidationBroker broker) {
+        this.cache = new LruTtlCache<>(maxSize, ttlMillis);
+        this.broker = broker;
+        broker.subscribe(cache::invalidate);
+    }
+
+    public AccountReadOnlyDTO get(String iban) {
+        Snapshot snapshot = cache.get(iban);
+        return snapshot == null ? null
+                : new AccountReadOnlyDTO(snapshot.id(), snapshot.iban(), snapshot.accountNumber(), snapshot.balance());
+    }
+
+    public long stamp(String iban) {
+        return cache.stamp(iban);
+    }
+
+    public void put(AccountReadOnlyDTO account, long stamp) {
+        cache.putIfNotInvalidatedSince(account.getIban(),
+                new Snapshot(account.getId(), account.getIban(), account.getAccountNumber(), account.getBalance()), stamp);
+    }
+
+    public void evictAfterCommit(Collection<String> ibans) {
+        Set<String> keys = Set.copyOf(ibans);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            keys.forEach(broker::publish);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                keys.forEach(broker::publish);
+            }
+        });
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    private record Snapshot(Long id, String iban, String accountNumber, BigDecimal balance) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams every account straight from a forward-only cursor to the response, one row at a time.
+ */
+@Service
+public class AccountExportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String EXPORT_SQL = "select id, iban, account_number, balance from accounts order by id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    public AccountExportService(DataSource dataSource, JsonMapper jsonMapper,
+                                @Value("${bankapp.accounts.export-fetch-size:-2147483648}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.jsonMapper = jsonMapper;
+    }
+
+    public void export(String format, OutputStream out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        boolean ndjson = NDJSON.equalsIgnoreCase(format);
+        if (!ndjson) {
+            writer.write("id,iban,accountNumber,balance");
+            writer.newLine();
+        }
+        try {
+            streamingJdbcTemplate.query(EXPORT_SQL, rs -> {
+                AccountReadOnlyDTO account = new AccountReadOnlyDTO(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getBigDecimal(4));
+                try {
+                    writer.write(ndjson ? jsonMapper.writeValueAsString(account) : toCsv(account));
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static String toCsv(AccountReadOnlyDTO account) {
+        return account.getId() + "," + csv(account.getIban()) + "," + csv(account.getAccountNumber()) + "," + account.getBalance().toPlainString();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,176 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.filter.BloomFilter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filters over the IBANs and account numbers in {@code accounts}, so that account creation can
+ * skip the existence queries for keys that are certainly new. A "maybe" still goes to the database and
+ * the unique constraints remain the final word; until the first build completes every key is a "maybe".
+ * <p>
+ * The filters are rebuilt by streaming the table at startup, when insertions outgrow the sizing and when
+ * deletions (which a Bloom filter cannot forget) pile up. Keys are added before the insert and again after
+ * commit, so a row that commits while a rebuild is streaming still lands in the new filters.
+ * The index only sees accounts created on this node; with several nodes, a create racing one elsewhere
+ * can still fail on the unique constraint, as concurrent creates always could.
+ */
+@Component
+public class AccountKeyIndex {
+
+    private static final double REBUILD_DELETED_FRACTION = 0.1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final boolean enabled;
+    private final long minExpectedAccounts;
+    private final double falsePositiveRate;
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("account-key-index").daemon().factory());
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final AtomicLong deletions = new AtomicLong();
+    private final LongAdder probesSkipped = new LongAdder();
+    private final LongAdder probesRequired = new LongAdder();
+
+    private volatile Filters active;
+    private volatile Filters building;
+
+    public AccountKeyIndex(DataSource dataSource,
+                           @Value("${bankapp.accounts.key-index.enabled:true}") boolean enabled,
+                           @Value("${bankapp.accounts.key-index.min-expected-accounts:1000000}") long minExpectedAccounts,
+                           @Value("${bankapp.accounts.key-index.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${bankapp.accounts.key-index.fetch-size:-2147483648}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.enabled = enabled;
+        this.minExpectedAccounts = minExpectedAccounts;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        requestRebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    public boolean mightContainIban(String iban) {
+        Filters filters = active;
+        return count(filters == null || filters.ibans().mightContain(iban));
+    }
+
+    public boolean mightContainAccountNumber(String accountNumber) {
+        Filters filters = active;
+        return count(filters == null || filters.accountNumbers().mightContain(accountNumber));
+    }
+
+    /**
+     * Call inside the transaction that inserts the account, before the insert.
+     */
+    public void add(String iban, String accountNumber) {
+        put(iban, accountNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(iban, accountNumber);
+                }
+            });
+        }
+        Filters filters = active;
+        if (filters != null && filters.ibans().getInsertions() > filters.ibans().getExpectedInsertions()) {
+            requestRebuild();
+        }
+    }
+
+    public void removed() {
+        Filters filters = active;
+        if (filters != null && deletions.incrementAndGet() > filters.ibans().getInsertions() * REBUILD_DELETED_FRACTION) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the filters from the table and blocks until done. Also needed after rows are inserted
+     * directly in the database, bypassing the service.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Long rows = jdbcTemplate.queryForObject("select count(*) from accounts", Long.class);
+        long capacity = Math.max(minExpectedAccounts, rows == null ? 0 : rows * 2);
+        Filters next = new Filters(BloomFilter.create(capacity, falsePositiveRate), BloomFilter.create(capacity, falsePositiveRate));
+        building = next;
+        try {
+            deletions.set(0);
+            streamingJdbcTemplate.query("select iban, account_number from accounts", rs -> {
+                next.ibans().put(rs.getString(1));
+                String accountNumber = rs.getString(2);
+                if (accountNumber != null) {
+                    next.accountNumbers().put(accountNumber);
+                }
+            });
+            active = next;
+        } finally {
+            building = null;
+        }
+    }
+
+    public boolean isReady() {
+        return active != null;
+    }
+
+    public long getProbesSkipped() {
+        return probesSkipped.sum();
+    }
+
+    public long getProbesRequired() {
+        return probesRequired.sum();
+    }
+
+    private void requestRebuild() {
+        if (enabled && rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private void put(String iban, String accountNumber) {
+        // building first: if a rebuild finishes in between, active already is the rebuilt filter.
+        for (Filters filters : new Filters[]{building, active}) {
+            if (filters != null) {
+                filters.ibans().put(iban);
+                if (accountNumber != null) {
+                    filters.accountNumbers().put(accountNumber);
+                }
+            }
+        }
+    }
+
+    private boolean count(boolean maybe) {
+        (maybe ? probesRequired : probesSkipped).increment();
+        return maybe;
+    }
+
+    private record Filters(BloomFilter ibans, BloomFilter accountNumbers) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.engine.LedgerEngine;
+import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.BulkAccountCreationDTO;
+import com.vastriantafyllou.bankapp.dto.BulkLineResultDTO;
+import com.vastriantafyllou.bankapp.repository.AccountRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk account creation for migrations. Per chunk, only the keys the {@link AccountKeyIndex} cannot rule
+ * out are checked against the database, in one query per key type, and the accepted accounts are inserted
+ * in one batch by {@link AccountServiceImpl#createAccounts}, which also seeds their read model. Should the
+ * insert still hit a unique constraint (an account created concurrently), the chunk is replayed one account
+ * at a time through the account service to single out the offending lines. In engine mode every line goes
+ * through the account service.
+ */
+@Service
+public class AccountOnboardingServiceImpl implements IAccountOnboardingService {
+
+    private final IAccountService accountService;
+    private final AccountServiceImpl accountServiceImpl;
+    private final AccountRepository accountRepository;
+    private final AccountKeyIndex accountKeyIndex;
+    private final ObjectProvider<LedgerEngine> ledgerEngine;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public AccountOnboardingServiceImpl(IAccountService accountService,
+                                        AccountServiceImpl accountServiceImpl,
+                                        AccountRepository accountRepository,
+                                        AccountKeyIndex accountKeyIndex,
+                                        ObjectProvider<LedgerEngine> ledgerEngine,
+                                        JsonMapper jsonMapper,
+                                        Validator validator,
+                                        @Value("${bankapp.accounts.bulk-chunk-size:1000}") int chunkSize) {
+        this.accountService = accountService;
+        this.accountServiceImpl = accountServiceImpl;
+        this.accountRepository = accountRepository;
+        this.accountKeyIndex = accountKeyIndex;
+        this.ledgerEngine = ledgerEngine;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkAccountCreationDTO createAccounts(InputStream ndjson) throws IOException {
+        BulkAccountCreationDTO result = new BulkAccountCreationDTO(0, 0, new ArrayList<>());
+        List<NumberedAccount> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String raw;
+        while ((raw = reader.readLine()) != null) {
+            lineNumber++;
+            if (raw.isBlank()) {
+                continue;
+            }
+            AccountInsertDTO dto;
+            try {
+                dto = jsonMapper.readValue(raw, AccountInsertDTO.class);
+            } catch (RuntimeException e) {
+                reject(result, lineNumber, "Μη έγκυρη γραμμή: " + e.getMessage());
+                continue;
+            }
+            Set<ConstraintViolation<AccountInsertDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                reject(result, lineNumber, violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+                continue;
+            }
+            chunk.add(new NumberedAccount(lineNumber, dto));
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result);
+        }
+        return result;
+    }
+
+    private void writeChunk(List<NumberedAccount> chunk, BulkAccountCreationDTO result) {
+        // The engine keeps its own accounts, which neither the key index nor the table know about.
+        if (ledgerEngine.getIfAvailable() != null) {
+            for (NumberedAccount line : chunk) {
+                createOne(line, result);
+            }
+            return;
+        }
+        Set<String> ibansToCheck = new HashSet<>();
+        Set<String> accountNumbersToCheck = new HashSet<>();
+        for (NumberedAccount line : chunk) {
+            if (accountKeyIndex.mightContainIban(line.dto().getIban())) {
+                ibansToCheck.add(line.dto().getIban());
+            }
+            if (accountKeyIndex.mightContainAccountNumber(line.dto().getAccountNumber())) {
+                accountNumbersToCheck.add(line.dto().getAccountNumber());
+            }
+        }
+        Set<String> existingIbans = ibansToCheck.isEmpty() ? Set.of() : new HashSet<>(accountRepository.findExistingIbans(ibansToCheck));
+        Set<String> existingAccountNumbers = accountNumbersToCheck.isEmpty() ? Set.of() : new HashSet<>(accountRepository.findExistingAccountNumbers(accountNumbersToCheck));
+
+        Set<String> chunkIbans = new HashSet<>();
+        Set<String> chunkAccountNumbers = new HashSet<>();
+        List<NumberedAccount> accepted = new ArrayList<>(chunk.size());
+        for (NumberedAccount line : chunk) {
+            AccountInsertDTO dto = line.dto();
+            if (existingIbans.contains(dto.getIban()) || !chunkIbans.add(dto.getIban())) {
+                reject(result, line.lineNumber(), "Ο λογαριασμός με IBAN " + dto.getIban() + " υπάρχει ήδη");
+            } else if (existingAccountNumbers.contains(dto.getAccountNumber()) || !chunkAccountNumbers.add(dto.getAccountNumber())) {
+                chunkIbans.remove(dto.getIban());
+                reject(result, line.lineNumber(), "Ο λογαριασμός με Account Number " + dto.getAccountNumber() + " υπάρχει ήδη");
+            } else {
+                accepted.add(line);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            result.setCreated(result.getCreated() + accountServiceImpl.createAccounts(accepted.stream().map(NumberedAccount::dto).toList()));
+        } catch (DataIntegrityViolationException e) {
+            for (NumberedAccount line : accepted) {
+                createOne(line, result);
+            }
+        }
+    }
+
+    private void createOne(NumberedAccount line, BulkAccountCreationDTO result) {
+        try {
+            accountService.createAccount(line.dto());
+            result.setCreated(result.getCreated() + 1);
+        } catch (AccountAlreadyExistsException | AccountNumberAlreadyExistsException e) {
+            reject(result, line.lineNumber(), e.getMessage());
+        }
+    }
+
+    private static void reject(BulkAccountCreationDTO result, long lineNumber, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getRejections().size() < MAX_REPORTED_REJECTIONS) {
+            result.getRejections().add(new BulkLineResultDTO(lineNumber, BulkLineResultDTO.REJECTED, message));
+        }
+    }
+
+    private record NumberedAccount(long lineNumber, AccountInsertDTO dto) {
+    }
+}
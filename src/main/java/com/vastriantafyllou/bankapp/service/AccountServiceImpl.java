@@ -1,5 +1,6 @@
 package com.vastriantafyllou.bankapp.service;
 
+import com.vastriantafyllou.bankapp.core.concurrency.AccountLockMode;
 import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
 import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
 import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
@@ -7,21 +8,34 @@ import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
 import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
 import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
 import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.core.metrics.ServiceMetrics;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.pagination.KeysetCursor;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
 import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
 import com.vastriantafyllou.bankapp.mapper.Mapper;
 import com.vastriantafyllou.bankapp.model.Account;
 import com.vastriantafyllou.bankapp.model.AccountTransaction;
 import com.vastriantafyllou.bankapp.model.TransactionType;
+import com.vastriantafyllou.bankapp.repository.AccountDailyBalanceRepository;
 import com.vastriantafyllou.bankapp.repository.AccountRepository;
 import com.vastriantafyllou.bankapp.repository.AccountTransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -29,73 +43,122 @@ public class AccountServiceImpl implements IAccountService {
 
     private final AccountRepository accountRepository;
     private final AccountTransactionRepository accountTransactionRepository;
+    private final AccountDailyBalanceRepository accountDailyBalanceRepository;
+    private final LedgerWriter ledgerWriter;
+    private final LedgerArchive ledgerArchive;
+    private final AccountCache accountCache;
+    private final AccountKeyIndex accountKeyIndex;
+    private final AccountViewProjector accountViewProjector;
+    private final ServiceMetrics serviceMetrics;
 
     @Override
     @Transactional
     public AccountReadOnlyDTO createAccount(AccountInsertDTO dto) throws AccountAlreadyExistsException, AccountNumberAlreadyExistsException {
-        if (accountRepository.existsByIban(dto.getIban())) {
+        if (accountKeyIndex.mightContainIban(dto.getIban()) && accountRepository.existsByIban(dto.getIban())) {
             throw new AccountAlreadyExistsException("Ο λογαριασμός με IBAN " + dto.getIban() + " υπάρχει ήδη");
         }
-        if (accountRepository.existsByAccountNumber(dto.getAccountNumber())) {
+        if (accountKeyIndex.mightContainAccountNumber(dto.getAccountNumber()) && accountRepository.existsByAccountNumber(dto.getAccountNumber())) {
             throw new AccountNumberAlreadyExistsException("Ο λογαριασμός με Account Number " + dto.getAccountNumber() + " υπάρχει ήδη");
         }
+        accountKeyIndex.add(dto.getIban(), dto.getAccountNumber());
         Account account = Mapper.mapToEntity(dto);
-        Account savedAccount = accountRepository.save(account);
+        Account savedAccount;
+        try {
+            // Flushed here so that an account created concurrently, past the checks above, is reported as such.
+            savedAccount = accountRepository.saveAndFlush(account);
+        } catch (DataIntegrityViolationException e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            if (isAccountNumberConflict(e, dto)) {
+                throw new AccountNumberAlreadyExistsException("Ο λογαριασμός με Account Number " + dto.getAccountNumber() + " υπάρχει ήδη");
+            }
+            throw new AccountAlreadyExistsException("Ο λογαριασμός με IBAN " + dto.getIban() + " υπάρχει ήδη");
+        }
+        accountViewProjector.created(savedAccount);
         return Mapper.mapToReadOnlyDTO(savedAccount);
     }
 
+    /**
+     * Inserts accounts already checked against the existing keys in one batch, keeping the key index and
+     * the read model in step as {@link #createAccount} does. A duplicate that slipped past the checks
+     * rolls the whole batch back with a {@link DataIntegrityViolationException}.
+     */
+    @Transactional
+    public int createAccounts(List<AccountInsertDTO> dtos) {
+        List<Account> accounts = new ArrayList<>(dtos.size());
+        for (AccountInsertDTO dto : dtos) {
+            accountKeyIndex.add(dto.getIban(), dto.getAccountNumber());
+            accounts.add(Mapper.mapToEntity(dto));
+        }
+        List<Account> saved = accountRepository.saveAllAndFlush(accounts);
+        saved.forEach(accountViewProjector::created);
+        return saved.size();
+    }
+
     @Override
     @Transactional
     public void deposit(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        deposit(iban, amount, AccountLockMode.PESSIMISTIC);
+    }
+
+    @Transactional
+    public void deposit(String iban, BigDecimal amount, AccountLockMode lockMode) throws NegativeAmountException, AccountNotFoundException {
+        serviceMetrics.trackTransaction();
+        if (!Money.fits(amount)) {
+            throw new NegativeAmountException(OperationResult.AMOUNT_OUT_OF_RANGE.getMessage());
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
             throw new NegativeAmountException("Το ποσό κατάθεσης πρέπει να είναι θετικό");
         }
 
-        Account account = accountRepository.findByIbanForUpdate(iban)
+        Account account = loadForWrite(iban, lockMode)
                 .orElseThrow(() -> new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε"));
-
-        account.setBalance(account.getBalance().add(amount));
-        accountRepository.save(account);
-
-        accountTransactionRepository.save(AccountTransaction.builder()
-                .account(account)
-                .type(TransactionType.DEPOSIT)
-                .amount(amount)
-                .createdAt(LocalDateTime.now())
-                .balanceAfter(account.getBalance())
-                .build());
+        if (!account.getBalance().canAdd(money)) {
+            throw new NegativeAmountException(OperationResult.BALANCE_LIMIT_EXCEEDED.getMessage());
+        }
+        credit(account, money);
     }
 
     @Override
     @Transactional
     public void withdraw(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        withdraw(iban, amount, AccountLockMode.PESSIMISTIC);
+    }
+
+    @Transactional
+    public void withdraw(String iban, BigDecimal amount, AccountLockMode lockMode) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException {
+        serviceMetrics.trackTransaction();
+        if (!Money.fits(amount)) {
+            throw new NegativeAmountException(OperationResult.AMOUNT_OUT_OF_RANGE.getMessage());
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
             throw new NegativeAmountException("Το ποσό ανάληψης πρέπει να είναι θετικό");
         }
 
-        Account account = accountRepository.findByIbanForUpdate(iban)
+        Account account = loadForWrite(iban, lockMode)
                 .orElseThrow(() -> new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε"));
 
-        if (amount.compareTo(account.getBalance()) > 0) {
+        if (money.isGreaterThan(account.getBalance())) {
             throw new InsufficientBalanceException("Ανεπαρκές υπόλοιπο. Διαθέσιμο: " + account.getBalance() + " €");
         }
-
-        account.setBalance(account.getBalance().subtract(amount));
-        accountRepository.save(account);
-
-        accountTransactionRepository.save(AccountTransaction.builder()
-                .account(account)
-                .type(TransactionType.WITHDRAW)
-                .amount(amount)
-                .createdAt(LocalDateTime.now())
-                .balanceAfter(account.getBalance())
-                .build());
+        debit(account, money);
     }
 
     @Override
     @Transactional
     public void transfer(String fromIban, String toIban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        transfer(fromIban, toIban, amount, AccountLockMode.PESSIMISTIC);
+    }
+
+    @Transactional
+    public void transfer(String fromIban, String toIban, BigDecimal amount, AccountLockMode lockMode) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException {
+        serviceMetrics.trackTransaction();
+        if (!Money.fits(amount)) {
+            throw new NegativeAmountException(OperationResult.AMOUNT_OUT_OF_RANGE.getMessage());
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
             throw new NegativeAmountException("Το ποσό μεταφοράς πρέπει να είναι θετικό");
         }
         if (fromIban.equals(toIban)) {
@@ -105,42 +168,131 @@ public class AccountServiceImpl implements IAccountService {
         String firstIban = fromIban.compareTo(toIban) < 0 ? fromIban : toIban;
         String secondIban = fromIban.compareTo(toIban) < 0 ? toIban : fromIban;
 
-        Account first = accountRepository.findByIbanForUpdate(firstIban)
+        Account first = loadForWrite(firstIban, lockMode)
                 .orElseThrow(() -> new AccountNotFoundException("Ο λογαριασμός με IBAN " + firstIban + " δεν βρέθηκε"));
-        Account second = accountRepository.findByIbanForUpdate(secondIban)
+        Account second = loadForWrite(secondIban, lockMode)
                 .orElseThrow(() -> new AccountNotFoundException("Ο λογαριασμός με IBAN " + secondIban + " δεν βρέθηκε"));
 
         Account fromAccount = fromIban.equals(firstIban) ? first : second;
         Account toAccount = toIban.equals(firstIban) ? first : second;
 
-        if (amount.compareTo(fromAccount.getBalance()) > 0) {
+        if (money.isGreaterThan(fromAccount.getBalance())) {
             throw new InsufficientBalanceException("Ανεπαρκές υπόλοιπο. Διαθέσιμο: " + fromAccount.getBalance() + " €");
         }
+        if (!toAccount.getBalance().canAdd(money)) {
+            throw new NegativeAmountException(OperationResult.BALANCE_LIMIT_EXCEEDED.getMessage());
+        }
 
-        fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
-        toAccount.setBalance(toAccount.getBalance().add(amount));
+        move(first, second, fromAccount, toAccount, money, lockMode);
+    }
 
-        accountRepository.save(fromAccount);
-        accountRepository.save(toAccount);
+    @Override
+    @Transactional
+    public OperationResult tryDeposit(String iban, BigDecimal amount) {
+        return tryDeposit(iban, amount, AccountLockMode.PESSIMISTIC);
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        accountTransactionRepository.save(AccountTransaction.builder()
-                .account(fromAccount)
-                .type(TransactionType.TRANSFER_OUT)
-                .amount(amount)
-                .createdAt(now)
-                .counterpartyIban(toIban)
-                .balanceAfter(fromAccount.getBalance())
-                .build());
-
-        accountTransactionRepository.save(AccountTransaction.builder()
-                .account(toAccount)
-                .type(TransactionType.TRANSFER_IN)
-                .amount(amount)
-                .createdAt(now)
-                .counterpartyIban(fromIban)
-                .balanceAfter(toAccount.getBalance())
-                .build());
+    @Transactional
+    public OperationResult tryDeposit(String iban, BigDecimal amount, AccountLockMode lockMode) {
+        serviceMetrics.trackTransaction();
+        if (!Money.fits(amount)) {
+            return OperationResult.AMOUNT_OUT_OF_RANGE;
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
+            return OperationResult.NEGATIVE_DEPOSIT;
+        }
+
+        Optional<Account> account = loadForWrite(iban, lockMode);
+        if (account.isEmpty()) {
+            return OperationResult.accountNotFound(iban);
+        }
+        if (!account.get().getBalance().canAdd(money)) {
+            return OperationResult.BALANCE_LIMIT_EXCEEDED;
+        }
+        credit(account.get(), money);
+        return OperationResult.APPLIED;
+    }
+
+    @Override
+    @Transactional
+    public OperationResult tryWithdraw(String iban, BigDecimal amount) {
+        return tryWithdraw(iban, amount, AccountLockMode.PESSIMISTIC);
+    }
+
+    @Transactional
+    public OperationResult tryWithdraw(String iban, BigDecimal amount, AccountLockMode lockMode) {
+        serviceMetrics.trackTransaction();
+        if (!Money.fits(amount)) {
+            return OperationResult.AMOUNT_OUT_OF_RANGE;
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
+            return OperationResult.NEGATIVE_WITHDRAWAL;
+        }
+        OperationResult declined = declineBeforeLocking(iban, money);
+        if (declined != null) {
+            return declined;
+        }
+
+        Optional<Account> account = loadForWrite(iban, lockMode);
+        if (account.isEmpty()) {
+            return OperationResult.accountNotFound(iban);
+        }
+        if (money.isGreaterThan(account.get().getBalance())) {
+            return OperationResult.insufficientBalance(account.get().getBalance());
+        }
+        debit(account.get(), money);
+        return OperationResult.APPLIED;
+    }
+
+    @Override
+    @Transactional
+    public OperationResult tryTransfer(String fromIban, String toIban, BigDecimal amount) {
+        return tryTransfer(fromIban, toIban, amount, AccountLockMode.PESSIMISTIC);
+    }
+
+    @Transactional
+    public OperationResult tryTransfer(String fromIban, String toIban, BigDecimal amount, AccountLockMode lockMode) {
+        serviceMetrics.trackTransaction();
+        if (!Money.fits(amount)) {
+            return OperationResult.AMOUNT_OUT_OF_RANGE;
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
+            return OperationResult.NEGATIVE_TRANSFER;
+        }
+        if (fromIban.equals(toIban)) {
+            return OperationResult.SAME_ACCOUNT_TRANSFER;
+        }
+        OperationResult declined = declineBeforeLocking(fromIban, money);
+        if (declined != null) {
+            return declined;
+        }
+
+        String firstIban = fromIban.compareTo(toIban) < 0 ? fromIban : toIban;
+        String secondIban = fromIban.compareTo(toIban) < 0 ? toIban : fromIban;
+
+        Optional<Account> first = loadForWrite(firstIban, lockMode);
+        if (first.isEmpty()) {
+            return OperationResult.accountNotFound(firstIban);
+        }
+        Optional<Account> second = loadForWrite(secondIban, lockMode);
+        if (second.isEmpty()) {
+            return OperationResult.accountNotFound(secondIban);
+        }
+
+        Account fromAccount = fromIban.equals(firstIban) ? first.get() : second.get();
+        Account toAccount = toIban.equals(firstIban) ? first.get() : second.get();
+
+        if (money.isGreaterThan(fromAccount.getBalance())) {
+            return OperationResult.insufficientBalance(fromAccount.getBalance());
+        }
+        if (!toAccount.getBalance().canAdd(money)) {
+            return OperationResult.BALANCE_LIMIT_EXCEEDED;
+        }
+        move(first.get(), second.get(), fromAccount, toAccount, money, lockMode);
+        return OperationResult.APPLIED;
     }
 
     @Override
@@ -148,16 +300,13 @@ public class AccountServiceImpl implements IAccountService {
     public BigDecimal getBalance(String iban) throws AccountNotFoundException {
         Account account = accountRepository.findByIban(iban)
                 .orElseThrow(() -> new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε"));
-        return account.getBalance();
+        return account.getBalance().toBigDecimal();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AccountReadOnlyDTO> getAllAccounts() {
-        return accountRepository.findAll()
-                .stream()
-                .map(Mapper::mapToReadOnlyDTO)
-                .collect(Collectors.toList());
+    public Slice<AccountReadOnlyDTO> getAccounts(String ibanPrefix, Pageable pageable) {
+        return accountRepository.findPageByIbanLike(likePrefix(ibanPrefix), pageable);
     }
 
     @Override
@@ -168,13 +317,41 @@ public class AccountServiceImpl implements IAccountService {
         return Mapper.mapToReadOnlyDTO(account);
     }
 
+    @Override
+    public long getAccountVersion(String iban) throws AccountNotFoundException {
+        return accountRepository.findVersionByIban(iban)
+                .orElseThrow(() -> new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε"));
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<AccountTransaction> getTransactionHistory(String iban) throws AccountNotFoundException {
-        if (!accountRepository.existsByIban(iban)) {
-            throw new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε");
+    public TransactionHistoryDTO getTransactionHistory(String iban, String cursor, int size) throws AccountNotFoundException {
+        Long accountId = accountRepository.findIdByIban(iban)
+                .orElseThrow(() -> new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε"));
+
+        int pageSize = Math.clamp(size, 1, HISTORY_MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+
+        List<TransactionReadOnlyDTO> transactions = position == null
+                ? accountTransactionRepository.findLatestByAccountId(accountId, limit)
+                : accountTransactionRepository.findByAccountIdBefore(accountId, position.createdAt(), position.id(), limit);
+
+        if (transactions.size() <= pageSize) {
+            KeysetCursor archivePosition = transactions.isEmpty()
+                    ? position
+                    : new KeysetCursor(transactions.getLast().getCreatedAt(), transactions.getLast().getId());
+            transactions = new ArrayList<>(transactions);
+            transactions.addAll(ledgerArchive.findBefore(accountId, archivePosition, pageSize + 1 - transactions.size()));
+        }
+
+        String nextCursor = null;
+        if (transactions.size() > pageSize) {
+            transactions = transactions.subList(0, pageSize);
+            TransactionReadOnlyDTO last = transactions.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
         }
-        return accountTransactionRepository.findByAccount_IbanOrderByCreatedAtDesc(iban);
+        return new TransactionHistoryDTO(transactions, nextCursor, pageSize);
     }
 
     @Override
@@ -182,7 +359,113 @@ public class AccountServiceImpl implements IAccountService {
     public void deleteAccount(String iban) throws AccountNotFoundException {
         Account account = accountRepository.findByIban(iban)
                 .orElseThrow(() -> new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε"));
-        accountTransactionRepository.deleteByAccount_Iban(iban);
+        accountTransactionRepository.deleteByAccountId(account.getId());
+        accountDailyBalanceRepository.deleteByAccountId(account.getId());
+        accountViewProjector.deleted(account.getId());
         accountRepository.delete(account);
+        accountCache.evictAfterCommit(List.of(iban));
+        accountKeyIndex.removed();
+    }
+
+    private void credit(Account account, Money money) {
+        account.setBalance(account.getBalance().plus(money));
+        accountRepository.save(account);
+
+        ledgerWriter.record(List.of(AccountTransaction.builder()
+                .account(account)
+                .type(TransactionType.DEPOSIT)
+                .amount(money)
+                .createdAt(LocalDateTime.now())
+                .balanceAfter(account.getBalance())
+                .build()));
+    }
+
+    private void debit(Account account, Money money) {
+        account.setBalance(account.getBalance().minus(money));
+        accountRepository.save(account);
+
+        ledgerWriter.record(List.of(AccountTransaction.builder()
+                .account(account)
+                .type(TransactionType.WITHDRAW)
+                .amount(money)
+                .createdAt(LocalDateTime.now())
+                .balanceAfter(account.getBalance())
+                .build()));
+    }
+
+    /**
+     * Applies a transfer between two accounts already loaded for writing in IBAN order.
+     */
+    private void move(Account first, Account second, Account fromAccount, Account toAccount, Money money, AccountLockMode lockMode) {
+        Money firstDelta = first == fromAccount ? money.negate() : money;
+        first.setBalance(first.getBalance().plus(firstDelta));
+        if (lockMode == AccountLockMode.OPTIMISTIC) {
+            // Without FOR UPDATE the row locks come from the version-checked UPDATEs at flush, and Hibernate
+            // orders those by id. Flushing after each account keeps them in IBAN order, like the locking path.
+            accountRepository.flush();
+        }
+        second.setBalance(second.getBalance().minus(firstDelta));
+
+        accountRepository.save(fromAccount);
+        accountRepository.save(toAccount);
+
+        LocalDateTime now = LocalDateTime.now();
+        ledgerWriter.record(List.of(
+                AccountTransaction.builder()
+                        .account(fromAccount)
+                        .type(TransactionType.TRANSFER_OUT)
+                        .amount(money)
+                        .createdAt(now)
+                        .counterpartyIban(toAccount.getIban())
+                        .balanceAfter(fromAccount.getBalance())
+                        .build(),
+                AccountTransaction.builder()
+                        .account(toAccount)
+                        .type(TransactionType.TRANSFER_IN)
+                        .amount(money)
+                        .createdAt(now)
+                        .counterpartyIban(fromAccount.getIban())
+                        .balanceAfter(toAccount.getBalance())
+                        .build()));
+    }
+
+    /**
+     * Declines a debit from the committed balance with a plain read, before any row lock is taken. Only
+     * in a transaction this call started: there the read sees the latest commit, so the decline is one
+     * the locked check could also have given. The locked check still runs for everything that passes.
+     */
+    private OperationResult declineBeforeLocking(String iban, Money money) {
+        if (!TransactionAspectSupport.currentTransactionStatus().isNewTransaction()) {
+            return null;
+        }
+        Optional<Money> balance = accountRepository.findBalanceByIban(iban);
+        if (balance.isEmpty()) {
+            return OperationResult.accountNotFound(iban);
+        }
+        return money.isGreaterThan(balance.get()) ? OperationResult.insufficientBalance(balance.get()) : null;
+    }
+
+    private Optional<Account> loadForWrite(String iban, AccountLockMode lockMode) {
+        if (lockMode == AccountLockMode.OPTIMISTIC) {
+            return accountRepository.findByIban(iban);
+        }
+        return serviceMetrics.timeLockWait(() -> accountRepository.findByIbanForUpdate(iban));
+    }
+
+    private static String likePrefix(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return "%";
+        }
+        return prefix.trim()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_") + "%";
+    }
+
+    private static boolean isAccountNumberConflict(DataIntegrityViolationException e, AccountInsertDTO dto) {
+        // MySQL names the key and quotes the duplicate value: "Duplicate entry 'x' for key 'accounts.uk_...'".
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+        return !detail.contains("'" + dto.getIban() + "'")
+                && (detail.contains("account_number") || detail.contains("'" + dto.getAccountNumber() + "'"));
     }
 }
@@ -0,0 +1,200 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.pagination.KeysetCursor;
+import com.vastriantafyllou.bankapp.dto.DailyBalanceDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
+import com.vastriantafyllou.bankapp.model.Account;
+import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.model.AccountView;
+import com.vastriantafyllou.bankapp.repository.AccountDailyBalanceRepository;
+import com.vastriantafyllou.bankapp.repository.AccountTransactionRepository;
+import com.vastriantafyllou.bankapp.repository.AccountViewRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link AccountView} rows current. Runs inside the writing transaction, after the ledger rows and
+ * the daily rollup, so a view is never ahead of or behind the committed ledger. A missing view (accounts
+ * created in bulk or before this existed) is built from the ledger on the account's next write.
+ */
+@Component
+public class AccountViewProjector {
+
+    private static final Comparator<TransactionReadOnlyDTO> NEWEST_FIRST = Comparator
+            .comparing(TransactionReadOnlyDTO::getCreatedAt)
+            .thenComparing(TransactionReadOnlyDTO::getId)
+            .reversed();
+
+    private final AccountViewRepository accountViewRepository;
+    private final AccountTransactionRepository accountTransactionRepository;
+    private final AccountDailyBalanceRepository accountDailyBalanceRepository;
+    private final LedgerArchive ledgerArchive;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final int recentTransactions;
+
+    public AccountViewProjector(AccountViewRepository accountViewRepository,
+                                AccountTransactionRepository accountTransactionRepository,
+                                AccountDailyBalanceRepository accountDailyBalanceRepository,
+                                LedgerArchive ledgerArchive,
+                                JsonMapper jsonMapper,
+                                @Value("${bankapp.account-view.enabled:true}") boolean enabled,
+                                @Value("${bankapp.account-view.recent-transactions:20}") int recentTransactions) {
+        this.accountViewRepository = accountViewRepository;
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.accountDailyBalanceRepository = accountDailyBalanceRepository;
+        this.ledgerArchive = ledgerArchive;
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        this.recentTransactions = recentTransactions;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The largest first page the view can serve; one more row is kept to tell whether a next page exists.
+     */
+    public int getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Account account) {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        accountViewRepository.save(AccountView.builder()
+                .accountId(account.getId())
+                .iban(account.getIban())
+                .accountNumber(account.getAccountNumber())
+                .balance(account.getBalance())
+                .monthStart(now.toLocalDate().withDayOfMonth(1))
+                .monthCredits(Money.ZERO)
+                .monthDebits(Money.ZERO)
+                .monthTransactions(0)
+                .recentTransactions(write(List.of()))
+                .updatedAt(now)
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(List<AccountTransaction> transactions) {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, List<AccountTransaction>> byAccount = transactions.stream()
+                .collect(Collectors.groupingBy(transaction -> transaction.getAccount().getId(), LinkedHashMap::new, Collectors.toList()));
+        LocalDateTime now = LocalDateTime.now();
+
+        for (List<AccountTransaction> added : byAccount.values()) {
+            Account account = added.getFirst().getAccount();
+            Optional<AccountView> existing = accountViewRepository.findById(account.getId());
+            if (existing.isEmpty()) {
+                accountViewRepository.save(build(account, now));
+                continue;
+            }
+
+            AccountView view = existing.get();
+            view.setBalance(account.getBalance());
+            view.setRecentTransactions(write(prepend(read(view), added, recentTransactions + 1)));
+            for (AccountTransaction transaction : added) {
+                LocalDate month = transaction.getCreatedAt().toLocalDate().withDayOfMonth(1);
+                if (month.isAfter(view.getMonthStart())) {
+                    view.setMonthStart(month);
+                    view.setMonthCredits(Money.ZERO);
+                    view.setMonthDebits(Money.ZERO);
+                    view.setMonthTransactions(0);
+                }
+                if (month.equals(view.getMonthStart())) {
+                    if (transaction.getType().isCredit()) {
+                        view.setMonthCredits(view.getMonthCredits().plus(transaction.getAmount()));
+                    } else {
+                        view.setMonthDebits(view.getMonthDebits().plus(transaction.getAmount()));
+                    }
+                    view.setMonthTransactions(view.getMonthTransactions() + 1);
+                }
+            }
+            view.setUpdatedAt(now);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Long accountId) {
+        accountViewRepository.deleteByAccountId(accountId);
+    }
+
+    public List<TransactionReadOnlyDTO> read(AccountView view) {
+        return Arrays.asList(jsonMapper.readValue(view.getRecentTransactions(), TransactionReadOnlyDTO[].class));
+    }
+
+    /**
+     * Merges freshly written rows into a newest-first list and keeps the first {@code keep} entries.
+     */
+    static List<TransactionReadOnlyDTO> prepend(List<TransactionReadOnlyDTO> recent, List<AccountTransaction> added, int keep) {
+        List<TransactionReadOnlyDTO> merged = new ArrayList<>(recent.size() + added.size());
+        for (AccountTransaction transaction : added) {
+            merged.add(new TransactionReadOnlyDTO(transaction.getId(), transaction.getType(), transaction.getAmount(),
+                    transaction.getCreatedAt(), transaction.getCounterpartyIban(), transaction.getBalanceAfter()));
+        }
+        merged.addAll(recent);
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > keep ? new ArrayList<>(merged.subList(0, keep)) : merged;
+    }
+
+    private AccountView build(Account account, LocalDateTime now) {
+        int keep = recentTransactions + 1;
+        List<TransactionReadOnlyDTO> recent = new ArrayList<>(accountTransactionRepository.findLatestByAccountId(account.getId(), Limit.of(keep)));
+        if (recent.size() < keep) {
+            KeysetCursor position = recent.isEmpty()
+                    ? null
+                    : new KeysetCursor(recent.getLast().getCreatedAt(), recent.getLast().getId());
+            recent.addAll(ledgerArchive.findBefore(account.getId(), position, keep - recent.size()));
+        }
+
+        LocalDate monthStart = now.toLocalDate().withDayOfMonth(1);
+        Money credits = Money.ZERO;
+        Money debits = Money.ZERO;
+        long count = 0;
+        for (DailyBalanceDTO day : accountDailyBalanceRepository.findByAccountIdBetween(account.getId(), monthStart, monthStart.plusMonths(1).minusDays(1))) {
+            credits = credits.plus(Money.of(day.getCreditTotal()));
+            debits = debits.plus(Money.of(day.getDebitTotal()));
+            count += day.getDepositCount() + day.getWithdrawCount() + day.getTransferInCount() + day.getTransferOutCount();
+        }
+
+        return AccountView.builder()
+                .accountId(account.getId())
+                .iban(account.getIban())
+                .accountNumber(account.getAccountNumber())
+                .balance(account.getBalance())
+                .monthStart(monthStart)
+                .monthCredits(credits)
+                .monthDebits(debits)
+                .monthTransactions(count)
+                .recentTransactions(write(recent))
+                .updatedAt(now)
+                .build();
+    }
+
+    private String write(List<TransactionReadOnlyDTO> transactions) {
+        return jsonMapper.writeValueAsString(transactions);
+    }
+}
@@ -0,0 +1,53 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.pagination.KeysetCursor;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.AccountViewDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
+import com.vastriantafyllou.bankapp.model.AccountView;
+import com.vastriantafyllou.bankapp.repository.AccountViewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class AccountViewServiceImpl implements IAccountViewService {
+
+    private final AccountViewRepository accountViewRepository;
+    private final AccountViewProjector accountViewProjector;
+
+    @Override
+    public Optional<AccountViewDTO> getAccountView(String iban, int size) {
+        int pageSize = Math.clamp(size, 1, IAccountService.HISTORY_MAX_PAGE_SIZE);
+        if (!accountViewProjector.isEnabled() || pageSize > accountViewProjector.getRecentTransactions()) {
+            return Optional.empty();
+        }
+        return accountViewRepository.findByIban(iban).map(view -> toDTO(view, pageSize));
+    }
+
+    private AccountViewDTO toDTO(AccountView view, int pageSize) {
+        List<TransactionReadOnlyDTO> transactions = accountViewProjector.read(view);
+        String nextCursor = null;
+        if (transactions.size() > pageSize) {
+            transactions = transactions.subList(0, pageSize);
+            TransactionReadOnlyDTO last = transactions.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        boolean stale = view.getMonthStart().isBefore(currentMonth);
+        return new AccountViewDTO(
+                new AccountReadOnlyDTO(view.getAccountId(), view.getIban(), view.getAccountNumber(), view.getBalance().toBigDecimal()),
+                new TransactionHistoryDTO(transactions, nextCursor, pageSize),
+                currentMonth,
+                (stale ? Money.ZERO : view.getMonthCredits()).toBigDecimal(),
+                (stale ? Money.ZERO : view.getMonthDebits()).toBigDecimal(),
+                stale ? 0 : view.getMonthTransactions());
+    }
+}
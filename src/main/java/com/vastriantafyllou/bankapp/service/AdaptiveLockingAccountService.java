@@ -0,0 +1,172 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.concurrency.AccountLockMode;
+import com.vastriantafyllou.bankapp.core.concurrency.AdaptiveLockPolicy;
+import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * Runs each write in its own transaction with the lock mode {@link AdaptiveLockPolicy} picks for the
+ * accounts involved, retrying on a version conflict. When the caller already has a transaction open a
+ * conflict could not be retried here, so those writes keep taking row locks.
+ */
+@RequiredArgsConstructor
+public class AdaptiveLockingAccountService implements IAccountService {
+
+    private final AccountServiceImpl delegate;
+    private final AdaptiveLockPolicy policy;
+
+    @Override
+    public AccountReadOnlyDTO createAccount(AccountInsertDTO dto) throws AccountAlreadyExistsException, AccountNumberAlreadyExistsException {
+        return delegate.createAccount(dto);
+    }
+
+    @Override
+    public void deposit(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            delegate.deposit(iban, amount);
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            AccountLockMode mode = policy.modeFor(attempt, iban);
+            try {
+                delegate.deposit(iban, amount, mode);
+                policy.recordSuccess(mode, iban);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (mode == AccountLockMode.PESSIMISTIC) {
+                    throw e;
+                }
+                policy.recordConflict(iban);
+            }
+        }
+    }
+
+    @Override
+    public void withdraw(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            delegate.withdraw(iban, amount);
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            AccountLockMode mode = policy.modeFor(attempt, iban);
+            try {
+                delegate.withdraw(iban, amount, mode);
+                policy.recordSuccess(mode, iban);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (mode == AccountLockMode.PESSIMISTIC) {
+                    throw e;
+                }
+                policy.recordConflict(iban);
+            }
+        }
+    }
+
+    @Override
+    public void transfer(String fromIban, String toIban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            delegate.transfer(fromIban, toIban, amount);
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            AccountLockMode mode = policy.modeFor(attempt, fromIban, toIban);
+            try {
+                delegate.transfer(fromIban, toIban, amount, mode);
+                policy.recordSuccess(mode, fromIban, toIban);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (mode == AccountLockMode.PESSIMISTIC) {
+                    throw e;
+                }
+                policy.recordConflict(fromIban, toIban);
+            }
+        }
+    }
+
+    @Override
+    public OperationResult tryDeposit(String iban, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.tryDeposit(iban, amount);
+        }
+        return withRetry(mode -> delegate.tryDeposit(iban, amount, mode), iban);
+    }
+
+    @Override
+    public OperationResult tryWithdraw(String iban, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.tryWithdraw(iban, amount);
+        }
+        return withRetry(mode -> delegate.tryWithdraw(iban, amount, mode), iban);
+    }
+
+    @Override
+    public OperationResult tryTransfer(String fromIban, String toIban, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.tryTransfer(fromIban, toIban, amount);
+        }
+        return withRetry(mode -> delegate.tryTransfer(fromIban, toIban, amount, mode), fromIban, toIban);
+    }
+
+    @Override
+    public BigDecimal getBalance(String iban) throws AccountNotFoundException {
+        return delegate.getBalance(iban);
+    }
+
+    @Override
+    public Slice<AccountReadOnlyDTO> getAccounts(String ibanPrefix, Pageable pageable) {
+        return delegate.getAccounts(ibanPrefix, pageable);
+    }
+
+    @Override
+    public AccountReadOnlyDTO getAccountByIban(String iban) throws AccountNotFoundException {
+        return delegate.getAccountByIban(iban);
+    }
+
+    @Override
+    public long getAccountVersion(String iban) throws AccountNotFoundException {
+        return delegate.getAccountVersion(iban);
+    }
+
+    @Override
+    public TransactionHistoryDTO getTransactionHistory(String iban, String cursor, int size) throws AccountNotFoundException {
+        return delegate.getTransactionHistory(iban, cursor, size);
+    }
+
+    @Override
+    public void deleteAccount(String iban) throws AccountNotFoundException {
+        delegate.deleteAccount(iban);
+    }
+
+    private OperationResult withRetry(Function<AccountLockMode, OperationResult> attempt, String... ibans) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            AccountLockMode mode = policy.modeFor(attemptNumber, ibans);
+            try {
+                OperationResult result = attempt.apply(mode);
+                policy.recordSuccess(mode, ibans);
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                if (mode == AccountLockMode.PESSIMISTIC) {
+                    throw e;
+                }
+                policy.recordConflict(ibans);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Routes deposits and withdrawals through the group-commit batcher; everything else goes to the delegate.
+ * A caller with a transaction open goes to the delegate as well, since the batch commits in its own.
+ */
+@RequiredArgsConstructor
+public class BatchingAccountService implements IAccountService {
+
+    private final IAccountService delegate;
+    private final DepositWithdrawBatcher batcher;
+
+    @Override
+    public AccountReadOnlyDTO createAccount(AccountInsertDTO dto) throws AccountAlreadyExistsException, AccountNumberAlreadyExistsException {
+        return delegate.createAccount(dto);
+    }
+
+    @Override
+    public void deposit(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            delegate.deposit(iban, amount);
+            return;
+        }
+        if (!Money.fits(amount)) {
+            throw new NegativeAmountException(OperationResult.AMOUNT_OUT_OF_RANGE.getMessage());
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
+            throw new NegativeAmountException("Το ποσό κατάθεσης πρέπει να είναι θετικό");
+        }
+        OperationResult result = join(batcher.submit(iban, TransactionType.DEPOSIT, money));
+        if (result.getOutcome() == OperationResult.Outcome.ACCOUNT_NOT_FOUND) {
+            throw new AccountNotFoundException(result.getMessage());
+        }
+        if (result.getOutcome() == OperationResult.Outcome.NEGATIVE_AMOUNT) {
+            throw new NegativeAmountException(result.getMessage());
+        }
+    }
+
+    @Override
+    public void withdraw(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            delegate.withdraw(iban, amount);
+            return;
+        }
+        if (!Money.fits(amount)) {
+            throw new NegativeAmountException(OperationResult.AMOUNT_OUT_OF_RANGE.getMessage());
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
+            throw new NegativeAmountException("Το ποσό ανάληψης πρέπει να είναι θετικό");
+        }
+        OperationResult result = join(batcher.submit(iban, TransactionType.WITHDRAW, money));
+        if (result.getOutcome() == OperationResult.Outcome.ACCOUNT_NOT_FOUND) {
+            throw new AccountNotFoundException(result.getMessage());
+        }
+        if (result.getOutcome() == OperationResult.Outcome.INSUFFICIENT_BALANCE) {
+            throw new InsufficientBalanceException(result.getMessage());
+        }
+    }
+
+    @Override
+    public void transfer(String fromIban, String toIban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException {
+        delegate.transfer(fromIban, toIban, amount);
+    }
+
+    @Override
+    public OperationResult tryDeposit(String iban, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.tryDeposit(iban, amount);
+        }
+        if (!Money.fits(amount)) {
+            return OperationResult.AMOUNT_OUT_OF_RANGE;
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
+            return OperationResult.NEGATIVE_DEPOSIT;
+        }
+        return join(batcher.submit(iban, TransactionType.DEPOSIT, money));
+    }
+
+    @Override
+    public OperationResult tryWithdraw(String iban, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.tryWithdraw(iban, amount);
+        }
+        if (!Money.fits(amount)) {
+            return OperationResult.AMOUNT_OUT_OF_RANGE;
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
+            return OperationResult.NEGATIVE_WITHDRAWAL;
+        }
+        return join(batcher.submit(iban, TransactionType.WITHDRAW, money));
+    }
+
+    @Override
+    public OperationResult tryTransfer(String fromIban, String toIban, BigDecimal amount) {
+        return delegate.tryTransfer(fromIban, toIban, amount);
+    }
+
+    @Override
+    public BigDecimal getBalance(String iban) throws AccountNotFoundException {
+        return delegate.getBalance(iban);
+    }
+
+    @Override
+    public Slice<AccountReadOnlyDTO> getAccounts(String ibanPrefix, Pageable pageable) {
+        return delegate.getAccounts(ibanPrefix, pageable);
+    }
+
+    @Override
+    public AccountReadOnlyDTO getAccountByIban(String iban) throws AccountNotFoundException {
+        return delegate.getAccountByIban(iban);
+    }
+
+    @Override
+    public long getAccountVersion(String iban) throws AccountNotFoundException {
+        return delegate.getAccountVersion(iban);
+    }
+
+    @Override
+    public TransactionHistoryDTO getTransactionHistory(String iban, String cursor, int size) throws AccountNotFoundException {
+        return delegate.getTransactionHistory(iban, cursor, size);
+    }
+
+    @Override
+    public void deleteAccount(String iban) throws AccountNotFoundException {
+        delegate.deleteAccount(iban);
+    }
+
+    /** Rethrows the batch's failure as itself rather than wrapped in a CompletionException. */
+    private static OperationResult join(CompletableFuture<OperationResult> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.metrics.ServiceMetrics;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.BulkLineResultDTO;
+import com.vastriantafyllou.bankapp.dto.BulkTransferLineDTO;
+import com.vastriantafyllou.bankapp.model.Account;
+import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.model.BulkTransferChunk;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import com.vastriantafyllou.bankapp.repository.AccountRepository;
+import com.vastriantafyllou.bankapp.repository.BulkTransferChunkRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+@ConditionalOnProperty(name = "bankapp.bulk.enabled", havingValue = "true", matchIfMissing = true)
+@Service
+@RequiredArgsConstructor
+public class BulkTransferChunkWriter {
+
+    private final AccountRepository accountRepository;
+    private final BulkTransferChunkRepository bulkTransferChunkRepository;
+    private final LedgerWriter ledgerWriter;
+    private final ServiceMetrics serviceMetrics;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Posts one chunk of a bulk file in a single transaction. All accounts touched by the chunk are
+     * locked up front in IBAN order, the same order {@code AccountServiceImpl.transfer} uses, so chunks
+     * running in parallel cannot deadlock. The chunk marker and the lines' results are written in the
+     * same transaction, so a resumed job skips chunks that already committed and reports their lines as
+     * they were posted.
+     */
+    @Transactional
+    public List<BulkLineResultDTO> post(Long jobId, long firstLine, long lastLine, List<ParsedBulkLine> lines) {
+        serviceMetrics.trackTransaction();
+        List<BulkLineResultDTO> results = new ArrayList<>(lines.size());
+        Optional<BulkTransferChunk> posted = bulkTransferChunkRepository.findByJobIdAndFirstLine(jobId, firstLine);
+        if (posted.isPresent()) {
+            return replay(posted.get(), lines);
+        }
+
+        TreeSet<String> ibans = new TreeSet<>();
+        for (ParsedBulkLine line : lines) {
+            if (line.transfer() != null) {
+                ibans.add(line.transfer().getFromIban());
+                ibans.add(line.transfer().getToIban());
+            }
+        }
+        Map<String, Account> accounts = new HashMap<>();
+        if (!ibans.isEmpty()) {
+            serviceMetrics.timeLockWait(() -> accountRepository.findAllByIbanInForUpdate(ibans))
+                    .forEach(account -> accounts.put(account.getIban(), account));
+        }
+
+        List<AccountTransaction> transactions = new ArrayList<>();
+        int accepted = 0;
+        for (ParsedBulkLine line : lines) {
+            String rejection = line.error() != null ? line.error() : validate(line.transfer(), accounts);
+            if (rejection != null) {
+                String status = line.transfer() == null && line.error() == null ? BulkLineResultDTO.SKIPPED : BulkLineResultDTO.REJECTED;
+                results.add(new BulkLineResultDTO(line.lineNumber(), status, rejection));
+                continue;
+            }
+
+            BulkTransferLineDTO transfer = line.transfer();
+            Account fromAccount = accounts.get(transfer.getFromIban());
+            Account toAccount = accounts.get(transfer.getToIban());
+            Money amount = Money.of(transfer.getAmount());
+            fromAccount.setBalance(fromAccount.getBalance().minus(amount));
+            toAccount.setBalance(toAccount.getBalance().plus(amount));
+
+            LocalDateTime now = LocalDateTime.now();
+            transactions.add(AccountTransaction.builder()
+                    .account(fromAccount)
+                    .type(TransactionType.TRANSFER_OUT)
+                    .amount(amount)
+                    .createdAt(now)
+                    .counterpartyIban(toAccount.getIban())
+                    .balanceAfter(fromAccount.getBalance())
+                    .build());
+            transactions.add(AccountTransaction.builder()
+                    .account(toAccount)
+                    .type(TransactionType.TRANSFER_IN)
+                    .amount(amount)
+                    .createdAt(now)
+                    .counterpartyIban(fromAccount.getIban())
+                    .balanceAfter(toAccount.getBalance())
+                    .build());
+            results.add(new BulkLineResultDTO(line.lineNumber(), BulkLineResultDTO.ACCEPTED, null));
+            accepted++;
+        }
+
+        if (!transactions.isEmpty()) {
+            accountRepository.saveAll(accounts.values());
+            ledgerWriter.record(transactions);
+        }
+        bulkTransferChunkRepository.save(BulkTransferChunk.builder()
+                .jobId(jobId)
+                .firstLine(firstLine)
+                .lastLine(lastLine)
+                .acceptedCount(accepted)
+                .rejectedCount(lines.size() - accepted)
+                .lineResults(jsonMapper.writeValueAsString(results))
+                .build());
+        return results;
+    }
+
+    /** Chunks recorded before line results were kept only say that their lines were posted. */
+    private List<BulkLineResultDTO> replay(BulkTransferChunk chunk, List<ParsedBulkLine> lines) {
+        if (chunk.getLineResults() != null) {
+            return Arrays.asList(jsonMapper.readValue(chunk.getLineResults(), BulkLineResultDTO[].class));
+        }
+        List<BulkLineResultDTO> results = new ArrayList<>(lines.size());
+        lines.forEach(line -> results.add(new BulkLineResultDTO(line.lineNumber(), BulkLineResultDTO.ALREADY_POSTED, null)));
+        return results;
+    }
+
+    private String validate(BulkTransferLineDTO transfer, Map<String, Account> accounts) {
+        if (transfer == null) {
+            return "Γραμμή επικεφαλίδας";
+        }
+        if (transfer.getAmount() != null && !Money.fits(transfer.getAmount())) {
+            return OperationResult.AMOUNT_OUT_OF_RANGE.getMessage();
+        }
+        if (transfer.getAmount() == null || !Money.of(transfer.getAmount()).isPositive()) {
+            return "Το ποσό μεταφοράς πρέπει να είναι θετικό";
+        }
+        if (transfer.getFromIban().equals(transfer.getToIban())) {
+            return "Δεν επιτρέπεται μεταφορά στον ίδιο λογαριασμό";
+        }
+        Account fromAccount = accounts.get(transfer.getFromIban());
+        if (fromAccount == null) {
+            return "Ο λογαριασμός με IBAN " + transfer.getFromIban() + " δεν βρέθηκε";
+        }
+        Account toAccount = accounts.get(transfer.getToIban());
+        if (toAccount == null) {
+            return "Ο λογαριασμός με IBAN " + transfer.getToIban() + " δεν βρέθηκε";
+        }
+        Money amount = Money.of(transfer.getAmount());
+        if (amount.isGreaterThan(fromAccount.getBalance())) {
+            return "Ανεπαρκές υπόλοιπο. Διαθέσιμο: " + fromAccount.getBalance() + " €";
+        }
+        if (!toAccount.getBalance().canAdd(amount)) {
+            return OperationResult.BALANCE_LIMIT_EXCEEDED.getMessage();
+        }
+        return null;
+    }
+}
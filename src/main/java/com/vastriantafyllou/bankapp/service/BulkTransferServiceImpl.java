@@ -0,0 +1,266 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.BulkTransferJobNotFoundException;
+import com.vastriantafyllou.bankapp.dto.BulkLineResultDTO;
+import com.vastriantafyllou.bankapp.dto.BulkTransferJobDTO;
+import com.vastriantafyllou.bankapp.dto.BulkTransferLineDTO;
+import com.vastriantafyllou.bankapp.mapper.Mapper;
+import com.vastriantafyllou.bankapp.model.BulkFileFormat;
+import com.vastriantafyllou.bankapp.model.BulkJobStatus;
+import com.vastriantafyllou.bankapp.model.BulkTransferJob;
+import com.vastriantafyllou.bankapp.repository.BulkTransferJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+@ConditionalOnProperty(name = "bankapp.bulk.enabled", havingValue = "true", matchIfMissing = true)
+@Service
+public class BulkTransferServiceImpl implements IBulkTransferService {
+
+    private final BulkTransferJobRepository bulkTransferJobRepository;
+    private final BulkTransferChunkWriter chunkWriter;
+    private final JsonMapper jsonMapper;
+    private final Path storageDir;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService chunkExecutor;
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public BulkTransferServiceImpl(BulkTransferJobRepository bulkTransferJobRepository,
+                                   BulkTransferChunkWriter chunkWriter,
+                                   JsonMapper jsonMapper,
+                                   @Value("${bankapp.bulk.storage-dir:}") String storageDir,
+                                   @Value("${bankapp.bulk.chunk-size:500}") int chunkSize,
+                                   @Value("${bankapp.bulk.parallelism:4}") int parallelism,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (storageDir.isBlank()) {
+            throw new IllegalStateException("Bulk transfers need bankapp.bulk.storage-dir, a durable directory for uploaded files and reports");
+        }
+        this.bulkTransferJobRepository = bulkTransferJobRepository;
+        this.chunkWriter = chunkWriter;
+        this.jsonMapper = jsonMapper;
+        this.storageDir = Path.of(storageDir);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        // Chunks are still capped at `parallelism`; virtual threads only stop a chunk's lock waits from holding a carrier.
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("bulk-", 0).factory()
+                : Executors.defaultThreadFactory();
+        this.jobExecutor = Executors.newSingleThreadExecutor(threadFactory);
+        this.chunkExecutor = Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    @Override
+    public BulkTransferJobDTO submit(MultipartFile file) throws IOException {
+        Files.createDirectories(storageDir);
+        BulkTransferJob job = bulkTransferJobRepository.save(BulkTransferJob.builder()
+                .fileName(file.getOriginalFilename() != null ? file.getOriginalFilename() : "upload")
+                .format(BulkFileFormat.fromFileName(file.getOriginalFilename()))
+                .status(BulkJobStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        Path input = storageDir.resolve("job-" + job.getId() + ".input");
+        file.transferTo(input);
+        job.setInputPath(input.toString());
+        job.setReportPath(storageDir.resolve("job-" + job.getId() + "-report.csv").toString());
+        job = bulkTransferJobRepository.save(job);
+
+        start(job.getId());
+        return Mapper.mapToBulkTransferJobDTO(job);
+    }
+
+    @Override
+    public BulkTransferJobDTO resume(Long jobId) throws BulkTransferJobNotFoundException {
+        BulkTransferJob job = findJob(jobId);
+        if (job.getStatus() != BulkJobStatus.COMPLETED) {
+            start(jobId);
+        }
+        return Mapper.mapToBulkTransferJobDTO(job);
+    }
+
+    @Override
+    public BulkTransferJobDTO getJob(Long jobId) throws BulkTransferJobNotFoundException {
+        return Mapper.mapToBulkTransferJobDTO(findJob(jobId));
+    }
+
+    @Override
+    public Path getReport(Long jobId) throws BulkTransferJobNotFoundException {
+        return Path.of(findJob(jobId).getReportPath());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        chunkExecutor.shutdown();
+    }
+
+    private BulkTransferJob findJob(Long jobId) throws BulkTransferJobNotFoundException {
+        return bulkTransferJobRepository.findById(jobId)
+                .orElseThrow(() -> new BulkTransferJobNotFoundException("Η εργασία μαζικών μεταφορών " + jobId + " δεν βρέθηκε"));
+    }
+
+    private void start(Long jobId) {
+        if (!runningJobs.add(jobId)) {
+            return;
+        }
+        jobExecutor.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                runningJobs.remove(jobId);
+            }
+        });
+    }
+
+    /**
+     * Streams the input file line by line. Chunks of {@code chunkSize} lines are posted in parallel,
+     * at most {@code parallelism} at a time. The checkpoint advances only after a whole window of
+     * chunks has committed. Chunk boundaries are fixed line ranges, so a resumed run lines up with
+     * the chunk markers written by the previous run.
+     */
+    private void run(Long jobId) {
+        BulkTransferJob job = bulkTransferJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(BulkJobStatus.RUNNING);
+        job.setErrorMessage(null);
+        job = bulkTransferJobRepository.save(job);
+
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(job.getInputPath()), StandardCharsets.UTF_8);
+             BufferedWriter report = Files.newBufferedWriter(Path.of(job.getReportPath()), StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            long checkpoint = job.getLastCommittedLine();
+            long lineNumber = 0;
+            List<ParsedBulkLine> chunk = new ArrayList<>(chunkSize);
+            List<Future<List<BulkLineResultDTO>>> window = new ArrayList<>(parallelism);
+
+            String raw;
+            while ((raw = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= checkpoint) {
+                    continue;
+                }
+                chunk.add(parse(job.getFormat(), lineNumber, raw));
+                if (lineNumber % chunkSize == 0) {
+                    window.add(submitChunk(jobId, chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                    if (window.size() == parallelism) {
+                        job = drain(job, window, report, lineNumber);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                window.add(submitChunk(jobId, chunk));
+            }
+            job = drain(job, window, report, lineNumber);
+            job.setStatus(BulkJobStatus.COMPLETED);
+        } catch (IOException | ExecutionException | RuntimeException e) {
+            job.setStatus(BulkJobStatus.FAILED);
+            job.setErrorMessage(abbreviate(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.setStatus(BulkJobStatus.FAILED);
+            job.setErrorMessage("Interrupted");
+        }
+        job.setUpdatedAt(LocalDateTime.now());
+        bulkTransferJobRepository.save(job);
+    }
+
+    private Future<List<BulkLineResultDTO>> submitChunk(Long jobId, List<ParsedBulkLine> chunk) {
+        long firstLine = chunk.getFirst().lineNumber();
+        long lastLine = chunk.getLast().lineNumber();
+        return chunkExecutor.submit(() -> chunkWriter.post(jobId, firstLine, lastLine, chunk));
+    }
+
+    private BulkTransferJob drain(BulkTransferJob job, List<Future<List<BulkLineResultDTO>>> window,
+                                  BufferedWriter report, long lastLine) throws IOException, ExecutionException, InterruptedException {
+        if (window.isEmpty()) {
+            return job;
+        }
+        for (Future<List<BulkLineResultDTO>> future : window) {
+            for (BulkLineResultDTO result : future.get()) {
+                report.write(result.getLineNumber() + "," + result.getStatus() + "," + csv(result.getMessage()));
+                report.newLine();
+                if (BulkLineResultDTO.ACCEPTED.equals(result.getStatus())) {
+                    job.setAcceptedCount(job.getAcceptedCount() + 1);
+                } else if (BulkLineResultDTO.REJECTED.equals(result.getStatus())) {
+                    job.setRejectedCount(job.getRejectedCount() + 1);
+                }
+            }
+        }
+        window.clear();
+        report.flush();
+
+        job.setLastCommittedLine(lastLine);
+        job.setUpdatedAt(LocalDateTime.now());
+        return bulkTransferJobRepository.save(job);
+    }
+
+    private ParsedBulkLine parse(BulkFileFormat format, long lineNumber, String raw) {
+        try {
+            if (format == BulkFileFormat.NDJSON) {
+                BulkTransferLineDTO transfer = jsonMapper.readValue(raw, BulkTransferLineDTO.class);
+                return checkFields(lineNumber, transfer);
+            }
+
+            String[] columns = raw.split(",", -1);
+            if (columns.length != 3) {
+                return new ParsedBulkLine(lineNumber, null, "Αναμένονται 3 στήλες: fromIban,toIban,amount");
+            }
+            if (lineNumber == 1 && "fromIban".equalsIgnoreCase(columns[0].trim())) {
+                return new ParsedBulkLine(lineNumber, null, null);
+            }
+            return checkFields(lineNumber, new BulkTransferLineDTO(columns[0].trim(), columns[1].trim(), new BigDecimal(columns[2].trim())));
+        } catch (RuntimeException e) {
+            return new ParsedBulkLine(lineNumber, null, "Μη έγκυρη γραμμή: " + abbreviate(e.getMessage()));
+        }
+    }
+
+    private ParsedBulkLine checkFields(long lineNumber, BulkTransferLineDTO transfer) {
+        if (transfer.getFromIban() == null || transfer.getFromIban().isBlank()
+                || transfer.getToIban() == null || transfer.getToIban().isBlank()
+                || transfer.getAmount() == null) {
+            return new ParsedBulkLine(lineNumber, null, "Λείπουν υποχρεωτικά πεδία");
+        }
+        return new ParsedBulkLine(lineNumber, transfer, null);
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
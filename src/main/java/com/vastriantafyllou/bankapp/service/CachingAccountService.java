@@ -0,0 +1,99 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+
+/**
+ * Serves account and balance reads from {@link AccountCache} before the delegate opens a transaction.
+ */
+@RequiredArgsConstructor
+public class CachingAccountService implements IAccountService {
+
+    private final IAccountService delegate;
+    private final AccountCache accountCache;
+
+    @Override
+    public AccountReadOnlyDTO createAccount(AccountInsertDTO dto) throws AccountAlreadyExistsException, AccountNumberAlreadyExistsException {
+        return delegate.createAccount(dto);
+    }
+
+    @Override
+    public void deposit(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException {
+        delegate.deposit(iban, amount);
+    }
+
+    @Override
+    public void withdraw(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException {
+        delegate.withdraw(iban, amount);
+    }
+
+    @Override
+    public void transfer(String fromIban, String toIban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException {
+        delegate.transfer(fromIban, toIban, amount);
+    }
+
+    @Override
+    public OperationResult tryDeposit(String iban, BigDecimal amount) {
+        return delegate.tryDeposit(iban, amount);
+    }
+
+    @Override
+    public OperationResult tryWithdraw(String iban, BigDecimal amount) {
+        return delegate.tryWithdraw(iban, amount);
+    }
+
+    @Override
+    public OperationResult tryTransfer(String fromIban, String toIban, BigDecimal amount) {
+        return delegate.tryTransfer(fromIban, toIban, amount);
+    }
+
+    @Override
+    public BigDecimal getBalance(String iban) throws AccountNotFoundException {
+        return getAccountByIban(iban).getBalance();
+    }
+
+    @Override
+    public Slice<AccountReadOnlyDTO> getAccounts(String ibanPrefix, Pageable pageable) {
+        return delegate.getAccounts(ibanPrefix, pageable);
+    }
+
+    @Override
+    public AccountReadOnlyDTO getAccountByIban(String iban) throws AccountNotFoundException {
+        AccountReadOnlyDTO cached = accountCache.get(iban);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = accountCache.stamp(iban);
+        AccountReadOnlyDTO account = delegate.getAccountByIban(iban);
+        accountCache.put(account, stamp);
+        return account;
+    }
+
+    @Override
+    public long getAccountVersion(String iban) throws AccountNotFoundException {
+        return delegate.getAccountVersion(iban);
+    }
+
+    @Override
+    public TransactionHistoryDTO getTransactionHistory(String iban, String cursor, int size) throws AccountNotFoundException {
+        return delegate.getTransactionHistory(iban, cursor, size);
+    }
+
+    @Override
+    public void deleteAccount(String iban) throws AccountNotFoundException {
+        delegate.deleteAccount(iban);
+    }
+}
@@ -0,0 +1,75 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.model.AccountDailyBalance;
+import com.vastriantafyllou.bankapp.model.AccountDailyBalanceId;
+import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.repository.AccountDailyBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code account_daily_balances} in step with the ledger. Callers hold the account row locks,
+ * so each account-day is only ever written by one transaction at a time.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailyBalanceRollup {
+
+    private static final Comparator<AccountDailyBalanceId> KEY_ORDER = Comparator
+            .comparing(AccountDailyBalanceId::getAccountId)
+            .thenComparing(AccountDailyBalanceId::getBusinessDate);
+
+    private final AccountDailyBalanceRepository accountDailyBalanceRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(List<AccountTransaction> transactions) {
+        for (AccountDailyBalance delta : fold(transactions)) {
+            accountDailyBalanceRepository.upsert(delta.getId().getAccountId(), delta.getId().getBusinessDate(),
+                    delta.getOpeningBalance().toBigDecimal(), delta.getClosingBalance().toBigDecimal(),
+                    delta.getCreditTotal().toBigDecimal(), delta.getDebitTotal().toBigDecimal(),
+                    delta.getDepositCount(), delta.getWithdrawCount(), delta.getTransferInCount(), delta.getTransferOutCount());
+        }
+    }
+
+    /**
+     * Collapses the rows of one ledger write into one delta per account-day, in list order, sorted by key
+     * so concurrent writers take the rollup row locks in the same order.
+     */
+    static List<AccountDailyBalance> fold(List<AccountTransaction> transactions) {
+        Map<AccountDailyBalanceId, AccountDailyBalance> deltas = new TreeMap<>(KEY_ORDER);
+        for (AccountTransaction transaction : transactions) {
+            AccountDailyBalanceId key = new AccountDailyBalanceId(transaction.getAccount().getId(), transaction.getCreatedAt().toLocalDate());
+            boolean credit = transaction.getType().isCredit();
+            Money signedAmount = credit ? transaction.getAmount() : transaction.getAmount().negate();
+
+            AccountDailyBalance delta = deltas.computeIfAbsent(key, id -> AccountDailyBalance.builder()
+                    .id(id)
+                    .openingBalance(transaction.getBalanceAfter().minus(signedAmount))
+                    .creditTotal(Money.ZERO)
+                    .debitTotal(Money.ZERO)
+                    .build());
+            delta.setClosingBalance(transaction.getBalanceAfter());
+            if (credit) {
+                delta.setCreditTotal(delta.getCreditTotal().plus(transaction.getAmount()));
+            } else {
+                delta.setDebitTotal(delta.getDebitTotal().plus(transaction.getAmount()));
+            }
+            switch (transaction.getType()) {
+                case DEPOSIT -> delta.setDepositCount(delta.getDepositCount() + 1);
+                case WITHDRAW -> delta.setWithdrawCount(delta.getWithdrawCount() + 1);
+                case TRANSFER_IN -> delta.setTransferInCount(delta.getTransferInCount() + 1);
+                case TRANSFER_OUT -> delta.setTransferOutCount(delta.getTransferOutCount() + 1);
+            }
+        }
+        return new ArrayList<>(deltas.values());
+    }
+}
@@ -0,0 +1,80 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects deposits and withdrawals per IBAN for a short window and hands each batch to
+ * {@link GroupCommitWriter}, so a hot account pays for one lock and one commit per batch.
+ */
+public class DepositWithdrawBatcher {
+
+    private final GroupCommitWriter writer;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentHashMap<String, Batch> batches = new ConcurrentHashMap<>();
+
+    public DepositWithdrawBatcher(GroupCommitWriter writer, long windowMicros, int maxBatchSize, int flushThreads) {
+        this.writer = writer;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = new ScheduledThreadPoolExecutor(flushThreads, runnable -> {
+            Thread thread = new Thread(runnable, "group-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<OperationResult> submit(String iban, TransactionType type, Money amount) {
+        PendingOperation operation = new PendingOperation(type, amount);
+        batches.compute(iban, (key, batch) -> {
+            if (batch == null) {
+                Batch created = new Batch();
+                scheduler.schedule(() -> {
+                    if (batches.remove(key, created)) {
+                        flush(key, created);
+                    }
+                }, windowMicros, TimeUnit.MICROSECONDS);
+                batch = created;
+            }
+            batch.operations.add(operation);
+            if (batch.operations.size() >= maxBatchSize) {
+                Batch full = batch;
+                scheduler.execute(() -> flush(key, full));
+                return null;
+            }
+            return batch;
+        });
+        return operation.getResult();
+    }
+
+    private void flush(String iban, Batch batch) {
+        try {
+            writer.apply(iban, batch.operations);
+        } catch (RuntimeException e) {
+            batch.operations.forEach(op -> op.getResult().completeExceptionally(e));
+            return;
+        }
+        for (PendingOperation op : batch.operations) {
+            op.getResult().complete(op.getRejection() != null ? op.getRejection() : OperationResult.APPLIED);
+        }
+    }
+
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private static final class Batch {
+        private final List<PendingOperation> operations = new ArrayList<>();
+    }
+}
@@ -0,0 +1,11 @@
+package com.vastriantafyllou.bankapp.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * A standing order occurrence waiting in the timing wheel. {@code dueAt} is the {@code next_run_at} it
+ * was loaded with; the order only runs if the row still holds that value, so an occurrence that already
+ * ran (here, on another node or before a restart) is skipped.
+ */
+public record DueStandingOrder(long id, String fromIban, LocalDateTime dueAt) {
+}
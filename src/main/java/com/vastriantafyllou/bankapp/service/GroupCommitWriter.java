@@ -0,0 +1,72 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.metrics.ServiceMetrics;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.model.Account;
+import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import com.vastriantafyllou.bankapp.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class GroupCommitWriter {
+
+    private final AccountRepository accountRepository;
+    private final LedgerWriter ledgerWriter;
+    private final ServiceMetrics serviceMetrics;
+
+    /**
+     * Applies the operations in arrival order under a single row lock. Operations that would
+     * overdraw the account, or push its balance past what {@code Money} holds, are marked as
+     * rejected and skipped; the rest commit together.
+     */
+    @Transactional
+    public void apply(String iban, List<PendingOperation> operations) {
+        serviceMetrics.trackTransaction();
+        Optional<Account> locked = serviceMetrics.timeLockWait(() -> accountRepository.findByIbanForUpdate(iban));
+        if (locked.isEmpty()) {
+            OperationResult notFound = OperationResult.accountNotFound(iban);
+            operations.forEach(op -> op.setRejection(notFound));
+            return;
+        }
+
+        Account account = locked.get();
+        List<AccountTransaction> transactions = new ArrayList<>(operations.size());
+        for (PendingOperation op : operations) {
+            if (op.getType() == TransactionType.WITHDRAW) {
+                if (op.getAmount().isGreaterThan(account.getBalance())) {
+                    op.setRejection(OperationResult.insufficientBalance(account.getBalance()));
+                    continue;
+                }
+                account.setBalance(account.getBalance().minus(op.getAmount()));
+            } else {
+                if (!account.getBalance().canAdd(op.getAmount())) {
+                    op.setRejection(OperationResult.BALANCE_LIMIT_EXCEEDED);
+                    continue;
+                }
+                account.setBalance(account.getBalance().plus(op.getAmount()));
+            }
+
+            transactions.add(AccountTransaction.builder()
+                    .account(account)
+                    .type(op.getType())
+                    .amount(op.getAmount())
+                    .createdAt(LocalDateTime.now())
+                    .balanceAfter(account.getBalance())
+                    .build());
+        }
+
+        if (!transactions.isEmpty()) {
+            accountRepository.save(account);
+            ledgerWriter.record(transactions);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.dto.BulkAccountCreationDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IAccountOnboardingService {
+    int MAX_REPORTED_REJECTIONS = 1000;
+
+    /**
+     * Creates the accounts of a newline-delimited JSON stream of {@code AccountInsertDTO}. Each line is
+     * created or rejected on its own; accepted lines are committed in chunks as the stream is read.
+     */
+    BulkAccountCreationDTO createAccounts(InputStream ndjson) throws IOException;
+}
@@ -6,21 +6,40 @@ import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
 import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
 import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
 import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
 import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
 import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
-import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 public interface IAccountService {
+    int HISTORY_DEFAULT_PAGE_SIZE = 20;
+    int HISTORY_MAX_PAGE_SIZE = 100;
+
     AccountReadOnlyDTO createAccount(AccountInsertDTO dto) throws AccountAlreadyExistsException, AccountNumberAlreadyExistsException;
     void deposit(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException;
     void withdraw(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException;
     void transfer(String fromIban, String toIban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException;
+    /**
+     * The {@code try} variants perform the same movements but report a rejection as the returned
+     * {@link OperationResult} instead of throwing, for callers where declines are routine.
+     */
+    OperationResult tryDeposit(String iban, BigDecimal amount);
+    OperationResult tryWithdraw(String iban, BigDecimal amount);
+    OperationResult tryTransfer(String fromIban, String toIban, BigDecimal amount);
     BigDecimal getBalance(String iban) throws AccountNotFoundException;
-    List<AccountReadOnlyDTO> getAllAccounts();
+    Slice<AccountReadOnlyDTO> getAccounts(String ibanPrefix, Pageable pageable);
     AccountReadOnlyDTO getAccountByIban(String iban) throws AccountNotFoundException;
-    List<AccountTransaction> getTransactionHistory(String iban) throws AccountNotFoundException;
+    /** Incremented by every balance change; cheap enough to validate conditional requests against. */
+    long getAccountVersion(String iban) throws AccountNotFoundException;
+    /**
+     * Newest first, {@code size} clamped to 1..{@link #HISTORY_MAX_PAGE_SIZE}. Not every implementation
+     * keeps history: {@link InMemoryAccountService} checks that the account exists and answers an empty
+     * page, so callers that need the ledger rows must run on the JPA mode.
+     */
+    TransactionHistoryDTO getTransactionHistory(String iban, String cursor, int size) throws AccountNotFoundException;
     void deleteAccount(String iban) throws AccountNotFoundException;
 }
@@ -0,0 +1,14 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.dto.AccountViewDTO;
+
+import java.util.Optional;
+
+public interface IAccountViewService {
+
+    /**
+     * The account page's first history page from the read model in one query, or empty when the read
+     * model is disabled, has no row for the account yet or holds fewer rows than {@code size} asks for.
+     */
+    Optional<AccountViewDTO> getAccountView(String iban, int size);
+}
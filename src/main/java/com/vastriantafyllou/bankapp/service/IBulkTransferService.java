@@ -0,0 +1,15 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.BulkTransferJobNotFoundException;
+import com.vastriantafyllou.bankapp.dto.BulkTransferJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface IBulkTransferService {
+    BulkTransferJobDTO submit(MultipartFile file) throws IOException;
+    BulkTransferJobDTO resume(Long jobId) throws BulkTransferJobNotFoundException;
+    BulkTransferJobDTO getJob(Long jobId) throws BulkTransferJobNotFoundException;
+    Path getReport(Long jobId) throws BulkTransferJobNotFoundException;
+}
@@ -0,0 +1,17 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.exception.StandingOrderNotFoundException;
+import com.vastriantafyllou.bankapp.dto.StandingOrderInsertDTO;
+import com.vastriantafyllou.bankapp.dto.StandingOrderReadOnlyDTO;
+
+import java.util.List;
+
+public interface IStandingOrderService {
+    StandingOrderReadOnlyDTO create(StandingOrderInsertDTO dto) throws NegativeAmountException, InvalidTransferException, AccountNotFoundException;
+    StandingOrderReadOnlyDTO getStandingOrder(Long id) throws StandingOrderNotFoundException;
+    List<StandingOrderReadOnlyDTO> getStandingOrders(String fromIban);
+    StandingOrderReadOnlyDTO cancel(Long id) throws StandingOrderNotFoundException;
+}
@@ -0,0 +1,15 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidStatementRangeException;
+import com.vastriantafyllou.bankapp.dto.StatementDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface IStatementService {
+    int STATEMENT_MAX_DAYS = 366;
+
+    BigDecimal getBalanceOn(String iban, LocalDate date) throws AccountNotFoundException;
+    StatementDTO getStatement(String iban, LocalDate from, LocalDate to) throws AccountNotFoundException, InvalidStatementRangeException;
+}
@@ -0,0 +1,182 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.cache.LruTtlCache;
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidIdempotencyKeyException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Runs money movements at most once per client-supplied key. The key row is inserted first, in the
+ * same transaction as the movement, which goes through the primary {@link IAccountService} like any
+ * other call. A retry either finds the committed key and returns without touching the account, or
+ * waits on the uncommitted one and loses on the primary key.
+ * Only successful operations are recorded: a rejected request rolls its key back and may be retried.
+ * The key also records a hash of the request, so it can't be reused for a different amount or payee.
+ * In engine mode the engine applies the movement before the key commits: should that commit fail, the
+ * caller gets an error for a movement that was made, and a retry with the same key makes it again.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private final IAccountService accountService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LruTtlCache<String, String> recentKeys;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+
+    public IdempotencyService(IAccountService accountService,
+                              IdempotencyKeyRepository idempotencyKeyRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${bankapp.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${bankapp.idempotency.cache-size:100000}") int cacheSize,
+                              @Value("${bankapp.idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this.accountService = accountService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.recentKeys = new LruTtlCache<>(cacheSize, ttl.toMillis());
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * @return {@code true} if the key had already been used and the deposit was not executed again
+     */
+    public boolean deposit(String key, String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InvalidIdempotencyKeyException {
+        if (isBlank(key)) {
+            accountService.deposit(iban, amount);
+            return false;
+        }
+        try {
+            return execute("DEPOSIT", iban, key, requestHash(iban, null, amount), () -> accountService.deposit(iban, amount));
+        } catch (InsufficientBalanceException | InvalidTransferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean withdraw(String key, String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidIdempotencyKeyException {
+        if (isBlank(key)) {
+            accountService.withdraw(iban, amount);
+            return false;
+        }
+        try {
+            return execute("WITHDRAW", iban, key, requestHash(iban, null, amount), () -> accountService.withdraw(iban, amount));
+        } catch (InvalidTransferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean transfer(String key, String fromIban, String toIban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException, InvalidIdempotencyKeyException {
+        if (isBlank(key)) {
+            accountService.transfer(fromIban, toIban, amount);
+            return false;
+        }
+        return execute("TRANSFER", fromIban, key, requestHash(fromIban, toIban, amount), () -> accountService.transfer(fromIban, toIban, amount));
+    }
+
+    @Scheduled(fixedDelayString = "${bankapp.idempotency.purge-interval-millis:60000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(now, purgeBatchSize));
+        } while (deleted != null && deleted == purgeBatchSize);
+    }
+
+    private boolean execute(String operationName, String iban, String key, String requestHash, MoneyOperation operation) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException, InvalidIdempotencyKeyException {
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Το κλειδί idempotency δεν μπορεί να υπερβαίνει τους " + MAX_KEY_LENGTH + " χαρακτήρες");
+        }
+        String scopedKey = operationName + ":" + iban + ":" + key;
+        String recorded = recentKeys.get(scopedKey);
+        if (recorded == null) {
+            recorded = idempotencyKeyRepository.findRequestHash(scopedKey).orElse(null);
+        }
+        if (recorded != null) {
+            return replay(scopedKey, recorded, requestHash);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                idempotencyKeyRepository.insert(scopedKey, requestHash, now, now.plus(ttl));
+                try {
+                    operation.run();
+                } catch (NegativeAmountException | AccountNotFoundException | InsufficientBalanceException | InvalidTransferException e) {
+                    throw new RejectedOperation(e);
+                }
+            });
+        } catch (RejectedOperation rejected) {
+            switch (rejected.getCause()) {
+                case NegativeAmountException e -> throw e;
+                case AccountNotFoundException e -> throw e;
+                case InsufficientBalanceException e -> throw e;
+                case InvalidTransferException e -> throw e;
+                default -> throw rejected;
+            }
+        } catch (DataIntegrityViolationException duplicate) {
+            // A concurrent request with the same key committed first; ours rolled back.
+            return replay(scopedKey, idempotencyKeyRepository.findRequestHash(scopedKey).orElseThrow(() -> duplicate), requestHash);
+        }
+        recentKeys.put(scopedKey, requestHash);
+        return false;
+    }
+
+    private boolean replay(String scopedKey, String recorded, String requestHash) throws InvalidIdempotencyKeyException {
+        // Keys recorded before the hash was kept have an empty one and replay whatever the request.
+        if (!recorded.isEmpty() && !recorded.equals(requestHash)) {
+            throw new InvalidIdempotencyKeyException("Το κλειδί idempotency έχει ήδη χρησιμοποιηθεί για διαφορετικό αίτημα");
+        }
+        recentKeys.put(scopedKey, recorded);
+        return true;
+    }
+
+    /** Refuses an amount {@link Money} can't hold before expanding it, which for a large exponent is costly. */
+    private static String requestHash(String iban, String toIban, BigDecimal amount) throws NegativeAmountException {
+        if (amount != null && !Money.fits(amount)) {
+            throw new NegativeAmountException(OperationResult.AMOUNT_OUT_OF_RANGE.getMessage());
+        }
+        String request = iban + "|" + (toIban == null ? "" : toIban) + "|" + (amount == null ? "" : amount.stripTrailingZeros().toPlainString());
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isBlank(String key) {
+        return key == null || key.isBlank();
+    }
+
+    @FunctionalInterface
+    private interface MoneyOperation {
+        void run() throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException;
+    }
+
+    private static final class RejectedOperation extends RuntimeException {
+        private RejectedOperation(Exception cause) {
+            super(cause);
+        }
+    }
+}
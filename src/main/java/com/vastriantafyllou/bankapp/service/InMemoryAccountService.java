@@ -0,0 +1,190 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.engine.LedgerAccount;
+import com.vastriantafyllou.bankapp.core.engine.LedgerCommand;
+import com.vastriantafyllou.bankapp.core.engine.LedgerEngine;
+import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * {@link IAccountService} over the {@link LedgerEngine} instead of JPA, selected with
+ * {@code bankapp.engine.mode=in-memory}. Validation, messages and rejections are those of
+ * {@link AccountServiceImpl}; a money movement returns once it is in the write-ahead log.
+ * <p>
+ * The engine keeps balances, not history: the log is the ledger, and {@link #getTransactionHistory}
+ * only checks that the account exists. Statements and the account page stay on the JPA mode.
+ */
+public class InMemoryAccountService implements IAccountService {
+
+    private final LedgerEngine engine;
+
+    public InMemoryAccountService(LedgerEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public AccountReadOnlyDTO createAccount(AccountInsertDTO dto) throws AccountAlreadyExistsException, AccountNumberAlreadyExistsException {
+        Money balance = Money.of(dto.getBalance());
+        LedgerCommand command = engine.execute(LedgerCommand.create(dto.getIban(), dto.getAccountNumber(), balance.cents()));
+        switch (command.getStatus()) {
+            case IBAN_EXISTS -> throw new AccountAlreadyExistsException("Ο λογαριασμός με IBAN " + dto.getIban() + " υπάρχει ήδη");
+            case ACCOUNT_NUMBER_EXISTS -> throw new AccountNumberAlreadyExistsException("Ο λογαριασμός με Account Number " + dto.getAccountNumber() + " υπάρχει ήδη");
+            case KEY_TOO_LONG -> throw new IllegalArgumentException("Το IBAN και το Account Number δεν μπορούν να υπερβαίνουν τους " + LedgerEngine.MAX_KEY_LENGTH + " χαρακτήρες");
+            default -> {
+            }
+        }
+        return new AccountReadOnlyDTO(command.getAccountId(), dto.getIban(), dto.getAccountNumber(), balance.toBigDecimal());
+    }
+
+    @Override
+    public void deposit(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException {
+        OperationResult result = tryDeposit(iban, amount);
+        switch (result.getOutcome()) {
+            case NEGATIVE_AMOUNT -> throw new NegativeAmountException(result.getMessage());
+            case ACCOUNT_NOT_FOUND -> throw new AccountNotFoundException(result.getMessage());
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void withdraw(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException {
+        OperationResult result = tryWithdraw(iban, amount);
+        switch (result.getOutcome()) {
+            case NEGATIVE_AMOUNT -> throw new NegativeAmountException(result.getMessage());
+            case ACCOUNT_NOT_FOUND -> throw new AccountNotFoundException(result.getMessage());
+            case INSUFFICIENT_BALANCE -> throw new InsufficientBalanceException(result.getMessage());
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void transfer(String fromIban, String toIban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException {
+        OperationResult result = tryTransfer(fromIban, toIban, amount);
+        switch (result.getOutcome()) {
+            case NEGATIVE_AMOUNT -> throw new NegativeAmountException(result.getMessage());
+            case INVALID_TRANSFER -> throw new InvalidTransferException(result.getMessage());
+            case ACCOUNT_NOT_FOUND -> throw new AccountNotFoundException(result.getMessage());
+            case INSUFFICIENT_BALANCE -> throw new InsufficientBalanceException(result.getMessage());
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public OperationResult tryDeposit(String iban, BigDecimal amount) {
+        if (!Money.fits(amount)) {
+            return OperationResult.AMOUNT_OUT_OF_RANGE;
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
+            return OperationResult.NEGATIVE_DEPOSIT;
+        }
+        return resultOf(engine.execute(LedgerCommand.deposit(iban, money.cents())));
+    }
+
+    @Override
+    public OperationResult tryWithdraw(String iban, BigDecimal amount) {
+        if (!Money.fits(amount)) {
+            return OperationResult.AMOUNT_OUT_OF_RANGE;
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
+            return OperationResult.NEGATIVE_WITHDRAWAL;
+        }
+        return resultOf(engine.execute(LedgerCommand.withdraw(iban, money.cents())));
+    }
+
+    @Override
+    public OperationResult tryTransfer(String fromIban, String toIban, BigDecimal amount) {
+        if (!Money.fits(amount)) {
+            return OperationResult.AMOUNT_OUT_OF_RANGE;
+        }
+        Money money = Money.of(amount);
+        if (!money.isPositive()) {
+            return OperationResult.NEGATIVE_TRANSFER;
+        }
+        if (fromIban.equals(toIban)) {
+            return OperationResult.SAME_ACCOUNT_TRANSFER;
+        }
+        return resultOf(engine.execute(LedgerCommand.transfer(fromIban, toIban, money.cents())));
+    }
+
+    @Override
+    public BigDecimal getBalance(String iban) throws AccountNotFoundException {
+        return Money.ofCents(find(iban).balanceCents()).toBigDecimal();
+    }
+
+    @Override
+    public Slice<AccountReadOnlyDTO> getAccounts(String ibanPrefix, Pageable pageable) {
+        List<LedgerAccount> accounts = engine.findByIbanPrefix(ibanPrefix == null ? "" : ibanPrefix.trim());
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), accounts.size()) : 0;
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), accounts.size()) : accounts.size();
+        List<AccountReadOnlyDTO> page = accounts.subList(from, to).stream()
+                .map(InMemoryAccountService::toDTO)
+                .toList();
+        return new SliceImpl<>(page, pageable, to < accounts.size());
+    }
+
+    @Override
+    public AccountReadOnlyDTO getAccountByIban(String iban) throws AccountNotFoundException {
+        return toDTO(find(iban));
+    }
+
+    @Override
+    public long getAccountVersion(String iban) throws AccountNotFoundException {
+        return find(iban).version();
+    }
+
+    @Override
+    public TransactionHistoryDTO getTransactionHistory(String iban, String cursor, int size) throws AccountNotFoundException {
+        find(iban);
+        return new TransactionHistoryDTO(List.of(), null, Math.clamp(size, 1, HISTORY_MAX_PAGE_SIZE));
+    }
+
+    @Override
+    public void deleteAccount(String iban) throws AccountNotFoundException {
+        LedgerCommand command = engine.execute(LedgerCommand.delete(iban));
+        if (!command.isApplied()) {
+            throw new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε");
+        }
+    }
+
+    private LedgerAccount find(String iban) throws AccountNotFoundException {
+        LedgerAccount account = engine.find(iban);
+        if (account == null) {
+            throw new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε");
+        }
+        return account;
+    }
+
+    private static OperationResult resultOf(LedgerCommand command) {
+        return switch (command.getStatus()) {
+            case APPLIED -> OperationResult.APPLIED;
+            case ACCOUNT_NOT_FOUND -> OperationResult.accountNotFound(command.getMissingIban());
+            case INSUFFICIENT_BALANCE -> OperationResult.insufficientBalance(Money.ofCents(command.getAvailableCents()));
+            case BALANCE_LIMIT_EXCEEDED -> OperationResult.BALANCE_LIMIT_EXCEEDED;
+            case IBAN_EXISTS, ACCOUNT_NUMBER_EXISTS, KEY_TOO_LONG -> throw new IllegalStateException("Unexpected status " + command.getStatus());
+        };
+    }
+
+    private static AccountReadOnlyDTO toDTO(LedgerAccount account) {
+        return new AccountReadOnlyDTO(account.id(), account.iban(), account.accountNumber(), Money.ofCents(account.balanceCents()).toBigDecimal());
+    }
+}
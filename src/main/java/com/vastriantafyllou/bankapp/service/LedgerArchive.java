@@ -0,0 +1,92 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.archive.LedgerSegment;
+import com.vastriantafyllou.bankapp.core.pagination.KeysetCursor;
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Monthly ledger segments moved out of the database. Every archived row is older than every row still
+ * in {@code account_transactions}, so history pages simply continue here once the table runs out.
+ * Without {@code bankapp.ledger.archive-dir} the archive is empty and nothing can be archived.
+ */
+@Component
+public class LedgerArchive {
+
+    private static final String SEGMENT_PREFIX = "ledger-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final NavigableMap<YearMonth, LedgerSegment> segments = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+
+    public LedgerArchive(@Value("${bankapp.ledger.archive-dir:}") String directory) throws IOException {
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        if (this.directory != null && Files.isDirectory(this.directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    YearMonth month = YearMonth.parse(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(month, LedgerSegment.open(file));
+                }
+            }
+        }
+    }
+
+    public Path segmentPath(YearMonth month) {
+        return directory.resolve(SEGMENT_PREFIX + month + SEGMENT_SUFFIX);
+    }
+
+    /** The configured directory, or {@code null} when none is. */
+    public Path directory() {
+        return directory;
+    }
+
+    public LedgerSegment segment(YearMonth month) {
+        return segments.get(month);
+    }
+
+    public LedgerSegment register(YearMonth month) throws IOException {
+        LedgerSegment segment = LedgerSegment.open(segmentPath(month));
+        segments.put(month, segment);
+        return segment;
+    }
+
+    /**
+     * Continues an account's history into the archive, newest month first, from {@code position}
+     * (exclusive) or from the newest archived row when {@code position} is {@code null}.
+     */
+    public List<TransactionReadOnlyDTO> findBefore(long accountId, KeysetCursor position, int limit) {
+        if (segments.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Collection<LedgerSegment> candidates = position == null
+                ? segments.values()
+                : segments.tailMap(YearMonth.from(position.createdAt()), true).values();
+        List<TransactionReadOnlyDTO> result = new ArrayList<>();
+        try {
+            for (LedgerSegment segment : candidates) {
+                result.addAll(segment.findBefore(accountId, position, limit - result.size()));
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes one outbox row per ledger row in the caller's transaction, so an event exists exactly when its
+ * ledger row committed. Plain JDBC batch inserts: the outbox id is AUTO_INCREMENT, which Hibernate would
+ * insert one statement at a time.
+ * Events are spread over {@code bankapp.outbox.partitions} by account id; changing that number while
+ * events are pending can reorder an account's undelivered events.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapp.outbox.enabled", havingValue = "true")
+public class LedgerOutbox {
+
+    private static final String INSERT = "insert into ledger_outbox (partition_no, account_id, account_iban, transaction_id, " +
+            "type, amount, balance_after, counterparty_iban, occurred_at, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int partitions;
+
+    public LedgerOutbox(DataSource dataSource, @Value("${bankapp.outbox.partitions:64}") int partitions) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.partitions = partitions;
+    }
+
+    public static int partitionOf(long accountId, int partitions) {
+        return Math.floorMod(accountId, partitions);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(List<AccountTransaction> transactions) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, transactions, transactions.size(), (ps, transaction) -> {
+            long accountId = transaction.getAccount().getId();
+            ps.setInt(1, partitionOf(accountId, partitions));
+            ps.setLong(2, accountId);
+            ps.setString(3, transaction.getAccount().getIban());
+            ps.setLong(4, transaction.getId());
+            ps.setString(5, transaction.getType().name());
+            ps.setBigDecimal(6, transaction.getAmount().toBigDecimal());
+            ps.setBigDecimal(7, transaction.getBalanceAfter() == null ? null : transaction.getBalanceAfter().toBigDecimal());
+            ps.setString(8, transaction.getCounterpartyIban());
+            ps.setTimestamp(9, Timestamp.valueOf(transaction.getCreatedAt()));
+            ps.setTimestamp(10, now);
+        });
+    }
+}
@@ -0,0 +1,224 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.outbox.LedgerEventSink;
+import com.vastriantafyllou.bankapp.mapper.Mapper;
+import com.vastriantafyllou.bankapp.model.LedgerOutboxEvent;
+import com.vastriantafyllou.bankapp.model.LedgerOutboxLease;
+import com.vastriantafyllou.bankapp.repository.LedgerOutboxLeaseRepository;
+import com.vastriantafyllou.bankapp.repository.LedgerOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the ledger outbox into the {@link LedgerEventSink}. Work is shared between nodes by leasing
+ * partitions: each cycle claims free partitions with {@code FOR UPDATE SKIP LOCKED}, publishes them in id
+ * order a batch at a time and deletes a batch only after the sink accepted it. A node that dies mid-batch
+ * lets its lease expire and the next owner publishes that batch again, so delivery is at-least-once.
+ * Partitions found empty are released straight away, which lets idle nodes pick up the busy ones.
+ * <p>
+ * A lease carries an epoch that moves whenever the partition changes hands. The lease is renewed against
+ * the epoch it was claimed with right before each publish, and again in the transaction that deletes the
+ * batch, which holds the lease row until it commits. A node whose sink was slow enough for the lease to
+ * pass to another node therefore stops at its next check and leaves the batch to the new owner.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapp.outbox.enabled", havingValue = "true")
+public class LedgerOutboxDispatcher {
+
+    private final LedgerOutboxRepository outboxRepository;
+    private final LedgerOutboxLeaseRepository leaseRepository;
+    private final LedgerEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+    private final int partitions;
+    private final int maxLeases;
+    private final int batchSize;
+    private final int maxBatchesPerPartition;
+    private final Duration leaseDuration;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Timer publishTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicInteger heldPartitions = new AtomicInteger();
+
+    public LedgerOutboxDispatcher(LedgerOutboxRepository outboxRepository,
+                                  LedgerOutboxLeaseRepository leaseRepository,
+                                  LedgerEventSink sink,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry registry,
+                                  @Value("${bankapp.outbox.partitions:64}") int partitions,
+                                  @Value("${bankapp.outbox.max-leases:16}") int maxLeases,
+                                  @Value("${bankapp.outbox.batch-size:500}") int batchSize,
+                                  @Value("${bankapp.outbox.max-batches-per-partition:20}") int maxBatchesPerPartition,
+                                  @Value("${bankapp.outbox.lease-millis:30000}") long leaseMillis) {
+        this.outboxRepository = outboxRepository;
+        this.leaseRepository = leaseRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = nodeName() + ":" + UUID.randomUUID();
+        this.partitions = partitions;
+        this.maxLeases = maxLeases;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPartition = maxBatchesPerPartition;
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
+
+        this.published = Counter.builder("bankapp.outbox.published")
+                .description("Outbox events accepted by the sink")
+                .register(registry);
+        this.failures = Counter.builder("bankapp.outbox.failures")
+                .description("Outbox batches the sink rejected; they are retried")
+                .register(registry);
+        this.publishTimer = Timer.builder("bankapp.outbox.publish")
+                .description("Time the sink takes to accept one batch")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("bankapp.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("bankapp.outbox.partitions.held", heldPartitions, AtomicInteger::get)
+                .description("Outbox partitions leased by this node")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${bankapp.outbox.initial-delay-millis:1000}",
+            fixedDelayString = "${bankapp.outbox.interval-millis:200}")
+    public void dispatch() {
+        Map<Integer, Long> claimed = transactionTemplate.execute(status -> claim());
+        heldPartitions.set(claimed == null ? 0 : claimed.size());
+
+        RuntimeException failure = null;
+        if (claimed != null) {
+            for (Map.Entry<Integer, Long> lease : claimed.entrySet()) {
+                int partition = lease.getKey();
+                try {
+                    drain(partition, lease.getValue());
+                } catch (IOException | RuntimeException e) {
+                    failures.increment();
+                    if (failure == null) {
+                        failure = new IllegalStateException("Publishing outbox partition " + partition + " failed", e);
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+
+        lagMillis.set(outboxRepository.findFirstByOrderByIdAsc()
+                .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+                .orElse(0L));
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @PreDestroy
+    public void releaseLeases() {
+        transactionTemplate.executeWithoutResult(status -> leaseRepository.releaseAll(owner, LocalDateTime.now()));
+    }
+
+    /** Claims free partitions and returns them with the epoch of this node's lease. */
+    private Map<Integer, Long> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        if (leaseRepository.count() < partitions) {
+            for (int partition = 0; partition < partitions; partition++) {
+                leaseRepository.insertIfMissing(partition, now);
+            }
+        }
+        List<Integer> claimable = leaseRepository.lockClaimable(partitions, owner, now, maxLeases);
+        Map<Integer, Long> claimed = new TreeMap<>();
+        if (!claimable.isEmpty()) {
+            leaseRepository.assign(claimable, owner, now.plus(leaseDuration));
+            for (LedgerOutboxLease lease : leaseRepository.findAllById(claimable)) {
+                claimed.put(lease.getPartition(), lease.getEpoch());
+            }
+        }
+        return claimed;
+    }
+
+    private void drain(int partition, long epoch) throws IOException {
+        for (int batch = 0; batch < maxBatchesPerPartition; batch++) {
+            List<LedgerOutboxEvent> events = outboxRepository.findNext(partition, batchSize);
+            if (events.isEmpty()) {
+                release(partition, epoch);
+                return;
+            }
+            if (!renew(partition, epoch)) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            sink.publish(events.stream().map(Mapper::mapToLedgerEventDTO).toList());
+            publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            published.increment(events.size());
+
+            if (!deleteIfStillHeld(partition, epoch, events)) {
+                return;
+            }
+            if (events.size() < batchSize) {
+                release(partition, epoch);
+                return;
+            }
+        }
+    }
+
+    private boolean renew(int partition, long epoch) {
+        Boolean renewed = transactionTemplate.execute(status -> renewInTransaction(partition, epoch));
+        return Boolean.TRUE.equals(renewed);
+    }
+
+    /**
+     * Deletes a published batch only while the lease is still this node's: the renewal locks the lease
+     * row, so no other node can claim the partition between the check and the commit.
+     */
+    private boolean deleteIfStillHeld(int partition, long epoch, List<LedgerOutboxEvent> events) {
+        Boolean deleted = transactionTemplate.execute(status -> {
+            if (!renewInTransaction(partition, epoch)) {
+                return false;
+            }
+            outboxRepository.deleteAllByIdInBatch(events.stream().map(LedgerOutboxEvent::getId).toList());
+            return true;
+        });
+        return Boolean.TRUE.equals(deleted);
+    }
+
+    private boolean renewInTransaction(int partition, long epoch) {
+        LocalDateTime now = LocalDateTime.now();
+        return leaseRepository.renew(partition, owner, epoch, now, now.plus(leaseDuration)) == 1;
+    }
+
+    private void release(int partition, long epoch) {
+        transactionTemplate.executeWithoutResult(status -> leaseRepository.release(partition, owner, epoch, LocalDateTime.now()));
+    }
+
+    private static String nodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.archive.LedgerSegment;
+import com.vastriantafyllou.bankapp.core.archive.LedgerSegmentWriter;
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@code account_transactions} range-partitioned by month on MySQL. Partitions are created a few
+ * months ahead by splitting the catch-all {@code p_future}; partitions older than the hot window are
+ * written to a {@link LedgerArchive} segment, checked row for row against the table and then dropped,
+ * which removes a month in one metadata operation instead of row-by-row deletes.
+ * The table must first be converted with {@code db/scripts/partition-account-transactions-by-month.sql}.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapp.ledger.partitioning.enabled", havingValue = "true")
+public class LedgerPartitionMaintenance {
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("p(\\d{4})(\\d{2})");
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final LedgerArchive ledgerArchive;
+    private final int monthsAhead;
+    private final int hotMonths;
+
+    public LedgerPartitionMaintenance(DataSource dataSource,
+                                      LedgerArchive ledgerArchive,
+                                      @Value("${bankapp.ledger.partitioning.months-ahead:3}") int monthsAhead,
+                                      @Value("${bankapp.ledger.partitioning.hot-months:12}") int hotMonths,
+                                      @Value("${bankapp.ledger.partitioning.fetch-size:-2147483648}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        if (ledgerArchive.directory() == null) {
+            throw new IllegalStateException("bankapp.ledger.partitioning.enabled needs bankapp.ledger.archive-dir, a durable directory: "
+                    + "archived partitions are dropped from the database");
+        }
+        this.ledgerArchive = ledgerArchive;
+        this.monthsAhead = monthsAhead;
+        this.hotMonths = hotMonths;
+    }
+
+    @Scheduled(initialDelayString = "${bankapp.ledger.partitioning.initial-delay-millis:60000}",
+            fixedDelayString = "${bankapp.ledger.partitioning.interval-millis:3600000}")
+    public void maintain() throws IOException {
+        List<YearMonth> partitions = monthlyPartitions();
+        ensureFuturePartitions(partitions);
+        YearMonth firstHotMonth = YearMonth.now().minusMonths(hotMonths);
+        for (YearMonth month : partitions) {
+            if (month.isBefore(firstHotMonth)) {
+                archive(month);
+            }
+        }
+    }
+
+    private List<YearMonth> monthlyPartitions() {
+        List<String> names = jdbcTemplate.queryForList("select partition_name from information_schema.partitions " +
+                "where table_schema = database() and table_name = 'account_transactions' and partition_name is not null " +
+                "order by partition_ordinal_position", String.class);
+        if (!names.contains(FUTURE_PARTITION)) {
+            throw new IllegalStateException("account_transactions has no " + FUTURE_PARTITION + " partition");
+        }
+        return names.stream()
+                .map(MONTHLY_PARTITION::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                .toList();
+    }
+
+    private void ensureFuturePartitions(List<YearMonth> partitions) {
+        YearMonth first;
+        if (partitions.isEmpty()) {
+            Timestamp oldest = jdbcTemplate.queryForObject("select min(created_at) from account_transactions", Timestamp.class);
+            first = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+        } else {
+            first = partitions.getLast().plusMonths(1);
+        }
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        if (first.isAfter(last)) {
+            return;
+        }
+
+        StringBuilder ddl = new StringBuilder("alter table account_transactions reorganize partition ")
+                .append(FUTURE_PARTITION).append(" into (");
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            ddl.append("partition ").append(PARTITION_NAME.format(month))
+                    .append(" values less than ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+        }
+        ddl.append("partition ").append(FUTURE_PARTITION).append(" values less than (maxvalue))");
+        jdbcTemplate.execute(ddl.toString());
+    }
+
+    private void archive(YearMonth month) throws IOException {
+        String partition = PARTITION_NAME.format(month);
+        Long rowsInTable = jdbcTemplate.queryForObject("select count(*) from account_transactions partition (" + partition + ")", Long.class);
+
+        LedgerSegment segment = ledgerArchive.segment(month);
+        if (segment == null) {
+            Path target = ledgerArchive.segmentPath(month);
+            Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.createDirectories(ledgerArchive.directory());
+            Files.deleteIfExists(temporary);
+            try (LedgerSegmentWriter writer = new LedgerSegmentWriter(temporary)) {
+                streamingJdbcTemplate.query("select account_id, id, type, amount, created_at, counterparty_iban, balance_after " +
+                        "from account_transactions partition (" + partition + ") order by account_id, created_at desc, id desc", rs -> {
+                    try {
+                        writer.append(rs.getLong(1), new TransactionReadOnlyDTO(rs.getLong(2), TransactionType.valueOf(rs.getString(3)),
+                                rs.getBigDecimal(4), rs.getTimestamp(5).toLocalDateTime(), rs.getString(6), rs.getBigDecimal(7)));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            segment = ledgerArchive.register(month);
+        }
+
+        if (rowsInTable == null || segment.rows() != rowsInTable) {
+            throw new IllegalStateException("Segment for " + month + " holds " + segment.rows() + " rows but partition "
+                    + partition + " holds " + rowsInTable + "; leaving the partition in place");
+        }
+        // The segment becomes the only copy: its contents and its name must be on disk before the drop.
+        force(ledgerArchive.segmentPath(month));
+        force(ledgerArchive.directory());
+        jdbcTemplate.execute("alter table account_transactions drop partition " + partition);
+    }
+
+    private static void force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.reconciliation.BalanceChainChecker;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationFinding;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationRange;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import com.vastriantafyllou.bankapp.repository.LedgerVerificationFindingRepository;
+import com.vastriantafyllou.bankapp.repository.LedgerVerificationRangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "bankapp.ledger.verification.enabled", havingValue = "true")
+public class LedgerRangeVerifier {
+
+    // Driven by account_transactions along idx_account_tx_account_created_id, which gives the order for
+    // free; both joins are unique-key lookups. The counterparty join tells a leg whose other side was
+    // deleted with its account from one that is missing; an account opened after the leg under the same
+    // IBAN is a different account and counts as deleted.
+    private static final String RANGE_SQL = "select t.account_id, a.iban, a.balance, t.id, t.type, t.amount, t.balance_after, "
+            + "t.counterparty_iban, case when c.created_at is null or c.created_at <= t.created_at then c.id end, t.created_at "
+            + "from account_transactions t "
+            + "left join accounts a on a.id = t.account_id "
+            + "left join accounts c on c.iban = t.counterparty_iban "
+            + "where t.account_id between ? and ? "
+            + "order by t.account_id, t.created_at, t.id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final LedgerVerificationRangeRepository rangeRepository;
+    private final LedgerVerificationFindingRepository findingRepository;
+    private final int maxFindingsPerRange;
+
+    public LedgerRangeVerifier(DataSource dataSource,
+                               LedgerVerificationRangeRepository rangeRepository,
+                               LedgerVerificationFindingRepository findingRepository,
+                               @Value("${bankapp.ledger.verification.fetch-size:-2147483648}") int fetchSize,
+                               @Value("${bankapp.ledger.verification.max-findings-per-range:100}") int maxFindingsPerRange) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.rangeRepository = rangeRepository;
+        this.findingRepository = findingRepository;
+        this.maxFindingsPerRange = maxFindingsPerRange;
+    }
+
+    /**
+     * Streams the range through a forward-only cursor. The read runs in one repeatable-read snapshot, so
+     * the account balances are those of the same instant as the rows, however long the range takes.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public VerifiedLedgerRange verify(Long runId, long firstAccountId, long lastAccountId, LocalDateTime legHorizon,
+                                      LocalDateTime transferCutoff) {
+        List<LedgerVerificationFinding> findings = new ArrayList<>();
+        BalanceChainChecker checker = new BalanceChainChecker(legHorizon, transferCutoff, finding -> {
+            if (findings.size() < maxFindingsPerRange) {
+                findings.add(LedgerVerificationFinding.builder()
+                        .runId(runId)
+                        .accountId(finding.accountId())
+                        .transactionId(finding.transactionId())
+                        .kind(finding.kind())
+                        .expected(finding.expectedCents() == null ? null : Money.ofCents(finding.expectedCents()))
+                        .actual(finding.actualCents() == null ? null : Money.ofCents(finding.actualCents()))
+                        .build());
+            }
+        });
+
+        streamingJdbcTemplate.query(RANGE_SQL, rs -> {
+            checker.accept(rs.getLong(1), rs.getString(2), cents(rs.getBigDecimal(3)), rs.getLong(4),
+                    TransactionType.valueOf(rs.getString(5)), Money.of(rs.getBigDecimal(6)).cents(), cents(rs.getBigDecimal(7)),
+                    rs.getString(8), rs.getObject(9) != null, rs.getTimestamp(10).toLocalDateTime());
+        }, firstAccountId, lastAccountId);
+        checker.finish();
+
+        LedgerVerificationRange range = LedgerVerificationRange.builder()
+                .runId(runId)
+                .firstAccountId(firstAccountId)
+                .lastAccountId(lastAccountId)
+                .rowsChecked(checker.getRows())
+                .accountsChecked(checker.getAccounts())
+                .unverifiableRows(checker.getUnverifiableRows())
+                .chainBreaks(checker.getChainBreaks())
+                .balanceMismatches(checker.getBalanceMismatches())
+                .missingAccounts(checker.getMissingAccounts())
+                .unpairableTransfers(checker.getUnpairableTransfers())
+                .transferOutCount(checker.getTransferOutCount())
+                .transferInCount(checker.getTransferInCount())
+                .transferOutAmount(Money.ofCents(checker.getTransferOutCents()))
+                .transferInAmount(Money.ofCents(checker.getTransferInCents()))
+                .transferFingerprint(checker.getTransferFingerprint())
+                .build();
+        return new VerifiedLedgerRange(range, findings);
+    }
+
+    /**
+     * Writes the range's checkpoint together with its findings. A range another node recorded first is
+     * left alone, so each range counts once in the run's totals.
+     */
+    @Transactional
+    public boolean record(VerifiedLedgerRange verified) {
+        LedgerVerificationRange range = verified.range();
+        if (rangeRepository.existsByRunIdAndFirstAccountId(range.getRunId(), range.getFirstAccountId())) {
+            return false;
+        }
+        range.setCompletedAt(LocalDateTime.now());
+        rangeRepository.save(range);
+        findingRepository.saveAll(verified.findings());
+        return true;
+    }
+
+    private static Long cents(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount).cents();
+    }
+}
@@ -0,0 +1,262 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.model.LedgerFindingKind;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationFinding;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationRange;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationRun;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationStatus;
+import com.vastriantafyllou.bankapp.repository.LedgerVerificationFindingRepository;
+import com.vastriantafyllou.bankapp.repository.LedgerVerificationRangeRepository;
+import com.vastriantafyllou.bankapp.repository.LedgerVerificationRunRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reconciles the ledger: every {@code balance_after} chain must be continuous and end at the account's
+ * balance, and every transfer-out leg must have its transfer-in leg. The account id space is cut into
+ * fixed ranges of {@code rangeSize} ids that {@code parallelism} workers take in turn and check with
+ * {@link LedgerRangeVerifier}, each holding one account's running state at a time.
+ * <p>
+ * Each finished range is checkpointed, so a run interrupted by a restart or failure is resumed where it
+ * stopped by the next call instead of starting over. The ranges' transfer sums are only combined once
+ * all of them are in, since the two legs of a transfer are usually read by different workers; when they
+ * do not balance, each range's sums are written as findings so the imbalance can be narrowed down.
+ * <p>
+ * With partitioning on, a run fixes a leg horizon when it starts: the first day of the oldest month the
+ * partition maintenance cannot drop before the next month begins. Older legs are not paired, since one
+ * worker may read a leg that is gone by the time another reads its pair.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapp.ledger.verification.enabled", havingValue = "true")
+public class LedgerVerifier {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LedgerRangeVerifier rangeVerifier;
+    private final LedgerVerificationRunRepository runRepository;
+    private final LedgerVerificationRangeRepository rangeRepository;
+    private final LedgerVerificationFindingRepository findingRepository;
+    private final long rangeSize;
+    private final int parallelism;
+    private final Duration transferSettle;
+    private final Integer hotMonths;
+    private final ExecutorService workers;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter rowsChecked;
+    private final Map<LedgerFindingKind, Counter> findings = new EnumMap<>(LedgerFindingKind.class);
+    private final Counter unbalancedRuns;
+
+    public LedgerVerifier(DataSource dataSource,
+                          LedgerRangeVerifier rangeVerifier,
+                          LedgerVerificationRunRepository runRepository,
+                          LedgerVerificationRangeRepository rangeRepository,
+                          LedgerVerificationFindingRepository findingRepository,
+                          MeterRegistry registry,
+                          @Value("${bankapp.ledger.verification.range-size:10000}") long rangeSize,
+                          @Value("${bankapp.ledger.verification.parallelism:4}") int parallelism,
+                          @Value("${bankapp.ledger.verification.transfer-settle-seconds:60}") long transferSettleSeconds,
+                          @Value("${bankapp.ledger.partitioning.enabled:false}") boolean partitioned,
+                          @Value("${bankapp.ledger.partitioning.hot-months:12}") int hotMonths) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.rangeVerifier = rangeVerifier;
+        this.runRepository = runRepository;
+        this.rangeRepository = rangeRepository;
+        this.findingRepository = findingRepository;
+        this.rangeSize = rangeSize;
+        this.parallelism = parallelism;
+        this.transferSettle = Duration.ofSeconds(transferSettleSeconds);
+        this.hotMonths = partitioned ? hotMonths : null;
+        this.workers = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("ledger-verifier-", 0).daemon().factory());
+
+        this.rowsChecked = Counter.builder("bankapp.ledger.verification.rows")
+                .description("Ledger rows checked by the integrity verifier")
+                .register(registry);
+        for (LedgerFindingKind kind : LedgerFindingKind.values()) {
+            findings.put(kind, Counter.builder("bankapp.ledger.verification.findings")
+                    .description("Ledger integrity findings, by kind")
+                    .tag("kind", kind.name())
+                    .register(registry));
+        }
+        this.unbalancedRuns = Counter.builder("bankapp.ledger.verification.unbalanced-runs")
+                .description("Verification runs whose transfer legs did not pair up")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${bankapp.ledger.verification.initial-delay-millis:300000}",
+            fixedDelayString = "${bankapp.ledger.verification.interval-millis:86400000}")
+    public void scheduledVerify() {
+        verify();
+    }
+
+    /**
+     * Resumes the unfinished run, or starts one, and runs it to completion. Empty when a run is already
+     * in progress in this process.
+     */
+    public Optional<LedgerVerificationRun> verify() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            LedgerVerificationRun run = runRepository.findFirstByStatusOrderByIdDesc(LedgerVerificationStatus.RUNNING)
+                    .orElseGet(this::startRun);
+            verifyRanges(run);
+            return Optional.of(finish(run));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private LedgerVerificationRun startRun() {
+        // Taken from the ledger rather than the accounts, so rows left behind by a deleted account are covered.
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("select min(account_id) as first_id, max(account_id) as last_id from account_transactions");
+        Number first = (Number) bounds.get("first_id");
+        Number last = (Number) bounds.get("last_id");
+        LocalDateTime now = LocalDateTime.now();
+        return runRepository.save(LedgerVerificationRun.builder()
+                .status(LedgerVerificationStatus.RUNNING)
+                .firstAccountId(first == null ? 0 : first.longValue())
+                .lastAccountId(last == null ? -1 : last.longValue())
+                .rangeSize(rangeSize)
+                .legHorizon(hotMonths == null ? null : YearMonth.from(now).minusMonths(hotMonths - 1).atDay(1).atStartOfDay())
+                .transferCutoff(now.minus(transferSettle))
+                .startedAt(now)
+                .build());
+    }
+
+    private void verifyRanges(LedgerVerificationRun run) {
+        Set<Long> done = new HashSet<>(rangeRepository.findFirstAccountIdsByRunId(run.getId()));
+        AtomicLong nextFirst = new AtomicLong(run.getFirstAccountId());
+        AtomicBoolean failed = new AtomicBoolean();
+
+        List<Future<?>> futures = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            futures.add(workers.submit(() -> {
+                try {
+                    long first;
+                    while (!failed.get() && (first = nextFirst.getAndAdd(run.getRangeSize())) <= run.getLastAccountId()) {
+                        if (done.contains(first)) {
+                            continue;
+                        }
+                        long last = Math.min(first + run.getRangeSize() - 1, run.getLastAccountId());
+                        VerifiedLedgerRange verified = rangeVerifier.verify(run.getId(), first, last, run.getLegHorizon(), run.getTransferCutoff());
+                        if (record(verified)) {
+                            count(verified.range());
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                    throw e;
+                }
+            }));
+        }
+
+        // The run stays RUNNING on failure; the ranges already recorded are skipped when it is resumed.
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.set(true);
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+
+    /** Two nodes can both find a range unrecorded; the unique key lets only one of them in. */
+    private boolean record(VerifiedLedgerRange verified) {
+        try {
+            return rangeVerifier.record(verified);
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private LedgerVerificationRun finish(LedgerVerificationRun run) {
+        List<LedgerVerificationRange> ranges = rangeRepository.findByRunId(run.getId());
+        long rows = 0, accounts = 0, unverifiable = 0, chainBreaks = 0, balanceMismatches = 0, missingAccounts = 0, unpairable = 0;
+        long outCount = 0, inCount = 0, outCents = 0, inCents = 0, fingerprint = 0;
+        for (LedgerVerificationRange range : ranges) {
+            rows += range.getRowsChecked();
+            accounts += range.getAccountsChecked();
+            unverifiable += range.getUnverifiableRows();
+            chainBreaks += range.getChainBreaks();
+            balanceMismatches += range.getBalanceMismatches();
+            missingAccounts += range.getMissingAccounts();
+            unpairable += range.getUnpairableTransfers();
+            outCount += range.getTransferOutCount();
+            inCount += range.getTransferInCount();
+            outCents += range.getTransferOutAmount().cents();
+            inCents += range.getTransferInAmount().cents();
+            fingerprint += range.getTransferFingerprint();
+        }
+        boolean balanced = outCount == inCount && outCents == inCents && fingerprint == 0;
+        if (!balanced) {
+            unbalancedRuns.increment();
+            if (!findingRepository.existsByRunIdAndKind(run.getId(), LedgerFindingKind.TRANSFER_RANGE_SUMS)) {
+                findingRepository.saveAll(ranges.stream().map(range -> LedgerVerificationFinding.builder()
+                        .runId(run.getId())
+                        .accountId(range.getFirstAccountId())
+                        .kind(LedgerFindingKind.TRANSFER_RANGE_SUMS)
+                        .expected(range.getTransferOutAmount())
+                        .actual(range.getTransferInAmount())
+                        .build()).toList());
+            }
+        }
+
+        run.setRowsChecked(rows);
+        run.setAccountsChecked(accounts);
+        run.setUnverifiableRows(unverifiable);
+        run.setChainBreaks(chainBreaks);
+        run.setBalanceMismatches(balanceMismatches);
+        run.setMissingAccounts(missingAccounts);
+        run.setUnpairableTransfers(unpairable);
+        run.setTransferOutCount(outCount);
+        run.setTransferInCount(inCount);
+        run.setTransferOutAmount(Money.ofCents(outCents));
+        run.setTransferInAmount(Money.ofCents(inCents));
+        run.setTransfersBalanced(balanced);
+        run.setStatus(LedgerVerificationStatus.COMPLETED);
+        run.setFinishedAt(LocalDateTime.now());
+        return runRepository.save(run);
+    }
+
+    private void count(LedgerVerificationRange range) {
+        rowsChecked.increment(range.getRowsChecked());
+        findings.get(LedgerFindingKind.CHAIN_BREAK).increment(range.getChainBreaks());
+        findings.get(LedgerFindingKind.BALANCE_MISMATCH).increment(range.getBalanceMismatches());
+        findings.get(LedgerFindingKind.MISSING_ACCOUNT).increment(range.getMissingAccounts());
+    }
+}
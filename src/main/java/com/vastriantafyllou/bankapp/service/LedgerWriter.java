@@ -0,0 +1,48 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.repository.AccountTransactionRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Single entry point for appending ledger rows, always inside the caller's transaction.
+ */
+@Component
+public class LedgerWriter {
+
+    private final AccountTransactionRepository accountTransactionRepository;
+    private final DailyBalanceRollup dailyBalanceRollup;
+    private final AccountCache accountCache;
+    private final AccountViewProjector accountViewProjector;
+    private final LedgerOutbox ledgerOutbox;
+
+    public LedgerWriter(AccountTransactionRepository accountTransactionRepository,
+                        DailyBalanceRollup dailyBalanceRollup,
+                        AccountCache accountCache,
+                        AccountViewProjector accountViewProjector,
+                        ObjectProvider<LedgerOutbox> ledgerOutbox) {
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.dailyBalanceRollup = dailyBalanceRollup;
+        this.accountCache = accountCache;
+        this.accountViewProjector = accountViewProjector;
+        this.ledgerOutbox = ledgerOutbox.getIfAvailable();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<AccountTransaction> transactions) {
+        accountTransactionRepository.saveAll(transactions);
+        dailyBalanceRollup.apply(transactions);
+        accountViewProjector.apply(transactions);
+        if (ledgerOutbox != null) {
+            ledgerOutbox.append(transactions);
+        }
+        accountCache.evictAfterCommit(transactions.stream()
+                .map(transaction -> transaction.getAccount().getIban())
+                .toList());
+    }
+}
@@ -0,0 +1,9 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.dto.BulkTransferLineDTO;
+
+/**
+ * One line of a bulk file: either a parsed transfer, a parse error, or neither for a header line.
+ */
+public record ParsedBulkLine(long lineNumber, BulkTransferLineDTO transfer, String error) {
+}
@@ -0,0 +1,25 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+public class PendingOperation {
+
+    private final TransactionType type;
+    private final Money amount;
+    private final CompletableFuture<OperationResult> result = new CompletableFuture<>();
+
+    @Setter
+    private OperationResult rejection;
+
+    public PendingOperation(TransactionType type, Money amount) {
+        this.type = type;
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,139 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.concurrency.AccountLockMode;
+import com.vastriantafyllou.bankapp.core.concurrency.AccountShards;
+import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * Runs each money movement on the {@link AccountShards} thread owning its accounts. The shard is then the
+ * only writer of those rows in this process, so the write skips FOR UPDATE and relies on the version
+ * check; a conflict can only come from a writer outside the shards (bulk transfers, standing orders,
+ * another node) and is retried once with row locks, taken in IBAN order by {@link AccountServiceImpl}.
+ * A caller with a transaction open stays on its own thread, since the shard could not join it.
+ */
+@RequiredArgsConstructor
+public class ShardedAccountService implements IAccountService {
+
+    private final AccountServiceImpl delegate;
+    private final AccountShards shards;
+
+    @Override
+    public AccountReadOnlyDTO createAccount(AccountInsertDTO dto) throws AccountAlreadyExistsException, AccountNumberAlreadyExistsException {
+        return delegate.createAccount(dto);
+    }
+
+    @Override
+    public void deposit(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException {
+        OperationResult result = tryDeposit(iban, amount);
+        switch (result.getOutcome()) {
+            case NEGATIVE_AMOUNT -> throw new NegativeAmountException(result.getMessage());
+            case ACCOUNT_NOT_FOUND -> throw new AccountNotFoundException(result.getMessage());
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void withdraw(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException {
+        OperationResult result = tryWithdraw(iban, amount);
+        switch (result.getOutcome()) {
+            case NEGATIVE_AMOUNT -> throw new NegativeAmountException(result.getMessage());
+            case ACCOUNT_NOT_FOUND -> throw new AccountNotFoundException(result.getMessage());
+            case INSUFFICIENT_BALANCE -> throw new InsufficientBalanceException(result.getMessage());
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void transfer(String fromIban, String toIban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException {
+        OperationResult result = tryTransfer(fromIban, toIban, amount);
+        switch (result.getOutcome()) {
+            case NEGATIVE_AMOUNT -> throw new NegativeAmountException(result.getMessage());
+            case INVALID_TRANSFER -> throw new InvalidTransferException(result.getMessage());
+            case ACCOUNT_NOT_FOUND -> throw new AccountNotFoundException(result.getMessage());
+            case INSUFFICIENT_BALANCE -> throw new InsufficientBalanceException(result.getMessage());
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public OperationResult tryDeposit(String iban, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.tryDeposit(iban, amount);
+        }
+        return shards.execute(iban, () -> withRetry(mode -> delegate.tryDeposit(iban, amount, mode)));
+    }
+
+    @Override
+    public OperationResult tryWithdraw(String iban, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.tryWithdraw(iban, amount);
+        }
+        return shards.execute(iban, () -> withRetry(mode -> delegate.tryWithdraw(iban, amount, mode)));
+    }
+
+    @Override
+    public OperationResult tryTransfer(String fromIban, String toIban, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.tryTransfer(fromIban, toIban, amount);
+        }
+        return shards.execute(fromIban, toIban, () -> withRetry(mode -> delegate.tryTransfer(fromIban, toIban, amount, mode)));
+    }
+
+    @Override
+    public BigDecimal getBalance(String iban) throws AccountNotFoundException {
+        return delegate.getBalance(iban);
+    }
+
+    @Override
+    public Slice<AccountReadOnlyDTO> getAccounts(String ibanPrefix, Pageable pageable) {
+        return delegate.getAccounts(ibanPrefix, pageable);
+    }
+
+    @Override
+    public AccountReadOnlyDTO getAccountByIban(String iban) throws AccountNotFoundException {
+        return delegate.getAccountByIban(iban);
+    }
+
+    @Override
+    public long getAccountVersion(String iban) throws AccountNotFoundException {
+        return delegate.getAccountVersion(iban);
+    }
+
+    @Override
+    public TransactionHistoryDTO getTransactionHistory(String iban, String cursor, int size) throws AccountNotFoundException {
+        return delegate.getTransactionHistory(iban, cursor, size);
+    }
+
+    @Override
+    public void deleteAccount(String iban) throws AccountNotFoundException {
+        delegate.deleteAccount(iban);
+    }
+
+    private static OperationResult withRetry(Function<AccountLockMode, OperationResult> attempt) {
+        try {
+            return attempt.apply(AccountLockMode.OPTIMISTIC);
+        } catch (OptimisticLockingFailureException e) {
+            return attempt.apply(AccountLockMode.PESSIMISTIC);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.metrics.ServiceMetrics;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.model.Account;
+import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.model.StandingOrder;
+import com.vastriantafyllou.bankapp.model.StandingOrderFrequency;
+import com.vastriantafyllou.bankapp.model.StandingOrderStatus;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import com.vastriantafyllou.bankapp.repository.AccountRepository;
+import com.vastriantafyllou.bankapp.repository.StandingOrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@Service
+@RequiredArgsConstructor
+public class StandingOrderBatchWriter {
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final AccountRepository accountRepository;
+    private final LedgerWriter ledgerWriter;
+    private final ServiceMetrics serviceMetrics;
+
+    /**
+     * Runs a batch of due occurrences in one transaction. The orders are locked first, in id order, and
+     * an occurrence runs only if its order is still active and still due at the time it was loaded with;
+     * the transfer and the move to the next occurrence commit together, so after a crash or on a second
+     * node the same occurrence is found already advanced and skipped. The accounts are then locked in
+     * IBAN order, like a bulk transfer chunk, and the transfers applied in IBAN order.
+     * Declined transfers still advance the order: a standing order is not retried within an occurrence.
+     */
+    @Transactional
+    public List<StandingOrderRun> execute(List<DueStandingOrder> batch) {
+        serviceMetrics.trackTransaction();
+        Map<Long, DueStandingOrder> dueById = new LinkedHashMap<>();
+        batch.forEach(due -> dueById.putIfAbsent(due.id(), due));
+
+        List<StandingOrder> orders = new ArrayList<>(dueById.size());
+        for (StandingOrder order : standingOrderRepository.findAllByIdInForUpdate(dueById.keySet())) {
+            if (order.getStatus() == StandingOrderStatus.ACTIVE && order.getNextRunAt().equals(dueById.get(order.getId()).dueAt())) {
+                orders.add(order);
+            }
+        }
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        orders.sort(Comparator.comparing(StandingOrder::getFromIban).thenComparing(StandingOrder::getId));
+
+        TreeSet<String> ibans = new TreeSet<>();
+        for (StandingOrder order : orders) {
+            ibans.add(order.getFromIban());
+            ibans.add(order.getToIban());
+        }
+        Map<String, Account> accounts = new HashMap<>();
+        serviceMetrics.timeLockWait(() -> accountRepository.findAllByIbanInForUpdate(ibans))
+                .forEach(account -> accounts.put(account.getIban(), account));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AccountTransaction> transactions = new ArrayList<>();
+        List<StandingOrderRun> runs = new ArrayList<>(orders.size());
+        for (StandingOrder order : orders) {
+            OperationResult.Outcome outcome = transfer(order, accounts, now, transactions);
+            advance(order, outcome, now);
+            runs.add(new StandingOrderRun(dueById.get(order.getId()), outcome, now,
+                    order.getStatus() == StandingOrderStatus.ACTIVE ? order.getNextRunAt() : null));
+        }
+
+        if (!transactions.isEmpty()) {
+            accountRepository.saveAll(accounts.values());
+            ledgerWriter.record(transactions);
+        }
+        standingOrderRepository.saveAll(orders);
+        return runs;
+    }
+
+    /**
+     * Takes an order whose occurrence keeps failing out of rotation, if it is still active and still at
+     * that occurrence. Returns whether it was marked.
+     */
+    @Transactional
+    public boolean markFailed(DueStandingOrder due) {
+        for (StandingOrder order : standingOrderRepository.findAllByIdInForUpdate(List.of(due.id()))) {
+            if (order.getStatus() == StandingOrderStatus.ACTIVE && order.getNextRunAt().equals(due.dueAt())) {
+                order.setStatus(StandingOrderStatus.FAILED);
+                order.setLastRunAt(LocalDateTime.now());
+                standingOrderRepository.save(order);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static OperationResult.Outcome transfer(StandingOrder order, Map<String, Account> accounts, LocalDateTime now,
+                                                    List<AccountTransaction> transactions) {
+        Account fromAccount = accounts.get(order.getFromIban());
+        Account toAccount = accounts.get(order.getToIban());
+        if (fromAccount == null || toAccount == null) {
+            return OperationResult.Outcome.ACCOUNT_NOT_FOUND;
+        }
+        Money amount = order.getAmount();
+        if (amount.isGreaterThan(fromAccount.getBalance())) {
+            return OperationResult.Outcome.INSUFFICIENT_BALANCE;
+        }
+        if (!toAccount.getBalance().canAdd(amount)) {
+            return OperationResult.Outcome.NEGATIVE_AMOUNT;
+        }
+        fromAccount.setBalance(fromAccount.getBalance().minus(amount));
+        toAccount.setBalance(toAccount.getBalance().plus(amount));
+
+        transactions.add(AccountTransaction.builder()
+                .account(fromAccount)
+                .type(TransactionType.TRANSFER_OUT)
+                .amount(amount)
+                .createdAt(now)
+                .counterpartyIban(toAccount.getIban())
+                .balanceAfter(fromAccount.getBalance())
+                .build());
+        transactions.add(AccountTransaction.builder()
+                .account(toAccount)
+                .type(TransactionType.TRANSFER_IN)
+                .amount(amount)
+                .createdAt(now)
+                .counterpartyIban(fromAccount.getIban())
+                .balanceAfter(toAccount.getBalance())
+                .build());
+        return OperationResult.Outcome.APPLIED;
+    }
+
+    /**
+     * Moves the order to its first occurrence after {@code now}. Occurrences missed while the engine was
+     * down are not made up: the overdue one runs once and the order continues from the present.
+     */
+    private static void advance(StandingOrder order, OperationResult.Outcome outcome, LocalDateTime now) {
+        order.setLastRunAt(now);
+        order.setLastOutcome(outcome);
+        if (outcome == OperationResult.Outcome.APPLIED) {
+            order.setExecutedCount(order.getExecutedCount() + 1);
+        } else {
+            order.setDeclinedCount(order.getDeclinedCount() + 1);
+        }
+
+        if (outcome == OperationResult.Outcome.ACCOUNT_NOT_FOUND) {
+            order.setStatus(StandingOrderStatus.CANCELLED);
+            return;
+        }
+        if (order.getFrequency() == StandingOrderFrequency.ONCE) {
+            order.setStatus(StandingOrderStatus.COMPLETED);
+            return;
+        }
+        long occurrence = order.getOccurrence();
+        LocalDateTime next;
+        do {
+            occurrence++;
+            next = order.getFrequency().occurrence(order.getStartAt(), occurrence);
+        } while (!next.isAfter(now));
+        order.setOccurrence(occurrence);
+        order.setNextRunAt(next);
+    }
+}
@@ -0,0 +1,11 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param nextRunAt the next occurrence if the order is still active, otherwise {@code null}
+ */
+public record StandingOrderRun(DueStandingOrder due, OperationResult.Outcome outcome, LocalDateTime executedAt, LocalDateTime nextRunAt) {
+}
@@ -0,0 +1,296 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.core.scheduling.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs standing orders off a {@link HierarchicalTimingWheel} instead of polling the table. Orders due
+ * within the load horizon are read into the wheel at startup and the window is extended as time
+ * passes; every tick takes the due occurrences out of the wheel, sorts them by payer IBAN and hands them
+ * to {@link StandingOrderBatchWriter} in batches, at most {@code parallelism} at a time and each after a
+ * random delay of up to {@code jitterMillis}, so a million orders due at midnight do not hit the database
+ * in the same second.
+ * <p>
+ * The wheel is only an index: the row decides. An occurrence loaded twice, or still in the wheel after
+ * another node ran it, is skipped by the writer, and one that was in the wheel when the node stopped is
+ * overdue at the next startup and runs then.
+ * <p>
+ * A batch that fails on a transient database error is put back {@code retryMillis} later as a whole. Any
+ * other failure is bisected: the halves run again at once, down to single orders, so one order that
+ * cannot run does not hold back the rest of its batch. A single order is put back {@code retryMillis}
+ * later, and once it has failed {@code maxAttempts} times in a row it is marked
+ * {@link com.vastriantafyllou.bankapp.model.StandingOrderStatus#FAILED FAILED}.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapp.standing-orders.enabled", havingValue = "true", matchIfMissing = true)
+public class StandingOrderScheduler {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final String DUE_PAGE_QUERY = "select id, from_iban, next_run_at from standing_orders "
+            + "where status = 'ACTIVE' and next_run_at < ? and (next_run_at > ? or (next_run_at = ? and id > ?)) "
+            + "order by next_run_at, id limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StandingOrderBatchWriter batchWriter;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final HierarchicalTimingWheel<DueStandingOrder> wheel;
+    private final ScheduledExecutorService batchExecutor;
+    private final Duration loadHorizon;
+    private final int batchSize;
+    private final long jitterMillis;
+    private final long retryMillis;
+    private final int maxAttempts;
+    private final Map<Long, Integer> attempts = new ConcurrentHashMap<>();
+
+    private final Timer lag;
+    private final Map<OperationResult.Outcome, Counter> executions = new EnumMap<>(OperationResult.Outcome.class);
+    private final Counter failures;
+    private final Counter failedOrders;
+    private final AtomicInteger pendingBatches = new AtomicInteger();
+
+    /** Everything due before this has been loaded into the wheel; guarded by {@code wheel}. */
+    private LocalDateTime loadedUntil = LocalDateTime.MIN;
+
+    public StandingOrderScheduler(DataSource dataSource,
+                                  StandingOrderBatchWriter batchWriter,
+                                  MeterRegistry registry,
+                                  @Value("${bankapp.standing-orders.tick-millis:1000}") long tickMillis,
+                                  @Value("${bankapp.standing-orders.wheel-size:64}") int wheelSize,
+                                  @Value("${bankapp.standing-orders.levels:4}") int levels,
+                                  @Value("${bankapp.standing-orders.load-horizon-hours:24}") long loadHorizonHours,
+                                  @Value("${bankapp.standing-orders.batch-size:200}") int batchSize,
+                                  @Value("${bankapp.standing-orders.parallelism:4}") int parallelism,
+                                  @Value("${bankapp.standing-orders.jitter-millis:2000}") long jitterMillis,
+                                  @Value("${bankapp.standing-orders.retry-millis:30000}") long retryMillis,
+                                  @Value("${bankapp.standing-orders.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.batchWriter = batchWriter;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, levels, System.currentTimeMillis());
+        this.batchExecutor = Executors.newScheduledThreadPool(parallelism);
+        this.loadHorizon = Duration.ofHours(loadHorizonHours);
+        this.batchSize = batchSize;
+        this.jitterMillis = jitterMillis;
+        this.retryMillis = retryMillis;
+        this.maxAttempts = maxAttempts;
+        if (loadHorizon.toMillis() >= wheel.getHorizonMillis()) {
+            throw new IllegalArgumentException("bankapp.standing-orders.load-horizon-hours exceeds the timing wheel horizon");
+        }
+
+        this.lag = Timer.builder("bankapp.standing-orders.lag")
+                .description("Time from an occurrence's due time to its execution")
+                .publishPercentileHistogram()
+                .register(registry);
+        for (OperationResult.Outcome outcome : OperationResult.Outcome.values()) {
+            executions.put(outcome, Counter.builder("bankapp.standing-orders.executions")
+                    .description("Standing order occurrences executed, by outcome")
+                    .tag("outcome", outcome.name())
+                    .register(registry));
+        }
+        this.failures = Counter.builder("bankapp.standing-orders.failures")
+                .description("Standing order batches that failed and were rescheduled or bisected")
+                .register(registry);
+        this.failedOrders = Counter.builder("bankapp.standing-orders.failed")
+                .description("Standing orders marked FAILED after failing max-attempts times in a row")
+                .register(registry);
+        Gauge.builder("bankapp.standing-orders.scheduled", this, StandingOrderScheduler::getScheduled)
+                .description("Occurrences waiting in the timing wheel")
+                .register(registry);
+        Gauge.builder("bankapp.standing-orders.batches.pending", pendingBatches, AtomicInteger::get)
+                .description("Batches taken from the wheel and not yet committed")
+                .register(registry);
+    }
+
+    /** Loads everything due within the horizon, overdue occurrences included. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        extendWindow();
+    }
+
+    /**
+     * Moves the loaded window forward. The bound is raised before the query runs, so an order created or
+     * advanced meanwhile is either seen by the query or scheduled by {@link #schedule}; at worst both.
+     * The window is read in keyset pages along the status/next_run_at index rather than streamed, so no
+     * connection is held for the whole load.
+     */
+    @Scheduled(initialDelayString = "${bankapp.standing-orders.reload-interval-millis:60000}",
+            fixedDelayString = "${bankapp.standing-orders.reload-interval-millis:60000}")
+    public void extendWindow() {
+        LocalDateTime from;
+        LocalDateTime until = LocalDateTime.now().plus(loadHorizon);
+        synchronized (wheel) {
+            from = loadedUntil;
+            if (!until.isAfter(from)) {
+                return;
+            }
+            loadedUntil = until;
+        }
+        Timestamp untilTimestamp = Timestamp.valueOf(until);
+        Timestamp after = from == LocalDateTime.MIN ? new Timestamp(0) : Timestamp.valueOf(from);
+        long afterId = Long.MIN_VALUE;
+        List<DueStandingOrder> page;
+        do {
+            page = jdbcTemplate.query(DUE_PAGE_QUERY,
+                    (rs, rowNum) -> new DueStandingOrder(rs.getLong(1), rs.getString(2), rs.getTimestamp(3).toLocalDateTime()),
+                    untilTimestamp, after, after, afterId, LOAD_PAGE_SIZE);
+            scheduleAll(page);
+            if (!page.isEmpty()) {
+                DueStandingOrder last = page.getLast();
+                after = Timestamp.valueOf(last.dueAt());
+                afterId = last.id();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+    }
+
+    @Scheduled(initialDelayString = "${bankapp.standing-orders.tick-millis:1000}",
+            fixedDelayString = "${bankapp.standing-orders.tick-millis:1000}")
+    public void tick() {
+        Map<Long, DueStandingOrder> due = new LinkedHashMap<>();
+        synchronized (wheel) {
+            wheel.advanceTo(System.currentTimeMillis(), order -> due.putIfAbsent(order.id(), order));
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        List<DueStandingOrder> sorted = new ArrayList<>(due.values());
+        sorted.sort(Comparator.comparing(DueStandingOrder::fromIban).thenComparingLong(DueStandingOrder::id));
+        for (int from = 0; from < sorted.size(); from += batchSize) {
+            submit(List.copyOf(sorted.subList(from, Math.min(from + batchSize, sorted.size()))));
+        }
+    }
+
+    /** Puts an occurrence in the wheel if it falls in the loaded window; later ones are picked up by the next load. */
+    public void schedule(DueStandingOrder due) {
+        synchronized (wheel) {
+            if (due.dueAt().isBefore(loadedUntil)) {
+                wheel.schedule(due, toMillis(due.dueAt()));
+            }
+        }
+    }
+
+    public int getScheduled() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    public int getPendingBatches() {
+        return pendingBatches.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
+    }
+
+    private void scheduleAll(List<DueStandingOrder> orders) {
+        synchronized (wheel) {
+            orders.forEach(due -> wheel.schedule(due, toMillis(due.dueAt())));
+        }
+    }
+
+    private void submit(List<DueStandingOrder> batch) {
+        pendingBatches.incrementAndGet();
+        long delay = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis) : 0;
+        batchExecutor.schedule(() -> {
+            try {
+                execute(batch);
+            } finally {
+                pendingBatches.decrementAndGet();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void execute(List<DueStandingOrder> batch) {
+        List<StandingOrderRun> runs;
+        try {
+            runs = batchWriter.execute(batch);
+        } catch (RuntimeException e) {
+            failures.increment();
+            if (isTransient(e)) {
+                retryLater(batch);
+            } else if (batch.size() > 1) {
+                int middle = batch.size() / 2;
+                execute(batch.subList(0, middle));
+                execute(batch.subList(middle, batch.size()));
+            } else {
+                failed(batch.get(0));
+            }
+            return;
+        }
+        batch.forEach(due -> attempts.remove(due.id()));
+        for (StandingOrderRun run : runs) {
+            lag.record(Duration.between(run.due().dueAt(), run.executedAt()));
+            executions.get(run.outcome()).increment();
+            if (run.nextRunAt() != null) {
+                schedule(new DueStandingOrder(run.due().id(), run.due().fromIban(), run.nextRunAt()));
+            }
+        }
+    }
+
+    /** A single order failed on its own: put it back, or mark it once it has used up its attempts. */
+    private void failed(DueStandingOrder due) {
+        if (attempts.merge(due.id(), 1, Integer::sum) < maxAttempts) {
+            retryLater(List.of(due));
+            return;
+        }
+        try {
+            if (batchWriter.markFailed(due)) {
+                failedOrders.increment();
+            }
+            attempts.remove(due.id());
+        } catch (RuntimeException e) {
+            retryLater(List.of(due));
+        }
+    }
+
+    private void retryLater(List<DueStandingOrder> batch) {
+        long retryAt = System.currentTimeMillis() + retryMillis;
+        synchronized (wheel) {
+            batch.forEach(due -> wheel.schedule(due, retryAt));
+        }
+    }
+
+    /** Failures that say nothing about the orders themselves: the whole batch is worth running again as is. */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+}
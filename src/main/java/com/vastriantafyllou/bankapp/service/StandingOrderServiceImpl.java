@@ -0,0 +1,118 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.exception.StandingOrderNotFoundException;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.StandingOrderInsertDTO;
+import com.vastriantafyllou.bankapp.dto.StandingOrderReadOnlyDTO;
+import com.vastriantafyllou.bankapp.mapper.Mapper;
+import com.vastriantafyllou.bankapp.model.StandingOrder;
+import com.vastriantafyllou.bankapp.model.StandingOrderStatus;
+import com.vastriantafyllou.bankapp.repository.AccountRepository;
+import com.vastriantafyllou.bankapp.repository.StandingOrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class StandingOrderServiceImpl implements IStandingOrderService {
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final AccountRepository accountRepository;
+    private final ObjectProvider<StandingOrderScheduler> scheduler;
+
+    @Override
+    @Transactional
+    public StandingOrderReadOnlyDTO create(StandingOrderInsertDTO dto) throws NegativeAmountException, InvalidTransferException, AccountNotFoundException {
+        if (dto.getAmount() != null && !Money.fits(dto.getAmount())) {
+            throw new NegativeAmountException(OperationResult.AMOUNT_OUT_OF_RANGE.getMessage());
+        }
+        if (dto.getAmount() == null || !Money.of(dto.getAmount()).isPositive()) {
+            throw new NegativeAmountException("Το ποσό της πάγιας εντολής πρέπει να είναι θετικό");
+        }
+        if (dto.getFromIban().equals(dto.getToIban())) {
+            throw new InvalidTransferException("Δεν επιτρέπεται μεταφορά στον ίδιο λογαριασμό");
+        }
+        for (String iban : List.of(dto.getFromIban(), dto.getToIban())) {
+            if (!accountRepository.existsByIban(iban)) {
+                throw new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε");
+            }
+        }
+
+        // Whole seconds, so the due time the scheduler holds compares equal to the one read back from the column.
+        LocalDateTime startAt = dto.getStartAt().truncatedTo(ChronoUnit.SECONDS);
+        StandingOrder order = standingOrderRepository.save(StandingOrder.builder()
+                .fromIban(dto.getFromIban())
+                .toIban(dto.getToIban())
+                .amount(Money.of(dto.getAmount()))
+                .frequency(dto.getFrequency())
+                .status(StandingOrderStatus.ACTIVE)
+                .startAt(startAt)
+                .occurrence(0)
+                .nextRunAt(startAt)
+                .createdAt(LocalDateTime.now())
+                .build());
+        scheduleAfterCommit(new DueStandingOrder(order.getId(), order.getFromIban(), order.getNextRunAt()));
+        return Mapper.mapToStandingOrderDTO(order);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StandingOrderReadOnlyDTO getStandingOrder(Long id) throws StandingOrderNotFoundException {
+        return Mapper.mapToStandingOrderDTO(standingOrderRepository.findById(id)
+                .orElseThrow(() -> notFound(id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StandingOrderReadOnlyDTO> getStandingOrders(String fromIban) {
+        return standingOrderRepository.findByFromIbanOrderByNextRunAtAsc(fromIban).stream()
+                .map(Mapper::mapToStandingOrderDTO)
+                .toList();
+    }
+
+    /**
+     * Takes the same row lock as the executing batch, so a cancel either waits for a running occurrence
+     * or stops it. The occurrence left in the wheel is skipped when it comes due.
+     */
+    @Override
+    @Transactional
+    public StandingOrderReadOnlyDTO cancel(Long id) throws StandingOrderNotFoundException {
+        StandingOrder order = standingOrderRepository.findAllByIdInForUpdate(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> notFound(id));
+        if (order.getStatus() == StandingOrderStatus.ACTIVE) {
+            order.setStatus(StandingOrderStatus.CANCELLED);
+            order = standingOrderRepository.save(order);
+        }
+        return Mapper.mapToStandingOrderDTO(order);
+    }
+
+    private void scheduleAfterCommit(DueStandingOrder due) {
+        StandingOrderScheduler standingOrderScheduler = scheduler.getIfAvailable();
+        if (standingOrderScheduler == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                standingOrderScheduler.schedule(due);
+            }
+        });
+    }
+
+    private static StandingOrderNotFoundException notFound(Long id) {
+        return new StandingOrderNotFoundException("Η πάγια εντολή " + id + " δεν βρέθηκε");
+    }
+}
@@ -0,0 +1,83 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidStatementRangeException;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.dto.DailyBalanceDTO;
+import com.vastriantafyllou.bankapp.dto.StatementDTO;
+import com.vastriantafyllou.bankapp.model.Account;
+import com.vastriantafyllou.bankapp.repository.AccountDailyBalanceRepository;
+import com.vastriantafyllou.bankapp.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Answers balance-on-date and statement queries from the daily rollups, so the cost depends on the
+ * number of days asked for rather than the number of ledger rows behind them.
+ */
+@Service
+@RequiredArgsConstructor
+public class StatementServiceImpl implements IStatementService {
+
+    private final AccountRepository accountRepository;
+    private final AccountDailyBalanceRepository accountDailyBalanceRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceOn(String iban, LocalDate date) throws AccountNotFoundException {
+        Account account = accountRepository.findByIban(iban)
+                .orElseThrow(() -> new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε"));
+        return balanceAtEndOf(account, date);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StatementDTO getStatement(String iban, LocalDate from, LocalDate to) throws AccountNotFoundException, InvalidStatementRangeException {
+        if (from.isAfter(to)) {
+            throw new InvalidStatementRangeException("Η ημερομηνία έναρξης πρέπει να είναι πριν από την ημερομηνία λήξης");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= STATEMENT_MAX_DAYS) {
+            throw new InvalidStatementRangeException("Το διάστημα της κατάστασης δεν μπορεί να υπερβαίνει τις " + STATEMENT_MAX_DAYS + " ημέρες");
+        }
+        Account account = accountRepository.findByIban(iban)
+                .orElseThrow(() -> new AccountNotFoundException("Ο λογαριασμός με IBAN " + iban + " δεν βρέθηκε"));
+
+        List<DailyBalanceDTO> days = accountDailyBalanceRepository.findByAccountIdBetween(account.getId(), from, to);
+        StatementDTO statement = new StatementDTO(iban, from, to, null, null, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0, 0, 0, days);
+        if (days.isEmpty()) {
+            BigDecimal balance = balanceAtEndOf(account, to);
+            statement.setOpeningBalance(balance);
+            statement.setClosingBalance(balance);
+            return statement;
+        }
+
+        // No ledger activity falls between `from` and the first rollup, or between the last rollup and `to`.
+        statement.setOpeningBalance(days.getFirst().getOpeningBalance());
+        statement.setClosingBalance(days.getLast().getClosingBalance());
+        for (DailyBalanceDTO day : days) {
+            statement.setCreditTotal(statement.getCreditTotal().add(day.getCreditTotal()));
+            statement.setDebitTotal(statement.getDebitTotal().add(day.getDebitTotal()));
+            statement.setDepositCount(statement.getDepositCount() + day.getDepositCount());
+            statement.setWithdrawCount(statement.getWithdrawCount() + day.getWithdrawCount());
+            statement.setTransferInCount(statement.getTransferInCount() + day.getTransferInCount());
+            statement.setTransferOutCount(statement.getTransferOutCount() + day.getTransferOutCount());
+        }
+        return statement;
+    }
+
+    private BigDecimal balanceAtEndOf(Account account, LocalDate date) {
+        List<Money> closing = accountDailyBalanceRepository.findClosingBalanceOnOrBefore(account.getId(), date, Limit.of(1));
+        if (!closing.isEmpty()) {
+            return closing.getFirst().toBigDecimal();
+        }
+        List<Money> opening = accountDailyBalanceRepository.findOpeningBalanceAfter(account.getId(), date, Limit.of(1));
+        return (opening.isEmpty() ? account.getBalance() : opening.getFirst()).toBigDecimal();
+    }
+}
@@ -0,0 +1,107 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.concurrency.IbanLockStripes;
+import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+
+/**
+ * Serializes writes per IBAN stripe before the delegate opens its transaction.
+ */
+@RequiredArgsConstructor
+public class StripedLockingAccountService implements IAccountService {
+
+    private final IAccountService delegate;
+    private final IbanLockStripes stripes;
+
+    @Override
+    public AccountReadOnlyDTO createAccount(AccountInsertDTO dto) throws AccountAlreadyExistsException, AccountNumberAlreadyExistsException {
+        return delegate.createAccount(dto);
+    }
+
+    @Override
+    public void deposit(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException {
+        try (IbanLockStripes.Lease ignored = stripes.lock(iban)) {
+            delegate.deposit(iban, amount);
+        }
+    }
+
+    @Override
+    public void withdraw(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException {
+        try (IbanLockStripes.Lease ignored = stripes.lock(iban)) {
+            delegate.withdraw(iban, amount);
+        }
+    }
+
+    @Override
+    public void transfer(String fromIban, String toIban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException {
+        try (IbanLockStripes.Lease ignored = stripes.lock(fromIban, toIban)) {
+            delegate.transfer(fromIban, toIban, amount);
+        }
+    }
+
+    @Override
+    public OperationResult tryDeposit(String iban, BigDecimal amount) {
+        try (IbanLockStripes.Lease ignored = stripes.lock(iban)) {
+            return delegate.tryDeposit(iban, amount);
+        }
+    }
+
+    @Override
+    public OperationResult tryWithdraw(String iban, BigDecimal amount) {
+        try (IbanLockStripes.Lease ignored = stripes.lock(iban)) {
+            return delegate.tryWithdraw(iban, amount);
+        }
+    }
+
+    @Override
+    public OperationResult tryTransfer(String fromIban, String toIban, BigDecimal amount) {
+        try (IbanLockStripes.Lease ignored = stripes.lock(fromIban, toIban)) {
+            return delegate.tryTransfer(fromIban, toIban, amount);
+        }
+    }
+
+    @Override
+    public BigDecimal getBalance(String iban) throws AccountNotFoundException {
+        return delegate.getBalance(iban);
+    }
+
+    @Override
+    public Slice<AccountReadOnlyDTO> getAccounts(String ibanPrefix, Pageable pageable) {
+        return delegate.getAccounts(ibanPrefix, pageable);
+    }
+
+    @Override
+    public AccountReadOnlyDTO getAccountByIban(String iban) throws AccountNotFoundException {
+        return delegate.getAccountByIban(iban);
+    }
+
+    @Override
+    public long getAccountVersion(String iban) throws AccountNotFoundException {
+        return delegate.getAccountVersion(iban);
+    }
+
+    @Override
+    public TransactionHistoryDTO getTransactionHistory(String iban, String cursor, int size) throws AccountNotFoundException {
+        return delegate.getTransactionHistory(iban, cursor, size);
+    }
+
+    @Override
+    public void deleteAccount(String iban) throws AccountNotFoundException {
+        try (IbanLockStripes.Lease ignored = stripes.lock(iban)) {
+            delegate.deleteAccount(iban);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost layer of the service chain: a latency histogram per operation and outcome, plus a
+ * counter per domain exception type and one per rejection returned by the try operations. The meters
+ * an operation can hit are registered up front, so a call only picks a field or a map entry; only an
+ * unexpected exception type registers its meters on first sight.
+ */
+public class TimedAccountService implements IAccountService {
+
+    private static final List<Class<? extends Exception>> READ_EXCEPTIONS = List.of(AccountNotFoundException.class);
+    private static final List<Class<? extends Exception>> WRITE_EXCEPTIONS = List.of(NegativeAmountException.class,
+            AccountNotFoundException.class, InsufficientBalanceException.class, InvalidTransferException.class);
+
+    private final IAccountService delegate;
+    private final MeterRegistry registry;
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final Map<OperationResult.Outcome, Counter> rejectionCounters = new EnumMap<>(OperationResult.Outcome.class);
+
+    private final OperationTimers createAccountTimers;
+    private final OperationTimers depositTimers;
+    private final OperationTimers withdrawTimers;
+    private final OperationTimers transferTimers;
+    private final OperationTimers getBalanceTimers;
+    private final OperationTimers getAccountsTimers;
+    private final OperationTimers getAccountByIbanTimers;
+    private final OperationTimers getAccountVersionTimers;
+    private final OperationTimers getTransactionHistoryTimers;
+    private final OperationTimers deleteAccountTimers;
+
+    public TimedAccountService(IAccountService delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+        for (OperationResult.Outcome outcome : OperationResult.Outcome.values()) {
+            if (outcome != OperationResult.Outcome.APPLIED) {
+                rejectionCounters.put(outcome, Counter.builder("bankapp.account.rejections")
+                        .description("Rejections returned by the IAccountService try operations")
+                        .tag("outcome", outcome.name())
+                        .register(registry));
+            }
+        }
+
+        this.createAccountTimers = new OperationTimers("createAccount", false,
+                List.of(AccountAlreadyExistsException.class, AccountNumberAlreadyExistsException.class));
+        this.depositTimers = new OperationTimers("deposit", true, WRITE_EXCEPTIONS);
+        this.withdrawTimers = new OperationTimers("withdraw", true, WRITE_EXCEPTIONS);
+        this.transferTimers = new OperationTimers("transfer", true, WRITE_EXCEPTIONS);
+        this.getBalanceTimers = new OperationTimers("getBalance", false, READ_EXCEPTIONS);
+        this.getAccountsTimers = new OperationTimers("getAccounts", false, List.of());
+        this.getAccountByIbanTimers = new OperationTimers("getAccountByIban", false, READ_EXCEPTIONS);
+        this.getAccountVersionTimers = new OperationTimers("getAccountVersion", false, READ_EXCEPTIONS);
+        this.getTransactionHistoryTimers = new OperationTimers("getTransactionHistory", false, READ_EXCEPTIONS);
+        this.deleteAccountTimers = new OperationTimers("deleteAccount", false, READ_EXCEPTIONS);
+    }
+
+    @Override
+    public AccountReadOnlyDTO createAccount(AccountInsertDTO dto) throws AccountAlreadyExistsException, AccountNumberAlreadyExistsException {
+        long start = System.nanoTime();
+        try {
+            AccountReadOnlyDTO account = delegate.createAccount(dto);
+            success(createAccountTimers, start);
+            return account;
+        } catch (Exception e) {
+            failure(createAccountTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void deposit(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            delegate.deposit(iban, amount);
+            success(depositTimers, start);
+        } catch (Exception e) {
+            failure(depositTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void withdraw(String iban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException {
+        long start = System.nanoTime();
+        try {
+            delegate.withdraw(iban, amount);
+            success(withdrawTimers, start);
+        } catch (Exception e) {
+            failure(withdrawTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void transfer(String fromIban, String toIban, BigDecimal amount) throws NegativeAmountException, AccountNotFoundException, InsufficientBalanceException, InvalidTransferException {
+        long start = System.nanoTime();
+        try {
+            delegate.transfer(fromIban, toIban, amount);
+            success(transferTimers, start);
+        } catch (Exception e) {
+            failure(transferTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public OperationResult tryDeposit(String iban, BigDecimal amount) {
+        long start = System.nanoTime();
+        try {
+            OperationResult result = delegate.tryDeposit(iban, amount);
+            outcome(depositTimers, start, result);
+            return result;
+        } catch (RuntimeException e) {
+            failure(depositTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public OperationResult tryWithdraw(String iban, BigDecimal amount) {
+        long start = System.nanoTime();
+        try {
+            OperationResult result = delegate.tryWithdraw(iban, amount);
+            outcome(withdrawTimers, start, result);
+            return result;
+        } catch (RuntimeException e) {
+            failure(withdrawTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public OperationResult tryTransfer(String fromIban, String toIban, BigDecimal amount) {
+        long start = System.nanoTime();
+        try {
+            OperationResult result = delegate.tryTransfer(fromIban, toIban, amount);
+            outcome(transferTimers, start, result);
+            return result;
+        } catch (RuntimeException e) {
+            failure(transferTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public BigDecimal getBalance(String iban) throws AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            BigDecimal balance = delegate.getBalance(iban);
+            success(getBalanceTimers, start);
+            return balance;
+        } catch (Exception e) {
+            failure(getBalanceTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Slice<AccountReadOnlyDTO> getAccounts(String ibanPrefix, Pageable pageable) {
+        long start = System.nanoTime();
+        try {
+            Slice<AccountReadOnlyDTO> accounts = delegate.getAccounts(ibanPrefix, pageable);
+            success(getAccountsTimers, start);
+            return accounts;
+        } catch (RuntimeException e) {
+            failure(getAccountsTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public AccountReadOnlyDTO getAccountByIban(String iban) throws AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            AccountReadOnlyDTO account = delegate.getAccountByIban(iban);
+            success(getAccountByIbanTimers, start);
+            return account;
+        } catch (Exception e) {
+            failure(getAccountByIbanTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long getAccountVersion(String iban) throws AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            long version = delegate.getAccountVersion(iban);
+            success(getAccountVersionTimers, start);
+            return version;
+        } catch (Exception e) {
+            failure(getAccountVersionTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public TransactionHistoryDTO getTransactionHistory(String iban, String cursor, int size) throws AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            TransactionHistoryDTO history = delegate.getTransactionHistory(iban, cursor, size);
+            success(getTransactionHistoryTimers, start);
+            return history;
+        } catch (Exception e) {
+            failure(getTransactionHistoryTimers, start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void deleteAccount(String iban) throws AccountNotFoundException {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteAccount(iban);
+            success(deleteAccountTimers, start);
+        } catch (Exception e) {
+            failure(deleteAccountTimers, start, e);
+            throw e;
+        }
+    }
+
+    private void success(OperationTimers timers, long start) {
+        timers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void outcome(OperationTimers timers, long start, OperationResult result) {
+        if (result.isApplied()) {
+            success(timers, start);
+            return;
+        }
+        timers.rejections.get(result.getOutcome()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        rejectionCounters.get(result.getOutcome()).increment();
+    }
+
+    private void failure(OperationTimers timers, long start, Exception e) {
+        timers.failure(e.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        errorCounter(e.getClass()).increment();
+    }
+
+    private Counter errorCounter(Class<?> type) {
+        return errorCounters.computeIfAbsent(type, key -> Counter.builder("bankapp.account.errors")
+                .description("Domain and unexpected exceptions raised by IAccountService")
+                .tag("exception", key.getSimpleName())
+                .register(registry));
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("bankapp.account.operation")
+                .description("IAccountService operation latency")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** The timers of one operation: success, each rejection of a try operation, each exception type. */
+    private final class OperationTimers {
+
+        private final String operation;
+        private final Timer success;
+        private final Map<OperationResult.Outcome, Timer> rejections = new EnumMap<>(OperationResult.Outcome.class);
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        private OperationTimers(String operation, boolean rejects, List<Class<? extends Exception>> exceptions) {
+            this.operation = operation;
+            this.success = timer(operation, "success");
+            if (rejects) {
+                for (OperationResult.Outcome outcome : rejectionCounters.keySet()) {
+                    rejections.put(outcome, timer(operation, outcome.name()));
+                }
+            }
+            for (Class<? extends Exception> type : exceptions) {
+                failures.put(type, timer(operation, type.getSimpleName()));
+                errorCounter(type);
+            }
+        }
+
+        private Timer failure(Class<?> type) {
+            return failures.computeIfAbsent(type, key -> timer(operation, key.getSimpleName()));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.model.LedgerVerificationFinding;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationRange;
+
+import java.util.List;
+
+/**
+ * One checked account range, not yet recorded; {@code findings} holds at most the configured number.
+ */
+public record VerifiedLedgerRange(LedgerVerificationRange range, List<LedgerVerificationFinding> findings) {
+}
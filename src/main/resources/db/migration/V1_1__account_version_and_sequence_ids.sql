@@ -0,0 +1,33 @@
+-- Optimistic-locking version, sequence-backed ids and the keyset history index on the two tables of the
+-- last release.
+
+ALTER TABLE accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- MySQL cannot partition a table that has foreign keys, and the entity maps account_id without one. The
+-- constraint name is whatever ddl-auto=update generated, so it is looked up.
+SET @fk = (SELECT constraint_name
+           FROM information_schema.referential_constraints
+           WHERE constraint_schema = DATABASE() AND table_name = 'account_transactions'
+           LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE account_transactions DROP FOREIGN KEY ', @fk));
+PREPARE drop_fk FROM @ddl;
+EXECUTE drop_fk;
+DEALLOCATE PREPARE drop_fk;
+
+-- Ids are assigned by the application from here on. Hibernate emulates each sequence with a single-row
+-- table, and the pooled optimizer hands out (next_val - 49, next_val] first, so next_val starts at
+-- MAX(id) + allocationSize + 1 to keep the first block above every existing id.
+ALTER TABLE accounts MODIFY id BIGINT NOT NULL;
+ALTER TABLE account_transactions MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE accounts_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO accounts_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM accounts;
+
+CREATE TABLE account_transactions_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO account_transactions_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM account_transactions;
+
+CREATE INDEX idx_account_tx_account_created_id ON account_transactions (account_id, created_at, id);
@@ -0,0 +1,99 @@
+-- Daily rollups, the account read model, idempotency keys, bulk transfer jobs and the ledger outbox.
+-- Existing accounts need db/scripts/backfill-account-daily-balances.sql before statements cover them.
+
+CREATE TABLE account_daily_balances (
+    account_id         BIGINT         NOT NULL,
+    business_date      DATE           NOT NULL,
+    opening_balance    DECIMAL(19, 2) NOT NULL,
+    closing_balance    DECIMAL(19, 2) NOT NULL,
+    credit_total       DECIMAL(19, 2) NOT NULL,
+    debit_total        DECIMAL(19, 2) NOT NULL,
+    deposit_count      BIGINT         NOT NULL,
+    withdraw_count     BIGINT         NOT NULL,
+    transfer_in_count  BIGINT         NOT NULL,
+    transfer_out_count BIGINT         NOT NULL,
+    PRIMARY KEY (account_id, business_date)
+) ENGINE = InnoDB;
+
+CREATE TABLE account_views (
+    account_id          BIGINT         NOT NULL,
+    iban                VARCHAR(255)   NOT NULL,
+    account_number      VARCHAR(255),
+    balance             DECIMAL(19, 2) NOT NULL,
+    month_start         DATE           NOT NULL,
+    month_credits       DECIMAL(19, 2) NOT NULL,
+    month_debits        DECIMAL(19, 2) NOT NULL,
+    month_transactions  BIGINT         NOT NULL,
+    recent_transactions LONGTEXT       NOT NULL,
+    updated_at          DATETIME(6)    NOT NULL,
+    PRIMARY KEY (account_id),
+    UNIQUE INDEX idx_account_views_iban (iban)
+) ENGINE = InnoDB;
+
+CREATE TABLE idempotency_keys (
+    scoped_key VARCHAR(400) NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    expires_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (scoped_key),
+    INDEX idx_idempotency_keys_expires_at (expires_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE bulk_transfer_jobs (
+    id                  BIGINT                                             NOT NULL,
+    file_name           VARCHAR(255)                                       NOT NULL,
+    format              ENUM ('CSV', 'NDJSON')                             NOT NULL,
+    status              ENUM ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED') NOT NULL,
+    input_path          VARCHAR(255),
+    report_path         VARCHAR(255),
+    last_committed_line BIGINT                                             NOT NULL,
+    accepted_count      BIGINT                                             NOT NULL,
+    rejected_count      BIGINT                                             NOT NULL,
+    error_message       VARCHAR(512),
+    created_at          DATETIME(6)                                        NOT NULL,
+    updated_at          DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE bulk_transfer_jobs_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO bulk_transfer_jobs_seq VALUES (1);
+
+CREATE TABLE bulk_transfer_chunks (
+    id             BIGINT  NOT NULL,
+    job_id         BIGINT  NOT NULL,
+    first_line     BIGINT  NOT NULL,
+    last_line      BIGINT  NOT NULL,
+    accepted_count INTEGER NOT NULL,
+    rejected_count INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_bulk_chunk_job_first_line UNIQUE (job_id, first_line)
+) ENGINE = InnoDB;
+
+CREATE TABLE bulk_transfer_chunks_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO bulk_transfer_chunks_seq VALUES (1);
+
+CREATE TABLE ledger_outbox (
+    id                BIGINT                                                NOT NULL AUTO_INCREMENT,
+    partition_no      INTEGER                                               NOT NULL,
+    account_id        BIGINT                                                NOT NULL,
+    account_iban      VARCHAR(64)                                           NOT NULL,
+    transaction_id    BIGINT                                                NOT NULL,
+    type              ENUM ('DEPOSIT', 'WITHDRAW', 'TRANSFER_IN', 'TRANSFER_OUT') NOT NULL,
+    amount            DECIMAL(19, 2)                                        NOT NULL,
+    balance_after     DECIMAL(19, 2),
+    counterparty_iban VARCHAR(64),
+    occurred_at       DATETIME(6)                                           NOT NULL,
+    created_at        DATETIME(6)                                           NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_ledger_outbox_partition_id (partition_no, id)
+) ENGINE = InnoDB;
+
+CREATE TABLE ledger_outbox_leases (
+    partition_no INTEGER     NOT NULL,
+    owner        VARCHAR(128),
+    lease_until  DATETIME(6) NOT NULL,
+    PRIMARY KEY (partition_no)
+) ENGINE = InnoDB;
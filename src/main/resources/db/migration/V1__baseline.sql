@@ -0,0 +1,25 @@
+-- Schema of the last release managed by ddl-auto=update: accounts and account_transactions as Hibernate
+-- created them, with AUTO_INCREMENT ids and the foreign key to accounts. Existing databases are baselined
+-- at this version (spring.flyway.baseline-on-migrate) and continue from V1_1; new databases run it.
+
+CREATE TABLE accounts (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    account_number VARCHAR(255),
+    balance        DECIMAL(19, 2) NOT NULL,
+    iban           VARCHAR(255)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_accounts_account_number UNIQUE (account_number),
+    CONSTRAINT uk_accounts_iban UNIQUE (iban)
+) ENGINE = InnoDB;
+
+CREATE TABLE account_transactions (
+    id                BIGINT                                                NOT NULL AUTO_INCREMENT,
+    amount            DECIMAL(19, 2)                                        NOT NULL,
+    balance_after     DECIMAL(19, 2),
+    counterparty_iban VARCHAR(64),
+    created_at        DATETIME(6)                                           NOT NULL,
+    type              ENUM ('DEPOSIT', 'WITHDRAW', 'TRANSFER_IN', 'TRANSFER_OUT') NOT NULL,
+    account_id        BIGINT                                                NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_account_transactions_account FOREIGN KEY (account_id) REFERENCES accounts (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,24 @@
+CREATE TABLE standing_orders (
+    id             BIGINT                                       NOT NULL,
+    from_iban      VARCHAR(64)                                  NOT NULL,
+    to_iban        VARCHAR(64)                                  NOT NULL,
+    amount         DECIMAL(19, 2)                               NOT NULL,
+    frequency      ENUM ('ONCE', 'DAILY', 'WEEKLY', 'MONTHLY')  NOT NULL,
+    status         ENUM ('ACTIVE', 'COMPLETED', 'CANCELLED')    NOT NULL,
+    start_at       DATETIME(6)                                  NOT NULL,
+    occurrence     BIGINT                                       NOT NULL,
+    next_run_at    DATETIME(6)                                  NOT NULL,
+    last_run_at    DATETIME(6),
+    last_outcome   ENUM ('APPLIED', 'NEGATIVE_AMOUNT', 'INVALID_TRANSFER', 'ACCOUNT_NOT_FOUND', 'INSUFFICIENT_BALANCE'),
+    executed_count BIGINT                                       NOT NULL,
+    declined_count BIGINT                                       NOT NULL,
+    created_at     DATETIME(6)                                  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_standing_orders_status_next_run (status, next_run_at),
+    INDEX idx_standing_orders_from_iban (from_iban)
+) ENGINE = InnoDB;
+
+CREATE TABLE standing_orders_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO standing_orders_seq VALUES (1);
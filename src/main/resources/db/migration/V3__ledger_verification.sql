@@ -0,0 +1,72 @@
+CREATE TABLE ledger_verification_runs (
+    id                   BIGINT                          NOT NULL,
+    status               ENUM ('RUNNING', 'COMPLETED')   NOT NULL,
+    first_account_id     BIGINT                          NOT NULL,
+    last_account_id      BIGINT                          NOT NULL,
+    range_size           BIGINT                          NOT NULL,
+    transfer_cutoff      DATETIME(6)                     NOT NULL,
+    started_at           DATETIME(6)                     NOT NULL,
+    finished_at          DATETIME(6),
+    rows_checked         BIGINT,
+    accounts_checked     BIGINT,
+    unverifiable_rows    BIGINT,
+    chain_breaks         BIGINT,
+    balance_mismatches   BIGINT,
+    missing_accounts     BIGINT,
+    unpairable_transfers BIGINT,
+    transfer_out_count   BIGINT,
+    transfer_in_count    BIGINT,
+    transfer_out_amount  DECIMAL(19, 2),
+    transfer_in_amount   DECIMAL(19, 2),
+    transfers_balanced   BIT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE ledger_verification_runs_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO ledger_verification_runs_seq VALUES (1);
+
+CREATE TABLE ledger_verification_ranges (
+    id                   BIGINT         NOT NULL,
+    run_id               BIGINT         NOT NULL,
+    first_account_id     BIGINT         NOT NULL,
+    last_account_id      BIGINT         NOT NULL,
+    rows_checked         BIGINT         NOT NULL,
+    accounts_checked     BIGINT         NOT NULL,
+    unverifiable_rows    BIGINT         NOT NULL,
+    chain_breaks         BIGINT         NOT NULL,
+    balance_mismatches   BIGINT         NOT NULL,
+    missing_accounts     BIGINT         NOT NULL,
+    unpairable_transfers BIGINT         NOT NULL,
+    transfer_out_count   BIGINT         NOT NULL,
+    transfer_in_count    BIGINT         NOT NULL,
+    transfer_out_amount  DECIMAL(19, 2) NOT NULL,
+    transfer_in_amount   DECIMAL(19, 2) NOT NULL,
+    transfer_fingerprint BIGINT         NOT NULL,
+    completed_at         DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ledger_verification_range_run_first UNIQUE (run_id, first_account_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE ledger_verification_ranges_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO ledger_verification_ranges_seq VALUES (1);
+
+CREATE TABLE ledger_verification_findings (
+    id             BIGINT                                                        NOT NULL,
+    run_id         BIGINT                                                        NOT NULL,
+    account_id     BIGINT                                                        NOT NULL,
+    transaction_id BIGINT,
+    kind           ENUM ('CHAIN_BREAK', 'BALANCE_MISMATCH', 'MISSING_ACCOUNT')  NOT NULL,
+    expected       DECIMAL(19, 2),
+    actual         DECIMAL(19, 2),
+    PRIMARY KEY (id),
+    INDEX idx_ledger_verification_findings_run_account (run_id, account_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE ledger_verification_findings_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO ledger_verification_findings_seq VALUES (1);
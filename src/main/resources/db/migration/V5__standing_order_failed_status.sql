@@ -0,0 +1,2 @@
+ALTER TABLE standing_orders
+    MODIFY COLUMN status ENUM ('ACTIVE', 'COMPLETED', 'CANCELLED', 'FAILED') NOT NULL;
@@ -0,0 +1,2 @@
+ALTER TABLE bulk_transfer_chunks
+    ADD COLUMN line_results LONGTEXT;
@@ -0,0 +1,2 @@
+ALTER TABLE ledger_outbox_leases
+    ADD COLUMN epoch BIGINT NOT NULL DEFAULT 0;
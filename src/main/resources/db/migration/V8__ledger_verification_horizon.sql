@@ -0,0 +1,8 @@
+ALTER TABLE accounts
+    ADD COLUMN created_at DATETIME(6);
+
+ALTER TABLE ledger_verification_runs
+    ADD COLUMN leg_horizon DATETIME(6);
+
+ALTER TABLE ledger_verification_findings
+    MODIFY COLUMN kind ENUM ('CHAIN_BREAK', 'BALANCE_MISMATCH', 'MISSING_ACCOUNT', 'TRANSFER_RANGE_SUMS') NOT NULL;
@@ -0,0 +1,43 @@
+-- One-off backfill of account_daily_balances from the existing ledger (MySQL 8+).
+-- Run it with the application stopped, once migration V1_2 has created the table: it recomputes every day from the ledger.
+-- Rows without balance_after cannot be placed on the balance timeline and are skipped.
+
+CREATE TABLE IF NOT EXISTS account_daily_balances (
+    account_id         BIGINT         NOT NULL,
+    business_date      DATE           NOT NULL,
+    opening_balance    DECIMAL(19, 2) NOT NULL,
+    closing_balance    DECIMAL(19, 2) NOT NULL,
+    credit_total       DECIMAL(19, 2) NOT NULL,
+    debit_total        DECIMAL(19, 2) NOT NULL,
+    deposit_count      BIGINT         NOT NULL,
+    withdraw_count     BIGINT         NOT NULL,
+    transfer_in_count  BIGINT         NOT NULL,
+    transfer_out_count BIGINT         NOT NULL,
+    PRIMARY KEY (account_id, business_date)
+);
+
+DELETE FROM account_daily_balances;
+
+INSERT INTO account_daily_balances (account_id, business_date, opening_balance, closing_balance, credit_total, debit_total,
+                                    deposit_count, withdraw_count, transfer_in_count, transfer_out_count)
+SELECT account_id,
+       business_date,
+       MAX(CASE WHEN first_of_day = 1 THEN balance_after - signed_amount END),
+       MAX(CASE WHEN last_of_day = 1 THEN balance_after END),
+       SUM(CASE WHEN signed_amount > 0 THEN amount ELSE 0 END),
+       SUM(CASE WHEN signed_amount < 0 THEN amount ELSE 0 END),
+       SUM(type = 'DEPOSIT'),
+       SUM(type = 'WITHDRAW'),
+       SUM(type = 'TRANSFER_IN'),
+       SUM(type = 'TRANSFER_OUT')
+FROM (SELECT t.account_id,
+             DATE(t.created_at) AS business_date,
+             t.type,
+             t.amount,
+             t.balance_after,
+             CASE WHEN t.type IN ('DEPOSIT', 'TRANSFER_IN') THEN t.amount ELSE -t.amount END AS signed_amount,
+             ROW_NUMBER() OVER (PARTITION BY t.account_id, DATE(t.created_at) ORDER BY t.created_at, t.id) AS first_of_day,
+             ROW_NUMBER() OVER (PARTITION BY t.account_id, DATE(t.created_at) ORDER BY t.created_at DESC, t.id DESC) AS last_of_day
+      FROM account_transactions t
+      WHERE t.balance_after IS NOT NULL) ledger
+GROUP BY account_id, business_date;
@@ -0,0 +1,27 @@
+-- One-off conversion of account_transactions to a RANGE COLUMNS partitioned table (MySQL 8+).
+-- Run it with the application stopped, then start with bankapp.ledger.partitioning.enabled=true:
+-- the maintenance job splits p_future into one partition per month from the oldest row onwards.
+--
+-- MySQL requires the partitioning column in every unique key and does not allow foreign keys on
+-- partitioned tables, so the primary key becomes (id, created_at) and the FK to accounts is dropped.
+
+SET @fk = (SELECT constraint_name
+           FROM information_schema.referential_constraints
+           WHERE constraint_schema = DATABASE() AND table_name = 'account_transactions'
+           LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE account_transactions DROP FOREIGN KEY ', @fk));
+PREPARE drop_fk FROM @ddl;
+EXECUTE drop_fk;
+DEALLOCATE PREPARE drop_fk;
+
+ALTER TABLE account_transactions DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE account_transactions PARTITION BY RANGE COLUMNS (created_at) (
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+-- Per-partition footprint, for comparing hot and cold months:
+-- SELECT partition_name, table_rows, data_length, index_length
+-- FROM information_schema.partitions
+-- WHERE table_schema = DATABASE() AND table_name = 'account_transactions'
+-- ORDER BY partition_ordinal_position;
@@ -3,7 +3,7 @@ package com.vastriantafyllou.bankapp;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "bankapp.bulk.storage-dir=${java.io.tmpdir}/bankapp-test-bulk")
 class BankAppApplicationTests {
 
 	@Test
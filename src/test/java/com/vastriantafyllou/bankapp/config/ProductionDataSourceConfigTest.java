@@ -0,0 +1,25 @@
+package com.vastriantafyllou.bankapp.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductionDataSourceConfigTest {
+
+	@Test
+	void sizesThePoolFromDatabaseCores() {
+		assertThat(ProductionDataSourceConfig.poolSize(8, 1, 151, 10, 1)).isEqualTo(17);
+	}
+
+	@Test
+	void capsThePoolAtThisNodesShareOfTheConnectionLimit() {
+		assertThat(ProductionDataSourceConfig.poolSize(16, 1, 151, 11, 4)).isEqualTo(35);
+		assertThat(ProductionDataSourceConfig.poolSize(16, 1, 151, 11, 100)).isEqualTo(1);
+	}
+
+	@Test
+	void refusesToStartWhenTheShareLeavesNoConnection() {
+		assertThatThrownBy(() -> ProductionDataSourceConfig.poolSize(16, 1, 151, 11, 200)).isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,53 @@
+package com.vastriantafyllou.bankapp.core.archive;
+
+import com.vastriantafyllou.bankapp.core.pagination.KeysetCursor;
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerSegmentTest {
+
+	private static final LocalDateTime NOON = LocalDateTime.of(2023, 4, 12, 12, 0, 0, 123_456_000);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void readsBackEachAccountInHistoryOrderFromTheCursor() throws Exception {
+		Path file = directory.resolve("ledger-2023-04.seg");
+		try (LedgerSegmentWriter writer = new LedgerSegmentWriter(file)) {
+			writer.append(1L, new TransactionReadOnlyDTO(3L, TransactionType.TRANSFER_OUT, new BigDecimal("7.50"), NOON.plusHours(2), "GR02", new BigDecimal("92.50")));
+			writer.append(1L, new TransactionReadOnlyDTO(2L, TransactionType.DEPOSIT, new BigDecimal("0.01"), NOON.plusHours(1), null, new BigDecimal("100.00")));
+			writer.append(1L, new TransactionReadOnlyDTO(1L, TransactionType.DEPOSIT, new BigDecimal("99.99"), NOON, null, null));
+			writer.append(2L, new TransactionReadOnlyDTO(4L, TransactionType.TRANSFER_IN, new BigDecimal("7.50"), NOON.plusHours(2), "GR01", new BigDecimal("7.50")));
+		}
+
+		LedgerSegment segment = LedgerSegment.open(file);
+
+		assertThat(segment.rows()).isEqualTo(4);
+		assertThat(segment.contains(3L)).isFalse();
+
+		List<TransactionReadOnlyDTO> firstPage = segment.findBefore(1L, null, 2);
+		assertThat(firstPage).extracting(TransactionReadOnlyDTO::getId).containsExactly(3L, 2L);
+		assertThat(firstPage.getFirst().getCounterpartyIban()).isEqualTo("GR02");
+		assertThat(firstPage.getFirst().getBalanceAfter()).isEqualByComparingTo("92.50");
+
+		TransactionReadOnlyDTO last = firstPage.getLast();
+		List<TransactionReadOnlyDTO> nextPage = segment.findBefore(1L, new KeysetCursor(last.getCreatedAt(), last.getId()), 2);
+		assertThat(nextPage).singleElement().satisfies(transaction -> {
+			assertThat(transaction.getAmount()).isEqualByComparingTo("99.99");
+			assertThat(transaction.getCreatedAt()).isEqualTo(NOON);
+			assertThat(transaction.getBalanceAfter()).isNull();
+		});
+
+		assertThat(segment.findBefore(2L, null, 10)).extracting(TransactionReadOnlyDTO::getType).containsExactly(TransactionType.TRANSFER_IN);
+	}
+}
@@ -0,0 +1,61 @@
+package com.vastriantafyllou.bankapp.core.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruTtlCacheTest {
+
+	@Test
+	void segmentedCacheStaysWithinItsSize() {
+		LruTtlCache<Integer, Integer> cache = new LruTtlCache<>(10_000, 60_000);
+
+		for (int i = 0; i < 30_000; i++) {
+			cache.put(i, i);
+		}
+
+		assertThat(cache.size()).isEqualTo(10_000);
+		assertThat(cache.getEvictions()).isEqualTo(20_000);
+		assertThat(cache.get(29_999)).isEqualTo(29_999);
+	}
+
+	@Test
+	void clearInvalidatesStampsInEverySegment() {
+		LruTtlCache<Integer, Integer> cache = new LruTtlCache<>(10_000, 60_000);
+		List<Long> stamps = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			stamps.add(cache.stamp(i));
+		}
+
+		cache.clear();
+		for (int i = 0; i < 64; i++) {
+			cache.putIfNotInvalidatedSince(i, i, stamps.get(i));
+		}
+
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void concurrentHitsAndMissesAreAllCounted() {
+		LruTtlCache<Integer, Integer> cache = new LruTtlCache<>(10_000, 60_000);
+		List<CompletableFuture<Void>> readers = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			readers.add(CompletableFuture.runAsync(() -> {
+				for (int i = 0; i < 100_000; i++) {
+					int key = i % 1_000;
+					if (cache.get(key) == null) {
+						cache.put(key, key);
+					}
+				}
+			}));
+		}
+		readers.forEach(CompletableFuture::join);
+
+		assertThat(cache.size()).isEqualTo(1_000);
+		assertThat(cache.getHits() + cache.getMisses()).isEqualTo(800_000);
+	}
+}
@@ -0,0 +1,105 @@
+package com.vastriantafyllou.bankapp.core.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountShardsTest {
+
+	private final AccountShards shards = new AccountShards(4);
+
+	@AfterEach
+	void tearDown() {
+		shards.shutdown();
+	}
+
+	@Test
+	void sameShardWorkRunsOnOneThreadInOrder() {
+		String iban = "GR01";
+		List<String> threads = new ArrayList<>();
+		List<Integer> order = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			int value = i;
+			shards.execute(iban, () -> {
+				threads.add(Thread.currentThread().getName());
+				return order.add(value);
+			});
+		}
+
+		assertThat(threads).containsOnly("account-shard-" + shards.shardOf(iban));
+		assertThat(order).isSorted().hasSize(100);
+		assertThat(shards.getLocalExecutions()).isEqualTo(100);
+	}
+
+	@Test
+	void crossShardWorkHoldsBothShardsAndNeverDeadlocks() throws Exception {
+		String[] ibans = new String[8];
+		for (int i = 0; i < ibans.length; i++) {
+			ibans[i] = "GR" + i;
+		}
+		long[] balances = new long[ibans.length];
+		AtomicInteger[] running = new AtomicInteger[shards.getShardCount()];
+		for (int i = 0; i < running.length; i++) {
+			running[i] = new AtomicInteger();
+		}
+		AtomicInteger overlaps = new AtomicInteger();
+
+		ExecutorService callers = Executors.newFixedThreadPool(16);
+		List<CompletableFuture<Void>> calls = new ArrayList<>();
+		for (int i = 0; i < 4_000; i++) {
+			int from = i % ibans.length;
+			int to = (i * 7 + 3) % ibans.length;
+			if (from == to) {
+				continue;
+			}
+			int fromShard = shards.shardOf(ibans[from]);
+			int toShard = shards.shardOf(ibans[to]);
+			calls.add(CompletableFuture.runAsync(() -> shards.execute(ibans[from], ibans[to], () -> {
+				boolean overlap = running[fromShard].incrementAndGet() > 1;
+				if (fromShard != toShard) {
+					overlap |= running[toShard].incrementAndGet() > 1;
+				}
+				if (overlap) {
+					overlaps.incrementAndGet();
+				}
+				balances[from] -= 1;
+				balances[to] += 1;
+				running[fromShard].decrementAndGet();
+				if (fromShard != toShard) {
+					running[toShard].decrementAndGet();
+				}
+				return null;
+			}), callers));
+		}
+		CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+		callers.shutdown();
+
+		assertThat(Arrays.stream(balances).sum()).isZero();
+		assertThat(overlaps).hasValue(0);
+		assertThat(shards.getCrossShardExecutions()).isPositive();
+	}
+
+	@Test
+	void failureReachesTheCallerAndReleasesTheHeldShard() {
+		String first = "GR0";
+		String second = "GR1";
+		assertThat(shards.shardOf(first)).isNotEqualTo(shards.shardOf(second));
+
+		assertThatThrownBy(() -> shards.execute(first, second, () -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+		assertThat(shards.execute(second, () -> "free")).isEqualTo("free");
+	}
+}
@@ -0,0 +1,42 @@
+package com.vastriantafyllou.bankapp.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLockPolicyTest {
+
+	@Test
+	void repeatedConflictsSwitchOnlyThatAccountToRowLocks() {
+		AdaptiveLockPolicy policy = new AdaptiveLockPolicy(0.25, 0.4, 60_000, 3);
+
+		policy.recordConflict("GR01");
+		assertThat(policy.modeFor(1, "GR01")).isEqualTo(AccountLockMode.OPTIMISTIC);
+
+		policy.recordConflict("GR01");
+		assertThat(policy.modeFor(1, "GR01")).isEqualTo(AccountLockMode.PESSIMISTIC);
+		assertThat(policy.modeFor(1, "GR02")).isEqualTo(AccountLockMode.OPTIMISTIC);
+		assertThat(policy.modeFor(1, "GR02", "GR01")).isEqualTo(AccountLockMode.PESSIMISTIC);
+	}
+
+	@Test
+	void holdExpiresAndCleanWritesForgetTheAccount() {
+		AdaptiveLockPolicy policy = new AdaptiveLockPolicy(0.5, 0.4, 0, 3);
+
+		policy.recordConflict("GR01");
+		assertThat(policy.modeFor(1, "GR01")).isEqualTo(AccountLockMode.OPTIMISTIC);
+
+		for (int i = 0; i < 10; i++) {
+			policy.recordSuccess(AccountLockMode.OPTIMISTIC, "GR01");
+		}
+		assertThat(policy.trackedAccounts()).isZero();
+	}
+
+	@Test
+	void lastAttemptIsAlwaysPessimistic() {
+		AdaptiveLockPolicy policy = new AdaptiveLockPolicy(0.25, 0.4, 60_000, 3);
+
+		assertThat(policy.modeFor(2, "GR01")).isEqualTo(AccountLockMode.OPTIMISTIC);
+		assertThat(policy.modeFor(3, "GR01")).isEqualTo(AccountLockMode.PESSIMISTIC);
+	}
+}
@@ -0,0 +1,215 @@
+package com.vastriantafyllou.bankapp.core.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LedgerEngineTest {
+
+	private static final int SEGMENT_BYTES = 1 << 16;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void replaysTheLogAfterACrash() throws Exception {
+		Path live = directory.resolve("live");
+		Path crashed = directory.resolve("crashed");
+		try (LedgerEngine engine = open(live, 1_000_000)) {
+			engine.execute(LedgerCommand.create("GR01", "ACC01", 100_00));
+			engine.execute(LedgerCommand.create("GR02", "ACC02", 0));
+			engine.execute(LedgerCommand.transfer("GR01", "GR02", 25_50));
+			engine.execute(LedgerCommand.withdraw("GR02", 50));
+			copy(live, crashed);
+		}
+
+		try (LedgerEngine engine = open(crashed, 1_000_000)) {
+			assertThat(engine.find("GR01").balanceCents()).isEqualTo(74_50);
+			assertThat(engine.find("GR02").balanceCents()).isEqualTo(25_00);
+			assertThat(engine.find("GR02").version()).isEqualTo(2);
+			assertThat(engine.execute(LedgerCommand.create("GR03", "ACC03", 0)).getAccountId()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	void restartsFromTheSnapshotAndTheLogAfterIt() throws Exception {
+		try (LedgerEngine engine = open(directory, 10)) {
+			for (int i = 0; i < 10; i++) {
+				engine.execute(LedgerCommand.create("GR" + i, "ACC" + i, 10_00));
+			}
+			engine.execute(LedgerCommand.delete("GR3"));
+			for (int i = 0; i < 15; i++) {
+				engine.execute(LedgerCommand.deposit("GR0", 1));
+			}
+		}
+		try (Stream<Path> files = Files.list(directory)) {
+			assertThat(files.filter(path -> path.toString().endsWith(".bin")).count()).isEqualTo(2);
+		}
+
+		try (LedgerEngine engine = open(directory, 10)) {
+			assertThat(engine.find("GR0").balanceCents()).isEqualTo(10_15);
+			assertThat(engine.find("GR3")).isNull();
+			assertThat(engine.execute(LedgerCommand.create("GR3", "ACC3", 0)).isApplied()).isTrue();
+			assertThat(engine.findByIbanPrefix("GR")).hasSize(10);
+		}
+	}
+
+	@Test
+	void fallsBackToThePreviousSnapshotWhenTheNewestIsCorrupt() throws Exception {
+		writeTwoSnapshots();
+		List<Path> snapshots = snapshots(directory);
+		corrupt(snapshots.getLast());
+
+		try (LedgerEngine engine = open(directory, 10)) {
+			assertThat(engine.find("GR0").balanceCents()).isEqualTo(10_15);
+			assertThat(engine.findByIbanPrefix("GR")).hasSize(10);
+		}
+	}
+
+	@Test
+	void refusesToStartWhenTheLogDoesNotContinueASnapshot() throws Exception {
+		writeTwoSnapshots();
+		for (Path snapshot : snapshots(directory)) {
+			corrupt(snapshot);
+		}
+
+		assertThatThrownBy(() -> open(directory, 10)).isInstanceOf(IOException.class);
+		try (Stream<Path> files = Files.list(directory)) {
+			assertThat(files.filter(path -> path.toString().endsWith(".log")).toList()).isNotEmpty();
+		}
+	}
+
+	@Test
+	void dropsATornRecordAndKeepsAppendingAfterTheLastGoodOne() throws Exception {
+		Path live = directory.resolve("live");
+		Path crashed = directory.resolve("crashed");
+		try (LedgerEngine engine = open(live, 1_000_000)) {
+			engine.execute(LedgerCommand.create("GR01", "ACC01", 5_00));
+			engine.execute(LedgerCommand.deposit("GR01", 5));
+			copy(live, crashed);
+		}
+		tearLastRecord(crashed);
+
+		try (LedgerEngine engine = open(crashed, 1_000_000)) {
+			assertThat(engine.find("GR01").balanceCents()).isEqualTo(5_05);
+			engine.execute(LedgerCommand.deposit("GR01", 1));
+		}
+		try (LedgerEngine engine = open(crashed, 1_000_000)) {
+			assertThat(engine.find("GR01").balanceCents()).isEqualTo(5_06);
+		}
+	}
+
+	@Test
+	void reportsRejectionsWithoutLoggingThem() throws Exception {
+		try (LedgerEngine engine = open(directory, 1_000_000)) {
+			engine.execute(LedgerCommand.create("GR01", "ACC01", 1_00));
+
+			assertThat(engine.execute(LedgerCommand.create("GR01", "ACC09", 0)).getStatus()).isEqualTo(LedgerCommand.Status.IBAN_EXISTS);
+			assertThat(engine.execute(LedgerCommand.create("GR09", "ACC01", 0)).getStatus()).isEqualTo(LedgerCommand.Status.ACCOUNT_NUMBER_EXISTS);
+			LedgerCommand overdraft = engine.execute(LedgerCommand.withdraw("GR01", 2_00));
+			assertThat(overdraft.getStatus()).isEqualTo(LedgerCommand.Status.INSUFFICIENT_BALANCE);
+			assertThat(overdraft.getAvailableCents()).isEqualTo(1_00);
+			assertThat(engine.execute(LedgerCommand.transfer("GR01", "GR00", 1)).getMissingIban()).isEqualTo("GR00");
+			assertThat(engine.find("GR01").version()).isZero();
+		}
+	}
+
+	/** Ten accounts and fifteen deposits: snapshots at 10, 20 and, on close, 25. */
+	@Test
+	void rejectsACreditTheBalanceCannotHoldAndKeepsGoing() throws Exception {
+		try (LedgerEngine engine = open(directory, 1_000_000)) {
+			engine.execute(LedgerCommand.create("GR01", "ACC01", Long.MAX_VALUE - 10));
+			engine.execute(LedgerCommand.create("GR02", "ACC02", 100));
+
+			assertThat(engine.execute(LedgerCommand.deposit("GR01", 11)).getStatus()).isEqualTo(LedgerCommand.Status.BALANCE_LIMIT_EXCEEDED);
+			assertThat(engine.execute(LedgerCommand.transfer("GR02", "GR01", 11)).getStatus()).isEqualTo(LedgerCommand.Status.BALANCE_LIMIT_EXCEEDED);
+			assertThat(engine.execute(LedgerCommand.deposit("GR01", 10)).isApplied()).isTrue();
+			assertThat(engine.find("GR01").balanceCents()).isEqualTo(Long.MAX_VALUE);
+			assertThat(engine.find("GR02").balanceCents()).isEqualTo(100);
+		}
+	}
+
+	@Test
+	void rejectsAKeyTooLongForTheLogAndKeepsGoing() throws Exception {
+		String longKey = "GR" + "0".repeat(40_000);
+		try (LedgerEngine engine = open(directory, 1_000_000)) {
+			assertThat(engine.execute(LedgerCommand.create(longKey, "ACC01", 0)).getStatus()).isEqualTo(LedgerCommand.Status.KEY_TOO_LONG);
+			assertThat(engine.execute(LedgerCommand.create("GR01", longKey, 0)).getStatus()).isEqualTo(LedgerCommand.Status.KEY_TOO_LONG);
+			assertThat(engine.find(longKey)).isNull();
+
+			assertThat(engine.execute(LedgerCommand.create("GR01", "ACC01", 1_00)).isApplied()).isTrue();
+			assertThat(engine.execute(LedgerCommand.create("GR02", "0".repeat(LedgerEngine.MAX_KEY_LENGTH), 0)).isApplied()).isTrue();
+		}
+		try (LedgerEngine engine = open(directory, 1_000_000)) {
+			assertThat(engine.find("GR02").accountNumber()).hasSize(LedgerEngine.MAX_KEY_LENGTH);
+		}
+	}
+
+	private void writeTwoSnapshots() throws IOException {
+		try (LedgerEngine engine = open(directory, 10)) {
+			for (int i = 0; i < 10; i++) {
+				engine.execute(LedgerCommand.create("GR" + i, "ACC" + i, 10_00));
+			}
+			for (int i = 0; i < 15; i++) {
+				engine.execute(LedgerCommand.deposit("GR0", 1));
+			}
+		}
+	}
+
+	private static List<Path> snapshots(Path dir) throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.filter(path -> path.toString().endsWith(".bin")).sorted().toList();
+		}
+	}
+
+	private static void corrupt(Path file) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.seek(raf.length() / 2);
+			int value = raf.read();
+			raf.seek(raf.length() / 2);
+			raf.write(value ^ 0xFF);
+		}
+	}
+
+	private static LedgerEngine open(Path dir, long snapshotEvery) throws IOException {
+		return LedgerEngine.open(dir, 1024, 64, SEGMENT_BYTES, true, snapshotEvery);
+	}
+
+	private static void copy(Path from, Path to) throws IOException {
+		Files.createDirectories(to);
+		try (Stream<Path> files = Files.list(from)) {
+			for (Path file : files.toList()) {
+				Files.copy(file, to.resolve(file.getFileName()));
+			}
+		}
+	}
+
+	/** Writes the header of a record whose payload never made it to disk after the last intact one. */
+	private static void tearLastRecord(Path dir) throws IOException {
+		Path segment;
+		try (Stream<Path> files = Files.list(dir)) {
+			segment = files.filter(path -> path.toString().endsWith(".log")).sorted().toList().getLast();
+		}
+		try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+			long position = 0;
+			file.seek(position);
+			for (int length = file.readInt(); length != 0; length = file.readInt()) {
+				position += Integer.BYTES * 2 + length;
+				file.seek(position);
+			}
+			file.seek(position);
+			file.writeInt(17);
+			file.writeInt(0xBADC0DE);
+			file.writeLong(3);
+		}
+	}
+}
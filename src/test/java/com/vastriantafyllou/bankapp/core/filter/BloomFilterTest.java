@@ -0,0 +1,29 @@
+package com.vastriantafyllou.bankapp.core.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+	@Test
+	void neverForgetsAKeyAndStaysNearTheConfiguredFalsePositiveRate() {
+		int keys = 100_000;
+		BloomFilter filter = BloomFilter.create(keys, 0.01);
+		for (int i = 0; i < keys; i++) {
+			filter.put("GR" + i);
+		}
+
+		for (int i = 0; i < keys; i++) {
+			assertThat(filter.mightContain("GR" + i)).isTrue();
+		}
+		int falsePositives = 0;
+		for (int i = keys; i < 2 * keys; i++) {
+			if (filter.mightContain("GR" + i)) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(keys / 50);
+		assertThat(filter.getInsertions()).isEqualTo(keys);
+	}
+}
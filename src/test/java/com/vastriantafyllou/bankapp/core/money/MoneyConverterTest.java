@@ -0,0 +1,31 @@
+package com.vastriantafyllou.bankapp.core.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyConverterTest {
+
+	private final MoneyConverter converter = new MoneyConverter();
+
+	@Test
+	void convertsEveryValueMoneyCanHold() {
+		assertThat(converter.convertToEntityAttribute(Money.MAX_AMOUNT)).isEqualTo(Money.ofCents(Long.MAX_VALUE));
+		assertThat(converter.convertToEntityAttribute(Money.MAX_AMOUNT.negate())).isEqualTo(Money.ofCents(-Long.MAX_VALUE));
+		assertThat(converter.convertToDatabaseColumn(Money.ofCents(Long.MAX_VALUE))).isEqualTo(Money.MAX_AMOUNT);
+		assertThat(converter.convertToEntityAttribute(null)).isNull();
+	}
+
+	@Test
+	void refusesAColumnValueBeyondTheRangeOfMoney() {
+		assertThatThrownBy(() -> converter.convertToEntityAttribute(new BigDecimal("99999999999999999.99")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("99999999999999999.99")
+				.hasCauseInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> converter.convertToEntityAttribute(Money.MAX_AMOUNT.add(new BigDecimal("0.01"))))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,47 @@
+package com.vastriantafyllou.bankapp.core.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+	@Test
+	void roundTripsThroughTheColumnScale() {
+		Money money = Money.of(new BigDecimal("1500.25"));
+
+		assertThat(money.cents()).isEqualTo(150_025);
+		assertThat(money.toBigDecimal()).isEqualTo(new BigDecimal("1500.25"));
+		assertThat(money.toString()).isEqualTo("1500.25");
+		assertThat(Money.of(new BigDecimal("0.005"))).isEqualTo(Money.ofCents(1));
+		assertThat(Money.of(new BigDecimal("0.004")).isPositive()).isFalse();
+	}
+
+	@Test
+	void arithmeticIsExactAndRefusesToOverflow() {
+		Money balance = Money.of(new BigDecimal("10.10"));
+
+		assertThat(balance.plus(Money.ofCents(90)).minus(Money.ofCents(1000))).isEqualTo(Money.ofCents(100));
+		assertThat(Money.ofCents(1).isGreaterThan(Money.ZERO)).isTrue();
+		assertThatThrownBy(() -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1))).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Money.of(new BigDecimal("1e30"))).isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void fitsAndCanAddTellAheadOfTimeWhetherTheArithmeticWouldThrow() {
+		assertThat(Money.fits(Money.MAX_AMOUNT)).isTrue();
+		assertThat(Money.fits(Money.MAX_AMOUNT.negate())).isTrue();
+		assertThat(Money.fits(new BigDecimal("92233720368547758.08"))).isFalse();
+		assertThat(Money.fits(new BigDecimal("1e20"))).isFalse();
+		assertThat(Money.fits(new BigDecimal("-1e20"))).isFalse();
+		assertThat(Money.fits(new BigDecimal("1e-1000000000"))).isTrue();
+
+		assertThat(Money.ofCents(Long.MAX_VALUE - 1).canAdd(Money.ofCents(1))).isTrue();
+		assertThat(Money.ofCents(Long.MAX_VALUE).canAdd(Money.ofCents(1))).isFalse();
+		assertThat(Money.ofCents(Long.MIN_VALUE).canAdd(Money.ofCents(-1))).isFalse();
+		assertThat(Money.ofCents(Long.MIN_VALUE).canAdd(Money.ofCents(1))).isTrue();
+	}
+}
@@ -0,0 +1,44 @@
+package com.vastriantafyllou.bankapp.core.outbox;
+
+import com.vastriantafyllou.bankapp.dto.LedgerEventDTO;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileLedgerEventSinkTest {
+
+	private static final LocalDateTime NOON = LocalDateTime.of(2024, 2, 29, 12, 0);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void appendsEveryBatchAsOneJsonLinePerEventInOrder() throws Exception {
+		JsonMapper jsonMapper = JsonMapper.builder().build();
+		Path file = directory.resolve("events/ledger.ndjson");
+		FileLedgerEventSink sink = new FileLedgerEventSink(file, jsonMapper);
+
+		sink.publish(List.of(
+				new LedgerEventDTO(1L, 10L, "GR01", TransactionType.DEPOSIT, new BigDecimal("100.00"), new BigDecimal("100.00"), null, NOON),
+				new LedgerEventDTO(2L, 11L, "GR01", TransactionType.TRANSFER_OUT, new BigDecimal("7.50"), new BigDecimal("92.50"), "GR02", NOON.plusMinutes(1))));
+		sink.publish(List.of(
+				new LedgerEventDTO(5L, 12L, "GR01", TransactionType.WITHDRAW, new BigDecimal("2.50"), new BigDecimal("90.00"), null, NOON.plusMinutes(2))));
+
+		List<String> lines = Files.readAllLines(file);
+		assertThat(lines).hasSize(3);
+		List<LedgerEventDTO> events = lines.stream().map(line -> jsonMapper.readValue(line, LedgerEventDTO.class)).toList();
+		assertThat(events).extracting(LedgerEventDTO::getEventId).containsExactly(1L, 2L, 5L);
+		assertThat(events.get(1).getCounterpartyIban()).isEqualTo("GR02");
+		assertThat(events.get(2).getBalanceAfter()).isEqualByComparingTo("90.00");
+		assertThat(events.get(2).getOccurredAt()).isEqualTo(NOON.plusMinutes(2));
+	}
+}
@@ -0,0 +1,128 @@
+package com.vastriantafyllou.bankapp.core.reconciliation;
+
+import com.vastriantafyllou.bankapp.model.LedgerFindingKind;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalanceChainCheckerTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+	private static final LocalDateTime CUTOFF = T0.plusDays(1);
+
+	private final List<BalanceChainChecker.Finding> findings = new ArrayList<>();
+
+	@Test
+	void continuousChainEndingAtTheBalanceHasNoFindings() {
+		BalanceChainChecker checker = new BalanceChainChecker(CUTOFF, findings::add);
+
+		checker.accept(1, "GR01", 1_500L, 10, TransactionType.DEPOSIT, 1_000, 1_000L, null, false, T0);
+		checker.accept(1, "GR01", 1_500L, 11, TransactionType.DEPOSIT, 700, 1_700L, null, false, T0.plusSeconds(1));
+		checker.accept(1, "GR01", 1_500L, 12, TransactionType.WITHDRAW, 200, 1_500L, null, false, T0.plusSeconds(2));
+		checker.finish();
+
+		assertThat(findings).isEmpty();
+		assertThat(checker.getRows()).isEqualTo(3);
+		assertThat(checker.getAccounts()).isEqualTo(1);
+	}
+
+	@Test
+	void brokenLinkAndWrongFinalBalanceAreReported() {
+		BalanceChainChecker checker = new BalanceChainChecker(CUTOFF, findings::add);
+
+		checker.accept(1, "GR01", 900L, 10, TransactionType.DEPOSIT, 1_000, 1_000L, null, false, T0);
+		checker.accept(1, "GR01", 900L, 11, TransactionType.WITHDRAW, 100, 950L, null, false, T0.plusSeconds(1));
+		checker.accept(2, "GR02", 400L, 20, TransactionType.DEPOSIT, 500, 500L, null, false, T0);
+		checker.finish();
+
+		assertThat(findings).containsExactly(
+				new BalanceChainChecker.Finding(LedgerFindingKind.CHAIN_BREAK, 1, 11L, 900L, 950L),
+				new BalanceChainChecker.Finding(LedgerFindingKind.BALANCE_MISMATCH, 1, null, 950L, 900L),
+				new BalanceChainChecker.Finding(LedgerFindingKind.BALANCE_MISMATCH, 2, null, 500L, 400L));
+		assertThat(checker.getChainBreaks()).isEqualTo(1);
+		assertThat(checker.getBalanceMismatches()).isEqualTo(2);
+	}
+
+	@Test
+	void missingBalanceAfterRestartsTheChain() {
+		BalanceChainChecker checker = new BalanceChainChecker(CUTOFF, findings::add);
+
+		checker.accept(1, "GR01", 2_000L, 10, TransactionType.DEPOSIT, 1_000, 1_000L, null, false, T0);
+		checker.accept(1, "GR01", 2_000L, 11, TransactionType.DEPOSIT, 500, null, null, false, T0.plusSeconds(1));
+		checker.accept(1, "GR01", 2_000L, 12, TransactionType.DEPOSIT, 500, 2_000L, null, false, T0.plusSeconds(2));
+		checker.finish();
+
+		assertThat(findings).isEmpty();
+		assertThat(checker.getUnverifiableRows()).isEqualTo(1);
+	}
+
+	@Test
+	void rowsOfADeletedAccountAreReportedOnce() {
+		BalanceChainChecker checker = new BalanceChainChecker(CUTOFF, findings::add);
+
+		checker.accept(7, null, null, 70, TransactionType.DEPOSIT, 100, 100L, null, false, T0);
+		checker.accept(7, null, null, 71, TransactionType.DEPOSIT, 100, 999L, null, false, T0.plusSeconds(1));
+		checker.finish();
+
+		assertThat(findings).containsExactly(new BalanceChainChecker.Finding(LedgerFindingKind.MISSING_ACCOUNT, 7, null, null, null));
+		assertThat(checker.getRows()).isEqualTo(2);
+	}
+
+	@Test
+	void transferLegsReadByDifferentCheckersCancelOut() {
+		BalanceChainChecker payerSide = new BalanceChainChecker(CUTOFF, findings::add);
+		BalanceChainChecker payeeSide = new BalanceChainChecker(CUTOFF, findings::add);
+
+		payerSide.accept(1, "GR01", 700L, 10, TransactionType.TRANSFER_OUT, 300, 700L, "GR02", true, T0);
+		payeeSide.accept(2, "GR02", 300L, 11, TransactionType.TRANSFER_IN, 300, 300L, "GR01", true, T0);
+		payerSide.finish();
+		payeeSide.finish();
+
+		assertThat(payerSide.getTransferFingerprint() + payeeSide.getTransferFingerprint()).isZero();
+		assertThat(payerSide.getTransferOutCents()).isEqualTo(payeeSide.getTransferInCents());
+	}
+
+	@Test
+	void transferLegWithoutItsPairDoesNotCancel() {
+		BalanceChainChecker payerSide = new BalanceChainChecker(CUTOFF, findings::add);
+		BalanceChainChecker payeeSide = new BalanceChainChecker(CUTOFF, findings::add);
+
+		payerSide.accept(1, "GR01", 700L, 10, TransactionType.TRANSFER_OUT, 300, 700L, "GR02", true, T0);
+		payeeSide.accept(2, "GR02", 300L, 11, TransactionType.TRANSFER_IN, 300, 300L, "GR03", true, T0);
+
+		assertThat(payerSide.getTransferFingerprint() + payeeSide.getTransferFingerprint()).isNotZero();
+	}
+
+	@Test
+	void recentAndOrphanedLegsAreLeftOutOfThePairing() {
+		BalanceChainChecker checker = new BalanceChainChecker(CUTOFF, findings::add);
+
+		checker.accept(1, "GR01", 500L, 10, TransactionType.TRANSFER_OUT, 300, 700L, "GR02", true, CUTOFF);
+		checker.accept(1, "GR01", 500L, 11, TransactionType.TRANSFER_OUT, 200, 500L, "GR09", false, CUTOFF.plusSeconds(1));
+		checker.accept(2, "GR02", 100L, 20, TransactionType.TRANSFER_IN, 100, 100L, "GR09", false, T0);
+		checker.finish();
+
+		assertThat(checker.getTransferOutCount()).isZero();
+		assertThat(checker.getTransferInCount()).isZero();
+		assertThat(checker.getTransferFingerprint()).isZero();
+		assertThat(checker.getUnpairableTransfers()).isEqualTo(1);
+	}
+
+	@Test
+	void legsOlderThanTheHorizonAreLeftOutOfThePairing() {
+		BalanceChainChecker checker = new BalanceChainChecker(T0, CUTOFF, findings::add);
+
+		checker.accept(1, "GR01", 500L, 10, TransactionType.TRANSFER_OUT, 300, 700L, "GR02", true, T0.minusSeconds(1));
+		checker.accept(1, "GR01", 500L, 11, TransactionType.TRANSFER_OUT, 200, 500L, "GR02", true, T0);
+		checker.finish();
+
+		assertThat(checker.getTransferOutCount()).isEqualTo(1);
+		assertThat(checker.getTransferOutCents()).isEqualTo(200);
+		assertThat(checker.getUnpairableTransfers()).isZero();
+	}
+}
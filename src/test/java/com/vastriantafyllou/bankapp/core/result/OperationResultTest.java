@@ -0,0 +1,24 @@
+package com.vastriantafyllou.bankapp.core.result;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperationResultTest {
+
+	@Test
+	void carriesTheMessagesOfTheThrowingApi() {
+		assertThat(OperationResult.accountNotFound("GR123").getMessage()).isEqualTo("Ο λογαριασμός με IBAN GR123 δεν βρέθηκε");
+		assertThat(OperationResult.insufficientBalance(Money.ofCents(1050)).getMessage()).isEqualTo("Ανεπαρκές υπόλοιπο. Διαθέσιμο: 10.50 €");
+		assertThat(OperationResult.NEGATIVE_WITHDRAWAL.getMessage()).isEqualTo("Το ποσό ανάληψης πρέπει να είναι θετικό");
+		assertThat(OperationResult.APPLIED.getMessage()).isNull();
+	}
+
+	@Test
+	void onlyAppliedIsApplied() {
+		assertThat(OperationResult.APPLIED.isApplied()).isTrue();
+		assertThat(OperationResult.SAME_ACCOUNT_TRANSFER.isApplied()).isFalse();
+		assertThat(OperationResult.insufficientBalance(Money.ZERO).getOutcome()).isEqualTo(OperationResult.Outcome.INSUFFICIENT_BALANCE);
+	}
+}
@@ -0,0 +1,73 @@
+package com.vastriantafyllou.bankapp.core.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+	@Test
+	void releasesItemsAtTheirTickAcrossLevels() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 3, 0);
+		wheel.schedule("soon", 25);
+		wheel.schedule("level-1", 170);
+		wheel.schedule("level-2", 550);
+		List<String> released = new ArrayList<>();
+
+		wheel.advanceTo(19, released::add);
+		assertThat(released).isEmpty();
+		wheel.advanceTo(20, released::add);
+		assertThat(released).containsExactly("soon");
+		wheel.advanceTo(169, released::add);
+		assertThat(released).containsExactly("soon");
+		wheel.advanceTo(1000, released::add);
+		assertThat(released).containsExactly("soon", "level-1", "level-2");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void overdueAndOverflowItemsAreNotLost() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 2, 1000);
+		wheel.schedule("overdue", 500);
+		wheel.schedule("beyond-horizon", 1000 + wheel.getHorizonMillis() * 3);
+		List<String> released = new ArrayList<>();
+
+		wheel.advanceTo(1000, released::add);
+		assertThat(released).containsExactly("overdue");
+		wheel.advanceTo(1000 + wheel.getHorizonMillis() * 3 - 10, released::add);
+		assertThat(released).containsExactly("overdue");
+		wheel.advanceTo(1000 + wheel.getHorizonMillis() * 3, released::add);
+		assertThat(released).containsExactly("overdue", "beyond-horizon");
+	}
+
+	@Test
+	void releasesEveryItemOnceAndNeverEarly() {
+		Random random = new Random(42);
+		HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(5, 8, 3, 0);
+		Map<Integer, Long> due = new HashMap<>();
+		Map<Integer, Long> releasedAt = new HashMap<>();
+		long now = 0;
+		int next = 0;
+		while (now < 20_000) {
+			for (int i = 0; i < 5; i++) {
+				long dueMillis = now + random.nextLong(8_000) - 100;
+				due.put(next, dueMillis);
+				wheel.schedule(next++, dueMillis);
+			}
+			now += 1 + random.nextInt(40);
+			long tick = now;
+			wheel.advanceTo(now, item -> assertThat(releasedAt.put(item, tick)).isNull());
+		}
+		wheel.advanceTo(now + 10_000, item -> assertThat(releasedAt.put(item, Long.MAX_VALUE)).isNull());
+
+		assertThat(releasedAt).hasSameSizeAs(due);
+		due.forEach((item, dueMillis) -> assertThat(releasedAt.get(item)).isGreaterThanOrEqualTo(dueMillis / 5 * 5));
+		assertThat(wheel.size()).isZero();
+	}
+}
@@ -0,0 +1,80 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.cache.LocalCacheInvalidationBroker;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountCacheTest {
+
+	private static AccountReadOnlyDTO account(String iban, String balance) {
+		return new AccountReadOnlyDTO(1L, iban, "ACC-" + iban, new BigDecimal(balance));
+	}
+
+	@Test
+	void evictionReachesEveryNodeSharingTheBroker() {
+		LocalCacheInvalidationBroker broker = new LocalCacheInvalidationBroker();
+		AccountCache nodeA = new AccountCache(100, 60_000, broker);
+		AccountCache nodeB = new AccountCache(100, 60_000, broker);
+
+		nodeA.put(account("GR01", "10.00"), nodeA.stamp("GR01"));
+		nodeB.put(account("GR01", "10.00"), nodeB.stamp("GR01"));
+
+		nodeA.evictAfterCommit(List.of("GR01"));
+
+		assertThat(nodeA.get("GR01")).isNull();
+		assertThat(nodeB.get("GR01")).isNull();
+	}
+
+	@Test
+	void staleLoadDoesNotOverwriteConcurrentEviction() {
+		AccountCache cache = new AccountCache(100, 60_000, new LocalCacheInvalidationBroker());
+
+		long stamp = cache.stamp("GR01");
+		cache.evictAfterCommit(List.of("GR01"));
+		cache.put(account("GR01", "10.00"), stamp);
+
+		assertThat(cache.get("GR01")).isNull();
+	}
+
+	@Test
+	void evictionOfAnotherAccountDoesNotDropALoad() {
+		AccountCache cache = new AccountCache(100, 60_000, new LocalCacheInvalidationBroker());
+
+		long stamp = cache.stamp("GR01");
+		cache.evictAfterCommit(List.of("GR02"));
+		cache.put(account("GR01", "10.00"), stamp);
+
+		assertThat(cache.get("GR01")).isNotNull();
+	}
+
+	@Test
+	void changingAReturnedAccountDoesNotChangeTheCachedOne() {
+		AccountCache cache = new AccountCache(100, 60_000, new LocalCacheInvalidationBroker());
+		AccountReadOnlyDTO loaded = account("GR01", "10.00");
+		cache.put(loaded, cache.stamp("GR01"));
+
+		loaded.setBalance(new BigDecimal("0.00"));
+		cache.get("GR01").setBalance(new BigDecimal("1.00"));
+
+		assertThat(cache.get("GR01").getBalance()).isEqualByComparingTo("10.00");
+	}
+
+	@Test
+	void leastRecentlyUsedEntryIsEvictedWhenFull() {
+		AccountCache cache = new AccountCache(2, 60_000, new LocalCacheInvalidationBroker());
+
+		cache.put(account("GR01", "1.00"), cache.stamp("GR01"));
+		cache.put(account("GR02", "2.00"), cache.stamp("GR02"));
+		cache.get("GR01");
+		cache.put(account("GR03", "3.00"), cache.stamp("GR03"));
+
+		assertThat(cache.get("GR01")).isNotNull();
+		assertThat(cache.get("GR02")).isNull();
+		assertThat(cache.getEvictions()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,174 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.exception.AccountNumberAlreadyExistsException;
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidTransferException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.dto.AccountReadOnlyDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * What every {@link IAccountService} implementation promises, run against each of them by a subclass.
+ * Each test starts with GR0001 holding 100.00 and GR0002 holding nothing, and the accounts a test creates
+ * are deleted after it, so implementations that share their store across tests see a clean one.
+ */
+abstract class AccountServiceContractTest {
+
+	protected IAccountService service;
+	private final List<String> created = new ArrayList<>();
+
+	protected abstract IAccountService openService() throws Exception;
+
+	protected void closeService() throws Exception {
+	}
+
+	@BeforeEach
+	void createAccounts() throws Exception {
+		service = openService();
+		create("GR0001", "ACC0001", new BigDecimal("100.00"));
+		create("GR0002", "ACC0002", BigDecimal.ZERO);
+	}
+
+	@AfterEach
+	void deleteAccounts() throws Exception {
+		try {
+			for (String iban : created) {
+				try {
+					service.deleteAccount(iban);
+				} catch (AccountNotFoundException deletedByTheTest) {
+					// nothing left to clean up
+				}
+			}
+		} finally {
+			closeService();
+		}
+	}
+
+	protected AccountReadOnlyDTO create(String iban, String accountNumber, BigDecimal balance) throws Exception {
+		AccountReadOnlyDTO account = service.createAccount(new AccountInsertDTO(iban, accountNumber, balance));
+		created.add(iban);
+		return account;
+	}
+
+	@Test
+	void createsAccountsAndRejectsDuplicateKeys() throws Exception {
+		AccountReadOnlyDTO account = service.getAccountByIban("GR0001");
+		assertThat(account.getAccountNumber()).isEqualTo("ACC0001");
+		assertThat(account.getBalance()).isEqualByComparingTo("100.00");
+		assertThat(service.getAccountVersion("GR0001")).isZero();
+
+		assertThatThrownBy(() -> service.createAccount(new AccountInsertDTO("GR0001", "ACC9999", BigDecimal.ZERO)))
+				.isInstanceOf(AccountAlreadyExistsException.class)
+				.hasMessage("Ο λογαριασμός με IBAN GR0001 υπάρχει ήδη");
+		assertThatThrownBy(() -> service.createAccount(new AccountInsertDTO("GR9999", "ACC0001", BigDecimal.ZERO)))
+				.isInstanceOf(AccountNumberAlreadyExistsException.class)
+				.hasMessage("Ο λογαριασμός με Account Number ACC0001 υπάρχει ήδη");
+	}
+
+	@Test
+	void movesMoneyAndBumpsTheVersionOfEveryAccountItTouches() throws Exception {
+		service.deposit("GR0001", new BigDecimal("0.50"));
+		service.withdraw("GR0001", new BigDecimal("10.00"));
+		service.transfer("GR0001", "GR0002", new BigDecimal("40.25"));
+
+		assertThat(service.getBalance("GR0001")).isEqualByComparingTo("50.25");
+		assertThat(service.getBalance("GR0002")).isEqualByComparingTo("40.25");
+		assertThat(service.getAccountVersion("GR0001")).isEqualTo(3);
+		assertThat(service.getAccountVersion("GR0002")).isEqualTo(1);
+	}
+
+	@Test
+	void throwingOperationsRejectWithTheSameMessages() {
+		assertThatThrownBy(() -> service.deposit("GR0001", BigDecimal.ZERO))
+				.isInstanceOf(NegativeAmountException.class)
+				.hasMessage("Το ποσό κατάθεσης πρέπει να είναι θετικό");
+		assertThatThrownBy(() -> service.withdraw("GR0404", BigDecimal.ONE))
+				.isInstanceOf(AccountNotFoundException.class)
+				.hasMessage("Ο λογαριασμός με IBAN GR0404 δεν βρέθηκε");
+		assertThatThrownBy(() -> service.withdraw("GR0002", BigDecimal.ONE))
+				.isInstanceOf(InsufficientBalanceException.class)
+				.hasMessage("Ανεπαρκές υπόλοιπο. Διαθέσιμο: 0.00 €");
+		assertThatThrownBy(() -> service.transfer("GR0001", "GR0001", BigDecimal.ONE))
+				.isInstanceOf(InvalidTransferException.class)
+				.hasMessage("Δεν επιτρέπεται μεταφορά στον ίδιο λογαριασμό");
+		assertThatThrownBy(() -> service.transfer("GR0001", "GR0000", BigDecimal.ONE))
+				.isInstanceOf(AccountNotFoundException.class)
+				.hasMessage("Ο λογαριασμός με IBAN GR0000 δεν βρέθηκε");
+	}
+
+	@Test
+	void tryOperationsReturnTheSameRejections() {
+		assertThat(service.tryWithdraw("GR0001", new BigDecimal("-1"))).isSameAs(OperationResult.NEGATIVE_WITHDRAWAL);
+		assertThat(service.tryTransfer("GR0002", "GR0002", BigDecimal.ONE)).isSameAs(OperationResult.SAME_ACCOUNT_TRANSFER);
+
+		OperationResult declined = service.tryTransfer("GR0002", "GR0001", BigDecimal.ONE);
+		assertThat(declined.getOutcome()).isEqualTo(OperationResult.Outcome.INSUFFICIENT_BALANCE);
+		assertThat(declined.getMessage()).isEqualTo("Ανεπαρκές υπόλοιπο. Διαθέσιμο: 0.00 €");
+		assertThat(service.tryDeposit("GR0404", BigDecimal.ONE).getIban()).isEqualTo("GR0404");
+		assertThat(service.tryDeposit("GR0002", BigDecimal.ONE)).isSameAs(OperationResult.APPLIED);
+	}
+
+	@Test
+	void declinedAttemptsLeaveBalanceAndVersionAlone() throws Exception {
+		assertThat(service.tryWithdraw("GR0001", new BigDecimal("100.01")).getOutcome()).isEqualTo(OperationResult.Outcome.INSUFFICIENT_BALANCE);
+		assertThat(service.tryTransfer("GR0002", "GR0001", BigDecimal.ONE).getOutcome()).isEqualTo(OperationResult.Outcome.INSUFFICIENT_BALANCE);
+
+		assertThat(service.getBalance("GR0001")).isEqualByComparingTo("100.00");
+		assertThat(service.getBalance("GR0002")).isEqualByComparingTo("0.00");
+		assertThat(service.getAccountVersion("GR0001")).isZero();
+		assertThat(service.getAccountVersion("GR0002")).isZero();
+	}
+
+	@Test
+	void amountsBeyondTheMoneyRangeAreRejectedInsteadOfThrowingArithmeticException() {
+		BigDecimal huge = new BigDecimal("1e20");
+
+		assertThat(service.tryDeposit("GR0001", huge)).isSameAs(OperationResult.AMOUNT_OUT_OF_RANGE);
+		assertThat(service.tryWithdraw("GR0001", huge)).isSameAs(OperationResult.AMOUNT_OUT_OF_RANGE);
+		assertThat(service.tryTransfer("GR0001", "GR0002", huge)).isSameAs(OperationResult.AMOUNT_OUT_OF_RANGE);
+		assertThatThrownBy(() -> service.deposit("GR0001", huge))
+				.isInstanceOf(NegativeAmountException.class)
+				.hasMessage("Το ποσό υπερβαίνει το ανώτατο επιτρεπτό ποσό");
+	}
+
+	@Test
+	void listsByIbanPrefixAndDeletes() throws Exception {
+		create("CY0001", "ACC0003", BigDecimal.ZERO);
+
+		Slice<AccountReadOnlyDTO> first = service.getAccounts("GR", PageRequest.of(0, 1, Sort.by("iban")));
+		assertThat(first.getContent()).extracting(AccountReadOnlyDTO::getIban).containsExactly("GR0001");
+		assertThat(first.hasNext()).isTrue();
+
+		service.deleteAccount("GR0001");
+		assertThat(service.getAccounts("GR", PageRequest.of(0, 10, Sort.by("iban"))).getContent())
+				.extracting(AccountReadOnlyDTO::getIban).containsExactly("GR0002");
+		assertThatThrownBy(() -> service.getAccountByIban("GR0001")).isInstanceOf(AccountNotFoundException.class);
+		assertThatThrownBy(() -> service.deleteAccount("GR0001")).isInstanceOf(AccountNotFoundException.class);
+	}
+
+	@Test
+	void historyChecksTheAccountAndClampsThePageSize() throws Exception {
+		// Whether the page holds rows is up to the implementation, see IAccountService#getTransactionHistory.
+		assertThatThrownBy(() -> service.getTransactionHistory("GR0404", null, 20))
+				.isInstanceOf(AccountNotFoundException.class)
+				.hasMessage("Ο λογαριασμός με IBAN GR0404 δεν βρέθηκε");
+		assertThat(service.getTransactionHistory("GR0001", null, 1000).getSize()).isEqualTo(IAccountService.HISTORY_MAX_PAGE_SIZE);
+		assertThat(service.getTransactionHistory("GR0001", null, 0).getSize()).isEqualTo(1);
+	}
+}
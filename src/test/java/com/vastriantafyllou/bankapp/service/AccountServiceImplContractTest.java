@@ -0,0 +1,44 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountServiceImplContractTest extends AccountServiceContractTest {
+
+	@Autowired
+	private AccountServiceImpl accountServiceImpl;
+
+	@Override
+	protected IAccountService openService() {
+		return accountServiceImpl;
+	}
+
+	@Test
+	void historyPagesTheLedgerNewestFirst() throws Exception {
+		service.deposit("GR0002", new BigDecimal("1.00"));
+		service.deposit("GR0002", new BigDecimal("2.00"));
+		service.withdraw("GR0002", new BigDecimal("0.50"));
+
+		TransactionHistoryDTO first = service.getTransactionHistory("GR0002", null, 2);
+		assertThat(first.getTransactions()).extracting(TransactionReadOnlyDTO::getType)
+				.containsExactly(TransactionType.WITHDRAW, TransactionType.DEPOSIT);
+		assertThat(first.getTransactions().getFirst().getBalanceAfter()).isEqualByComparingTo("2.50");
+		assertThat(first.isHasMore()).isTrue();
+
+		TransactionHistoryDTO second = service.getTransactionHistory("GR0002", first.getNextCursor(), 2);
+		assertThat(second.getTransactions()).extracting(TransactionReadOnlyDTO::getAmount)
+				.usingElementComparator(BigDecimal::compareTo).containsExactly(new BigDecimal("1.00"));
+		assertThat(second.isHasMore()).isFalse();
+	}
+}
@@ -0,0 +1,125 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.AccountNotFoundException;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.dto.AccountInsertDTO;
+import com.vastriantafyllou.bankapp.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountServiceImplTest {
+
+	private static final List<String> IBANS = List.of("GR1001", "GR1002", "GR1003");
+
+	@Autowired
+	private AccountServiceImpl service;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@MockitoSpyBean
+	private AccountRepository accountRepository;
+
+	@MockitoSpyBean
+	private LedgerWriter ledgerWriter;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		service.createAccount(new AccountInsertDTO("GR1001", "ACC1001", new BigDecimal("100.00")));
+		service.createAccount(new AccountInsertDTO("GR1002", "ACC1002", BigDecimal.ZERO));
+		service.createAccount(new AccountInsertDTO("GR1003", "ACC1003", Money.ofCents(Long.MAX_VALUE - 100).toBigDecimal()));
+		clearInvocations(accountRepository, ledgerWriter);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		for (String iban : IBANS) {
+			try {
+				service.deleteAccount(iban);
+			} catch (AccountNotFoundException deletedByTheTest) {
+				// nothing left to clean up
+			}
+		}
+	}
+
+	@Test
+	void overdraftIsDeclinedFromThePlainReadWithoutTakingARowLock() {
+		OperationResult withdrawal = service.tryWithdraw("GR1002", BigDecimal.ONE);
+		OperationResult transfer = service.tryTransfer("GR1002", "GR1001", BigDecimal.ONE);
+
+		assertThat(withdrawal.getOutcome()).isEqualTo(OperationResult.Outcome.INSUFFICIENT_BALANCE);
+		assertThat(withdrawal.getMessage()).isEqualTo("Ανεπαρκές υπόλοιπο. Διαθέσιμο: 0.00 €");
+		assertThat(transfer.getOutcome()).isEqualTo(OperationResult.Outcome.INSUFFICIENT_BALANCE);
+		verify(accountRepository, times(2)).findBalanceByIban("GR1002");
+		verify(accountRepository, never()).findByIbanForUpdate(any());
+	}
+
+	@Test
+	void unknownPayerIsDeclinedFromThePlainRead() {
+		OperationResult result = service.tryWithdraw("GR0404", BigDecimal.ONE);
+
+		assertThat(result.getOutcome()).isEqualTo(OperationResult.Outcome.ACCOUNT_NOT_FOUND);
+		assertThat(result.getIban()).isEqualTo("GR0404");
+		verify(accountRepository, never()).findByIbanForUpdate(any());
+	}
+
+	@Test
+	void insideACallersTransactionTheDeclineComesFromTheLockedRow() {
+		// The caller's snapshot may predate the latest commit, so only the locked read may decline.
+		OperationResult result = new TransactionTemplate(transactionManager)
+				.execute(status -> service.tryWithdraw("GR1002", BigDecimal.ONE));
+
+		assertThat(result.getOutcome()).isEqualTo(OperationResult.Outcome.INSUFFICIENT_BALANCE);
+		verify(accountRepository, never()).findBalanceByIban(any());
+		verify(accountRepository).findByIbanForUpdate("GR1002");
+	}
+
+	@Test
+	void tryOperationsMapEveryRejectionToItsResult() {
+		assertThat(service.tryDeposit("GR1001", new BigDecimal("-0.01"))).isSameAs(OperationResult.NEGATIVE_DEPOSIT);
+		assertThat(service.tryWithdraw("GR1001", BigDecimal.ZERO)).isSameAs(OperationResult.NEGATIVE_WITHDRAWAL);
+		assertThat(service.tryTransfer("GR1001", "GR1002", new BigDecimal("0.004"))).isSameAs(OperationResult.NEGATIVE_TRANSFER);
+		assertThat(service.tryTransfer("GR1001", "GR1001", BigDecimal.ONE)).isSameAs(OperationResult.SAME_ACCOUNT_TRANSFER);
+		assertThat(service.tryDeposit("GR1001", new BigDecimal("1e20"))).isSameAs(OperationResult.AMOUNT_OUT_OF_RANGE);
+		assertThat(service.tryDeposit("GR0404", BigDecimal.ONE).getOutcome()).isEqualTo(OperationResult.Outcome.ACCOUNT_NOT_FOUND);
+		assertThat(service.tryTransfer("GR1001", "GR0404", BigDecimal.ONE).getIban()).isEqualTo("GR0404");
+		assertThat(service.tryDeposit("GR1003", new BigDecimal("1.01"))).isSameAs(OperationResult.BALANCE_LIMIT_EXCEEDED);
+		assertThat(service.tryTransfer("GR1001", "GR1003", new BigDecimal("1.01"))).isSameAs(OperationResult.BALANCE_LIMIT_EXCEEDED);
+		assertThat(service.tryTransfer("GR1001", "GR1002", new BigDecimal("1.01"))).isSameAs(OperationResult.APPLIED);
+	}
+
+	@Test
+	void declinedAttemptsLeaveBalanceVersionAndLedgerUntouched() throws Exception {
+		service.tryWithdraw("GR1001", new BigDecimal("100.01"));
+		new TransactionTemplate(transactionManager).execute(status -> service.tryWithdraw("GR1001", new BigDecimal("100.01")));
+		service.tryTransfer("GR1001", "GR1003", new BigDecimal("1.01"));
+		service.tryDeposit("GR1003", new BigDecimal("1.01"));
+
+		assertThat(service.getBalance("GR1001")).isEqualByComparingTo("100.00");
+		assertThat(service.getAccountVersion("GR1001")).isZero();
+		assertThat(service.getBalance("GR1003")).isEqualByComparingTo(Money.ofCents(Long.MAX_VALUE - 100).toBigDecimal());
+		assertThat(service.getAccountVersion("GR1003")).isZero();
+		verify(ledgerWriter, never()).record(anyList());
+	}
+}
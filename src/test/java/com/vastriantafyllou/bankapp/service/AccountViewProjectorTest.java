@@ -0,0 +1,53 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.dto.TransactionReadOnlyDTO;
+import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.model.AccountView;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountViewProjectorTest {
+
+	private static final LocalDateTime NOON = LocalDateTime.of(2024, 5, 6, 12, 0);
+
+	@Test
+	void putsNewRowsFirstInHistoryOrderAndKeepsTheNewest() {
+		List<TransactionReadOnlyDTO> recent = List.of(
+				new TransactionReadOnlyDTO(2L, TransactionType.DEPOSIT, new BigDecimal("5.00"), NOON.minusMinutes(1), null, new BigDecimal("15.00")),
+				new TransactionReadOnlyDTO(1L, TransactionType.DEPOSIT, new BigDecimal("10.00"), NOON.minusMinutes(2), null, new BigDecimal("10.00")));
+		List<AccountTransaction> added = List.of(
+				transaction(3L, TransactionType.WITHDRAW, "1.00", NOON, "14.00"),
+				transaction(4L, TransactionType.TRANSFER_OUT, "4.00", NOON, "10.00"));
+
+		List<TransactionReadOnlyDTO> merged = AccountViewProjector.prepend(recent, added, 3);
+
+		assertThat(merged).extracting(TransactionReadOnlyDTO::getId).containsExactly(4L, 3L, 2L);
+		assertThat(merged.getFirst().getBalanceAfter()).isEqualByComparingTo("10.00");
+		assertThat(merged.getFirst().getType()).isEqualTo(TransactionType.TRANSFER_OUT);
+	}
+
+	@Test
+	void builtViewsAreNewSoSavePersistsInsteadOfMerging() {
+		AccountView view = AccountView.builder().accountId(7L).build();
+
+		assertThat(view.getId()).isEqualTo(7L);
+		assertThat(view.isNew()).isTrue();
+	}
+
+	private static AccountTransaction transaction(long id, TransactionType type, String amount, LocalDateTime createdAt, String balanceAfter) {
+		return AccountTransaction.builder()
+				.id(id)
+				.type(type)
+				.amount(Money.of(new BigDecimal(amount)))
+				.createdAt(createdAt)
+				.balanceAfter(Money.of(new BigDecimal(balanceAfter)))
+				.build();
+	}
+}
@@ -0,0 +1,96 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.concurrency.AccountLockMode;
+import com.vastriantafyllou.bankapp.core.concurrency.AdaptiveLockPolicy;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdaptiveLockingAccountServiceTest {
+
+	private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+	private final AccountServiceImpl delegate = mock(AccountServiceImpl.class);
+	// A high threshold keeps the accounts optimistic, so only the attempt number decides the mode.
+	private final AdaptiveLockPolicy policy = new AdaptiveLockPolicy(0.25, 0.99, 60_000, 3);
+	private final AdaptiveLockingAccountService service = new AdaptiveLockingAccountService(delegate, policy);
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+	}
+
+	@Test
+	void conflictIsRetriedOptimisticallyUntilItGoesThrough() throws Exception {
+		doThrow(new OptimisticLockingFailureException("conflict")).doNothing()
+				.when(delegate).deposit("GR01", AMOUNT, AccountLockMode.OPTIMISTIC);
+
+		service.deposit("GR01", AMOUNT);
+
+		verify(delegate, times(2)).deposit("GR01", AMOUNT, AccountLockMode.OPTIMISTIC);
+		verify(delegate, never()).deposit("GR01", AMOUNT, AccountLockMode.PESSIMISTIC);
+		assertThat(policy.trackedAccounts()).isEqualTo(1);
+	}
+
+	@Test
+	void lastAttemptFallsBackToRowLocks() throws Exception {
+		doThrow(new OptimisticLockingFailureException("conflict"))
+				.when(delegate).transfer("GR01", "GR02", AMOUNT, AccountLockMode.OPTIMISTIC);
+		doNothing().when(delegate).transfer("GR01", "GR02", AMOUNT, AccountLockMode.PESSIMISTIC);
+
+		service.transfer("GR01", "GR02", AMOUNT);
+
+		InOrder attempts = inOrder(delegate);
+		attempts.verify(delegate, times(2)).transfer("GR01", "GR02", AMOUNT, AccountLockMode.OPTIMISTIC);
+		attempts.verify(delegate).transfer("GR01", "GR02", AMOUNT, AccountLockMode.PESSIMISTIC);
+	}
+
+	@Test
+	void conflictUnderRowLocksIsNotRetried() throws Exception {
+		doThrow(new OptimisticLockingFailureException("conflict"))
+				.when(delegate).withdraw(any(), any(), any());
+
+		assertThatThrownBy(() -> service.withdraw("GR01", AMOUNT)).isInstanceOf(OptimisticLockingFailureException.class);
+
+		verify(delegate, times(2)).withdraw("GR01", AMOUNT, AccountLockMode.OPTIMISTIC);
+		verify(delegate, times(1)).withdraw("GR01", AMOUNT, AccountLockMode.PESSIMISTIC);
+	}
+
+	@Test
+	void resultReturningWritesRetryTheSameWay() {
+		when(delegate.tryTransfer("GR01", "GR02", AMOUNT, AccountLockMode.OPTIMISTIC))
+				.thenThrow(new OptimisticLockingFailureException("conflict"));
+		when(delegate.tryTransfer("GR01", "GR02", AMOUNT, AccountLockMode.PESSIMISTIC)).thenReturn(OperationResult.APPLIED);
+
+		assertThat(service.tryTransfer("GR01", "GR02", AMOUNT)).isEqualTo(OperationResult.APPLIED);
+
+		verify(delegate, times(2)).tryTransfer("GR01", "GR02", AMOUNT, AccountLockMode.OPTIMISTIC);
+	}
+
+	@Test
+	void writeInsideTheCallersTransactionIsPassedThrough() throws Exception {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		service.deposit("GR01", AMOUNT);
+
+		verify(delegate).deposit("GR01", AMOUNT);
+		verify(delegate, never()).deposit(any(), any(), any());
+	}
+}
@@ -0,0 +1,81 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.NegativeAmountException;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BatchingAccountServiceTest {
+
+	private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+	private final IAccountService delegate = mock(IAccountService.class);
+	private final DepositWithdrawBatcher batcher = mock(DepositWithdrawBatcher.class);
+	private final BatchingAccountService service = new BatchingAccountService(delegate, batcher);
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+	}
+
+	@Test
+	void depositsAndWithdrawalsGoThroughTheBatcher() throws Exception {
+		when(batcher.submit(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(OperationResult.APPLIED));
+
+		service.deposit("GR01", AMOUNT);
+		assertThat(service.tryWithdraw("GR01", AMOUNT)).isSameAs(OperationResult.APPLIED);
+
+		verify(batcher).submit("GR01", TransactionType.DEPOSIT, Money.of(AMOUNT));
+		verify(batcher).submit("GR01", TransactionType.WITHDRAW, Money.of(AMOUNT));
+		verifyNoInteractions(delegate);
+	}
+
+	@Test
+	void callerWithATransactionOpenBypassesTheBatcher() throws Exception {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		when(delegate.tryDeposit("GR01", AMOUNT)).thenReturn(OperationResult.APPLIED);
+
+		service.deposit("GR01", AMOUNT);
+		service.withdraw("GR01", AMOUNT);
+		assertThat(service.tryDeposit("GR01", AMOUNT)).isSameAs(OperationResult.APPLIED);
+
+		verify(delegate).deposit("GR01", AMOUNT);
+		verify(delegate).withdraw("GR01", AMOUNT);
+		verify(delegate).tryDeposit("GR01", AMOUNT);
+		verifyNoInteractions(batcher);
+	}
+
+	@Test
+	void batchRejectionsSurfaceAsTheDelegatesExceptions() {
+		when(batcher.submit("GR01", TransactionType.WITHDRAW, Money.of(AMOUNT)))
+				.thenReturn(CompletableFuture.completedFuture(OperationResult.insufficientBalance(Money.ZERO)));
+		when(batcher.submit("GR01", TransactionType.DEPOSIT, Money.of(AMOUNT)))
+				.thenReturn(CompletableFuture.completedFuture(OperationResult.BALANCE_LIMIT_EXCEEDED));
+
+		assertThatThrownBy(() -> service.withdraw("GR01", AMOUNT))
+				.isInstanceOf(InsufficientBalanceException.class)
+				.hasMessage("Ανεπαρκές υπόλοιπο. Διαθέσιμο: 0.00 €");
+		assertThatThrownBy(() -> service.deposit("GR01", AMOUNT))
+				.isInstanceOf(NegativeAmountException.class)
+				.hasMessage("Το ποσό υπερβαίνει το ανώτατο επιτρεπτό υπόλοιπο του λογαριασμού");
+		assertThatThrownBy(() -> service.deposit("GR01", new BigDecimal("1e20")))
+				.isInstanceOf(NegativeAmountException.class);
+		verify(batcher, times(2)).submit(any(), any(), any());
+	}
+}
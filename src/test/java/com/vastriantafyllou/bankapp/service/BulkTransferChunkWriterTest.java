@@ -0,0 +1,64 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.metrics.ServiceMetrics;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.dto.BulkLineResultDTO;
+import com.vastriantafyllou.bankapp.dto.BulkTransferLineDTO;
+import com.vastriantafyllou.bankapp.model.Account;
+import com.vastriantafyllou.bankapp.repository.AccountRepository;
+import com.vastriantafyllou.bankapp.repository.BulkTransferChunkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkTransferChunkWriterTest {
+
+	private final AccountRepository accountRepository = mock(AccountRepository.class);
+	private final BulkTransferChunkRepository chunkRepository = mock(BulkTransferChunkRepository.class);
+	private final BulkTransferChunkWriter writer = new BulkTransferChunkWriter(accountRepository, chunkRepository,
+			mock(LedgerWriter.class), new ServiceMetrics(new SimpleMeterRegistry()), JsonMapper.builder().build());
+
+	@Test
+	void amountsBeyondTheMoneyRangeRejectTheirLineAndTheRestOfTheChunkPosts() {
+		Account payer = account("GR01", Money.of(new BigDecimal("100.00")));
+		Account full = account("GR02", Money.ofCents(Long.MAX_VALUE - 100));
+		Account payee = account("GR03", Money.ZERO);
+		when(chunkRepository.findByJobIdAndFirstLine(any(), anyLong())).thenReturn(Optional.empty());
+		when(accountRepository.findAllByIbanInForUpdate(any())).thenReturn(List.of(payer, full, payee));
+
+		List<BulkLineResultDTO> results = writer.post(1L, 1, 4, List.of(
+				line(1, "GR01", "GR03", "1e20"),
+				line(2, "GR01", "GR03", "-1e20"),
+				line(3, "GR01", "GR02", "10.00"),
+				line(4, "GR01", "GR03", "10.00")));
+
+		assertThat(results).extracting(BulkLineResultDTO::getStatus).containsExactly(
+				BulkLineResultDTO.REJECTED, BulkLineResultDTO.REJECTED, BulkLineResultDTO.REJECTED, BulkLineResultDTO.ACCEPTED);
+		assertThat(results).extracting(BulkLineResultDTO::getMessage).containsExactly(
+				"Το ποσό υπερβαίνει το ανώτατο επιτρεπτό ποσό",
+				"Το ποσό υπερβαίνει το ανώτατο επιτρεπτό ποσό",
+				"Το ποσό υπερβαίνει το ανώτατο επιτρεπτό υπόλοιπο του λογαριασμού",
+				null);
+		assertThat(payer.getBalance()).isEqualTo(Money.of(new BigDecimal("90.00")));
+		assertThat(full.getBalance()).isEqualTo(Money.ofCents(Long.MAX_VALUE - 100));
+		assertThat(payee.getBalance()).isEqualTo(Money.of(new BigDecimal("10.00")));
+	}
+
+	private static Account account(String iban, Money balance) {
+		return Account.builder().iban(iban).accountNumber("ACC-" + iban).balance(balance).build();
+	}
+
+	private static ParsedBulkLine line(long lineNumber, String fromIban, String toIban, String amount) {
+		return new ParsedBulkLine(lineNumber, new BulkTransferLineDTO(fromIban, toIban, new BigDecimal(amount)), null);
+	}
+}
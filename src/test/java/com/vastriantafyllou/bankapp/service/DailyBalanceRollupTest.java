@@ -0,0 +1,68 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.model.Account;
+import com.vastriantafyllou.bankapp.model.AccountDailyBalance;
+import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DailyBalanceRollupTest {
+
+	private static final LocalDateTime DAY_ONE = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+	private static Money money(String amount) {
+		return Money.of(new BigDecimal(amount));
+	}
+
+	private static AccountTransaction row(long accountId, TransactionType type, String amount, String balanceAfter, LocalDateTime at) {
+		return AccountTransaction.builder()
+				.account(Account.builder().id(accountId).build())
+				.type(type)
+				.amount(money(amount))
+				.balanceAfter(money(balanceAfter))
+				.createdAt(at)
+				.build();
+	}
+
+	@Test
+	void foldsOneWriteIntoOneDeltaPerAccountDay() {
+		List<AccountDailyBalance> deltas = DailyBalanceRollup.fold(List.of(
+				row(2L, TransactionType.TRANSFER_OUT, "30.00", "70.00", DAY_ONE),
+				row(1L, TransactionType.TRANSFER_IN, "30.00", "130.00", DAY_ONE),
+				row(2L, TransactionType.WITHDRAW, "20.00", "50.00", DAY_ONE.plusMinutes(1)),
+				row(2L, TransactionType.DEPOSIT, "5.00", "55.00", DAY_ONE.plusDays(1))));
+
+		assertThat(deltas).extracting(delta -> delta.getId().getAccountId(), delta -> delta.getId().getBusinessDate())
+				.containsExactly(
+						tuple(1L, LocalDate.of(2026, 3, 1)),
+						tuple(2L, LocalDate.of(2026, 3, 1)),
+						tuple(2L, LocalDate.of(2026, 3, 2)));
+
+		AccountDailyBalance sender = deltas.get(1);
+		assertThat(sender.getOpeningBalance()).isEqualTo(money("100.00"));
+		assertThat(sender.getClosingBalance()).isEqualTo(money("50.00"));
+		assertThat(sender.getCreditTotal()).isEqualTo(money("0"));
+		assertThat(sender.getDebitTotal()).isEqualTo(money("50.00"));
+		assertThat(sender.getTransferOutCount()).isEqualTo(1);
+		assertThat(sender.getWithdrawCount()).isEqualTo(1);
+
+		AccountDailyBalance receiver = deltas.get(0);
+		assertThat(receiver.getOpeningBalance()).isEqualTo(money("100.00"));
+		assertThat(receiver.getCreditTotal()).isEqualTo(money("30.00"));
+		assertThat(receiver.getTransferInCount()).isEqualTo(1);
+
+		AccountDailyBalance nextDay = deltas.get(2);
+		assertThat(nextDay.getOpeningBalance()).isEqualTo(money("50.00"));
+		assertThat(nextDay.getClosingBalance()).isEqualTo(money("55.00"));
+		assertThat(nextDay.getDepositCount()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,86 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.metrics.ServiceMetrics;
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.result.OperationResult;
+import com.vastriantafyllou.bankapp.model.Account;
+import com.vastriantafyllou.bankapp.model.AccountTransaction;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import com.vastriantafyllou.bankapp.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupCommitWriterTest {
+
+	private final AccountRepository accountRepository = mock(AccountRepository.class);
+	private final LedgerWriter ledgerWriter = mock(LedgerWriter.class);
+	private final GroupCommitWriter writer = new GroupCommitWriter(accountRepository, ledgerWriter, new ServiceMetrics(new SimpleMeterRegistry()));
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void overdrawingWithdrawalIsRejectedWhileTheRestOfTheBatchCommits() {
+		Account account = Account.builder().iban("GR01").balance(money("100.00")).build();
+		when(accountRepository.findByIbanForUpdate("GR01")).thenReturn(Optional.of(account));
+		PendingOperation deposit = new PendingOperation(TransactionType.DEPOSIT, money("10.00"));
+		PendingOperation overdraft = new PendingOperation(TransactionType.WITHDRAW, money("200.00"));
+		PendingOperation withdrawal = new PendingOperation(TransactionType.WITHDRAW, money("50.00"));
+
+		writer.apply("GR01", List.of(deposit, overdraft, withdrawal));
+
+		assertThat(deposit.getRejection()).isNull();
+		assertThat(overdraft.getRejection().getOutcome()).isEqualTo(OperationResult.Outcome.INSUFFICIENT_BALANCE);
+		assertThat(overdraft.getRejection().getMessage()).isEqualTo("Ανεπαρκές υπόλοιπο. Διαθέσιμο: 110.00 €");
+		assertThat(withdrawal.getRejection()).isNull();
+		assertThat(account.getBalance()).isEqualTo(money("60.00"));
+
+		ArgumentCaptor<List<AccountTransaction>> recorded = ArgumentCaptor.forClass(List.class);
+		verify(accountRepository).save(account);
+		verify(ledgerWriter).record(recorded.capture());
+		assertThat(recorded.getValue()).extracting(AccountTransaction::getType)
+				.containsExactly(TransactionType.DEPOSIT, TransactionType.WITHDRAW);
+		assertThat(recorded.getValue()).extracting(AccountTransaction::getBalanceAfter)
+				.containsExactly(money("110.00"), money("60.00"));
+	}
+
+	@Test
+	void depositPastTheMoneyRangeIsRejectedOnItsOwn() {
+		Account account = Account.builder().iban("GR01").balance(Money.ofCents(Long.MAX_VALUE - 100)).build();
+		when(accountRepository.findByIbanForUpdate("GR01")).thenReturn(Optional.of(account));
+		PendingOperation tooMuch = new PendingOperation(TransactionType.DEPOSIT, money("1.01"));
+		PendingOperation fits = new PendingOperation(TransactionType.DEPOSIT, money("1.00"));
+
+		writer.apply("GR01", List.of(tooMuch, fits));
+
+		assertThat(tooMuch.getRejection()).isSameAs(OperationResult.BALANCE_LIMIT_EXCEEDED);
+		assertThat(fits.getRejection()).isNull();
+		assertThat(account.getBalance()).isEqualTo(Money.ofCents(Long.MAX_VALUE));
+	}
+
+	@Test
+	void unknownAccountRejectsTheWholeBatchWithoutWriting() {
+		when(accountRepository.findByIbanForUpdate("GR0404")).thenReturn(Optional.empty());
+		PendingOperation deposit = new PendingOperation(TransactionType.DEPOSIT, money("10.00"));
+
+		writer.apply("GR0404", List.of(deposit));
+
+		assertThat(deposit.getRejection().getIban()).isEqualTo("GR0404");
+		verify(accountRepository, never()).save(any());
+		verify(ledgerWriter, never()).record(any());
+	}
+
+	private static Money money(String amount) {
+		return Money.of(new BigDecimal(amount));
+	}
+}
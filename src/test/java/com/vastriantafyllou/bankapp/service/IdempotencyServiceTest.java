@@ -0,0 +1,124 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.exception.InsufficientBalanceException;
+import com.vastriantafyllou.bankapp.core.exception.InvalidIdempotencyKeyException;
+import com.vastriantafyllou.bankapp.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Not in a test transaction: the service commits its keys itself, and a duplicate must see the committed one.
+@DataJpaTest(properties = "bankapp.idempotency.purge-batch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(IdempotencyService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTest {
+
+	private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+	@MockitoBean
+	private IAccountService accountService;
+
+	@MockitoSpyBean
+	private IdempotencyKeyRepository idempotencyKeyRepository;
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("delete from idempotency_keys");
+	}
+
+	@Test
+	void repeatedKeyReplaysWithoutMovingMoneyAgain() throws Exception {
+		assertThat(idempotencyService.deposit("key-1", "GR01", AMOUNT)).isFalse();
+		assertThat(idempotencyService.deposit("key-1", "GR01", new BigDecimal("10.0"))).isTrue();
+
+		verify(accountService, times(1)).deposit("GR01", AMOUNT);
+		assertThat(idempotencyKeyRepository.findRequestHash("DEPOSIT:GR01:key-1")).isPresent();
+	}
+
+	@Test
+	void keyReusedForADifferentRequestIsRefused() throws Exception {
+		idempotencyService.transfer("key-2", "GR01", "GR02", AMOUNT);
+
+		assertThatThrownBy(() -> idempotencyService.transfer("key-2", "GR01", "GR03", AMOUNT))
+				.isInstanceOf(InvalidIdempotencyKeyException.class)
+				.hasMessage("Το κλειδί idempotency έχει ήδη χρησιμοποιηθεί για διαφορετικό αίτημα");
+		assertThatThrownBy(() -> idempotencyService.transfer("key-2", "GR01", "GR02", new BigDecimal("10.01")))
+				.isInstanceOf(InvalidIdempotencyKeyException.class);
+		verify(accountService, times(1)).transfer(any(), any(), any());
+	}
+
+	@Test
+	void rejectedOperationRollsItsKeyBack() throws Exception {
+		doThrow(new InsufficientBalanceException("Ανεπαρκές υπόλοιπο. Διαθέσιμο: 0.00 €"))
+				.doNothing()
+				.when(accountService).withdraw("GR01", AMOUNT);
+
+		assertThatThrownBy(() -> idempotencyService.withdraw("key-3", "GR01", AMOUNT))
+				.isInstanceOf(InsufficientBalanceException.class);
+		assertThat(idempotencyKeyRepository.findRequestHash("WITHDRAW:GR01:key-3")).isEmpty();
+
+		assertThat(idempotencyService.withdraw("key-3", "GR01", AMOUNT)).isFalse();
+		verify(accountService, times(2)).withdraw("GR01", AMOUNT);
+	}
+
+	@Test
+	void concurrentDuplicateLosesOnThePrimaryKeyAndReplays() throws Exception {
+		// The other request commits the key between our lookup and our insert.
+		doAnswer(lookup -> {
+			idempotencyService.deposit("key-4", "GR01", AMOUNT);
+			return Optional.empty();
+		}).doCallRealMethod().when(idempotencyKeyRepository).findRequestHash("DEPOSIT:GR01:key-4");
+
+		assertThat(idempotencyService.deposit("key-4", "GR01", AMOUNT)).isTrue();
+
+		verify(accountService, times(1)).deposit("GR01", AMOUNT);
+	}
+
+	@Test
+	void purgeDeletesExpiredKeysInBatchesAndKeepsLiveOnes() {
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < 5; i++) {
+			insertKey("expired-" + i, now.minusHours(2), now.minusHours(1));
+		}
+		insertKey("live", now, now.plusHours(1));
+
+		idempotencyService.purgeExpired();
+
+		assertThat(jdbcTemplate.queryForList("select scoped_key from idempotency_keys", String.class)).containsExactly("live");
+	}
+
+	private void insertKey(String scopedKey, LocalDateTime createdAt, LocalDateTime expiresAt) {
+		jdbcTemplate.update("insert into idempotency_keys (scoped_key, request_hash, created_at, expires_at) values (?, ?, ?, ?)",
+				scopedKey, "", Timestamp.valueOf(createdAt), Timestamp.valueOf(expiresAt));
+	}
+}
@@ -0,0 +1,39 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.engine.LedgerEngine;
+import com.vastriantafyllou.bankapp.dto.TransactionHistoryDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryAccountServiceTest extends AccountServiceContractTest {
+
+	@TempDir
+	Path directory;
+
+	private LedgerEngine engine;
+
+	@Override
+	protected IAccountService openService() throws Exception {
+		engine = LedgerEngine.open(directory, 1024, 64, 1 << 16, false, 1_000_000);
+		return new InMemoryAccountService(engine);
+	}
+
+	@Override
+	protected void closeService() throws Exception {
+		engine.close();
+	}
+
+	@Test
+	void historyIsAlwaysAnEmptyPage() throws Exception {
+		service.deposit("GR0001", BigDecimal.ONE);
+
+		TransactionHistoryDTO history = service.getTransactionHistory("GR0001", null, 20);
+		assertThat(history.getTransactions()).isEmpty();
+		assertThat(history.isHasMore()).isFalse();
+	}
+}
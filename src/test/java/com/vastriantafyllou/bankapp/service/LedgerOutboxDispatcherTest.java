@@ -0,0 +1,148 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.core.outbox.InMemoryLedgerEventSink;
+import com.vastriantafyllou.bankapp.dto.LedgerEventDTO;
+import com.vastriantafyllou.bankapp.model.LedgerOutboxEvent;
+import com.vastriantafyllou.bankapp.model.LedgerOutboxLease;
+import com.vastriantafyllou.bankapp.model.TransactionType;
+import com.vastriantafyllou.bankapp.repository.LedgerOutboxLeaseRepository;
+import com.vastriantafyllou.bankapp.repository.LedgerOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LedgerOutboxDispatcherTest {
+
+	private static final int BATCH_SIZE = 2;
+	private static final long EPOCH = 7;
+
+	private final LedgerOutboxRepository outboxRepository = mock(LedgerOutboxRepository.class);
+	private final LedgerOutboxLeaseRepository leaseRepository = mock(LedgerOutboxLeaseRepository.class);
+	private final InMemoryLedgerEventSink sink = new InMemoryLedgerEventSink();
+	private LedgerOutboxDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		dispatcher = new LedgerOutboxDispatcher(outboxRepository, leaseRepository, sink, new NoOpTransactionManager(),
+				new SimpleMeterRegistry(), 2, 2, BATCH_SIZE, 5, 30_000);
+		when(leaseRepository.lockClaimable(eq(2), anyString(), any(), eq(2))).thenReturn(List.of(0));
+		when(leaseRepository.findAllById(List.of(0))).thenReturn(List.of(new LedgerOutboxLease(0, "me", LocalDateTime.now(), EPOCH)));
+	}
+
+	@Test
+	void claimCreatesMissingLeasesAndAssignsTheFreeOnes() {
+		when(outboxRepository.findNext(0, BATCH_SIZE)).thenReturn(List.of());
+
+		dispatcher.dispatch();
+
+		verify(leaseRepository).insertIfMissing(eq(0), any());
+		verify(leaseRepository).insertIfMissing(eq(1), any());
+		verify(leaseRepository).assign(eq(List.of(0)), anyString(), any());
+	}
+
+	@Test
+	void emptyPartitionIsReleasedWithoutPublishing() {
+		when(outboxRepository.findNext(0, BATCH_SIZE)).thenReturn(List.of());
+
+		dispatcher.dispatch();
+
+		assertThat(sink.getEvents()).isEmpty();
+		verify(leaseRepository).release(eq(0), anyString(), eq(EPOCH), any());
+	}
+
+	@Test
+	void leaseIsRenewedWithItsEpochBeforePublishingAndBeforeDeleting() {
+		when(outboxRepository.findNext(0, BATCH_SIZE)).thenReturn(List.of(event(1)));
+		when(leaseRepository.renew(eq(0), anyString(), eq(EPOCH), any(), any())).thenReturn(1);
+
+		dispatcher.dispatch();
+
+		assertThat(sink.getEvents()).extracting(LedgerEventDTO::getEventId).containsExactly(1L);
+		verify(leaseRepository, times(2)).renew(eq(0), anyString(), eq(EPOCH), any(), any());
+		verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+		verify(leaseRepository).release(eq(0), anyString(), eq(EPOCH), any());
+	}
+
+	@Test
+	void lostLeaseStopsThePartitionBeforePublishing() {
+		when(outboxRepository.findNext(0, BATCH_SIZE)).thenReturn(List.of(event(1)));
+		when(leaseRepository.renew(anyInt(), anyString(), anyLong(), any(), any())).thenReturn(0);
+
+		dispatcher.dispatch();
+
+		assertThat(sink.getEvents()).isEmpty();
+		verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+		verify(leaseRepository, never()).release(anyInt(), anyString(), anyLong(), any());
+	}
+
+	@Test
+	void leaseLostDuringASlowPublishLeavesTheBatchToTheNewOwner() {
+		when(outboxRepository.findNext(0, BATCH_SIZE)).thenReturn(List.of(event(1), event(2)));
+		when(leaseRepository.renew(eq(0), anyString(), eq(EPOCH), any(), any())).thenReturn(1, 0);
+
+		dispatcher.dispatch();
+
+		assertThat(sink.getEvents()).hasSize(2);
+		verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+		verify(outboxRepository, times(1)).findNext(0, BATCH_SIZE);
+		verify(leaseRepository, never()).release(anyInt(), anyString(), anyLong(), any());
+	}
+
+	@Test
+	void shutdownReleasesEveryLeaseOfThisNode() {
+		dispatcher.releaseLeases();
+
+		verify(leaseRepository).releaseAll(anyString(), any());
+	}
+
+	private static LedgerOutboxEvent event(long id) {
+		return LedgerOutboxEvent.builder()
+				.id(id)
+				.partition(0)
+				.accountId(1L)
+				.accountIban("GR01")
+				.transactionId(100 + id)
+				.type(TransactionType.DEPOSIT)
+				.amount(Money.ofCents(100))
+				.balanceAfter(Money.ofCents(100 * id))
+				.occurredAt(LocalDateTime.now())
+				.createdAt(LocalDateTime.now())
+				.build();
+	}
+
+	private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
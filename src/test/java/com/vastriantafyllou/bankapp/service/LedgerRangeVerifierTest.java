@@ -0,0 +1,71 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.model.LedgerFindingKind;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationFinding;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationRange;
+import com.vastriantafyllou.bankapp.repository.LedgerVerificationFindingRepository;
+import com.vastriantafyllou.bankapp.repository.LedgerVerificationRangeRepository;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LedgerRangeVerifierTest {
+
+	private final LedgerVerificationRangeRepository rangeRepository = mock(LedgerVerificationRangeRepository.class);
+	private final LedgerVerificationFindingRepository findingRepository = mock(LedgerVerificationFindingRepository.class);
+	private final LedgerRangeVerifier verifier = new LedgerRangeVerifier(mock(DataSource.class), rangeRepository, findingRepository, 1000, 100);
+
+	@Test
+	void recordWritesTheRangeWithItsFindings() {
+		VerifiedLedgerRange verified = verified();
+		when(rangeRepository.existsByRunIdAndFirstAccountId(5L, 10L)).thenReturn(false);
+
+		assertThat(verifier.record(verified)).isTrue();
+
+		assertThat(verified.range().getCompletedAt()).isNotNull();
+		verify(rangeRepository).save(verified.range());
+		verify(findingRepository).saveAll(verified.findings());
+	}
+
+	@Test
+	void recordLeavesARangeAlreadyRecordedAlone() {
+		VerifiedLedgerRange verified = verified();
+		when(rangeRepository.existsByRunIdAndFirstAccountId(5L, 10L)).thenReturn(true);
+
+		assertThat(verifier.record(verified)).isFalse();
+
+		verify(rangeRepository, never()).save(any());
+		verify(findingRepository, never()).saveAll(any());
+	}
+
+	private static VerifiedLedgerRange verified() {
+		LedgerVerificationRange range = LedgerVerificationRange.builder()
+				.runId(5L)
+				.firstAccountId(10)
+				.lastAccountId(19)
+				.rowsChecked(3)
+				.accountsChecked(1)
+				.chainBreaks(1)
+				.transferOutAmount(Money.ofCents(0))
+				.transferInAmount(Money.ofCents(0))
+				.build();
+		LedgerVerificationFinding finding = LedgerVerificationFinding.builder()
+				.runId(5L)
+				.accountId(12)
+				.transactionId(120L)
+				.kind(LedgerFindingKind.CHAIN_BREAK)
+				.expected(Money.ofCents(900))
+				.actual(Money.ofCents(950))
+				.build();
+		return new VerifiedLedgerRange(range, List.of(finding));
+	}
+}
@@ -0,0 +1,130 @@
+package com.vastriantafyllou.bankapp.service;
+
+import com.vastriantafyllou.bankapp.core.money.Money;
+import com.vastriantafyllou.bankapp.model.LedgerFindingKind;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationFinding;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationRange;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationRun;
+import com.vastriantafyllou.bankapp.model.LedgerVerificationStatus;
+import com.vastriantafyllou.bankapp.repository.LedgerVerificationFindingRepository;
+import com.vastriantafyllou.bankapp.repository.LedgerVerificationRangeRepository;
+import com.vastriantafyllou.bankapp.repository.LedgerVerificationRunRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LedgerVerifierTest {
+
+	private static final long RUN_ID = 5;
+
+	private final LedgerRangeVerifier rangeVerifier = mock(LedgerRangeVerifier.class);
+	private final LedgerVerificationRunRepository runRepository = mock(LedgerVerificationRunRepository.class);
+	private final LedgerVerificationRangeRepository rangeRepository = mock(LedgerVerificationRangeRepository.class);
+	private final LedgerVerificationFindingRepository findingRepository = mock(LedgerVerificationFindingRepository.class);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final List<LedgerVerificationFinding> savedFindings = new ArrayList<>();
+	private LedgerVerifier verifier;
+
+	@BeforeEach
+	void setUp() {
+		verifier = new LedgerVerifier(mock(DataSource.class), rangeVerifier, runRepository, rangeRepository, findingRepository,
+				registry, 10, 1, 60, false, 12);
+		LedgerVerificationRun run = LedgerVerificationRun.builder()
+				.id(RUN_ID)
+				.status(LedgerVerificationStatus.RUNNING)
+				.firstAccountId(0)
+				.lastAccountId(29)
+				.rangeSize(10)
+				.transferCutoff(LocalDateTime.now())
+				.startedAt(LocalDateTime.now())
+				.build();
+		when(runRepository.findFirstByStatusOrderByIdDesc(LedgerVerificationStatus.RUNNING)).thenReturn(Optional.of(run));
+		when(runRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(rangeVerifier.verify(eq(RUN_ID), anyLong(), anyLong(), any(), any()))
+				.thenAnswer(invocation -> new VerifiedLedgerRange(range(invocation.getArgument(1), 0, 0), List.of()));
+		when(findingRepository.saveAll(any())).thenAnswer(invocation -> {
+			invocation.<Iterable<LedgerVerificationFinding>>getArgument(0).forEach(savedFindings::add);
+			return invocation.getArgument(0);
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		verifier.shutdown();
+	}
+
+	@Test
+	void resumedRunChecksOnlyTheRangesNotYetRecorded() {
+		when(rangeRepository.findFirstAccountIdsByRunId(RUN_ID)).thenReturn(List.of(0L, 20L));
+		when(rangeVerifier.record(any())).thenReturn(true);
+		when(rangeRepository.findByRunId(RUN_ID)).thenReturn(List.of(range(0, 0, 0), range(10, 0, 0), range(20, 0, 0)));
+
+		LedgerVerificationRun run = verifier.verify().orElseThrow();
+
+		verify(rangeVerifier, times(1)).verify(eq(RUN_ID), anyLong(), anyLong(), any(), any());
+		verify(rangeVerifier).verify(eq(RUN_ID), eq(10L), eq(19L), any(), any());
+		assertThat(run.getStatus()).isEqualTo(LedgerVerificationStatus.COMPLETED);
+		assertThat(run.getRowsChecked()).isEqualTo(30);
+		assertThat(run.getTransfersBalanced()).isTrue();
+		assertThat(savedFindings).isEmpty();
+	}
+
+	@Test
+	void rangeAnotherNodeRecordedFirstIsNotCountedAgain() {
+		when(rangeRepository.findFirstAccountIdsByRunId(RUN_ID)).thenReturn(List.of(0L, 20L));
+		when(rangeVerifier.record(any())).thenThrow(new DataIntegrityViolationException("uk_ledger_verification_range_run_first"));
+		when(rangeRepository.findByRunId(RUN_ID)).thenReturn(List.of(range(0, 0, 0), range(10, 0, 0), range(20, 0, 0)));
+
+		LedgerVerificationRun run = verifier.verify().orElseThrow();
+
+		assertThat(run.getStatus()).isEqualTo(LedgerVerificationStatus.COMPLETED);
+		assertThat(registry.get("bankapp.ledger.verification.rows").counter().count()).isZero();
+	}
+
+	@Test
+	void unbalancedRunReportsEachRangesTransferSums() {
+		when(rangeRepository.findFirstAccountIdsByRunId(RUN_ID)).thenReturn(List.of(0L, 10L, 20L));
+		when(rangeRepository.findByRunId(RUN_ID)).thenReturn(List.of(range(0, 300, 0), range(10, 0, 200), range(20, 0, 0)));
+
+		LedgerVerificationRun run = verifier.verify().orElseThrow();
+
+		verify(rangeVerifier, never()).verify(any(), anyLong(), anyLong(), any(), any());
+		assertThat(run.getTransfersBalanced()).isFalse();
+		assertThat(savedFindings).extracting(LedgerVerificationFinding::getKind).containsOnly(LedgerFindingKind.TRANSFER_RANGE_SUMS);
+		assertThat(savedFindings).extracting(LedgerVerificationFinding::getAccountId).containsExactly(0L, 10L, 20L);
+		assertThat(savedFindings.get(0).getExpected().cents()).isEqualTo(300);
+		assertThat(savedFindings.get(1).getActual().cents()).isEqualTo(200);
+	}
+
+	private static LedgerVerificationRange range(long firstAccountId, long outCents, long inCents) {
+		return LedgerVerificationRange.builder()
+				.runId(RUN_ID)
+				.firstAccountId(firstAccountId)
+				.lastAccountId(firstAccountId + 9)
+				.rowsChecked(10)
+				.accountsChecked(1)
+				.transferOutCount(outCents > 0 ? 1 : 0)
+				.transferInCount(inCents > 0 ? 1 : 0)
+				.transferOutAmount(Money.ofCents(outCents))
+				.transferInAmount(Money.ofCents(inCents))
+				.build();
+	}
+}